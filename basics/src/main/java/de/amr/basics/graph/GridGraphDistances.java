@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.basics.graph;
+
+import de.amr.basics.math.Direction;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shortest path distances (number of edges) between the vertices of a grid graph.
+ * <p>
+ * For each target vertex, a distance field (distance of every vertex to the target) is computed by breadth-first
+ * search on first access and cached. Because grid graph edges are undirected, the field of a target also gives the
+ * distance from the target to every vertex. Once a field exists, a distance query is a single array access. All fields
+ * (the all-pairs table) can also be computed in advance on a background executor.
+ * <p>
+ * Besides the grid edges, additional undirected edges (shortcuts, e.g. portals wrapping around the grid border) can be
+ * given. Each edge counts as one step.
+ * <p>
+ * The graph must not be changed after creating this object. Queries are thread-safe, a field computed concurrently by
+ * two threads is just computed twice.
+ *
+ * @author Armin Reichert
+ */
+public class GridGraphDistances {
+
+	/** Distance value of vertices not reachable from the target. */
+	public static final int UNREACHABLE = -1;
+
+	/** Maximum number of graph vertices, distances are stored as {@code short} values. */
+	public static final int MAX_VERTICES = Short.MAX_VALUE;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final GridGraph graph;
+	private final int[] shortcutTargets; // -1 if vertex has no shortcut
+	private final AtomicReferenceArray<short[]> fields;
+
+	/**
+	 * @param graph     grid graph
+	 * @param shortcuts additional undirected edges, each vertex may be the end of at most one shortcut
+	 */
+	public GridGraphDistances(GridGraph graph, List<Edge> shortcuts) {
+		this.graph = requireNonNull(graph);
+		requireNonNull(shortcuts);
+		if (graph.numVertices() > MAX_VERTICES) {
+			throw new IllegalArgumentException("Graph with %d vertices is too large".formatted(graph.numVertices()));
+		}
+		shortcutTargets = new int[graph.numVertices()];
+		Arrays.fill(shortcutTargets, -1);
+		for (Edge shortcut : shortcuts) {
+			shortcutTargets[shortcut.either()] = shortcut.other();
+			shortcutTargets[shortcut.other()] = shortcut.either();
+		}
+		fields = new AtomicReferenceArray<>(graph.numVertices());
+	}
+
+	public GridGraphDistances(GridGraph graph) {
+		this(graph, List.of());
+	}
+
+	public GridGraph graph() {
+		return graph;
+	}
+
+	/**
+	 * @param source source vertex
+	 * @param target target vertex
+	 * @return length of the shortest path from source to target or {@link #UNREACHABLE}
+	 */
+	public int distance(int source, int target) {
+		return field(target)[source];
+	}
+
+	/**
+	 * @param target target vertex
+	 * @return {@code true} if the distance field of the target has already been computed
+	 */
+	public boolean isComputed(int target) {
+		return fields.get(target) != null;
+	}
+
+	/**
+	 * Computes the distance fields of all vertices (all-pairs shortest paths) on the calling thread.
+	 */
+	public void computeAll() {
+		for (int target = 0; target < graph.numVertices(); ++target) {
+			field(target);
+		}
+	}
+
+	/**
+	 * Computes the distance fields of all vertices on the given executor.
+	 *
+	 * @param executor executor, e.g. a background thread pool
+	 * @return future completed when all fields are computed
+	 */
+	public CompletableFuture<Void> computeAllAsync(Executor executor) {
+		requireNonNull(executor);
+		return CompletableFuture.runAsync(this::computeAll, executor);
+	}
+
+	private short[] field(int target) {
+		short[] field = fields.get(target);
+		if (field == null) {
+			field = computeField(target);
+			fields.set(target, field);
+		}
+		return field;
+	}
+
+	private short[] computeField(int target) {
+		final short[] dist = new short[graph.numVertices()];
+		Arrays.fill(dist, (short) UNREACHABLE);
+		final int[] queue = new int[graph.numVertices()];
+		int head = 0, tail = 0;
+		dist[target] = 0;
+		queue[tail++] = target;
+		while (head < tail) {
+			final int vertex = queue[head++];
+			final short nextDist = (short) (dist[vertex] + 1);
+			for (Direction dir : DIRECTIONS) {
+				if (graph.connected(vertex, dir)) {
+					final int neighbor = graph.neighbor(vertex, dir);
+					if (dist[neighbor] == UNREACHABLE) {
+						dist[neighbor] = nextDist;
+						queue[tail++] = neighbor;
+					}
+				}
+			}
+			final int shortcutTarget = shortcutTargets[vertex];
+			if (shortcutTarget != -1 && dist[shortcutTarget] == UNREACHABLE) {
+				dist[shortcutTarget] = nextDist;
+				queue[tail++] = shortcutTarget;
+			}
+		}
+		return dist;
+	}
+}
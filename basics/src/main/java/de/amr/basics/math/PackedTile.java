@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.basics.math;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Static methods for tile coordinates packed into a single {@code int}. Used on hot paths instead of
+ * {@link Vector2i} instances to avoid allocating an object for each coordinate computation.
+ * <p>
+ * The x coordinate is stored in the upper 16 bits, the y coordinate in the lower 16 bits, both as signed values.
+ * So tiles slightly outside a map (e.g. in the portal space left and right of the maze) are representable too.
+ * Coordinates must be in the range of a {@code short}.
+ * </p>
+ */
+public final class PackedTile {
+
+    private PackedTile() {}
+
+    public static int pack(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    public static int pack(Vector2i tile) {
+        requireNonNull(tile);
+        return pack(tile.x(), tile.y());
+    }
+
+    public static int x(int packedTile) {
+        return packedTile >> 16;
+    }
+
+    public static int y(int packedTile) {
+        return (short) packedTile;
+    }
+
+    public static Vector2i unpack(int packedTile) {
+        return new Vector2i(x(packedTile), y(packedTile));
+    }
+
+    public static int plus(int packedTile, int dx, int dy) {
+        return pack(x(packedTile) + dx, y(packedTile) + dy);
+    }
+
+    /**
+     * @param packedTile packed tile
+     * @param dir direction
+     * @return packed neighbor tile towards the given direction
+     */
+    public static int neighbor(int packedTile, Direction dir) {
+        requireNonNull(dir);
+        return plus(packedTile, dir.vector().x(), dir.vector().y());
+    }
+
+    public static int manhattanDist(int packedTile1, int packedTile2) {
+        return Math.abs(x(packedTile1) - x(packedTile2)) + Math.abs(y(packedTile1) - y(packedTile2));
+    }
+
+    /**
+     * @return squared euclidean distance, has the same order as the euclidean distance but needs no square root
+     */
+    public static int squaredEuclideanDist(int packedTile1, int packedTile2) {
+        final int dx = x(packedTile1) - x(packedTile2), dy = y(packedTile1) - y(packedTile2);
+        return dx * dx + dy * dy;
+    }
+
+    public static String toString(int packedTile) {
+        return "(%d,%d)".formatted(x(packedTile), y(packedTile));
+    }
+}
@@ -3,33 +3,53 @@
  */
 package de.amr.basics.math;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.random.RandomGenerator;
 
 import static java.util.Objects.requireNonNull;
 
 /**
- * Utility interface providing convenient static methods for generating random numbers
- * using a shared, thread-safe {@link RandomGenerator}.
+ * Utility interface providing convenient static methods for generating random numbers.
  * <p>
- * All methods are thread-safe and use the default {@link RandomGenerator} instance.
+ * All methods are thread-safe, each thread uses its own generator instance ({@link ThreadLocalRandom}). This allows
+ * running several games concurrently without contention on a shared generator.
  * Methods that accept interval bounds automatically normalize them (swap if necessary)
  * to ensure min ≤ max.
  * </p>
+ * <p>
+ * Each method also exists with an explicit generator parameter. Game logic that must be reproducible uses these
+ * variants with the seeded generator of the game context, the other variants are meant for visual effects only.
+ * </p>
  */
 public final class RandomNumberSupport {
 
     private RandomNumberSupport() {}
 
-    /** Shared thread-safe random generator instance. */
+    /** Shared random generator instance. Not thread-safe, use only from a single thread (e.g. the UI thread). */
     public static final RandomGenerator RANDOM_GENERATOR = RandomGenerator.getDefault();
 
+    /**
+     * @return random generator of the calling thread
+     */
+    public static RandomGenerator generator() {
+        return ThreadLocalRandom.current();
+    }
+
     /**
      * Returns a random boolean value (true or false) with equal probability (50%).
      *
      * @return {@code true} or {@code false} with equal likelihood
      */
     public static boolean randomBoolean() {
-        return RANDOM_GENERATOR.nextBoolean();
+        return randomBoolean(generator());
+    }
+
+    /**
+     * @param rng random generator
+     * @return {@code true} or {@code false} with equal likelihood
+     */
+    public static boolean randomBoolean(RandomGenerator rng) {
+        return rng.nextBoolean();
     }
 
     /**
@@ -40,10 +60,20 @@ public final class RandomNumberSupport {
      * @throws IllegalArgumentException if probability is not in [0.0, 1.0]
      */
     public static boolean chance(double probability) {
+        return chance(generator(), probability);
+    }
+
+    /**
+     * @param rng random generator
+     * @param probability the probability of returning {@code true} (must be in [0.0, 1.0])
+     * @return {@code true} with probability p, {@code false} otherwise
+     * @throws IllegalArgumentException if probability is not in [0.0, 1.0]
+     */
+    public static boolean chance(RandomGenerator rng, double probability) {
         if (probability < 0.0 || probability > 1.0) {
             throw new IllegalArgumentException("probability must be in [0.0, 1.0], got: " + probability);
         }
-        return RANDOM_GENERATOR.nextDouble() < probability;
+        return rng.nextDouble() < probability;
     }
 
     /**
@@ -57,12 +87,22 @@ public final class RandomNumberSupport {
      * @return random integer n such that min ≤ n < maxExclusive
      */
     public static int randomInt(int min, int maxExclusive) {
+        return randomInt(generator(), min, maxExclusive);
+    }
+
+    /**
+     * @param rng random generator
+     * @param min          inclusive lower bound
+     * @param maxExclusive exclusive upper bound
+     * @return random integer n such that min ≤ n < maxExclusive
+     */
+    public static int randomInt(RandomGenerator rng, int min, int maxExclusive) {
         if (min > maxExclusive) {
             int tmp = min;
             min = maxExclusive;
             maxExclusive = tmp;
         }
-        return min + RANDOM_GENERATOR.nextInt(maxExclusive - min);
+        return min + rng.nextInt(maxExclusive - min);
     }
 
     /**
@@ -100,12 +140,22 @@ public final class RandomNumberSupport {
      * @return random float f such that min ≤ f < maxExclusive
      */
     public static float randomFloat(float min, float maxExclusive) {
+        return randomFloat(generator(), min, maxExclusive);
+    }
+
+    /**
+     * @param rng random generator
+     * @param min          inclusive lower bound
+     * @param maxExclusive exclusive upper bound
+     * @return random float f such that min ≤ f < maxExclusive
+     */
+    public static float randomFloat(RandomGenerator rng, float min, float maxExclusive) {
         if (min > maxExclusive) {
             float tmp = min;
             min = maxExclusive;
             maxExclusive = tmp;
         }
-        return min + (maxExclusive - min) * RANDOM_GENERATOR.nextFloat();
+        return min + (maxExclusive - min) * rng.nextFloat();
     }
 
     public static byte randomByteArrayElement(byte[] array) {
@@ -114,7 +164,11 @@ public final class RandomNumberSupport {
     }
 
     public static <T> T randomArrayEntry(T[] array) {
+        return randomArrayEntry(generator(), array);
+    }
+
+    public static <T> T randomArrayEntry(RandomGenerator rng, T[] array) {
         requireNonNull(array);
-        return array[randomInt(0, array.length)];
+        return array[randomInt(rng, 0, array.length)];
     }
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ import javafx.geometry.Point3D;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelReader;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
@@ -494,19 +495,54 @@ public final class Ufx {
      * @return a new image with applied color changes
      */
     public static Image recolorImage(Image source, Map<Color, Color> changes) {
-        WritableImage target = new WritableImage((int) source.getWidth(), (int) source.getHeight());
-        PixelReader sourceReader = source.getPixelReader();
-        PixelWriter targetWriter = target.getPixelWriter();
-        for (int x = 0; x < source.getWidth(); ++x) {
-            for (int y = 0; y < source.getHeight(); ++y) {
-                final Color color = sourceReader.getColor(x, y);
-                final Color newColor = changes.get(color);
-                if (newColor != null) {
-                    targetWriter.setColor(x, y, newColor);
-                }
+        final int width = (int) source.getWidth(), height = (int) source.getHeight();
+        final int[] from = new int[changes.size()], to = new int[changes.size()];
+        int i = 0;
+        for (Map.Entry<Color, Color> change : changes.entrySet()) {
+            from[i] = argb(change.getKey());
+            to[i] = argb(change.getValue());
+            ++i;
+        }
+        final int[] pixels = readPixels(source, 0, 0, width, height);
+        for (int p = 0; p < pixels.length; ++p) {
+            pixels[p] = replacementOrTransparent(pixels[p], from, to);
+        }
+        return writePixels(pixels, width, height);
+    }
+
+    /**
+     * @param color a color
+     * @return the color as 32-bit integer in ARGB format (non-premultiplied)
+     */
+    public static int argb(Color color) {
+        final int a = (int) Math.round(color.getOpacity() * 255);
+        final int r = (int) Math.round(color.getRed() * 255);
+        final int g = (int) Math.round(color.getGreen() * 255);
+        final int b = (int) Math.round(color.getBlue() * 255);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    // Reads a region of the image as ARGB pixels in a single bulk operation (row-by-row order)
+    private static int[] readPixels(Image image, int x, int y, int width, int height) {
+        final int[] pixels = new int[width * height];
+        image.getPixelReader().getPixels(x, y, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return pixels;
+    }
+
+    private static WritableImage writePixels(int[] pixels, int width, int height) {
+        final var image = new WritableImage(width, height);
+        image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+        return image;
+    }
+
+    // Pixels without matching color become transparent, like in an empty writable image
+    private static int replacementOrTransparent(int pixel, int[] from, int[] to) {
+        for (int i = 0; i < from.length; ++i) {
+            if (pixel == from[i]) {
+                return to[i];
             }
         }
-        return target;
+        return 0;
     }
 
     /**
@@ -578,25 +614,58 @@ public final class Ufx {
         Color fillFrom, Color strokeFrom, Color pelletFrom,
         Color fillTo, Color strokeTo, Color pelletTo) {
 
-        WritableImage targetImage = new WritableImage((int) sourceImage.getWidth(), (int) sourceImage.getHeight());
-        PixelReader sourceReader = sourceImage.getPixelReader();
-        PixelWriter targetWriter = targetImage.getPixelWriter();
+        return replaceImageColors(sourceImage, 0, 0, (int) sourceImage.getWidth(), (int) sourceImage.getHeight(),
+            fillFrom, strokeFrom, pelletFrom, fillTo, strokeTo, pelletTo);
+    }
+
+    /**
+     * Replaces specific fill, stroke, and pellet colors in a region of the source image. The region is read directly
+     * from the source image, no intermediate copy is created. Logs warnings if expected colors are not found.
+     *
+     * @param sourceImage the source image, e.g. a sprite sheet
+     * @param region      the region of the source image
+     * @param fillFrom    original fill color
+     * @param strokeFrom  original stroke color
+     * @param pelletFrom  original pellet color
+     * @param fillTo      replacement fill color
+     * @param strokeTo    replacement stroke color
+     * @param pelletTo    replacement pellet color
+     * @return a recolored image of the size of the region
+     */
+    public static Image replaceImageColors(
+        Image sourceImage, RectShort region,
+        Color fillFrom, Color strokeFrom, Color pelletFrom,
+        Color fillTo, Color strokeTo, Color pelletTo) {
+
+        return replaceImageColors(sourceImage, region.x(), region.y(), region.width(), region.height(),
+            fillFrom, strokeFrom, pelletFrom, fillTo, strokeTo, pelletTo);
+    }
+
+    private static Image replaceImageColors(
+        Image sourceImage, int x, int y, int width, int height,
+        Color fillFrom, Color strokeFrom, Color pelletFrom,
+        Color fillTo, Color strokeTo, Color pelletTo) {
+
+        final int fillFromArgb = argb(fillFrom), strokeFromArgb = argb(strokeFrom), pelletFromArgb = argb(pelletFrom);
+        final int fillToArgb = argb(fillTo), strokeToArgb = argb(strokeTo), pelletToArgb = argb(pelletTo);
+        final int[] pixels = readPixels(sourceImage, x, y, width, height);
         boolean fillColorFound = false, strokeColorFound = false, pelletColorFound = false;
-        for (int x = 0; x < sourceImage.getWidth(); ++x) {
-            for (int y = 0; y < sourceImage.getHeight(); ++y) {
-                final Color color = sourceReader.getColor(x, y);
-                if (color.equals(fillFrom)) {
-                    fillColorFound = true;
-                    targetWriter.setColor(x, y, fillTo);
-                }
-                else if (color.equals(strokeFrom)) {
-                    strokeColorFound = true;
-                    targetWriter.setColor(x, y, strokeTo);
-                }
-                else if (color.equals(pelletFrom)) {
-                    pelletColorFound = true;
-                    targetWriter.setColor(x, y, pelletTo);
-                }
+        for (int p = 0; p < pixels.length; ++p) {
+            final int pixel = pixels[p];
+            if (pixel == fillFromArgb) {
+                fillColorFound = true;
+                pixels[p] = fillToArgb;
+            }
+            else if (pixel == strokeFromArgb) {
+                strokeColorFound = true;
+                pixels[p] = strokeToArgb;
+            }
+            else if (pixel == pelletFromArgb) {
+                pelletColorFound = true;
+                pixels[p] = pelletToArgb;
+            }
+            else {
+                pixels[p] = 0; // transparent
             }
         }
         if (!fillColorFound) {
@@ -608,7 +677,7 @@ public final class Ufx {
         if (!pelletColorFound) {
             Logger.warn("Pellet color {} not found in image", pelletFrom);
         }
-        return targetImage;
+        return writePixels(pixels, width, height);
     }
 
     /**
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.benchmarks;
+
+import de.amr.pacmanfx.arcade.pacman.app.GameFarmMain;
+import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.GameSession;
+import de.amr.pacmanfx.core.GameVariantID;
+import de.amr.pacmanfx.core.gamestate.CommonGameStateID;
+import de.amr.pacmanfx.core.level.GameLevel;
+import de.amr.pacmanfx.core.model.GameCheats;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Creates the fixtures shared by the benchmarks.
+ */
+final class BenchmarkGames {
+
+    private static final int MAX_STARTING_TICKS = 60 * 60;
+
+    private BenchmarkGames() {}
+
+    /**
+     * Creates an Arcade Pac-Man game with Pac-Man on autopilot and runs it until the first level is being played.
+     *
+     * @return game context in state {@link CommonGameStateID#GAME_LEVEL_PLAYING}
+     */
+    static GameContext createPlayingGame() {
+        final GameContext game = GameFarmMain.createIsolatedGameContext();
+        game.setSession(new GameSession(GameVariantID.ARCADE_PACMAN.name(), new GameCheats()));
+        game.variant().gamePlay().startSession(game);
+        game.session().setCutScenesEnabled(false);
+        game.session().cheats().pacUsingAutopilotProperty().set(true);
+        game.coinMechanism().insertCoin();
+        game.variant().gameFlow().enterGameState(game, CommonGameStateID.GAME_STARTING);
+        for (long tick = 0; tick < MAX_STARTING_TICKS; ++tick) {
+            if (game.state().id() == CommonGameStateID.GAME_LEVEL_PLAYING) {
+                return game;
+            }
+            game.session().newFrameState(tick);
+            game.variant().gameFlow().update(game);
+        }
+        throw new IllegalStateException("Game did not reach level playing state after %d ticks".formatted(MAX_STARTING_TICKS));
+    }
+
+    static GameLevel level(GameContext game) {
+        return game.session().level();
+    }
+
+    /**
+     * @return paths of all world map files bundled with the game applications
+     */
+    static List<Path> bundledMapFiles() {
+        final String repositoryDir = System.getProperty("benchmarks.repositoryDir", ".");
+        try (Stream<Path> paths = Files.walk(Path.of(repositoryDir))) {
+            final List<Path> mapFiles = paths
+                .filter(path -> path.toString().endsWith(".world"))
+                .filter(path -> path.toString().contains("pacman-app-"))
+                .filter(path -> path.toString().contains("src" + path.getFileSystem().getSeparator() + "main"))
+                .sorted()
+                .toList();
+            if (mapFiles.isEmpty()) {
+                throw new IllegalStateException("No bundled world maps found in directory '%s'".formatted(repositoryDir));
+            }
+            return mapFiles;
+        } catch (IOException x) {
+            throw new UncheckedIOException(x);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.benchmarks;
+
+import de.amr.pacmanfx.core.entities.Pac;
+import de.amr.pacmanfx.core.event.base.DefaultGameEventListener;
+import de.amr.pacmanfx.core.event.base.DefaultGameEventManager;
+import de.amr.pacmanfx.core.event.pac.PacEatsFoodEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of game event publishing. Publishes the most frequent event (food eaten) to a number of subscribers
+ * which, like most subscribers in the game, dispatch the event by type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameEventBenchmark {
+
+    private static class CountingSubscriber implements DefaultGameEventListener {
+        long count;
+
+        @Override
+        public void onPacEatsFood(PacEatsFoodEvent e) {
+            ++count;
+        }
+    }
+
+    @Param({"1", "8"})
+    public int numSubscribers;
+
+    private DefaultGameEventManager eventManager;
+    private Pac pac;
+    private long tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        eventManager = new DefaultGameEventManager();
+        for (int i = 0; i < numSubscribers; ++i) {
+            eventManager.addGameEventSubscriber(new CountingSubscriber());
+        }
+        pac = BenchmarkGames.level(BenchmarkGames.createPlayingGame()).entities().pac();
+    }
+
+    @Benchmark
+    public void publishGameEvent() {
+        eventManager.publishGameEvent(new PacEatsFoodEvent(pac, false, false, ++tick));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.benchmarks;
+
+import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.GameSystems;
+import de.amr.pacmanfx.core.ecs.comp.MovementComp;
+import de.amr.pacmanfx.core.ecs.comp.PositionComp;
+import de.amr.pacmanfx.core.ecs.comp.WorldNavigationComp;
+import de.amr.pacmanfx.core.entities.Ghost;
+import de.amr.pacmanfx.core.entities.Pac;
+import de.amr.pacmanfx.core.level.GameLevel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the per-tick simulation code of a running Arcade Pac-Man level.
+ * <p>
+ * The game state evolves with each invocation (actors keep moving), like in a real game. To keep the iterations
+ * comparable, each iteration starts with a new game at the start of the first level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SimulationBenchmark {
+
+    private GameContext game;
+    private GameLevel level;
+    private GameSystems systems;
+    private Pac pac;
+    private Ghost ghost;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        game = BenchmarkGames.createPlayingGame();
+        level = BenchmarkGames.level(game);
+        systems = game.variant().systems();
+        pac = level.entities().pac();
+        ghost = level.entities().ghosts().getFirst();
+        // Pac-Man has no velocity before the first hunting tick
+        systems.worldNavigator().setMoveDirSpeed(pac, game.variant().rules().actorSpeedRules().pacSpeed(game, level));
+    }
+
+    /**
+     * Moves Pac-Man through the maze. When blocked, the wish direction is turned clockwise, so the measured calls are
+     * real moves and not only the blocked-move branch.
+     */
+    @Benchmark
+    public boolean tryMovingOrTeleporting() {
+        systems.worldNavigator().tryMovingOrTeleporting(level, pac, systems.motor(), systems.pacWorldMovementPolicy());
+        final WorldNavigationComp navigation = pac.reqComp(WorldNavigationComp.TYPE);
+        final boolean moved = navigation.info().moved || navigation.info().teleportStarted;
+        if (!moved) {
+            navigation.setWishDir(navigation.wishDir().nextClockwise());
+        }
+        return moved;
+    }
+
+    @Benchmark
+    public void updateEntities() {
+        systems.entityUpdater().updateEntities(game, level);
+    }
+
+    @Benchmark
+    public void reqCompByClassLookups(Blackhole blackhole) {
+        blackhole.consume(pac.reqComp(PositionComp.class));
+        blackhole.consume(pac.reqComp(MovementComp.class));
+        blackhole.consume(pac.reqComp(WorldNavigationComp.class));
+        blackhole.consume(ghost.reqComp(PositionComp.class));
+        blackhole.consume(ghost.reqComp(MovementComp.class));
+        blackhole.consume(ghost.reqComp(WorldNavigationComp.class));
+    }
+
+    @Benchmark
+    public void reqCompByTypeLookups(Blackhole blackhole) {
+        blackhole.consume(pac.reqComp(PositionComp.TYPE));
+        blackhole.consume(pac.reqComp(MovementComp.TYPE));
+        blackhole.consume(pac.reqComp(WorldNavigationComp.TYPE));
+        blackhole.consume(ghost.reqComp(PositionComp.TYPE));
+        blackhole.consume(ghost.reqComp(MovementComp.TYPE));
+        blackhole.consume(ghost.reqComp(WorldNavigationComp.TYPE));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.benchmarks;
+
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.model.world.map.FoodTile;
+import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
+import de.amr.pacmanfx.core.model.world.map.TerrainTile;
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.model.world.map.WorldMapParseException;
+import de.amr.pacmanfx.core.model.world.map.WorldMapParser;
+import de.amr.pacmanfx.core.model.world.obstacle.ObstacleBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of world map parsing and obstacle set creation. Each operation processes all world maps bundled with
+ * the game applications.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorldMapBenchmark {
+
+    private final List<List<String>> mapSources = new ArrayList<>();
+    private final List<TerrainLayer> terrainLayers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, WorldMapParseException {
+        for (Path mapFile : BenchmarkGames.bundledMapFiles()) {
+            final List<String> lines = Files.readAllLines(mapFile, WorldMap.MAP_FILE_CHARSET);
+            mapSources.add(lines);
+            terrainLayers.add(parse(lines).terrainLayer());
+        }
+    }
+
+    @Benchmark
+    public void parseAllMaps(Blackhole blackhole) throws WorldMapParseException {
+        for (List<String> lines : mapSources) {
+            blackhole.consume(parse(lines));
+        }
+    }
+
+    @Benchmark
+    public void buildObstacleSetsOfAllMaps(Blackhole blackhole) {
+        final List<Vector2i> tilesWithErrors = new ArrayList<>();
+        for (TerrainLayer terrainLayer : terrainLayers) {
+            blackhole.consume(ObstacleBuilder.buildObstacleSet(terrainLayer, tilesWithErrors));
+        }
+    }
+
+    private static WorldMap parse(List<String> lines) throws WorldMapParseException {
+        // parser instances are stateful, use a new one for each map
+        return new WorldMapParser().parse(lines.stream(), TerrainTile::isValidCode, FoodTile::isValidCode);
+    }
+}
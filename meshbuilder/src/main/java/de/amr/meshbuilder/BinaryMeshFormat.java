@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.meshbuilder;
+
+import javafx.collections.ObservableFloatArray;
+import javafx.collections.ObservableIntegerArray;
+import javafx.scene.shape.TriangleMesh;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compact binary format for triangle meshes built from an OBJ file. Loading a mesh file avoids parsing the OBJ file
+ * and building the meshes again: the file is memory-mapped and its arrays are copied into the mesh arrays in bulk.
+ * Files written by another format version, by another {@link MeshBuilder#VERSION builder version} or from other source
+ * data are not read.
+ * <p>
+ * Layout (little-endian):
+ * <pre>
+ * int magic, int version, int builderVersion, long sourceHash
+ * int materialCount, materialCount x string
+ * int meshCount, meshCount x (string id, int materialIndex (-1 = none),
+ *     float[] points, float[] texCoords, int[] faces, int[] faceSmoothingGroups)
+ * </pre>
+ * Strings are stored as UTF-8 bytes, strings and arrays are prefixed with their length.
+ */
+public final class BinaryMeshFormat {
+
+    /**
+     * @param id mesh ID
+     * @param materialName material name or {@code null}
+     * @param mesh triangle mesh with vertex format POINT_TEXCOORD
+     */
+    public record MeshData(String id, String materialName, TriangleMesh mesh) {
+        public MeshData {
+            requireNonNull(id);
+            requireNonNull(mesh);
+        }
+    }
+
+    private static final int MAGIC = 0x48534D50; // "PMSH"
+    private static final int VERSION = 2;
+
+    private BinaryMeshFormat() {}
+
+    /**
+     * @param source source data, e.g. the bytes of the OBJ file
+     * @return hash value identifying the source, stored in the mesh file header
+     */
+    public static long hash(byte[] source) {
+        final var crc = new CRC32C();
+        crc.update(source);
+        return (long) source.length << 32 | crc.getValue();
+    }
+
+    /**
+     * Writes the meshes to the given file. The file is written under a temporary name first and then moved, so
+     * readers never see a partially written file.
+     *
+     * @param file target file, parent directories are created if needed
+     * @param sourceHash hash of the source data
+     * @param meshes the meshes
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, long sourceHash, List<MeshData> meshes) throws IOException {
+        final List<String> materialNames = new ArrayList<>();
+        final List<float[]> floatArrays = new ArrayList<>();
+        final List<int[]> intArrays = new ArrayList<>();
+        int size = 4 + 4 + 4 + 8 + 4 + 4;
+        for (MeshData meshData : meshes) {
+            if (meshData.materialName() != null && !materialNames.contains(meshData.materialName())) {
+                materialNames.add(meshData.materialName());
+                size += stringSize(meshData.materialName());
+            }
+            final TriangleMesh mesh = meshData.mesh();
+            floatArrays.add(mesh.getPoints().toArray(null));
+            floatArrays.add(mesh.getTexCoords().toArray(null));
+            intArrays.add(mesh.getFaces().toArray(null));
+            intArrays.add(mesh.getFaceSmoothingGroups().toArray(null));
+            size += stringSize(meshData.id()) + 4 + 4 * 4;
+        }
+        for (float[] values : floatArrays) size += 4 * values.length;
+        for (int[] values : intArrays) size += 4 * values.length;
+
+        final ByteBuffer data = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(MAGIC).putInt(VERSION).putInt(MeshBuilder.VERSION).putLong(sourceHash);
+        data.putInt(materialNames.size());
+        materialNames.forEach(name -> putString(data, name));
+        data.putInt(meshes.size());
+        for (int i = 0; i < meshes.size(); ++i) {
+            final MeshData meshData = meshes.get(i);
+            putString(data, meshData.id());
+            data.putInt(meshData.materialName() != null ? materialNames.indexOf(meshData.materialName()) : -1);
+            putFloats(data, floatArrays.get(2 * i));
+            putFloats(data, floatArrays.get(2 * i + 1));
+            putInts(data, intArrays.get(2 * i));
+            putInts(data, intArrays.get(2 * i + 1));
+        }
+
+        final Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        final Path tmpFile = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(tmpFile, data.array());
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    /**
+     * Reads the meshes from the given file.
+     *
+     * @param file mesh file
+     * @param sourceHash expected hash of the source data
+     * @return the meshes in the stored order or empty if the file was created from other source data, by another
+     *         format version or by another mesh builder version
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    public static Optional<List<MeshData>> read(Path file, long sourceHash) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            if (data.getInt() != MAGIC || data.getInt() != VERSION || data.getInt() != MeshBuilder.VERSION
+                || data.getLong() != sourceHash) {
+                return Optional.empty();
+            }
+            final String[] materialNames = new String[checkedCount(data, 1)];
+            for (int i = 0; i < materialNames.length; ++i) {
+                materialNames[i] = getString(data);
+            }
+            final int meshCount = checkedCount(data, 1);
+            final List<MeshData> meshes = new ArrayList<>(meshCount);
+            final var arrayReader = new ArrayReader(data);
+            for (int i = 0; i < meshCount; ++i) {
+                final String id = getString(data);
+                final int materialIndex = data.getInt();
+                final var mesh = new TriangleMesh();
+                arrayReader.readInto(mesh.getPoints());
+                arrayReader.readInto(mesh.getTexCoords());
+                arrayReader.readInto(mesh.getFaces());
+                arrayReader.readInto(mesh.getFaceSmoothingGroups());
+                meshes.add(new MeshData(id, materialIndex >= 0 ? materialNames[materialIndex] : null, mesh));
+            }
+            return Optional.of(meshes);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException x) {
+            throw new IOException("Corrupt mesh file: " + file, x);
+        }
+    }
+
+    private static int stringSize(String s) {
+        return 4 + s.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putString(ByteBuffer data, String s) {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        data.putInt(bytes.length).put(bytes);
+    }
+
+    private static void putFloats(ByteBuffer data, float[] values) {
+        data.putInt(values.length);
+        data.asFloatBuffer().put(values);
+        data.position(data.position() + 4 * values.length);
+    }
+
+    private static void putInts(ByteBuffer data, int[] values) {
+        data.putInt(values.length);
+        data.asIntBuffer().put(values);
+        data.position(data.position() + 4 * values.length);
+    }
+
+    // Reads a count and checks that the remaining data can hold that many elements of the given size
+    private static int checkedCount(ByteBuffer data, int elementSize) throws IOException {
+        final int count = data.getInt();
+        if (count < 0 || (long) count * elementSize > data.remaining()) {
+            throw new IOException("Invalid element count: " + count);
+        }
+        return count;
+    }
+
+    private static String getString(ByteBuffer data) throws IOException {
+        final byte[] bytes = new byte[checkedCount(data, 1)];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Observable arrays only accept Java arrays as source, so the file data is decoded into one scratch array per
+     * element type that is reused for all meshes instead of allocating a temporary array per mesh array.
+     */
+    private static final class ArrayReader {
+        private final ByteBuffer data;
+        private float[] floats = new float[0];
+        private int[] ints = new int[0];
+
+        ArrayReader(ByteBuffer data) {
+            this.data = data;
+        }
+
+        void readInto(ObservableFloatArray target) throws IOException {
+            final int count = checkedCount(data, 4);
+            if (floats.length < count) {
+                floats = new float[count];
+            }
+            data.asFloatBuffer().get(floats, 0, count);
+            data.position(data.position() + 4 * count);
+            target.setAll(floats, 0, count);
+        }
+
+        void readInto(ObservableIntegerArray target) throws IOException {
+            final int count = checkedCount(data, 4);
+            if (ints.length < count) {
+                ints = new int[count];
+            }
+            data.asIntBuffer().get(ints, 0, count);
+            data.position(data.position() + 4 * count);
+            target.setAll(ints, 0, count);
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.tinylog.Logger;
 
 import java.util.*;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -22,8 +23,18 @@ import static java.util.Objects.requireNonNull;
  */
 public class MeshBuilder {
 
+    /**
+     * Version of the mesh building algorithm. Must be incremented whenever the builder produces different meshes from
+     * the same OBJ data, e.g. by another triangulation or vertex order, so that stored meshes (see
+     * {@link BinaryMeshFormat}) are built again.
+     */
+    public static final int VERSION = 1;
+
     private static final Predicate<String> INCLUDE_ALL = _ -> true;
 
+    /** Material index filter value selecting the triangles of all materials. */
+    private static final int ANY_MATERIAL = Integer.MIN_VALUE;
+
     /**
      * Mesh builder mode to specify for which entities the mesh views should be created.
      */
@@ -38,6 +49,7 @@ public class MeshBuilder {
 
     private final ObjModel model;
     private final Map<String, PhongMaterial> materials;
+    private boolean parallel;
 
     /**
      * Creates a mesh builder.
@@ -65,9 +77,22 @@ public class MeshBuilder {
      * @return a map of mesh views for the given category
      */
     public static Map<String, MeshView> build(ObjModel objModel, BuildMode mode) {
+        return build(objModel, mode, false);
+    }
+
+    /**
+     * Builds all mesh views and materials for the specified category of entities from the Wavefront OBJ file.
+     *
+     * @param objModel the data model of the OBJ file
+     * @param mode the mesh creation mode (objects, groups or materials)
+     * @param parallel if the meshes of the entities are computed in parallel
+     * @return a map of mesh views for the given category
+     */
+    public static Map<String, MeshView> build(ObjModel objModel, BuildMode mode, boolean parallel) {
         requireNonNull(objModel);
         requireNonNull(mode);
         final var meshBuilder = new MeshBuilder(objModel);
+        meshBuilder.setParallel(parallel);
         return switch (mode) {
             case BY_GROUP -> meshBuilder.buildMeshViewsByGroup();
             case BY_OBJECT -> meshBuilder.buildMeshViewsByObject();
@@ -75,6 +100,14 @@ public class MeshBuilder {
         };
     }
 
+    /**
+     * @param parallel if {@code true}, the meshes for the groups, objects or materials are computed concurrently on the
+     *                 common fork-join pool. Mesh views are always created on the calling thread, in the same order.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
     /**
      * @return unmodifiable map of Phong materials created from the parsed OBJ file
      */
@@ -82,6 +115,20 @@ public class MeshBuilder {
         return Collections.unmodifiableMap(materials);
     }
 
+    /**
+     * @param meshView a mesh view created by this builder
+     * @return name of the material assigned to the mesh view or {@code null} if no material is assigned
+     */
+    public String materialName(MeshView meshView) {
+        requireNonNull(meshView);
+        for (var entry : materials.entrySet()) {
+            if (entry.getValue() == meshView.getMaterial()) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
     /**
      * Builds one MeshView per OBJ group.
      * <p>
@@ -92,20 +139,16 @@ public class MeshBuilder {
      */
     public Map<String, MeshView> buildMeshViewsByGroup(Predicate<String> included) {
         requireNonNull(included);
-        final Map<String, MeshView> result = new LinkedHashMap<>();
+        final List<MeshSpec> specs = new ArrayList<>();
         for (ObjObject obj : model.objects) {
             for (ObjGroup group : obj.groups) {
                 final String meshID = obj.name + "." + group.name;
-                if (!included.test(meshID)) {
-                    continue;
+                if (included.test(meshID)) {
+                    specs.add(new MeshSpec(meshID, List.of(group), ANY_MATERIAL));
                 }
-                final MeshView meshView = buildMeshViewForFaces(group.faces);
-                meshView.setId(meshID);
-                result.put(meshID, meshView);
             }
         }
-
-        return result;
+        return buildMeshViews(specs);
     }
 
     /**
@@ -129,21 +172,13 @@ public class MeshBuilder {
      * @return map with mesh views for OBJ objects
      */
     public Map<String, MeshView> buildMeshViewsByObject(Predicate<String> included) {
-        final Map<String, MeshView> result = new LinkedHashMap<>();
+        final List<MeshSpec> specs = new ArrayList<>();
         for (ObjObject obj : model.objects) {
-            final String meshID = obj.name;
-            if (!included.test(meshID)) {
-                continue;
-            }
-            final List<ObjFace> allFaces = new ArrayList<>();
-            for (ObjGroup group : obj.groups) {
-                allFaces.addAll(group.faces);
+            if (included.test(obj.name)) {
+                specs.add(new MeshSpec(obj.name, obj.groups, ANY_MATERIAL));
             }
-            final MeshView meshView = buildMeshViewForFaces(allFaces);
-            meshView.setId(meshID);
-            result.put(meshID, meshView);
         }
-        return result;
+        return buildMeshViews(specs);
     }
 
     /**
@@ -166,28 +201,26 @@ public class MeshBuilder {
      * @return map with mesh views for OBJ materials
      */
     public Map<String, MeshView> buildMeshViewsByMaterial(Predicate<String> included) {
-        final Map<String, List<ObjFace>> facesByMaterial = new LinkedHashMap<>();
+        // Material indices in order of first usage, groups using each material
+        final Map<Integer, List<ObjGroup>> groupsByMaterial = new LinkedHashMap<>();
         for (ObjObject obj : model.objects) {
             for (ObjGroup group : obj.groups) {
-                for (ObjFace face : group.faces) {
-                    final String key = face.materialName;
-                    facesByMaterial.computeIfAbsent(key, _ -> new ArrayList<>()).add(face);
+                for (int triangle = 0; triangle < group.triangleCount(); ++triangle) {
+                    final List<ObjGroup> groups = groupsByMaterial.computeIfAbsent(group.materialIndex(triangle), _ -> new ArrayList<>());
+                    if (groups.isEmpty() || groups.getLast() != group) {
+                        groups.add(group);
+                    }
                 }
             }
         }
-        final Map<String, MeshView> result = new LinkedHashMap<>();
-        for (var entry : facesByMaterial.entrySet()) {
-            final String materialName = entry.getKey();
-            final List<ObjFace> faces = entry.getValue();
-            if (!included.test(materialName)) {
-                continue;
+        final List<MeshSpec> specs = new ArrayList<>();
+        for (var entry : groupsByMaterial.entrySet()) {
+            final String materialName = model.materialName(entry.getKey());
+            if (included.test(materialName)) {
+                specs.add(new MeshSpec(materialName, entry.getValue(), entry.getKey()));
             }
-            final MeshView meshView = buildMeshViewForFaces(faces);
-            meshView.setId(materialName);
-            meshView.setMaterial(materials.get(materialName));
-            result.put(materialName, meshView);
         }
-        return result;
+        return buildMeshViews(specs);
     }
 
     /**
@@ -204,99 +237,106 @@ public class MeshBuilder {
      *  MESH BUILDING
      * ------------------------------------------------------------- */
 
-    private MeshView buildMeshViewForFaces(List<ObjFace> faces) {
-        final TriangleMesh mesh = buildMeshForFaces(faces);
-        MeshView meshView = new MeshView(mesh);
+    /**
+     * @param id mesh view ID
+     * @param groups groups containing the triangles
+     * @param materialIndex only triangles using this material are included, {@link #ANY_MATERIAL} includes all
+     */
+    private record MeshSpec(String id, List<ObjGroup> groups, int materialIndex) {}
 
-        if (!faces.isEmpty()) {
-            // Assign material if all faces share one
-            final String matName = faces.getFirst().materialName;
+    /** Mesh data, the point and texture coordinate arrays may be larger than needed for the vertex count. */
+    private record MeshArrays(float[] points, float[] texCoords, int vertexCount, int[] faces, int[] smoothingGroups) {}
+
+    private Map<String, MeshView> buildMeshViews(List<MeshSpec> specs) {
+        // The mesh arrays only depend on the (read-only) model and can be computed concurrently
+        final Stream<MeshSpec> stream = parallel ? specs.parallelStream() : specs.stream();
+        final List<MeshArrays> meshArrays = stream.map(spec -> computeMeshArrays(spec.groups(), spec.materialIndex())).toList();
+        final Map<String, MeshView> result = new LinkedHashMap<>();
+        for (int i = 0; i < specs.size(); ++i) {
+            final MeshSpec spec = specs.get(i);
+            final MeshView meshView = new MeshView(createMesh(meshArrays.get(i)));
+            meshView.setId(spec.id());
+            assignMaterial(meshView, spec);
+            result.put(spec.id(), meshView);
+        }
+        return result;
+    }
+
+    // Assigns the material of the first triangle
+    private void assignMaterial(MeshView meshView, MeshSpec spec) {
+        spec.groups().stream().filter(group -> group.triangleCount() > 0).findFirst().ifPresent(group -> {
+            final int materialIndex = spec.materialIndex() != ANY_MATERIAL ? spec.materialIndex() : group.materialIndex(0);
+            final String matName = model.materialName(materialIndex);
             if (materials.containsKey(matName)) {
                 meshView.setMaterial(materials.get(matName));
             }
-        }
-
-        return meshView;
+        });
     }
 
-    private TriangleMesh buildMeshForFaces(List<ObjFace> faces) {
+    private static TriangleMesh createMesh(MeshArrays arrays) {
         final TriangleMesh mesh = new TriangleMesh();
+        mesh.getPoints().setAll(arrays.points(), 0, 3 * arrays.vertexCount());
+        mesh.getTexCoords().setAll(arrays.texCoords(), 0, 2 * arrays.vertexCount());
+        mesh.getFaces().setAll(arrays.faces());
+        mesh.getFaceSmoothingGroups().setAll(arrays.smoothingGroups());
+        return mesh;
+    }
 
-        final List<Float> points = new ArrayList<>();
-        final List<Float> texCoords = new ArrayList<>();
-        final List<Integer> facesIdx = new ArrayList<>();
-        final List<Integer> smoothing = new ArrayList<>();
-
-        final Map<VertexKey, Integer> vertexMap = new HashMap<>();
-
-        for (ObjFace face : faces) {
-            for (ObjFaceVertex fv : face.vertices) {
-
-                final VertexKey key = new VertexKey(fv.vIndex(), fv.vtIndex(), fv.vnIndex());
-
-                final int newIndex = vertexMap.computeIfAbsent(key, k -> {
-
-                    // --- READ VERTEX FROM FLOAT ARRAY ---
-                    final int vIndex = k.v * 3;
-                    final float vx = model.vertices.get(vIndex);
-                    final float vy = model.vertices.get(vIndex + 1);
-                    final float vz = model.vertices.get(vIndex + 2);
-
-                    points.add(vx);
-                    points.add(vy);
-                    points.add(vz);
-
-                    // --- READ TEXCOORD FROM FLOAT ARRAY ---
-                    if (k.vt >= 0) {
-                        final int tIndex = k.vt * 2;
-                        final float u = model.texCoords.get(tIndex);
-                        final float v = model.texCoords.get(tIndex + 1);
+    private MeshArrays computeMeshArrays(List<ObjGroup> groups, int materialIndex) {
+        int triangleCount = 0;
+        for (ObjGroup group : groups) {
+            for (int triangle = 0; triangle < group.triangleCount(); ++triangle) {
+                if (materialIndex == ANY_MATERIAL || group.materialIndex(triangle) == materialIndex) {
+                    ++triangleCount;
+                }
+            }
+        }
 
-                        texCoords.add(u);
-                        texCoords.add(1 - v); // JavaFX UV flip
-                    } else {
-                        texCoords.add(0f);
-                        texCoords.add(0f);
+        // Each triangle adds at most 3 new vertices
+        final float[] points = new float[9 * triangleCount];
+        final float[] texCoords = new float[6 * triangleCount];
+        final int[] faces = new int[6 * triangleCount];
+        final int[] smoothingGroups = new int[triangleCount];
+        final var vertexTable = new VertexIndexTable(3 * triangleCount);
+
+        final float[] modelVertices = model.vertices.array();
+        final float[] modelTexCoords = model.texCoords.array();
+        final int modelVertexCount = model.vertexCount(), modelTexCoordCount = model.texCoordCount();
+        int faceIndex = 0, triangleIndex = 0;
+
+        for (ObjGroup group : groups) {
+            final int[] corners = group.triangleCorners.array();
+            for (int triangle = 0; triangle < group.triangleCount(); ++triangle) {
+                if (materialIndex != ANY_MATERIAL && group.materialIndex(triangle) != materialIndex) {
+                    continue;
+                }
+                for (int corner = 0; corner < 3; ++corner) {
+                    final int offset = triangle * ObjGroup.INTS_PER_TRIANGLE + corner * ObjGroup.INTS_PER_CORNER;
+                    final int v = corners[offset], vt = corners[offset + 1], vn = corners[offset + 2];
+                    final int newVertex = vertexTable.size();
+                    final int vertex = vertexTable.indexOf(v, vt, vn);
+                    if (vertex == newVertex) {
+                        System.arraycopy(modelVertices, 3 * Objects.checkIndex(v, modelVertexCount), points, 3 * vertex, 3);
+                        if (vt >= 0) {
+                            texCoords[2 * vertex]     = modelTexCoords[2 * Objects.checkIndex(vt, modelTexCoordCount)];
+                            texCoords[2 * vertex + 1] = 1 - modelTexCoords[2 * vt + 1]; // JavaFX UV flip
+                        }
                     }
-
-                    return (points.size() / 3) - 1;
-                });
-
-                facesIdx.add(newIndex);
-                facesIdx.add(newIndex);
+                    // Points and texture coordinates share the vertex index
+                    faces[faceIndex++] = vertex;
+                    faces[faceIndex++] = vertex;
+                }
+                final int sg = group.smoothingGroup(triangle);
+                smoothingGroups[triangleIndex++] = sg >= 0 ? 1 << sg : 0;
             }
-
-            final int sg = face.smoothingGroup != null ? (1 << face.smoothingGroup) : 0;
-            smoothing.add(sg);
         }
-
-        mesh.getPoints().setAll(toFloatArray(points));
-        mesh.getTexCoords().setAll(toFloatArray(texCoords));
-        mesh.getFaces().setAll(toIntArray(facesIdx));
-        mesh.getFaceSmoothingGroups().setAll(toIntArray(smoothing));
-
-        return mesh;
+        return new MeshArrays(points, texCoords, vertexTable.size(), faces, smoothingGroups);
     }
 
-
     /* -------------------------------------------------------------
      *  HELPERS
      * ------------------------------------------------------------- */
 
-    private float[] toFloatArray(List<Float> list) {
-        float[] arr = new float[list.size()];
-        for (int i = 0; i < arr.length; i++) arr[i] = list.get(i);
-        return arr;
-    }
-
-    private int[] toIntArray(List<Integer> list) {
-        int[] arr = new int[list.size()];
-        for (int i = 0; i < arr.length; i++) arr[i] = list.get(i);
-        return arr;
-    }
-
-    private record VertexKey(int v, int vt, int vn) {}
-
     private PhongMaterial createPhongMaterial(ObjMaterial m) {
         PhongMaterial fx = new PhongMaterial();
 
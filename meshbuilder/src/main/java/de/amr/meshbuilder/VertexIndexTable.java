@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.meshbuilder;
+
+/**
+ * Open-addressing hash table mapping (vertex, texture coordinate, normal) index triples of the OBJ model to mesh
+ * vertex indices. Keys and values are stored in primitive arrays, no objects are created per lookup.
+ */
+final class VertexIndexTable {
+
+    private final int[] slots; // mesh vertex index + 1, 0 = empty
+    private final int[] keys;  // (v, vt, vn) per mesh vertex
+    private final int mask;
+    private int size;
+
+    /**
+     * @param maxSize maximum number of entries, the table does not grow
+     */
+    VertexIndexTable(int maxSize) {
+        final int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, 2 * maxSize - 1)) << 1);
+        slots = new int[capacity];
+        keys = new int[3 * maxSize];
+        mask = capacity - 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the mesh vertex index of the given triple. If the triple is not yet contained, it is added with index
+     * {@link #size()} (before the call).
+     */
+    int indexOf(int v, int vt, int vn) {
+        int slot = hash(v, vt, vn) & mask;
+        while (true) {
+            final int entry = slots[slot];
+            if (entry == 0) {
+                final int index = size++;
+                keys[3 * index]     = v;
+                keys[3 * index + 1] = vt;
+                keys[3 * index + 2] = vn;
+                slots[slot] = index + 1;
+                return index;
+            }
+            final int index = entry - 1;
+            if (keys[3 * index] == v && keys[3 * index + 1] == vt && keys[3 * index + 2] == vn) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(int v, int vt, int vn) {
+        int h = v * 0x9E3779B1 + vt * 0x85EBCA6B + vn * 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
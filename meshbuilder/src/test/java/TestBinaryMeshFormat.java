@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.meshbuilder.BinaryMeshFormat;
+import de.amr.meshbuilder.BinaryMeshFormat.MeshData;
+import javafx.scene.shape.TriangleMesh;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestBinaryMeshFormat {
+
+    private static final long SOURCE_HASH = BinaryMeshFormat.hash("v 0 0 0".getBytes(StandardCharsets.UTF_8));
+
+    @TempDir
+    Path tempDir;
+
+    private static TriangleMesh createMesh(int seed) {
+        final var mesh = new TriangleMesh();
+        mesh.getPoints().setAll(seed, 2.5f, -3f, 4, 5, 6, 7, 8, 9);
+        mesh.getTexCoords().setAll(0.1f, 0.2f, 0.3f, 0.4f);
+        mesh.getFaces().setAll(0, 0, 1, 1, 2, 0);
+        mesh.getFaceSmoothingGroups().setAll(seed);
+        return mesh;
+    }
+
+    private static void assertSameMesh(TriangleMesh expected, TriangleMesh actual) {
+        assertArrayEquals(expected.getPoints().toArray(null), actual.getPoints().toArray(null));
+        assertArrayEquals(expected.getTexCoords().toArray(null), actual.getTexCoords().toArray(null));
+        assertArrayEquals(expected.getFaces().toArray(null), actual.getFaces().toArray(null));
+        assertArrayEquals(expected.getFaceSmoothingGroups().toArray(null), actual.getFaceSmoothingGroups().toArray(null));
+    }
+
+    @Test
+    @DisplayName("Test meshes read back equal the written meshes")
+    public void testRoundTrip() throws IOException {
+        final List<MeshData> meshes = List.of(
+            new MeshData("Body.Body_yellow", "Yellow", createMesh(1)),
+            new MeshData("Empty", null, new TriangleMesh()),
+            new MeshData("Eyes", "Yellow", createMesh(2)));
+        final Path file = tempDir.resolve("meshes.mesh");
+        BinaryMeshFormat.write(file, SOURCE_HASH, meshes);
+
+        final List<MeshData> readMeshes = BinaryMeshFormat.read(file, SOURCE_HASH).orElseThrow();
+        assertEquals(meshes.size(), readMeshes.size());
+        for (int i = 0; i < meshes.size(); ++i) {
+            assertEquals(meshes.get(i).id(), readMeshes.get(i).id());
+            assertEquals(meshes.get(i).materialName(), readMeshes.get(i).materialName());
+            assertSameMesh(meshes.get(i).mesh(), readMeshes.get(i).mesh());
+        }
+        // no temporary files are left behind
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Test file created from other source data is not read")
+    public void testWrongHash() throws IOException {
+        final Path file = tempDir.resolve("meshes.mesh");
+        BinaryMeshFormat.write(file, SOURCE_HASH, List.of(new MeshData("A", null, createMesh(1))));
+        assertTrue(BinaryMeshFormat.read(file, SOURCE_HASH + 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test truncated and garbled files are reported as corrupt")
+    public void testCorruptFile() throws IOException {
+        final Path file = tempDir.resolve("meshes.mesh");
+        BinaryMeshFormat.write(file, SOURCE_HASH, List.of(new MeshData("A", "Red", createMesh(1))));
+        final byte[] content = Files.readAllBytes(file);
+
+        final Path truncatedFile = tempDir.resolve("truncated.mesh");
+        Files.write(truncatedFile, Arrays.copyOf(content, content.length - 10));
+        assertThrows(IOException.class, () -> BinaryMeshFormat.read(truncatedFile, SOURCE_HASH));
+
+        // overwrite the material count (after magic, version, builder version and hash) with a huge value
+        final byte[] garbled = content.clone();
+        Arrays.fill(garbled, 20, 24, (byte) 0x7F);
+        final Path garbledFile = tempDir.resolve("garbled.mesh");
+        Files.write(garbledFile, garbled);
+        assertThrows(IOException.class, () -> BinaryMeshFormat.read(garbledFile, SOURCE_HASH));
+    }
+}
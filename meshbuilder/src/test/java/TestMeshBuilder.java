@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.meshbuilder.MeshBuilder;
+import de.amr.meshbuilder.MeshBuilder.BuildMode;
+import de.amr.objparser.ObjFileParser;
+import de.amr.objparser.ObjModel;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMeshBuilder {
+
+    // Two quads sharing an edge and a triangle of another object. Vertex 6 is used with two texture coordinates.
+    private static final String OBJ_TEXT = """
+        o Quad
+        v 0 0 0
+        v 1 0 0
+        v 1 1 0
+        v 0 1 0
+        v 0 0 1
+        v 1 0 1
+        vt 0 0
+        vt 1 0
+        vt 1 1
+        vt 0 1
+        g front
+        usemtl Red
+        f 1/1 2/2 3/3 4/4
+        usemtl Blue
+        f 1/1 2/2 6/3 5/4
+        o Other
+        g side
+        usemtl Red
+        f 2/2 3/3 6/1
+        """;
+
+    private static ObjModel model;
+
+    @BeforeAll
+    static void parseModel(@TempDir Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("model.obj");
+        Files.writeString(file, OBJ_TEXT, StandardCharsets.UTF_8);
+        model = new ObjFileParser(file.toUri().toURL(), StandardCharsets.UTF_8).parse();
+    }
+
+    private static TriangleMesh mesh(Map<String, MeshView> meshViews, String id) {
+        final MeshView meshView = meshViews.get(id);
+        assertNotNull(meshView, "No mesh view with ID " + id);
+        return (TriangleMesh) meshView.getMesh();
+    }
+
+    private static int vertexCount(TriangleMesh mesh) {
+        return mesh.getPoints().size() / 3;
+    }
+
+    private static int triangleCount(TriangleMesh mesh) {
+        return mesh.getFaces().size() / 6;
+    }
+
+    @Test
+    @DisplayName("Test corners with the same vertex and texture coordinate share one mesh vertex")
+    public void testVertexDeduplication() {
+        final Map<String, MeshView> meshViews = MeshBuilder.build(model, BuildMode.BY_GROUP);
+
+        // 8 corners, (1,1) and (2,2) are used by both quads
+        final TriangleMesh front = mesh(meshViews, "Quad.front");
+        assertEquals(4, triangleCount(front));
+        assertEquals(6, vertexCount(front));
+        assertEquals(2 * vertexCount(front), front.getTexCoords().size());
+        assertEquals(triangleCount(front), front.getFaceSmoothingGroups().size());
+
+        // points and texture coordinates use the same index
+        final int[] faces = front.getFaces().toArray(null);
+        for (int i = 0; i < faces.length; i += 2) {
+            assertEquals(faces[i], faces[i + 1]);
+            assertTrue(faces[i] < vertexCount(front));
+        }
+
+        // third vertex is (1,1,0) with texture coordinate (1,1), V is flipped for JavaFX
+        final float[] points = front.getPoints().toArray(null);
+        assertArrayEquals(new float[] {1, 1, 0}, new float[] {points[6], points[7], points[8]});
+        assertEquals(1f, front.getTexCoords().get(4));
+        assertEquals(0f, front.getTexCoords().get(5));
+    }
+
+    @Test
+    @DisplayName("Test meshes by material only contain the triangles of their material")
+    public void testMaterialFilter() {
+        final var meshBuilder = new MeshBuilder(model);
+        final Map<String, MeshView> meshViews = meshBuilder.buildMeshViewsByMaterial();
+        assertEquals(List.of("Red", "Blue"), List.copyOf(meshViews.keySet()));
+
+        // first quad and triangle of other object, vertex (6,1) is new
+        final TriangleMesh red = mesh(meshViews, "Red");
+        assertEquals(3, triangleCount(red));
+        assertEquals(5, vertexCount(red));
+
+        final TriangleMesh blue = mesh(meshViews, "Blue");
+        assertEquals(2, triangleCount(blue));
+        assertEquals(4, vertexCount(blue));
+        final float[] bluePoints = blue.getPoints().toArray(null);
+        for (int vertex = 0; vertex < vertexCount(blue); ++vertex) {
+            // blue quad is the bottom quad (y = 0)
+            assertEquals(0f, bluePoints[3 * vertex + 1]);
+        }
+
+        final Map<String, MeshView> filtered = meshBuilder.buildMeshViewsByMaterial("Blue"::equals);
+        assertEquals(List.of("Blue"), List.copyOf(filtered.keySet()));
+        assertArrayEquals(blue.getFaces().toArray(null), mesh(filtered, "Blue").getFaces().toArray(null));
+    }
+
+    @Test
+    @DisplayName("Test meshes built in parallel equal the meshes built sequentially")
+    public void testParallelEqualsSequential() {
+        for (BuildMode mode : BuildMode.values()) {
+            final Map<String, MeshView> sequential = MeshBuilder.build(model, mode, false);
+            final Map<String, MeshView> parallel = MeshBuilder.build(model, mode, true);
+            assertEquals(List.copyOf(sequential.keySet()), List.copyOf(parallel.keySet()), "Mode " + mode);
+            for (String id : sequential.keySet()) {
+                final TriangleMesh expected = mesh(sequential, id), actual = mesh(parallel, id);
+                assertArrayEquals(expected.getPoints().toArray(null), actual.getPoints().toArray(null));
+                assertArrayEquals(expected.getTexCoords().toArray(null), actual.getTexCoords().toArray(null));
+                assertArrayEquals(expected.getFaces().toArray(null), actual.getFaces().toArray(null));
+                assertArrayEquals(expected.getFaceSmoothingGroups().toArray(null), actual.getFaceSmoothingGroups().toArray(null));
+                assertEquals(sequential.get(id).getId(), parallel.get(id).getId());
+            }
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package de.amr.objparser;
 
+import java.nio.ByteBuffer;
+
+/**
+ * Parses decimal floats (optional sign, fraction and exponent) as they appear in OBJ files, without creating strings.
+ */
 public final class FastFloatParser {
 
-    public static float parse(String s, int start, int end) {
+    private FastFloatParser() {}
+
+    /**
+     * Parses a float from the ASCII bytes in the given range of the buffer (absolute positions, buffer position is
+     * not changed).
+     */
+    public static float parse(ByteBuffer s, int start, int end) {
         boolean neg = false;
         int i = start;
 
         if (i < end) {
-            char c = s.charAt(i);
+            int c = s.get(i);
             if (c == '-') {
                 neg = true;
                 i++;
@@ -17,17 +28,17 @@ public final class FastFloatParser {
         double val = 0.0;
 
         while (i < end) {
-            char c = s.charAt(i);
+            int c = s.get(i);
             if (c < '0' || c > '9') break;
             val = val * 10 + (c - '0');
             i++;
         }
 
-        if (i < end && s.charAt(i) == '.') {
+        if (i < end && s.get(i) == '.') {
             i++;
             double factor = 0.1;
             while (i < end) {
-                char c = s.charAt(i);
+                int c = s.get(i);
                 if (c < '0' || c > '9') break;
                 val += (c - '0') * factor;
                 factor *= 0.1;
@@ -35,17 +46,17 @@ public final class FastFloatParser {
             }
         }
 
-        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+        if (i < end && (s.get(i) == 'e' || s.get(i) == 'E')) {
             i++;
             boolean expNeg = false;
-            if (i < end && s.charAt(i) == '-') {
+            if (i < end && s.get(i) == '-') {
                 expNeg = true;
                 i++;
-            } else if (i < end && s.charAt(i) == '+') i++;
+            } else if (i < end && s.get(i) == '+') i++;
 
             int exp = 0;
             while (i < end) {
-                char c = s.charAt(i);
+                int c = s.get(i);
                 if (c < '0' || c > '9') break;
                 exp = exp * 10 + (c - '0');
                 i++;
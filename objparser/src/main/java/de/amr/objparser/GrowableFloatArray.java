@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.objparser;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Growable array of primitive {@code float} values, avoids boxing of large geometry data.
+ */
+public final class GrowableFloatArray {
+
+    private float[] values;
+    private int size;
+
+    public GrowableFloatArray() {
+        this(16);
+    }
+
+    public GrowableFloatArray(int initialCapacity) {
+        values = new float[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(float value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    public float get(int index) {
+        return values[Objects.checkIndex(index, size)];
+    }
+
+    public void set(int index, float value) {
+        values[Objects.checkIndex(index, size)] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sets the size, new elements are 0. Used for filling the backing array directly, e.g. from multiple threads.
+     *
+     * @param newSize new size
+     */
+    public void setSize(int newSize) {
+        if (newSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + newSize);
+        }
+        if (newSize > size) {
+            ensureCapacity(newSize);
+            Arrays.fill(values, size, newSize, 0);
+        }
+        size = newSize;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * @return the backing array (no copy), only the first {@link #size()} elements are valid
+     */
+    public float[] array() {
+        return values;
+    }
+
+    /**
+     * @return copy of the valid elements
+     */
+    public float[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void grow(int minCapacity) {
+        values = Arrays.copyOf(values, Math.max(minCapacity, values.length + (values.length >> 1) + 1));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.objparser;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Growable array of primitive {@code int} values, avoids boxing of large geometry data.
+ */
+public final class GrowableIntArray {
+
+    private int[] values;
+    private int size;
+
+    public GrowableIntArray() {
+        this(16);
+    }
+
+    public GrowableIntArray(int initialCapacity) {
+        values = new int[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            grow(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        return values[Objects.checkIndex(index, size)];
+    }
+
+    public void set(int index, int value) {
+        values[Objects.checkIndex(index, size)] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * @return the backing array (no copy), only the first {@link #size()} elements are valid
+     */
+    public int[] array() {
+        return values;
+    }
+
+    /**
+     * @return copy of the valid elements
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    private void grow(int minCapacity) {
+        values = Arrays.copyOf(values, Math.max(minCapacity, values.length + (values.length >> 1) + 1));
+    }
+}
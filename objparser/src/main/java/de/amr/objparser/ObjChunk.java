@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.objparser;
+
+import de.amr.objparser.ObjFileParser.ObjKeyword;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static de.amr.objparser.ObjFileParser.isWhitespace;
+import static de.amr.objparser.ObjFileParser.skipWhitespace;
+
+/**
+ * A line-aligned part of an OBJ file, parsed concurrently with the other chunks of the file.
+ * <p>
+ * Parsing a chunk takes two passes. The first pass counts the lines and geometry records of the chunk, from which the
+ * file parser computes the totals of all preceding chunks. With these, the second pass writes the geometry directly
+ * into its slice of the (pre-sized) model arrays and resolves relative face indices exactly like the sequential
+ * parser. All other statements are recorded in order and replayed sequentially by the file parser.
+ */
+final class ObjChunk {
+
+    /**
+     * Splits the data into line-aligned chunks of roughly equal size.
+     *
+     * @param data      file data
+     * @param numChunks requested number of chunks
+     * @return list of chunks in file order, may contain less than the requested number of chunks
+     */
+    static List<ObjChunk> split(ByteBuffer data, int numChunks) {
+        final int limit = data.limit();
+        final List<ObjChunk> chunks = new ArrayList<>(numChunks);
+        int start = 0;
+        for (int i = 1; i <= numChunks && start < limit; ++i) {
+            int end = Math.max(start + 1, (int) ((long) limit * i / numChunks));
+            while (end < limit && data.get(end - 1) != '\n') ++end;
+            chunks.add(new ObjChunk(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    final int start;
+    final int end;
+
+    // Counted by the first pass
+    int lineCount;
+    int vertexCount;
+    int texCoordCount;
+    int normalCount;
+
+    // Totals of all preceding chunks, set by the file parser before the second pass
+    int lineBase;
+    int vertexBase;
+    int texCoordBase;
+    int normalBase;
+
+    /** Recorded statements: keyword ordinal followed by corner count (faces) or string index (and line number). */
+    final GrowableIntArray statements = new GrowableIntArray();
+    final GrowableIntArray faceCorners = new GrowableIntArray();
+    final List<String> strings = new ArrayList<>();
+
+    // Set by scanLine()
+    private int keywordStart, keywordEnd, argsStart, contentEnd;
+
+    private ObjChunk(int start, int end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    void count(ByteBuffer data) {
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && data.get(lineEnd) != '\n') ++lineEnd;
+            ++lineCount;
+            final ObjKeyword keyword = scanLine(data, lineStart, lineEnd);
+            if (keyword == ObjKeyword.VERTEX) ++vertexCount;
+            else if (keyword == ObjKeyword.TEX_COORD) ++texCoordCount;
+            else if (keyword == ObjKeyword.VERTEX_NORMAL) ++normalCount;
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    void parse(ByteBuffer data, Charset charset, ObjModel model) {
+        final float[] vertices = model.vertices.array();
+        final float[] texCoords = model.texCoords.array();
+        final float[] normals = model.normals.array();
+        final var faceParser = new ObjFaceParser();
+        int v = vertexBase, vt = texCoordBase, vn = normalBase;
+        int lineNo = lineBase;
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && data.get(lineEnd) != '\n') ++lineEnd;
+            ++lineNo;
+            final ObjKeyword keyword = scanLine(data, lineStart, lineEnd);
+            if (keyword != null) {
+                switch (keyword) {
+                    case VERTEX        -> ObjFileParser.parseFloats(data, argsStart, contentEnd, 3, vertices, 3 * v++);
+                    case TEX_COORD     -> ObjFileParser.parseFloats(data, argsStart, contentEnd, 2, texCoords, 2 * vt++);
+                    case VERTEX_NORMAL -> ObjFileParser.parseFloats(data, argsStart, contentEnd, 3, normals, 3 * vn++);
+                    case FACE -> {
+                        statements.add(keyword.ordinal());
+                        statements.add(faceParser.parse(data, argsStart, contentEnd, v, vt, vn, faceCorners));
+                    }
+                    case UNKNOWN -> {
+                        statements.add(keyword.ordinal());
+                        statements.add(addString(data, keywordStart, keywordEnd, charset));
+                        statements.add(lineNo);
+                    }
+                    default -> {
+                        statements.add(keyword.ordinal());
+                        statements.add(addString(data, argsStart, contentEnd, charset));
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    // Returns null for empty and comment lines
+    private ObjKeyword scanLine(ByteBuffer data, int lineStart, int lineEnd) {
+        contentEnd = ObjFileParser.contentEnd(data, lineStart, lineEnd);
+        keywordStart = skipWhitespace(data, lineStart, contentEnd);
+        if (keywordStart == contentEnd) return null;
+        keywordEnd = keywordStart;
+        while (keywordEnd < contentEnd && !isWhitespace(data.get(keywordEnd))) ++keywordEnd;
+        argsStart = skipWhitespace(data, keywordEnd, contentEnd);
+        return ObjKeyword.fromBytes(data, keywordStart, keywordEnd);
+    }
+
+    private int addString(ByteBuffer data, int from, int to, Charset charset) {
+        strings.add(ObjFileParser.string(data, from, to, charset));
+        return strings.size() - 1;
+    }
+}
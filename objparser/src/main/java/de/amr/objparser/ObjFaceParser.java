@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.objparser;
+
+import java.nio.ByteBuffer;
+
+import static de.amr.objparser.ObjFileParser.isWhitespace;
+import static de.amr.objparser.ObjFileParser.skipWhitespace;
+
+/**
+ * Parses the corner references of a face statement. Not thread-safe, each parsing thread uses its own instance.
+ */
+final class ObjFaceParser {
+
+    private int cursor;
+
+    /**
+     * Parses the corners (v, v/vt, v//vn or v/vt/vn) of a face and appends the resolved, zero-based indices to the
+     * given array. Missing texture coordinate or normal indices are stored as -1.
+     *
+     * @param data          file data
+     * @param pos           start of the face arguments
+     * @param end           end of the face arguments
+     * @param vertexCount   number of vertices defined before this face, used for resolving negative indices
+     * @param texCoordCount number of texture coordinates defined before this face
+     * @param normalCount   number of normals defined before this face
+     * @param corners       receives {@link ObjGroup#INTS_PER_CORNER} ints per corner
+     * @return number of corners
+     */
+    int parse(ByteBuffer data, int pos, int end, int vertexCount, int texCoordCount, int normalCount, GrowableIntArray corners) {
+        int numCorners = 0;
+        cursor = skipWhitespace(data, pos, end);
+        while (cursor < end) {
+            final int v = parseIndexRef(data, cursor, end);
+            final int vt = cursor < end && data.get(cursor) == '/' ? parseIndexRef(data, ++cursor, end) : Integer.MIN_VALUE;
+            final int vn = cursor < end && data.get(cursor) == '/' ? parseIndexRef(data, ++cursor, end) : Integer.MIN_VALUE;
+            corners.add(resolveIndex(v, vertexCount));
+            corners.add(vt == Integer.MIN_VALUE ? -1 : resolveIndex(vt, texCoordCount));
+            corners.add(vn == Integer.MIN_VALUE ? -1 : resolveIndex(vn, normalCount));
+            ++numCorners;
+            while (cursor < end && !isWhitespace(data.get(cursor))) ++cursor;
+            cursor = skipWhitespace(data, cursor, end);
+        }
+        return numCorners;
+    }
+
+    // Parses an integer starting at the given position, the cursor is set behind the parsed digits
+    private int parseIndexRef(ByteBuffer data, int pos, int end) {
+        boolean negative = false;
+        if (pos < end && data.get(pos) == '-') {
+            negative = true;
+            ++pos;
+        }
+        final int digitsStart = pos;
+        int value = 0;
+        while (pos < end) {
+            final int c = data.get(pos);
+            if (c < '0' || c > '9') break;
+            value = value * 10 + (c - '0');
+            ++pos;
+        }
+        cursor = pos;
+        if (pos == digitsStart) return Integer.MIN_VALUE;
+        return negative ? -value : value;
+    }
+
+    private static int resolveIndex(int idx, int size) {
+        return idx < 0 ? size + idx : idx - 1;
+    }
+}
@@ -1,7 +0,0 @@
-/*
- * Copyright (c) 2026 Armin Reichert (MIT License)
- */
-
-package de.amr.objparser;
-
-public record ObjFaceVertex(int vIndex, int vtIndex, int vnIndex) {}
@@ -6,23 +6,44 @@ package de.amr.objparser;
 
 import org.tinylog.Logger;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Parser for Wavefront OBJ files. Creates an in-memory representation of the parsed file that can be used e.g. to
  * create JavaFX materials and mesh views.
+ * <p>
+ * Large files are parsed in parallel: the file is split into line-aligned chunks which are parsed concurrently on the
+ * common fork-join pool, then the objects, groups and material usages of the chunks are stitched together in file
+ * order. The resulting model is identical to the one created by sequential parsing.
  */
 public class ObjFileParser {
 
+    public enum ParseMode {
+        /** Parse the file on the calling thread. */
+        SEQUENTIAL,
+        /** Parse chunks of the file concurrently. */
+        PARALLEL,
+        /** Parse in parallel if the file size reaches {@link #PARALLEL_PARSING_THRESHOLD}. */
+        AUTO
+    }
+
+    /** File size (bytes) from which the {@link ParseMode#AUTO auto} mode parses in parallel. */
+    public static final int PARALLEL_PARSING_THRESHOLD = 2 * 1024 * 1024;
+
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+
     public enum ObjKeyword {
         OBJECT           ("o"),
         GROUP            ("g"),
@@ -39,198 +60,259 @@ public class ObjFileParser {
 
         ObjKeyword(String text) { this.text = text; }
 
-        static ObjKeyword fromText(String text) {
-            for (ObjKeyword k : values()) if (k.text.equals(text)) return k;
-            return UNKNOWN;
-        }
-    }
-
-    /* -------------------------------------------------------------
-     *  SIZE INFO
-     * ------------------------------------------------------------- */
-
-    public record ObjSizeInfo(
-        long vertexCount,
-        long texCoordCount,
-        long normalCount,
-        long faceCount,
-        long faceIndexCount
-    ) {}
-
-    private ObjSizeInfo computeObjSizes(InputStream in) throws IOException {
-        long v = 0, vt = 0, vn = 0, f = 0, faceRefs = 0;
-
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isEmpty()) continue;
-
-                char c0 = line.charAt(0);
-                switch (c0) {
-                    case 'v' -> {
-                        if (line.startsWith("v ")) v++;
-                        else if (line.startsWith("vt ")) vt++;
-                        else if (line.startsWith("vn ")) vn++;
-                    }
-                    case 'f' -> {
-                        if (line.startsWith("f ")) {
-                            f++;
-                            faceRefs += countFaceReferences(line);
-                        }
-                    }
-                }
+        static ObjKeyword fromBytes(ByteBuffer data, int start, int end) {
+            final int length = end - start;
+            final int c0 = data.get(start);
+            if (length == 1) {
+                return switch (c0) {
+                    case 'v' -> VERTEX;
+                    case 'f' -> FACE;
+                    case 'o' -> OBJECT;
+                    case 'g' -> GROUP;
+                    case 's' -> SMOOTHING_GROUP;
+                    default  -> UNKNOWN;
+                };
             }
-        }
-
-        return new ObjSizeInfo(v, vt, vn, f, faceRefs);
-    }
-
-    private static int countFaceReferences(String line) {
-        int count = 0;
-        boolean inToken = false;
-        for (int i = 2; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == ' ') {
-                if (inToken) {
-                    count++;
-                    inToken = false;
-                }
-            } else {
-                inToken = true;
+            if (length == 2 && c0 == 'v') {
+                return switch (data.get(start + 1)) {
+                    case 't' -> TEX_COORD;
+                    case 'n' -> VERTEX_NORMAL;
+                    default  -> UNKNOWN;
+                };
+            }
+            for (ObjKeyword k : values()) {
+                if (k.text.length() == length && k.matches(data, start)) return k;
             }
+            return UNKNOWN;
         }
-        if (inToken) count++;
-        return count;
-    }
-
-    /* -------------------------------------------------------------
-     *  TOKENIZER (line → keyword + args)
-     * ------------------------------------------------------------- */
-
-    public record Token(ObjKeyword keyword, String args, int lineNo) {}
-
-    public static class Tokenizer {
-        private final BufferedReader reader;
-        private int lineNo = 0;
-
-        public Tokenizer(BufferedReader reader) { this.reader = reader; }
-
-        public Token next() throws IOException {
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-                lineNo++;
 
-                int hash = line.indexOf('#');
-                if (hash >= 0) line = line.substring(0, hash);
-
-                line = line.strip();
-                if (line.isEmpty()) continue;
-
-                int len = line.length();
-                int i = 0;
-                while (i < len && !Character.isWhitespace(line.charAt(i))) i++;
-                String keyword = line.substring(0, i);
-
-                while (i < len && Character.isWhitespace(line.charAt(i))) i++;
-                String args = i < len ? line.substring(i) : "";
-
-                return new Token(ObjKeyword.fromText(keyword), args, lineNo);
+        private boolean matches(ByteBuffer data, int start) {
+            for (int i = 0; i < text.length(); ++i) {
+                if (data.get(start + i) != text.charAt(i)) return false;
             }
-
-            return null;
+            return true;
         }
     }
 
-    /* -------------------------------------------------------------
-     *  FAST TOKENIZERS
-     * ------------------------------------------------------------- */
-
-    private final FastSpaceTokenizer spaceTok = new FastSpaceTokenizer();
-    private final FastFaceRefTokenizer faceTok = new FastFaceRefTokenizer();
-    private final int[] faceRef = new int[3];
-
     /* -------------------------------------------------------------
      *  PARSER
      * ------------------------------------------------------------- */
 
+    /** Rough average size of the lines of an OBJ file, used to estimate the vertex count from the file size. */
+    private static final int AVERAGE_BYTES_PER_VERTEX = 80;
+
     private final URL objFileURL;
     private final Charset charset;
 
+    private ParseMode parseMode = ParseMode.AUTO;
     private int anonMeshNameCount = 0;
 
+    // Reused per parsed face, no allocation per line or face corner
+    private final ObjFaceParser faceParser = new ObjFaceParser();
+    private final GrowableIntArray faceCorners = new GrowableIntArray(16 * ObjGroup.INTS_PER_CORNER);
+
     public ObjFileParser(URL objFileURL, Charset charset) {
         this.objFileURL = requireNonNull(objFileURL);
         this.charset = requireNonNull(charset);
     }
 
+    public void setParseMode(ParseMode parseMode) {
+        this.parseMode = requireNonNull(parseMode);
+    }
+
+    public ParseMode parseMode() {
+        return parseMode;
+    }
+
     public ObjModel parse() throws IOException {
         return parse(0);
     }
 
+    /**
+     * Parses the OBJ file, sequentially in a single pass over its bytes or in parallel, depending on the parse mode.
+     * Files are memory-mapped, other resources are read completely into memory.
+     *
+     * @param maxSourceLines maximum number of source lines stored in the model
+     * @return the parsed model
+     * @throws IOException if the file cannot be read
+     */
     public ObjModel parse(int maxSourceLines) throws IOException {
-        final var objModel = createEmptyModel(objFileURL, charset, maxSourceLines);
-
-        try (InputStream stream = objFileURL.openStream();
-             var reader = new BufferedReader(new InputStreamReader(stream, charset))) {
-
-            Token token;
-            final Tokenizer tokenizer = new Tokenizer(reader);
+        final ByteBuffer data = readData(objFileURL);
+        final int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        final boolean parallel = switch (parseMode) {
+            case SEQUENTIAL -> false;
+            case PARALLEL -> true;
+            case AUTO -> data.limit() >= PARALLEL_PARSING_THRESHOLD && parallelism > 1;
+        };
+        final ObjModel objModel;
+        if (parallel) {
+            final int numChunks = Math.clamp(data.limit() / MIN_CHUNK_SIZE, 1, 4 * parallelism);
+            objModel = parseChunks(data, ObjChunk.split(data, numChunks));
+        } else {
+            objModel = new ObjModel(data.limit() / AVERAGE_BYTES_PER_VERTEX);
+            parseLines(objModel, data);
+        }
+        objModel.setUrl(objFileURL.toExternalForm());
+        objModel.setSource(sourceLines(data, maxSourceLines));
+        return objModel;
+    }
 
-            while ((token = tokenizer.next()) != null) {
-                switch (token.keyword()) {
-                    case MATERIAL_LIB    -> parseMaterialLibraryRef(objModel, token.args());
-                    case OBJECT          -> parseObject(objModel, token.args());
-                    case GROUP           -> parseGroup(objModel, token.args());
-                    case SMOOTHING_GROUP -> parseSmoothingGroup(objModel, token.args());
-                    case MATERIAL_USAGE  -> parseMaterialUsage(objModel, token.args());
+    private ObjModel parseChunks(ByteBuffer data, List<ObjChunk> chunks) {
+        // First pass: count lines and geometry records per chunk
+        chunks.parallelStream().forEach(chunk -> chunk.count(data));
+
+        int lineCount = 0, vertexCount = 0, texCoordCount = 0, normalCount = 0;
+        for (ObjChunk chunk : chunks) {
+            chunk.lineBase = lineCount;
+            chunk.vertexBase = vertexCount;
+            chunk.texCoordBase = texCoordCount;
+            chunk.normalBase = normalCount;
+            lineCount += chunk.lineCount;
+            vertexCount += chunk.vertexCount;
+            texCoordCount += chunk.texCoordCount;
+            normalCount += chunk.normalCount;
+        }
+        final var objModel = new ObjModel(0);
+        objModel.vertices.setSize(3 * vertexCount);
+        objModel.texCoords.setSize(2 * texCoordCount);
+        objModel.normals.setSize(3 * normalCount);
 
-                    case VERTEX -> parseVertexInto(objModel, token.args());
-                    case TEX_COORD -> parseTexCoordInto(objModel, token.args());
-                    case VERTEX_NORMAL -> parseNormalInto(objModel, token.args());
+        // Second pass: each chunk fills its slice of the geometry arrays and records its statements
+        chunks.parallelStream().forEach(chunk -> chunk.parse(data, charset, objModel));
 
-                    case FACE -> parseFace(objModel, token.args());
+        // Stitch objects, groups and material usages together in file order
+        for (ObjChunk chunk : chunks) {
+            replayStatements(objModel, chunk);
+        }
+        Logger.debug("Parsed {} lines in {} chunks", lineCount, chunks.size());
+        return objModel;
+    }
 
-                    default -> Logger.warn("Unknown keyword '{}' at line {}", token.keyword(), token.lineNo());
+    private void replayStatements(ObjModel model, ObjChunk chunk) {
+        final ObjKeyword[] keywords = ObjKeyword.values();
+        final int[] corners = chunk.faceCorners.array();
+        int cornerOffset = 0;
+        int i = 0;
+        while (i < chunk.statements.size()) {
+            final ObjKeyword keyword = keywords[chunk.statements.get(i++)];
+            switch (keyword) {
+                case FACE -> {
+                    final int numCorners = chunk.statements.get(i++);
+                    ensureGroupExists(model);
+                    triangulate(model, corners, cornerOffset, numCorners);
+                    cornerOffset += numCorners * ObjGroup.INTS_PER_CORNER;
+                }
+                case MATERIAL_LIB    -> parseMaterialLibraryRef(model, chunk.strings.get(chunk.statements.get(i++)));
+                case OBJECT          -> parseObject(model, chunk.strings.get(chunk.statements.get(i++)));
+                case GROUP           -> parseGroup(model, chunk.strings.get(chunk.statements.get(i++)));
+                case SMOOTHING_GROUP -> parseSmoothingGroup(model, chunk.strings.get(chunk.statements.get(i++)));
+                case MATERIAL_USAGE  -> parseMaterialUsage(model, chunk.strings.get(chunk.statements.get(i++)));
+                default -> {
+                    final String text = chunk.strings.get(chunk.statements.get(i++));
+                    Logger.warn("Unknown keyword '{}' at line {}", text, chunk.statements.get(i++));
                 }
             }
         }
+    }
 
-        return objModel;
+    private static ByteBuffer readData(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                final Path path = Path.of(url.toURI());
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            } catch (URISyntaxException | IllegalArgumentException x) {
+                Logger.debug("Cannot map URL {} to file path, reading stream", url);
+            }
+        }
+        try (InputStream stream = url.openStream()) {
+            return ByteBuffer.wrap(stream.readAllBytes());
+        }
     }
 
-    /* -------------------------------------------------------------
-     *  MODEL CREATION WITH PRE-SCAN
-     * ------------------------------------------------------------- */
+    // Maybe grab the first source lines to display them in a viewer
+    private String sourceLines(ByteBuffer data, int maxSourceLines) {
+        if (maxSourceLines <= 0) {
+            return "";
+        }
+        int end = 0, lineCount = 0;
+        while (end < data.limit() && lineCount < maxSourceLines) {
+            if (data.get(end++) == '\n') ++lineCount;
+        }
+        String text = string(data, 0, end).replace("\r", "");
+        return text.endsWith("\n") || text.isEmpty() ? text : text + "\n";
+    }
 
-    private ObjModel createEmptyModel(URL url, Charset charset, int maxSourceLines) throws IOException {
-        ObjSizeInfo sizes;
-        try (InputStream stream = url.openStream()) {
-            sizes = computeObjSizes(stream);
+    private void parseLines(ObjModel model, ByteBuffer data) {
+        final int limit = data.limit();
+        int lineStart = 0;
+        int lineNo = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && data.get(lineEnd) != '\n') ++lineEnd;
+            ++lineNo;
+            parseLine(model, data, lineStart, lineEnd, lineNo);
+            lineStart = lineEnd + 1;
         }
+    }
 
-        // Maybe grab the first source lines to display them in a viewer
-        final StringBuilder sb = new StringBuilder();
-        if (maxSourceLines > 0) {
-            try (InputStream stream = url.openStream();
-                 var reader = new BufferedReader(new InputStreamReader(stream, charset))) {
+    private void parseLine(ObjModel model, ByteBuffer data, int start, int end, int lineNo) {
+        end = contentEnd(data, start, end);
+        start = skipWhitespace(data, start, end);
+        if (start == end) return;
 
-                int lineNo = 1;
+        int keywordEnd = start;
+        while (keywordEnd < end && !isWhitespace(data.get(keywordEnd))) ++keywordEnd;
+        final ObjKeyword keyword = ObjKeyword.fromBytes(data, start, keywordEnd);
+        final int argsStart = skipWhitespace(data, keywordEnd, end);
 
-                for (; lineNo <= maxSourceLines; lineNo++) {
-                    String line = reader.readLine();
-                    if (line == null) break;
-                    sb.append(line).append("\n");
-                }
+        switch (keyword) {
+            case MATERIAL_LIB    -> parseMaterialLibraryRef(model, string(data, argsStart, end));
+            case OBJECT          -> parseObject(model, string(data, argsStart, end));
+            case GROUP           -> parseGroup(model, string(data, argsStart, end));
+            case SMOOTHING_GROUP -> parseSmoothingGroup(model, string(data, argsStart, end));
+            case MATERIAL_USAGE  -> parseMaterialUsage(model, string(data, argsStart, end));
 
+            case VERTEX        -> parseFloats(data, argsStart, end, 3, model.vertices);
+            case TEX_COORD     -> parseFloats(data, argsStart, end, 2, model.texCoords);
+            case VERTEX_NORMAL -> parseFloats(data, argsStart, end, 3, model.normals);
+
+            case FACE -> parseFace(model, data, argsStart, end);
+
+            default -> Logger.warn("Unknown keyword '{}' at line {}", string(data, start, keywordEnd), lineNo);
+        }
+    }
+
+    static boolean isWhitespace(int b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B;
+    }
+
+    static int skipWhitespace(ByteBuffer data, int pos, int end) {
+        while (pos < end && isWhitespace(data.get(pos))) ++pos;
+        return pos;
+    }
+
+    // End of the line content without comment and trailing whitespace
+    static int contentEnd(ByteBuffer data, int start, int end) {
+        for (int i = start; i < end; ++i) {
+            if (data.get(i) == '#') {
+                end = i;
+                break;
             }
         }
+        while (end > start && isWhitespace(data.get(end - 1))) --end;
+        return end;
+    }
 
-        final var model = new ObjModel(sizes);
-        model.setUrl(url.toExternalForm());
-        model.setSource(sb.toString());
+    static String string(ByteBuffer data, int start, int end, Charset charset) {
+        final var bytes = new byte[end - start];
+        data.get(start, bytes);
+        return new String(bytes, charset);
+    }
 
-        return model;
+    private String string(ByteBuffer data, int start, int end) {
+        return string(data, start, end, charset);
     }
 
     /* -------------------------------------------------------------
@@ -293,101 +375,46 @@ public class ObjFileParser {
      *  GEOMETRY PARSING (FAST FLOAT)
      * ------------------------------------------------------------- */
 
-    private void parseVertexInto(ObjModel model, String s) {
-        spaceTok.reset(s);
-
-        spaceTok.next();
-        float x = FastFloatParser.parse(spaceTok.source(), spaceTok.tokenStart(), spaceTok.tokenEnd());
-
-        spaceTok.next();
-        float y = FastFloatParser.parse(spaceTok.source(), spaceTok.tokenStart(), spaceTok.tokenEnd());
-
-        spaceTok.next();
-        float z = FastFloatParser.parse(spaceTok.source(), spaceTok.tokenStart(), spaceTok.tokenEnd());
-
-        model.vertices.add(x);
-        model.vertices.add(y);
-        model.vertices.add(z);
+    // Missing values are stored as 0, additional values (e.g. vertex colors, w coordinate) are ignored
+    private static void parseFloats(ByteBuffer data, int pos, int end, int count, GrowableFloatArray target) {
+        final int offset = target.size();
+        target.setSize(offset + count);
+        parseFloats(data, pos, end, count, target.array(), offset);
     }
 
-    private void parseTexCoordInto(ObjModel model, String s) {
-        spaceTok.reset(s);
-
-        spaceTok.next();
-        float u = FastFloatParser.parse(spaceTok.source(), spaceTok.tokenStart(), spaceTok.tokenEnd());
-
-        spaceTok.next();
-        float v = FastFloatParser.parse(spaceTok.source(), spaceTok.tokenStart(), spaceTok.tokenEnd());
-
-        model.texCoords.add(u);
-        model.texCoords.add(v);
-    }
-
-    private void parseNormalInto(ObjModel model, String s) {
-        spaceTok.reset(s);
-
-        spaceTok.next();
-        float x = FastFloatParser.parse(spaceTok.source(), spaceTok.tokenStart(), spaceTok.tokenEnd());
-
-        spaceTok.next();
-        float y = FastFloatParser.parse(spaceTok.source(), spaceTok.tokenStart(), spaceTok.tokenEnd());
-
-        spaceTok.next();
-        float z = FastFloatParser.parse(spaceTok.source(), spaceTok.tokenStart(), spaceTok.tokenEnd());
-
-        model.normals.add(x);
-        model.normals.add(y);
-        model.normals.add(z);
+    static void parseFloats(ByteBuffer data, int pos, int end, int count, float[] target, int offset) {
+        for (int i = 0; i < count; ++i) {
+            pos = skipWhitespace(data, pos, end);
+            int tokenEnd = pos;
+            while (tokenEnd < end && !isWhitespace(data.get(tokenEnd))) ++tokenEnd;
+            target[offset + i] = FastFloatParser.parse(data, pos, tokenEnd);
+            pos = tokenEnd;
+        }
     }
 
     /* -------------------------------------------------------------
      *  FACE PARSING
      * ------------------------------------------------------------- */
 
-    private void parseFace(ObjModel model, String args) {
-        if (model.currentObject == null) parseObject(model, "Object." + nextAnonName());
-        if (model.currentGroup == null) parseGroup(model, "Group." + nextAnonName());
-
-        List<ObjFaceVertex> verts = new ArrayList<>();
-
-        spaceTok.reset(args);
-        while (spaceTok.next()) {
-            String ref = spaceTok.token();
-            verts.add(parseFaceVertex(model, ref));
-        }
-
-        triangulate(model, verts);
-    }
-
-    private ObjFaceVertex parseFaceVertex(ObjModel model, String ref) {
-        faceTok.split(ref, faceRef);
-
-        int v  = parseIndex(faceRef[0], model.vertexCount());
-        int vt = faceRef[1] == Integer.MIN_VALUE ? -1 : parseIndex(faceRef[1], model.texCoordCount());
-        int vn = faceRef[2] == Integer.MIN_VALUE ? -1 : parseIndex(faceRef[2], model.normalCount());
-
-        return new ObjFaceVertex(v, vt, vn);
+    private void parseFace(ObjModel model, ByteBuffer data, int pos, int end) {
+        ensureGroupExists(model);
+        faceCorners.clear();
+        final int numCorners = faceParser.parse(data, pos, end,
+            model.vertexCount(), model.texCoordCount(), model.normalCount(), faceCorners);
+        triangulate(model, faceCorners.array(), 0, numCorners);
     }
 
-    private int parseIndex(int idx, int size) {
-        return idx < 0 ? size + idx : idx - 1;
+    private void ensureGroupExists(ObjModel model) {
+        if (model.currentObject == null) parseObject(model, "Object." + nextAnonName());
+        if (model.currentGroup == null) parseGroup(model, "Group." + nextAnonName());
     }
 
-    private void triangulate(ObjModel model, List<ObjFaceVertex> v) {
-        if (v.size() < 3) return;
-
-        ObjFaceVertex v0 = v.getFirst();
-
-        for (int i = 1; i < v.size() - 1; i++) {
-            ObjFaceVertex v1 = v.get(i);
-            ObjFaceVertex v2 = v.get(i + 1);
-
-            ObjFace face = new ObjFace(model.currentMaterialName, model.currentSmoothingGroup);
-            face.vertices.add(v0);
-            face.vertices.add(v1);
-            face.vertices.add(v2);
-
-            model.currentGroup.faces.add(face);
+    private void triangulate(ObjModel model, int[] corners, int offset, int numCorners) {
+        if (numCorners < 3) return;
+        final int materialIndex = model.materialIndex(model.currentMaterialName);
+        final int smoothingGroup = model.currentSmoothingGroup != null ? model.currentSmoothingGroup : -1;
+        for (int i = 1; i < numCorners - 1; i++) {
+            model.currentGroup.addTriangle(corners, offset, 0, i, i + 1, materialIndex, smoothingGroup);
         }
     }
 
@@ -4,14 +4,72 @@
 
 package de.amr.objparser;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * A group of triangles. The faces of the OBJ file are triangulated and stored in packed primitive arrays, no objects
+ * are created per face or face vertex.
+ */
 public class ObjGroup {
+
+    /** Number of ints stored per triangle corner: vertex, texture coordinate and normal index. */
+    public static final int INTS_PER_CORNER = 3;
+
+    /** Number of ints stored per triangle. */
+    public static final int INTS_PER_TRIANGLE = 3 * INTS_PER_CORNER;
+
     public final String name;
-    public final List<ObjFace> faces = new ArrayList<>();
+
+    /**
+     * Per triangle: (v, vt, vn) for each of the 3 corners. Indices are zero-based, missing texture coordinate or
+     * normal indices are stored as -1.
+     */
+    public final GrowableIntArray triangleCorners = new GrowableIntArray(3 * INTS_PER_TRIANGLE);
+
+    /** Per triangle: index into {@link ObjModel#materialNames} or -1 if no material is used. */
+    public final GrowableIntArray triangleMaterials = new GrowableIntArray();
+
+    /** Per triangle: smoothing group number or -1 if smoothing is off. */
+    public final GrowableIntArray triangleSmoothingGroups = new GrowableIntArray();
 
     public ObjGroup(String name) {
         this.name = name;
     }
+
+    public int triangleCount() {
+        return triangleMaterials.size();
+    }
+
+    public int vertexIndex(int triangle, int corner) {
+        return triangleCorners.get(triangle * INTS_PER_TRIANGLE + corner * INTS_PER_CORNER);
+    }
+
+    public int texCoordIndex(int triangle, int corner) {
+        return triangleCorners.get(triangle * INTS_PER_TRIANGLE + corner * INTS_PER_CORNER + 1);
+    }
+
+    public int normalIndex(int triangle, int corner) {
+        return triangleCorners.get(triangle * INTS_PER_TRIANGLE + corner * INTS_PER_CORNER + 2);
+    }
+
+    public int materialIndex(int triangle) {
+        return triangleMaterials.get(triangle);
+    }
+
+    public int smoothingGroup(int triangle) {
+        return triangleSmoothingGroups.get(triangle);
+    }
+
+    // corners[offset + i * INTS_PER_CORNER] is the start of corner i
+    void addTriangle(int[] corners, int offset, int first, int second, int third, int materialIndex, int smoothingGroup) {
+        addCorner(corners, offset + first * INTS_PER_CORNER);
+        addCorner(corners, offset + second * INTS_PER_CORNER);
+        addCorner(corners, offset + third * INTS_PER_CORNER);
+        triangleMaterials.add(materialIndex);
+        triangleSmoothingGroups.add(smoothingGroup);
+    }
+
+    private void addCorner(int[] corners, int offset) {
+        triangleCorners.add(corners[offset]);
+        triangleCorners.add(corners[offset + 1]);
+        triangleCorners.add(corners[offset + 2]);
+    }
 }
@@ -11,14 +11,18 @@ import java.util.Map;
 
 public class ObjModel {
 
-    // Geometry stored in fastutil primitive lists
-    public final ArrayList<Float> vertices;   // x,y,z,x,y,z,...
-    public final ArrayList<Float> texCoords;  // u,v,u,v,...
-    public final ArrayList<Float> normals;    // nx,ny,nz,...
+    // Geometry stored in growable primitive arrays
+    public final GrowableFloatArray vertices;   // x,y,z,x,y,z,...
+    public final GrowableFloatArray texCoords;  // u,v,u,v,...
+    public final GrowableFloatArray normals;    // nx,ny,nz,...
 
-    // Object/group hierarchy (unchanged)
+    // Object/group hierarchy
     public final List<ObjObject> objects = new ArrayList<>();
 
+    // Names of the used materials, triangles store the index into this list
+    public final List<String> materialNames = new ArrayList<>();
+    private final Map<String, Integer> materialIndexByName = new HashMap<>();
+
     // Material libraries
     public final Map<String, Map<String, ObjMaterial>> materialLibsMap = new HashMap<>();
 
@@ -32,11 +36,17 @@ public class ObjModel {
     private String url;
     private String source;
 
-    public ObjModel(ObjFileParser.ObjSizeInfo sizes) {
+    public ObjModel() {
+        this(1024);
+    }
 
-        this.vertices  = new ArrayList<Float>((int) (sizes.vertexCount() * 3));
-        this.texCoords = new ArrayList<Float>((int) (sizes.texCoordCount() * 2));
-        this.normals   = new ArrayList<Float>((int) (sizes.normalCount() * 3));
+    /**
+     * @param expectedVertexCount expected number of vertices, used for the initial capacity of the geometry arrays
+     */
+    public ObjModel(int expectedVertexCount) {
+        this.vertices  = new GrowableFloatArray(expectedVertexCount * 3);
+        this.texCoords = new GrowableFloatArray(expectedVertexCount * 2);
+        this.normals   = new GrowableFloatArray(expectedVertexCount * 3);
 
         // Objects and faces are created during parsing
         this.currentObject = null;
@@ -80,4 +90,36 @@ public class ObjModel {
     public int normalCount() {
         return normals.size() / 3;
     }
+
+    /**
+     * @param materialIndex material index as stored per triangle
+     * @return material name or {@code null} if the index is -1 (no material)
+     */
+    public String materialName(int materialIndex) {
+        return materialIndex < 0 ? null : materialNames.get(materialIndex);
+    }
+
+    /**
+     * @param materialName material name, may be {@code null}
+     * @return index of the material name, the name is added if not yet known, -1 for {@code null}
+     */
+    public int materialIndex(String materialName) {
+        if (materialName == null) {
+            return -1;
+        }
+        return materialIndexByName.computeIfAbsent(materialName, name -> {
+            materialNames.add(name);
+            return materialNames.size() - 1;
+        });
+    }
+
+    public int triangleCount() {
+        int count = 0;
+        for (ObjObject object : objects) {
+            for (ObjGroup group : object.groups) {
+                count += group.triangleCount();
+            }
+        }
+        return count;
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.objparser.ObjFileParser;
+import de.amr.objparser.ObjGroup;
+import de.amr.objparser.ObjModel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.tinylog.configuration.Configuration;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TestObjFileParser {
+
+    private static final String OBJ = """
+        # test model
+        o Box
+        v 0 0 0
+        v 1.5 0 0   # comment after values
+        v 1 -2.5e1 0
+        v 0 1 0\r
+        vt 0.25 0.75
+        vn 0 0 1
+        g front
+        usemtl Red
+        s 1
+        f 1/1/1 2/1/1 3/1/1 4/1/1
+        g back
+        usemtl Blue
+        s off
+        f -4//1 -3//1 -2//1
+        f 1 2 4
+        """;
+
+    private ObjModel model;
+
+    @BeforeAll
+    void parse() throws IOException {
+        Configuration.set("level", "off");
+        final Path file = Files.createTempFile("test", ".obj");
+        try {
+            Files.writeString(file, OBJ, StandardCharsets.UTF_8);
+            model = new ObjFileParser(file.toUri().toURL(), StandardCharsets.UTF_8).parse(2);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Test geometry values are parsed")
+    public void testGeometry() {
+        assertEquals(4, model.vertexCount());
+        assertEquals(1, model.texCoordCount());
+        assertEquals(1, model.normalCount());
+        assertEquals(1.5f, model.vertices.get(3));
+        assertEquals(-25f, model.vertices.get(7));
+        assertEquals(0.75f, model.texCoords.get(1));
+        assertEquals("# test model\no Box\n", model.source());
+    }
+
+    @Test
+    @DisplayName("Test faces are triangulated and stored per group")
+    public void testFaces() {
+        assertEquals(1, model.objects.size());
+        assertEquals(2, model.objects.getFirst().groups.size());
+
+        final ObjGroup front = model.objects.getFirst().groups.get(0);
+        assertEquals("front", front.name);
+        assertEquals(2, front.triangleCount());
+        assertEquals(0, front.vertexIndex(1, 0));
+        assertEquals(2, front.vertexIndex(1, 1));
+        assertEquals(3, front.vertexIndex(1, 2));
+        assertEquals(0, front.texCoordIndex(0, 1));
+        assertEquals("Red", model.materialName(front.materialIndex(0)));
+        assertEquals(1, front.smoothingGroup(0));
+
+        final ObjGroup back = model.objects.getFirst().groups.get(1);
+        assertEquals(2, back.triangleCount());
+        assertEquals(0, back.vertexIndex(0, 0));
+        assertEquals(-1, back.texCoordIndex(0, 0));
+        assertEquals(0, back.normalIndex(0, 0));
+        assertEquals(-1, back.normalIndex(1, 0));
+        assertEquals("Blue", model.materialName(back.materialIndex(1)));
+        assertEquals(-1, back.smoothingGroup(0));
+    }
+
+    @Test
+    @DisplayName("Test parallel parsing creates the same model as sequential parsing")
+    public void testParallelParsing() throws IOException {
+        final URL url = getClass().getResource("/alien_animal/Alien Animal.obj");
+        assertNotNull(url);
+        final var sequentialParser = new ObjFileParser(url, StandardCharsets.UTF_8);
+        sequentialParser.setParseMode(ObjFileParser.ParseMode.SEQUENTIAL);
+        final ObjModel expected = sequentialParser.parse();
+        final var parallelParser = new ObjFileParser(url, StandardCharsets.UTF_8);
+        parallelParser.setParseMode(ObjFileParser.ParseMode.PARALLEL);
+        final ObjModel actual = parallelParser.parse();
+
+        assertArrayEquals(expected.vertices.toArray(), actual.vertices.toArray());
+        assertArrayEquals(expected.texCoords.toArray(), actual.texCoords.toArray());
+        assertArrayEquals(expected.normals.toArray(), actual.normals.toArray());
+        assertEquals(expected.materialNames, actual.materialNames);
+        assertEquals(expected.objects.size(), actual.objects.size());
+        for (int i = 0; i < expected.objects.size(); ++i) {
+            final var expectedGroups = expected.objects.get(i).groups;
+            final var actualGroups = actual.objects.get(i).groups;
+            assertEquals(expected.objects.get(i).name, actual.objects.get(i).name);
+            assertEquals(expectedGroups.size(), actualGroups.size());
+            for (int j = 0; j < expectedGroups.size(); ++j) {
+                final ObjGroup expectedGroup = expectedGroups.get(j), actualGroup = actualGroups.get(j);
+                assertEquals(expectedGroup.name, actualGroup.name);
+                assertArrayEquals(expectedGroup.triangleCorners.toArray(), actualGroup.triangleCorners.toArray());
+                assertArrayEquals(expectedGroup.triangleMaterials.toArray(), actualGroup.triangleMaterials.toArray());
+                assertArrayEquals(expectedGroup.triangleSmoothingGroups.toArray(), actualGroup.triangleSmoothingGroups.toArray());
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@
  */
 
 import de.amr.objparser.ObjFileParser;
+import de.amr.objparser.ObjFileParser.ParseMode;
+import de.amr.objparser.ObjModel;
 import org.junit.jupiter.api.*;
 import org.tinylog.configuration.Configuration;
 
@@ -13,13 +15,26 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Baseline for comparing OBJ parser implementations: parses the Alien Animal model (about 4 MB, 118K lines) repeatedly,
+ * sequentially and in parallel, and prints the average time and the throughput of both parse modes.
+ */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class TestParsingPerformance {
 
-    private final List<Long> timesMillis = new ArrayList<>();
+    private static final List<ParseMode> MEASURED_MODES = List.of(ParseMode.SEQUENTIAL, ParseMode.PARALLEL);
+
+    private final Map<ParseMode, List<Long>> timesMillis = new EnumMap<>(ParseMode.class);
     private long lineCount;
+    private long byteCount;
+    private ObjModel lastModel;
 
     @BeforeAll
     void setup() throws IOException {
@@ -30,42 +45,76 @@ public class TestParsingPerformance {
         if (url == null) {
             throw new RuntimeException("Cannot locate Alien Animal.obj");
         }
-        new ObjFileParser(url, StandardCharsets.UTF_8).parse();
+        for (ParseMode mode : MEASURED_MODES) {
+            final var parser = new ObjFileParser(url, StandardCharsets.UTF_8);
+            parser.setParseMode(mode);
+            parser.parse();
+            timesMillis.put(mode, new ArrayList<>());
+        }
 
         // Count lines
         InputStream stream = url.openStream();
         BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
-        while (reader.readLine() != null) {
+        String line;
+        while ((line = reader.readLine()) != null) {
             ++lineCount;
+            byteCount += line.length() + 1;
         }
     }
 
-    @RepeatedTest(100)
-    void testAlienAnimal(RepetitionInfo info) throws IOException {
+    @RepeatedTest(50)
+    void testAlienAnimalSequential() throws IOException {
+        parseAlienAnimal(ParseMode.SEQUENTIAL);
+    }
+
+    @RepeatedTest(50)
+    void testAlienAnimalParallel() throws IOException {
+        parseAlienAnimal(ParseMode.PARALLEL);
+    }
+
+    private void parseAlienAnimal(ParseMode mode) throws IOException {
         URL url = getClass().getResource("/alien_animal/Alien Animal.obj");
         ObjFileParser parser = new ObjFileParser(url, StandardCharsets.UTF_8);
+        parser.setParseMode(mode);
 
         long start = System.nanoTime();
-        parser.parse();
+        ObjModel model = parser.parse();
         long millis = (System.nanoTime() - start) / 1_000_000;
 
-        timesMillis.add(millis);
+        timesMillis.get(mode).add(millis);
+        assertTrue(model.vertexCount() > 0);
+        if (lastModel != null) {
+            // parsing is deterministic, in both modes
+            assertEquals(lastModel.vertexCount(), model.vertexCount());
+            assertEquals(lastModel.triangleCount(), model.triangleCount());
+        }
+        lastModel = model;
     }
 
     @AfterAll
     void printSummary() {
-        long sum = timesMillis.stream().mapToLong(Long::longValue).sum();
-        double avg = sum / (double) timesMillis.size();
-
-        long min = timesMillis.stream().mapToLong(Long::longValue).min().orElse(0);
-        long max = timesMillis.stream().mapToLong(Long::longValue).max().orElse(0);
-
         System.out.println("\n===== Parsing Performance Summary =====");
         System.out.println("OBJ file line count: " + lineCount);
-        System.out.println("Runs: " + timesMillis.size());
-        System.out.printf("Average: %.3f ms%n", avg);
-        System.out.println("Min: " + min + " ms");
-        System.out.println("Max: " + max + " ms");
+        for (ParseMode mode : MEASURED_MODES) {
+            final List<Long> times = timesMillis.get(mode);
+            long sum = times.stream().mapToLong(Long::longValue).sum();
+            double avg = sum / (double) times.size();
+
+            long min = times.stream().mapToLong(Long::longValue).min().orElse(0);
+            long max = times.stream().mapToLong(Long::longValue).max().orElse(0);
+
+            System.out.println("--- " + mode + " ---");
+            System.out.println("Runs: " + times.size());
+            System.out.printf("Average: %.3f ms%n", avg);
+            System.out.println("Min: " + min + " ms");
+            System.out.println("Max: " + max + " ms");
+            if (avg > 0) {
+                System.out.printf("Throughput: %.1f MB/s, %.0f lines/ms%n", byteCount / avg / 1000.0, lineCount / avg);
+            }
+        }
+        if (lastModel != null) {
+            System.out.printf("Model: %d vertices, %d triangles%n", lastModel.vertexCount(), lastModel.triangleCount());
+        }
         System.out.println("=======================================");
     }
 }
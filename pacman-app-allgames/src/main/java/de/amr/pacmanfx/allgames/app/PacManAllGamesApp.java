@@ -18,6 +18,7 @@ import de.amr.pacmanfx.game.CartridgeRepository;
 import de.amr.pacmanfx.game.GameBox;
 import de.amr.pacmanfx.game.GameBuilder;
 import de.amr.pacmanfx.game.PacManGamesMasterApp;
+import de.amr.pacmanfx.game.StartupTimeline;
 import de.amr.pacmanfx.tengenmspacman.TengenMsPacMan_StartPage;
 import de.amr.pacmanfx.tengenmspacman.app.TengenMsPacMan_Cartridge;
 import de.amr.pacmanfx.tengenmspacman.dashboard.TengenDashboardFactory;
@@ -33,6 +34,7 @@ public class PacManAllGamesApp extends Application {
 
     @Override
     public void init() {
+        StartupTimeline.mark("Application init");
         includeTests = Boolean.parseBoolean(getParameters().getNamed().get("include_tests"));
         gameBox = new GameBox(
             new CartridgeRepository(),
@@ -43,6 +45,7 @@ public class PacManAllGamesApp extends Application {
 
     @Override
     public void start(Stage stage) {
+        StartupTimeline.mark("Application start");
         game = new GameBuilder()
             .cartridges(
                 ArcadePacMan_Cartridge.CARTRIDGE,
@@ -52,10 +55,11 @@ public class PacManAllGamesApp extends Application {
                 XXL_MsPacMan_Cartridge.CARTRIDGE
             )
             .dashboardFactory(TengenDashboardFactory.instance())
-            .startPage(ArcadePacMan_StartPage::new)
-            .startPage(ArcadeMsPacMan_StartPage::new)
-            .startPage(TengenMsPacMan_StartPage::new)
-            .startPage(XXL_StartPage::new)
+            .startPage(ArcadePacMan_StartPage::new, GameVariantID.ARCADE_PACMAN.name())
+            .startPage(ArcadeMsPacMan_StartPage::new, GameVariantID.ARCADE_MS_PACMAN.name())
+            .startPage(TengenMsPacMan_StartPage::new, GameVariantID.TENGEN_MS_PACMAN.name())
+            .startPage(XXL_StartPage::new, GameVariantID.ARCADE_PACMAN_XXL.name(), GameVariantID.ARCADE_MS_PACMAN_XXL.name())
+            .recordReplays(getParameters().getNamed().get("record_replays"))
             .window(stage)
             .screenArea(1.6, 0.8)
             .build(gameBox)
@@ -33,6 +33,7 @@ import org.tinylog.Logger;
 
 import java.util.List;
 import java.util.Set;
+import java.util.random.RandomGenerator;
 import java.util.stream.Stream;
 
 import static de.amr.basics.math.RandomNumberSupport.*;
@@ -62,7 +63,7 @@ public class ArcadeMsPacMan_GamePlay extends ArcadePacMan_GamePlay {
 
         final GameSession session = game.session();
         final WorldNavigationSystem navigator = game.variant().systems().worldNavigator();
-        final WorldMap worldMap = game.variant().worldMapManager().supplyWorldMap(levelNumber);
+        final WorldMap worldMap = game.variant().worldMapManager().supplyWorldMap(levelNumber, game.random());
         final TerrainLayer terrain = worldMap.terrainLayer();
 
         final Vector2i houseMinTile = terrain.getTilePropertyOrDefault(
@@ -79,7 +80,7 @@ public class ArcadeMsPacMan_GamePlay extends ArcadePacMan_GamePlay {
 
         final HuntingTimer huntingTimer = new HuntingTimer("Arcade Ms. Pac-Man Hunting Timer", game.variant().rules().numHuntingPhases());
 
-        final GameLevel level = new GameLevel(levelNumber, worldMap, entities, huntingTimer);
+        final GameLevel level = new GameLevel(levelNumber, worldMap, entities, huntingTimer, game.random());
 
         session.setGameOverStateTicks(GAME_OVER_STATE_TICKS);
         session.setLevel(level);
@@ -91,7 +92,7 @@ public class ArcadeMsPacMan_GamePlay extends ArcadePacMan_GamePlay {
         });
 
         final GameRules rules = game.variant().rules();
-        level.setBonusSymbolCodes(rules.bonusSymbols(levelNumber));
+        level.setBonusSymbolCodes(rules.bonusSymbols(levelNumber, level.random()));
 
         /* In Ms. Pac-Man, the level counter stays fixed from level 8 on and bonus symbols are created randomly
          * (also inside a level) whenever a bonus score is reached. At least that's what I was told. */
@@ -202,12 +203,12 @@ public class ArcadeMsPacMan_GamePlay extends ArcadePacMan_GamePlay {
             bonus = Bonus.createStaticBonus(symbolCode, value);
             final Vector2i bonusTile = terrain.getTilePropertyOrDefault(WorldMapPropertyName.POS_BONUS, new Vector2i(13, 20));
             bonus.pos().set(WorldMap.halfTileRightOf(bonusTile));
-            systems.bonusState().showEdibleForSeconds(bonus, randomFloat(9, 10));
+            systems.bonusState().showEdibleForSeconds(bonus, randomFloat(level.random(), 9, 10));
         } else {
             bonus = Bonus.createMovingBonus(symbolCode, value);
             final float speed = game.variant().rules().actorSpeedRules().bonusSpeed(game, level);
             systems.bonusState().showEdible(bonus);
-            systems.bonusMoveAndJump().startWandering(bonus, computeBonusRoute(terrain, house), speed);
+            systems.bonusMoveAndJump().startWandering(bonus, computeBonusRoute(level.random(), terrain, house), speed);
         }
 
         level.entities().optBonus().ifPresent(oldBonus -> level.entities().remove(oldBonus));
@@ -218,7 +219,7 @@ public class ArcadeMsPacMan_GamePlay extends ArcadePacMan_GamePlay {
 
     // ------------------------------------------------
 
-    private BonusRouteInfo computeBonusRoute(TerrainLayer terrain, House house) {
+    private BonusRouteInfo computeBonusRoute(RandomGenerator rng, TerrainLayer terrain, House house) {
         final List<HPortal> portals = terrain.horizontalPortals();
         if (portals.isEmpty()) {
             Logger.error("Moving bonus cannot be activated, game level does not contain any portals");
@@ -229,7 +230,7 @@ public class ArcadeMsPacMan_GamePlay extends ArcadePacMan_GamePlay {
         Vector2i exitTile;
         boolean leftToRight;
         if (entryTile != null) { // Map defines bonus entry tile
-            final int exitPortalIndex = randomInt(0, portals.size());
+            final int exitPortalIndex = randomInt(rng, 0, portals.size());
             final HPortal exitPortal = portals.get(exitPortalIndex);
             if (entryTile.x() == 0) { // enter maze at left border
                 exitTile = exitPortal.rightBorderEntryTile().plus(1, 0);
@@ -240,9 +241,9 @@ public class ArcadeMsPacMan_GamePlay extends ArcadePacMan_GamePlay {
             }
         }
         else { // choose random crossing direction and random entry and exit portals
-            final HPortal entryPortal = portals.get(randomInt(0, portals.size()));
-            final HPortal exitPortal = portals.get(randomInt(0, portals.size()));
-            leftToRight = randomBoolean();
+            final HPortal entryPortal = portals.get(randomInt(rng, 0, portals.size()));
+            final HPortal exitPortal = portals.get(randomInt(rng, 0, portals.size()));
+            leftToRight = randomBoolean(rng);
             if (leftToRight) {
                 entryTile = entryPortal.leftBorderEntryTile();
                 exitTile  = exitPortal.rightBorderEntryTile().plus(1, 0);
@@ -13,7 +13,7 @@ import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.level.GameLevelMessage;
 import de.amr.pacmanfx.core.level.GameLevelMessageType;
 import de.amr.pacmanfx.core.model.rules.GameRules;
-import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.FoodState;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.core.model.world.map.WorldMapConfigKey;
 import de.amr.pacmanfx.uilib.assets.AssetMap;
@@ -21,13 +21,14 @@ import de.amr.pacmanfx.uilib.rendering.*;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.image.Image;
 
+import java.util.function.IntConsumer;
+
 import static de.amr.basics.math.Vector2f.vec2_float;
 import static de.amr.pacmanfx.core.model.world.map.WorldMap.TS;
 import static de.amr.pacmanfx.core.model.world.map.WorldMap.tilesPx;
 import static de.amr.pacmanfx.uilib.rendering.ArcadePalette.ARCADE_RED;
 import static de.amr.pacmanfx.uilib.rendering.ArcadePalette.ARCADE_YELLOW;
 import static java.util.Objects.requireNonNull;
-import static java.util.function.Predicate.not;
 
 public class ArcadeMsPacMan_GameLevelRenderer extends BaseRenderer implements SpriteRenderer, GameLevelRenderer {
 
@@ -82,16 +83,17 @@ public class ArcadeMsPacMan_GameLevelRenderer extends BaseRenderer implements Sp
             final RectShort mapSprite = spriteSheet().findSpriteSequence(SpriteID.FULL_MAPS)[colorMapIndex];
             drawSprite(mapSprite, 0, emptySpaceOverMazePixels, false);
 
-            final FoodLayer foodLayer = level.worldMap().foodLayer();
+            final FoodState food = level.food();
+            final int numCols = level.worldMap().foodLayer().numCols();
             // Over-paint the eaten pellets (pellets are part of the maze image)
-            foodLayer.tiles()
-                .filter(not(foodLayer::isEnergizerTile))
-                .filter(level.food()::hasEatenFoodAtTile)
-                .forEach(tile -> fillSquareAtTileCenter(tile, 4));
+            food.forEachEatenFoodTileIndex(false, index -> fillSquareAtTileCenter(index % numCols, index / numCols, 4));
             // Over-paint eaten and dark-phase energizers
-            foodLayer.energizerTiles().stream()
-                .filter(tile -> !info.getBoolean(CommonRenderInfoKey.ENERGIZER_VISIBLE) || level.food().hasEatenFoodAtTile(tile))
-                .forEach(tile -> fillSquareAtTileCenter(tile, 10));
+            final IntConsumer overPaintEnergizer = index -> fillSquareAtTileCenter(index % numCols, index / numCols, 10);
+            if (info.getBoolean(CommonRenderInfoKey.ENERGIZER_VISIBLE)) {
+                food.forEachEatenFoodTileIndex(true, overPaintEnergizer);
+            } else {
+                food.forEachFoodTileIndex(true, overPaintEnergizer);
+            }
         }
         ctx.restore();
     }
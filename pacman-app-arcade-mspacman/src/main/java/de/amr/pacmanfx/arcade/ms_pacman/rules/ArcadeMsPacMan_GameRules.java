@@ -10,6 +10,7 @@ import de.amr.pacmanfx.core.Validations;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.random.RandomGenerator;
 
 import static de.amr.basics.math.RandomNumberSupport.randomInt;
 
@@ -27,10 +28,10 @@ public class ArcadeMsPacMan_GameRules extends ArcadePacMan_GameRules {
     }
 
     @Override
-    public List<Integer> bonusSymbols(int levelNumber) {
+    public List<Integer> bonusSymbols(int levelNumber, RandomGenerator rng) {
         return List.of(
-            computeNextBonusSymbolCode(levelNumber),
-            computeNextBonusSymbolCode(levelNumber)
+            computeNextBonusSymbolCode(levelNumber, rng),
+            computeNextBonusSymbolCode(levelNumber, rng)
         );
     }
 
@@ -62,10 +63,10 @@ public class ArcadeMsPacMan_GameRules extends ArcadePacMan_GameRules {
      *
      * See also <a href="https://umlautllama.com/projects/pacdocs/mspac/mspac.asm">Ms. Pac-Man disassembly</a>
      */
-    private int computeNextBonusSymbolCode(int levelNumber) {
+    private int computeNextBonusSymbolCode(int levelNumber, RandomGenerator rng) {
         if (levelNumber <= 7) return (levelNumber - 1);
 
-        int coin = randomInt(0, 320);
+        int coin = randomInt(rng, 0, 320);
         if (coin <  50) return 0; // 5/32 probability
         if (coin < 100) return 1; // 5/32
         if (coin < 150) return 2; // 5/32
@@ -126,19 +126,19 @@ public class ArcadePacMan_GamePlay extends CommonGamePlay {
 
         final GameSession session = game.session();
         final WorldNavigationSystem navigator = game.variant().systems().worldNavigator();
-        final WorldMap worldMap = game.variant().worldMapManager().supplyWorldMap(levelNumber);
+        final WorldMap worldMap = game.variant().worldMapManager().supplyWorldMap(levelNumber, game.random());
 
         addEntities(entities, game, worldMap);
 
         final HuntingTimer huntingTimer = new HuntingTimer("Arcade Pac-Man Hunting Timer", game.variant().rules().numHuntingPhases());
 
-        final GameLevel level = new GameLevel(levelNumber, worldMap, entities, huntingTimer);
+        final GameLevel level = new GameLevel(levelNumber, worldMap, entities, huntingTimer, game.random());
         session.setLevel(level);
 
         session.setGameOverStateTicks(GAME_OVER_STATE_TICKS);
 
         final GameRules rules = game.variant().rules();
-        level.setBonusSymbolCodes(rules.bonusSymbols(levelNumber));
+        level.setBonusSymbolCodes(rules.bonusSymbols(levelNumber, level.random()));
 
         // On each phase start (except the initial phase), the ghosts reverse their move direction
         huntingTimer.setPhaseChangeCallback(newPhaseIndex -> {
@@ -278,7 +278,7 @@ public class ArcadePacMan_GamePlay extends CommonGamePlay {
 
         final int symbolCode = level.bonusSymbolCode(level.currentBonusIndex());
         final int value = game.variant().rules().scoringRules().pointsForBonus(symbolCode);
-        final float edibleSec = randomFloat(9, 10);
+        final float edibleSec = randomFloat(level.random(), 9, 10);
         final Vector2i tile = level.worldMap().terrainLayer().getTilePropertyOrDefault(
             WorldMapPropertyName.POS_BONUS, ArcadePacMan_GameVariantUIConfig.DEFAULT_BONUS_TILE);
 
@@ -51,6 +51,17 @@ public class ArcadePacMan_GameVariantUIConfig implements GameVariantUIConfig {
         return gameFlow;
     }
 
+    /**
+     * @return game flow with its own state instances, can run concurrently with other game flows
+     */
+    public static GameFlowController createIsolatedGameFlow() {
+        final var gameFlow = new GameFlowController("Arcade Pac-Man Game Flow (isolated)");
+        for (Arcade_GameState gameState : Arcade_GameState.values()) {
+            gameFlow.addState(gameState.createState());
+        }
+        return gameFlow;
+    }
+
     private final static ResourceManager RM = () -> ArcadePacMan_GameVariantUIConfig.class;
 
     private static final List<SoundManager.SoundEntry> SOUND_ENTRIES = Arrays.asList(
@@ -36,6 +36,7 @@ public class ArcadePacMan_App extends Application {
             .cartridges(ArcadePacMan_Cartridge.CARTRIDGE)
             .uiSettings(getClass().getResource("/de/amr/pacmanfx/arcade/pacman/ui.json"))
             .startPage(ArcadePacMan_StartPage::new)
+            .recordReplays(getParameters().getNamed().get("record_replays"))
             .window(stage)
             .screenArea(1.2, 0.8)
             .build(gameBox)
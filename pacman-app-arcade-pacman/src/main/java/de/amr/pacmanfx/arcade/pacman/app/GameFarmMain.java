@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.arcade.pacman.app;
+
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GamePlay;
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GameVariantUIConfig;
+import de.amr.pacmanfx.arcade.pacman.model.ArcadePacMan_WorldMapManager;
+import de.amr.pacmanfx.arcade.pacman.rules.ArcadePacMan_GameRules;
+import de.amr.pacmanfx.core.*;
+import de.amr.pacmanfx.core.event.base.DefaultGameEventManager;
+import de.amr.pacmanfx.core.headless.BatchReport;
+import de.amr.pacmanfx.core.headless.ParallelGameFarm;
+import org.tinylog.Logger;
+
+/**
+ * Runs many Arcade Pac-Man autopilot games concurrently without UI and logs score, level and lives lost histograms.
+ * <p>
+ * Arguments: {@code [numGames [numThreads [maxLevelNumber [pathDistances]]]]}, default is 100 games on all available
+ * processors without level limit. If {@code pathDistances} is {@code true}, ghosts and the autopilot navigate by path
+ * distances through the maze.
+ */
+public class GameFarmMain {
+
+    private static final int SCORE_BIN_WIDTH = 2000;
+
+    /**
+     * @return game context sharing no mutable state with any other context
+     */
+    public static GameContext createIsolatedGameContext() {
+        final var worldMapManager = new ArcadePacMan_WorldMapManager();
+        worldMapManager.loadMapPrototypes();
+        return new GameContext(
+            new CoinMechanism(99),
+            new GameVariantConfig(
+                new DefaultGameSystems(),
+                new ArcadePacMan_GamePlay(),
+                ArcadePacMan_GameVariantUIConfig.createIsolatedGameFlow(),
+                new ArcadePacMan_GameRules(),
+                worldMapManager
+            ),
+            new DefaultGameEventManager()
+        );
+    }
+
+    public static void main(String[] args) {
+        final int numGames = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+
+        final var farm = new ParallelGameFarm(GameVariantID.ARCADE_PACMAN.name(), GameFarmMain::createIsolatedGameContext);
+        if (args.length > 1) {
+            farm.setParallelism(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            farm.setMaxLevelNumber(Integer.parseInt(args[2]));
+        }
+        if (args.length > 3) {
+            farm.setPathDistanceNavigation(Boolean.parseBoolean(args[3]));
+        }
+
+        final BatchReport report = farm.runGames(numGames);
+        report.asText().forEach(Logger::info);
+        report.scoreHistogram(SCORE_BIN_WIDTH).asText().forEach(Logger::info);
+        report.levelHistogram().asText().forEach(Logger::info);
+        report.livesLostHistogram().asText().forEach(Logger::info);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.arcade.pacman.app;
+
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GamePlay;
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GameVariantUIConfig;
+import de.amr.pacmanfx.arcade.pacman.model.ArcadePacMan_WorldMapManager;
+import de.amr.pacmanfx.arcade.pacman.rules.ArcadePacMan_GameRules;
+import de.amr.pacmanfx.core.*;
+import de.amr.pacmanfx.core.event.base.DefaultGameEventManager;
+import de.amr.pacmanfx.core.headless.BatchReport;
+import de.amr.pacmanfx.core.headless.HeadlessGameRunner;
+import org.tinylog.Logger;
+
+/**
+ * Runs a batch of Arcade Pac-Man autopilot games without UI and logs the outcomes and the achieved tick rate.
+ * <p>
+ * Arguments: {@code [numGames [maxLevelNumber [pathDistances]]]}, default is 10 games without level limit. If
+ * {@code pathDistances} is {@code true}, ghosts and the autopilot navigate by path distances through the maze.
+ */
+public class HeadlessBatchMain {
+
+    public static void main(String[] args) {
+        final int numGames = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        final var worldMapManager = new ArcadePacMan_WorldMapManager();
+        worldMapManager.loadMapPrototypes();
+
+        final var game = new GameContext(
+            new CoinMechanism(99),
+            new GameVariantConfig(
+                new DefaultGameSystems(),
+                new ArcadePacMan_GamePlay(),
+                ArcadePacMan_GameVariantUIConfig.createGameFlow(),
+                new ArcadePacMan_GameRules(),
+                worldMapManager
+            ),
+            new DefaultGameEventManager()
+        );
+
+        final var runner = new HeadlessGameRunner(GameVariantID.ARCADE_PACMAN.name(), game);
+        if (args.length > 1) {
+            runner.setMaxLevelNumber(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            runner.setPathDistanceNavigation(Boolean.parseBoolean(args[2]));
+        }
+
+        final BatchReport report = runner.runGames(numGames);
+        report.asText().forEach(Logger::info);
+    }
+}
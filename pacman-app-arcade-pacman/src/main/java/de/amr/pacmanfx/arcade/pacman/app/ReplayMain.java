@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.arcade.pacman.app;
+
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GamePlay;
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GameVariantUIConfig;
+import de.amr.pacmanfx.arcade.pacman.model.ArcadePacMan_WorldMapManager;
+import de.amr.pacmanfx.arcade.pacman.rules.ArcadePacMan_GameRules;
+import de.amr.pacmanfx.core.*;
+import de.amr.pacmanfx.core.event.base.DefaultGameEventManager;
+import de.amr.pacmanfx.core.replay.Replay;
+import de.amr.pacmanfx.core.replay.ReplayPlayer;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Plays a recorded Arcade Pac-Man game without UI and verifies that the game state matches the recorded checksums.
+ * Exits with status 1 if the replay cannot be read or diverges from the recorded game.
+ * <p>
+ * Replays are recorded by the application when it is launched with {@code --record_replays=true} (saved into
+ * {@link GameConstants#REPLAY_DIR}) or {@code --record_replays=<directory>}.
+ * <p>
+ * Arguments: {@code replayFile}
+ */
+public class ReplayMain {
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            Logger.error("Usage: ReplayMain <replay file>");
+            System.exit(1);
+        }
+        final Replay replay;
+        try {
+            replay = Replay.load(Path.of(args[0]));
+        } catch (IOException x) {
+            Logger.error(x, "Could not read replay file {}", args[0]);
+            System.exit(1);
+            return;
+        }
+        if (!GameVariantID.ARCADE_PACMAN.name().equals(replay.variantName())) {
+            Logger.error("Replay of game variant {} cannot be played, only {} is supported",
+                replay.variantName(), GameVariantID.ARCADE_PACMAN.name());
+            System.exit(1);
+        }
+
+        final var worldMapManager = new ArcadePacMan_WorldMapManager();
+        worldMapManager.loadMapPrototypes();
+
+        final var game = new GameContext(
+            new CoinMechanism(99),
+            new GameVariantConfig(
+                new DefaultGameSystems(),
+                new ArcadePacMan_GamePlay(),
+                ArcadePacMan_GameVariantUIConfig.createGameFlow(),
+                new ArcadePacMan_GameRules(),
+                worldMapManager
+            ),
+            new DefaultGameEventManager()
+        );
+
+        final var player = new ReplayPlayer(game, replay);
+        try {
+            final int checksumsVerified = player.play();
+            Logger.info("Replay OK: {} ticks, {} of {} checksums verified",
+                replay.tickCount(), checksumsVerified, replay.checksums().length);
+        } catch (IllegalStateException x) {
+            Logger.error("Replay diverged after {} of {} ticks: {}", player.tick(), replay.tickCount(), x.getMessage());
+            System.exit(1);
+        }
+    }
+}
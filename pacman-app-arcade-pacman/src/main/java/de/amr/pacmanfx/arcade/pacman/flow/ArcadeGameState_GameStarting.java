@@ -27,6 +27,8 @@ public class ArcadeGameState_GameStarting extends GameState {
 
     @Override
     public void onEnter(GameContext game) {
+        game.optReplayRecorder().ifPresent(recorder -> recorder.start(game));
+
         final GameLevel newLevel = game.variant().gamePlay().buildNormalLevel(game, 1, game.variant().initialLifeCount());
         game.eventManager().publishGameEvent(new LevelCreatedEvent(newLevel));
 
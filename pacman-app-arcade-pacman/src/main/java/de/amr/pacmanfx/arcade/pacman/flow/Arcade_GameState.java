@@ -6,32 +6,49 @@ package de.amr.pacmanfx.arcade.pacman.flow;
 
 import de.amr.pacmanfx.core.gamestate.*;
 
+import java.util.function.Supplier;
+
 /**
  * The game states used by the Arcade game variants (Pc-Man, Ms. Pac-Man and their XXL versions).
+ * <p>
+ * Each constant holds a shared state instance used by the UI game flow. Game flows which must not share state
+ * (and timer) objects with other flows, e.g. concurrently running headless games, use {@link #createState()}.
  */
 public enum Arcade_GameState {
-    BOOT                       (new GameState_Booting()),
-    GAME_INTRO                 (new GameState_Intro()),
-    GAME_PREPARATION           (new GameState_PreparingGamePlay()),
-    GAME_OR_LEVEL_STARTING     (new ArcadeGameState_GameOrLevelStarting()),
-    DEMO_LEVEL_PLAYING         (new GameState_DemoLevelPlaying()),
-    GAME_STARTING              (new ArcadeGameState_GameStarting()),
-    GAME_LEVEL_CONTINUE        (new ArcadeGameState_LevelContinue()),
-    GAME_LEVEL_PLAYING         (new GameState_PlayingLevel()),
-    GAME_LEVEL_COMPLETE        (new ArcadeGameState_LevelComplete()),
-    GAME_LEVEL_TRANSITION      (new GameState_LevelTransition()),
-    GAME_LEVEL_EATING_GHOST    (new GameState_EatingGhost()),
-    GAME_LEVEL_PACMAN_DYING    (new GameState_PacManDying(new GameState_PacManDying.Timing(60, 90, 190, 210))),
-    GAME_OVER                  (new ArcadeGameState_GameOver()),
-    GAME_LEVEL_INTERMISSION    (new ArcadeGameState_LevelIntermission());
-
-    Arcade_GameState(GameState state) {
-        this.state = state;
+    BOOT                       (GameState_Booting::new),
+    GAME_INTRO                 (GameState_Intro::new),
+    GAME_PREPARATION           (GameState_PreparingGamePlay::new),
+    GAME_OR_LEVEL_STARTING     (ArcadeGameState_GameOrLevelStarting::new),
+    DEMO_LEVEL_PLAYING         (GameState_DemoLevelPlaying::new),
+    GAME_STARTING              (ArcadeGameState_GameStarting::new),
+    GAME_LEVEL_CONTINUE        (ArcadeGameState_LevelContinue::new),
+    GAME_LEVEL_PLAYING         (GameState_PlayingLevel::new),
+    GAME_LEVEL_COMPLETE        (ArcadeGameState_LevelComplete::new),
+    GAME_LEVEL_TRANSITION      (GameState_LevelTransition::new),
+    GAME_LEVEL_EATING_GHOST    (GameState_EatingGhost::new),
+    GAME_LEVEL_PACMAN_DYING    (() -> new GameState_PacManDying(new GameState_PacManDying.Timing(60, 90, 190, 210))),
+    GAME_OVER                  (ArcadeGameState_GameOver::new),
+    GAME_LEVEL_INTERMISSION    (ArcadeGameState_LevelIntermission::new);
+
+    Arcade_GameState(Supplier<GameState> factory) {
+        this.factory = factory;
+        this.state = factory.get();
     }
 
+    /**
+     * @return the shared state instance
+     */
     public GameState state() {
         return state;
     }
 
+    /**
+     * @return a new state instance not shared with any other game flow
+     */
+    public GameState createState() {
+        return factory.get();
+    }
+
+    final Supplier<GameState> factory;
     final GameState state;
 }
@@ -10,18 +10,19 @@ import de.amr.pacmanfx.core.entities.House;
 import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.level.GameLevelMessage;
 import de.amr.pacmanfx.core.model.rules.GameRules;
-import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.FoodState;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.core.model.world.map.WorldMap;
 import de.amr.pacmanfx.uilib.rendering.*;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.image.Image;
 
+import java.util.function.IntConsumer;
+
 import static de.amr.basics.math.Vector2f.vec2_float;
 import static de.amr.pacmanfx.core.model.world.map.WorldMap.tilesPx;
 import static de.amr.pacmanfx.uilib.rendering.ArcadePalette.ARCADE_RED;
 import static de.amr.pacmanfx.uilib.rendering.ArcadePalette.ARCADE_YELLOW;
-import static java.util.function.Predicate.not;
 
 /**
  * Renderer for classic Arcade Pac-Man. ThePac-Man XXL Pac-Man game subclasses this class to use a generic map
@@ -81,16 +82,17 @@ public class ArcadePacMan_GameLevel_Renderer extends BaseRenderer implements Spr
         }
         else {
             drawSprite(spriteSheet().findSprite(SpriteID.MAP_FULL), 0, emptySpaceOverMazePixels, false);
+            final FoodState food = level.food();
+            final int numCols = level.worldMap().foodLayer().numCols();
             // Over-paint eaten food tiles
-            final FoodLayer foodLayer = level.worldMap().foodLayer();
-            foodLayer.tiles()
-                .filter(not(foodLayer::isEnergizerTile))
-                .filter(level.food()::hasEatenFoodAtTile)
-                .forEach(tile -> fillSquareAtTileCenter(tile, 4));
+            food.forEachEatenFoodTileIndex(false, index -> fillSquareAtTileCenter(index % numCols, index / numCols, 4));
             // Over-paint eaten or dark-blinking energizer tiles
-            foodLayer.energizerTiles().stream()
-                .filter(tile -> !info.getBoolean(CommonRenderInfoKey.ENERGIZER_VISIBLE) || level.food().hasEatenFoodAtTile(tile))
-                .forEach(tile -> fillSquareAtTileCenter(tile, 10));
+            final IntConsumer overPaintEnergizer = index -> fillSquareAtTileCenter(index % numCols, index / numCols, 10);
+            if (info.getBoolean(CommonRenderInfoKey.ENERGIZER_VISIBLE)) {
+                food.forEachEatenFoodTileIndex(true, overPaintEnergizer);
+            } else {
+                food.forEachFoodTileIndex(true, overPaintEnergizer);
+            }
         }
         ctx.restore();
     }
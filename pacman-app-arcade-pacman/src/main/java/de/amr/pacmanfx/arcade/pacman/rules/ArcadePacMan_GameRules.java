@@ -16,6 +16,7 @@ import de.amr.pacmanfx.core.model.rules.GameRules;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
+import java.util.random.RandomGenerator;
 
 import static de.amr.pacmanfx.core.Validations.inClosedRange;
 import static de.amr.pacmanfx.core.Validations.requireValidLevelNumber;
@@ -103,7 +104,7 @@ public class ArcadePacMan_GameRules implements GameRules {
 
     @Override
     public boolean isLevelCompleted(GameLevel level) {
-        return level.food().remainingFoodCount() == 0;
+        return level.food().allFoodEaten();
     }
 
     @Override
@@ -131,7 +132,7 @@ public class ArcadePacMan_GameRules implements GameRules {
      * <p>Klingt komisch? Is aber so!</p>
      */
     @Override
-    public List<Integer> bonusSymbols(int levelNumber) {
+    public List<Integer> bonusSymbols(int levelNumber, RandomGenerator rng) {
         final int symbol = bonusSymbolCode(levelNumber);
         return List.of(symbol, symbol);
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.pacmanfx.game.AssetGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestAssetGraph {
+
+    private static final Executor IMMEDIATE = Runnable::run;
+
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    @DisplayName("Test assets are loaded after their dependencies and installed after loading")
+    public void testDependencyOrder() {
+        final var graph = new AssetGraph(IMMEDIATE, IMMEDIATE);
+        graph.add("page", () -> events.add("load page"), "variant", "model");
+        graph.add("variant", () -> "Ms. Pac-Man", name -> events.add("install " + name));
+        graph.add("model", () -> events.add("load model"));
+        graph.start().join();
+
+        assertEquals(3, events.size());
+        assertEquals("load page", events.getLast());
+        assertTrue(events.contains("install Ms. Pac-Man"));
+        assertTrue(graph.availability("page").isDone());
+    }
+
+    @Test
+    @DisplayName("Test assets depending on a failed asset are not loaded")
+    public void testFailedDependency() {
+        final var graph = new AssetGraph(IMMEDIATE, IMMEDIATE);
+        graph.add("broken", () -> { throw new IllegalStateException("broken"); });
+        graph.add("dependent", () -> events.add("load dependent"), "broken");
+        graph.start();
+
+        assertTrue(events.isEmpty());
+        assertTrue(graph.availability("dependent").isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Test cyclic and unknown dependencies are rejected before loading")
+    public void testInvalidDependencies() {
+        final var cyclic = new AssetGraph(IMMEDIATE, IMMEDIATE);
+        cyclic.add("a", () -> events.add("load a"), "b");
+        cyclic.add("b", () -> events.add("load b"), "a");
+        assertThrows(IllegalStateException.class, cyclic::start);
+
+        final var unknown = new AssetGraph(IMMEDIATE, IMMEDIATE);
+        unknown.add("a", () -> events.add("load a"), "missing");
+        assertThrows(IllegalArgumentException.class, unknown::start);
+
+        assertTrue(events.isEmpty());
+    }
+}
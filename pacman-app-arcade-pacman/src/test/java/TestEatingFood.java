@@ -2,6 +2,7 @@
  * Copyright (c) 2021-2026 Armin Reichert (MIT License)
  */
 
+import de.amr.basics.math.Vector2i;
 import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GamePlay;
 import de.amr.pacmanfx.arcade.pacman.flow.Arcade_GameState;
 import de.amr.pacmanfx.arcade.pacman.model.ArcadePacMan_WorldMapManager;
@@ -21,11 +22,14 @@ import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.model.GameCheats;
 import de.amr.pacmanfx.core.model.GhostPersonality;
 import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.FoodState;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static java.util.function.Predicate.not;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -115,6 +119,68 @@ public class TestEatingFood {
         });
     }
 
+    @Test
+    @DisplayName("Test Pellet And Energizer Counters")
+    public void testPelletAndEnergizerCounters() {
+        final GamePlay gamePlay = GAME.variant().gamePlay();
+        GAME.session().optLevel().ifPresent(level -> {
+            final FoodState food = level.food();
+            assertEquals(level.worldMap().foodLayer().energizerTiles().size(), food.remainingEnergizerCount());
+            final int pellets = food.remainingPelletCount();
+            final int energizers = food.remainingEnergizerCount();
+            eatNextPellet(gamePlay, level);
+            assertEquals(pellets - 1, food.remainingPelletCount());
+            assertEquals(energizers, food.remainingEnergizerCount());
+            eatNextEnergizer(gamePlay, level);
+            assertEquals(pellets - 1, food.remainingPelletCount());
+            assertEquals(energizers - 1, food.remainingEnergizerCount());
+            food.eatPellets();
+            assertEquals(0, food.remainingPelletCount());
+            assertEquals(energizers - 1, food.remainingEnergizerCount());
+            assertFalse(food.allFoodEaten());
+        });
+    }
+
+    @Test
+    @DisplayName("Food tile iteration and change count")
+    public void testFoodTileIteration() {
+        final GamePlay gamePlay = GAME.variant().gamePlay();
+        GAME.session().optLevel().ifPresent(level -> {
+            final FoodState food = level.food();
+            final int[] count = new int[1];
+            food.forEachFoodTileIndex(true, _ -> ++count[0]);
+            assertEquals(food.totalEnergizerCount(), count[0]);
+            final long changeCount = food.changeCount();
+            eatNextPellet(gamePlay, level);
+            assertTrue(food.changeCount() > changeCount);
+            count[0] = 0;
+            food.forEachEatenFoodTileIndex(false, _ -> ++count[0]);
+            assertEquals(food.totalPelletCount() - food.remainingPelletCount(), count[0]);
+            count[0] = 0;
+            food.forEachRemainingFoodTileIndex(false, _ -> ++count[0]);
+            assertEquals(food.remainingPelletCount(), count[0]);
+        });
+    }
+
+    @Test
+    @DisplayName("Test Food Snapshot")
+    public void testFoodSnapshot() {
+        final GamePlay gamePlay = GAME.variant().gamePlay();
+        GAME.session().optLevel().ifPresent(level -> {
+            final FoodState food = level.food();
+            eatNextPellet(gamePlay, level);
+            final FoodState.Snapshot snapshot = food.snapshot();
+            final int remaining = food.remainingFoodCount();
+            final List<Vector2i> nearest = food.nearestFoodTiles(13, 26, false);
+            food.eatAll();
+            assertTrue(food.allFoodEaten());
+            assertTrue(food.nearestFoodTiles(13, 26, false).isEmpty());
+            food.restore(snapshot);
+            assertEquals(remaining, food.remainingFoodCount());
+            assertEquals(nearest, food.nearestFoodTiles(13, 26, false));
+        });
+    }
+
     @Test
     @DisplayName("Test Level Completion")
     public void testLevelCompletion() {
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GamePlay;
+import de.amr.pacmanfx.arcade.pacman.app.GameFarmMain;
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GameVariantUIConfig;
+import de.amr.pacmanfx.arcade.pacman.model.ArcadePacMan_WorldMapManager;
+import de.amr.pacmanfx.arcade.pacman.rules.ArcadePacMan_GameRules;
+import de.amr.pacmanfx.core.*;
+import de.amr.pacmanfx.core.ecs.comp.WorldNavigationComp;
+import de.amr.pacmanfx.core.event.base.DefaultGameEventManager;
+import de.amr.pacmanfx.core.headless.BatchReport;
+import de.amr.pacmanfx.core.headless.GameOutcome;
+import de.amr.pacmanfx.core.headless.HeadlessGameRunner;
+import de.amr.pacmanfx.core.headless.ParallelGameFarm;
+import de.amr.pacmanfx.core.level.GameLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHeadlessGameRunner {
+
+    private static GameContext createGameContext() {
+        return new GameContext(
+            new CoinMechanism(99),
+            new GameVariantConfig(
+                new DefaultGameSystems(),
+                new ArcadePacMan_GamePlay(),
+                ArcadePacMan_GameVariantUIConfig.createGameFlow(),
+                new ArcadePacMan_GameRules(),
+                new ArcadePacMan_WorldMapManager()
+            ),
+            new DefaultGameEventManager()
+        );
+    }
+
+    private static HeadlessGameRunner createRunner() {
+        return new HeadlessGameRunner(GameVariantID.ARCADE_PACMAN.name(), createGameContext());
+    }
+
+    @Test
+    @DisplayName("Test Headless Batch")
+    public void testHeadlessBatch() {
+        final HeadlessGameRunner runner = createRunner();
+        runner.setMaxLevelNumber(1);
+        runner.setMaxTicksPerGame(3 * 60 * 60);
+
+        final BatchReport report = runner.runGames(2);
+
+        assertEquals(2, report.outcomes().size());
+        assertTrue(report.totalTicks() > 0);
+        for (GameOutcome outcome : report.outcomes()) {
+            assertTrue(outcome.ticks() > 0);
+            assertTrue(outcome.score() > 0, "Autopilot should have eaten something");
+            assertEquals(1, outcome.levelNumber());
+        }
+        assertEquals(report.totalTicks(), report.outcomes().stream().mapToLong(GameOutcome::ticks).sum());
+    }
+
+    @Test
+    @DisplayName("Test Parallel Game Farm")
+    public void testParallelGameFarm() {
+        final var farm = new ParallelGameFarm(GameVariantID.ARCADE_PACMAN.name(), GameFarmMain::createIsolatedGameContext);
+        farm.setParallelism(2);
+        farm.setMaxLevelNumber(1);
+        farm.setMaxTicksPerGame(3 * 60 * 60);
+
+        final BatchReport report = farm.runGames(4);
+
+        assertEquals(4, report.outcomes().size());
+        for (int i = 0; i < 4; ++i) {
+            final GameOutcome outcome = report.outcomes().get(i);
+            assertEquals(i, outcome.gameIndex());
+            assertTrue(outcome.score() > 0, "Autopilot should have eaten something");
+            assertEquals(1, outcome.levelNumber());
+        }
+        assertEquals(4, report.levelHistogram().counts().get(1));
+    }
+
+    @Test
+    @DisplayName("Test Headless Game With Path Distance Navigation")
+    public void testPathDistanceNavigation() {
+        final GameContext game = createGameContext();
+        final var runner = new HeadlessGameRunner(GameVariantID.ARCADE_PACMAN.name(), game);
+        runner.setPathDistanceNavigation(true);
+        runner.setMaxLevelNumber(1);
+        runner.setMaxTicksPerGame(3 * 60 * 60);
+
+        final GameOutcome outcome = runner.runGame(0);
+
+        assertTrue(outcome.score() > 0, "Autopilot should have eaten something");
+        assertTrue(game.session().isPathDistanceNavigation());
+        final GameLevel level = game.session().optLevel().orElseThrow();
+        level.entities().ghosts().forEach(ghost ->
+            assertTrue(ghost.reqComp(WorldNavigationComp.TYPE).isPathDistanceNavigation()));
+    }
+}
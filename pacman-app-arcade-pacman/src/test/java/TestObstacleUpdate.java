@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
+import de.amr.pacmanfx.core.model.world.map.TerrainTile;
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.model.world.obstacle.Obstacle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestObstacleUpdate {
+
+    private WorldMap worldMap;
+
+    @BeforeEach
+    void loadMap() {
+        final URL url = TestObstacleUpdate.class.getResource("/de/amr/pacmanfx/arcade/pacman/maps/pacman.world");
+        assertNotNull(url);
+        worldMap = WorldMap.fromURL(url).orElseThrow();
+    }
+
+    private static Set<String> signatures(Set<Obstacle> obstacles) {
+        return obstacles.stream().map(obstacle -> obstacle.startPoint() + obstacle.encoding()).collect(Collectors.toSet());
+    }
+
+    private Obstacle someInnerObstacle() {
+        return worldMap.terrainLayer().obstacles().stream()
+            .filter(obstacle -> !obstacle.borderObstacle() && obstacle.isClosed())
+            .findFirst().orElseThrow();
+    }
+
+    private Set<Obstacle> computeAllObstacles() {
+        final WorldMap copy = new WorldMap(worldMap);
+        copy.terrainLayer().createObstacles();
+        return copy.terrainLayer().obstacles();
+    }
+
+    @Test
+    @DisplayName("Test obstacle tiles are part of the terrain walls")
+    public void testObstacleTiles() {
+        final TerrainLayer terrain = worldMap.terrainLayer();
+        for (Obstacle obstacle : terrain.obstacles()) {
+            assertFalse(obstacle.tiles().isEmpty());
+            for (Vector2i tile : obstacle.tiles()) {
+                assertFalse(terrain.outOfBounds(tile), "Tile %s out of bounds".formatted(tile));
+                assertNotEquals(TerrainTile.EMPTY.$, terrain.content(tile), "Tile %s is empty".formatted(tile));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test removing an obstacle keeps all other obstacles")
+    public void testRemoveObstacle() {
+        final TerrainLayer terrain = worldMap.terrainLayer();
+        final Set<Obstacle> before = terrain.obstacles();
+        final Obstacle removed = someInnerObstacle();
+        final List<Vector2i> changedTiles = removed.tiles();
+        changedTiles.forEach(tile -> terrain.setContent(tile, TerrainTile.EMPTY.$));
+
+        terrain.updateObstacles(changedTiles);
+
+        final Set<Obstacle> after = terrain.obstacles();
+        assertEquals(before.size() - 1, after.size());
+        assertFalse(after.contains(removed));
+        before.stream().filter(obstacle -> obstacle != removed).forEach(obstacle -> assertTrue(after.contains(obstacle)));
+        assertEquals(signatures(computeAllObstacles()), signatures(after));
+    }
+
+    @Test
+    @DisplayName("Test updated obstacles equal recomputed obstacles")
+    public void testUpdateEqualsRebuild() {
+        final TerrainLayer terrain = worldMap.terrainLayer();
+        final Vector2i changedTile = someInnerObstacle().tiles().get(1);
+        terrain.setContent(changedTile, TerrainTile.EMPTY.$);
+
+        final List<Vector2i> tilesWithErrors = terrain.updateObstacles(List.of(changedTile));
+
+        assertEquals(signatures(computeAllObstacles()), signatures(terrain.obstacles()));
+        assertEquals(Set.copyOf(computeAllErrors()), Set.copyOf(tilesWithErrors));
+    }
+
+    private List<Vector2i> computeAllErrors() {
+        return new WorldMap(worldMap).terrainLayer().createObstacles();
+    }
+}
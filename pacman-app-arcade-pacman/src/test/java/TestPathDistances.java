@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.basics.graph.Edge;
+import de.amr.basics.graph.GridGraphDistances;
+import de.amr.basics.graph.GridGraphImpl;
+import de.amr.basics.math.Direction;
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.entities.HPortal;
+import de.amr.pacmanfx.core.model.world.map.PathDistances;
+import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
+import de.amr.pacmanfx.core.model.world.map.TerrainTile;
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.model.world.map.WorldMapPropertyName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPathDistances {
+
+    private static WorldMap loadPacManMap() {
+        final URL url = TestPathDistances.class.getResource("/de/amr/pacmanfx/arcade/pacman/maps/pacman.world");
+        assertNotNull(url);
+        return WorldMap.fromURL(url).orElseThrow();
+    }
+
+    private static List<Path> bundledMapFiles() throws IOException {
+        // test runs in the module directory, the maps of all modules are found from the project root
+        try (Stream<Path> files = Files.walk(Path.of(".."))) {
+            return files
+                .filter(file -> file.toString().replace('\\', '/').contains("/src/main/resources/"))
+                .filter(file -> file.getFileName().toString().endsWith(".world"))
+                .sorted()
+                .toList();
+        }
+    }
+
+    private static GridGraphImpl createLine(int length) {
+        final var graph = new GridGraphImpl(1, length);
+        for (int col = 0; col + 1 < length; ++col) {
+            graph.connect(graph.vertex(0, col), Direction.RIGHT);
+        }
+        return graph;
+    }
+
+    @Test
+    @DisplayName("Test grid graph distances are computed per target on demand")
+    public void testGridGraphDistances() {
+        final var graph = new GridGraphImpl(3, 3);
+        // U-shaped path (0,0) -> (2,0) -> (2,2) -> (0,2), vertex (1,1) stays isolated
+        for (int row = 0; row < 2; ++row) {
+            graph.connect(graph.vertex(row, 0), Direction.DOWN);
+            graph.connect(graph.vertex(row, 2), Direction.DOWN);
+        }
+        graph.connect(graph.vertex(2, 0), Direction.RIGHT);
+        graph.connect(graph.vertex(2, 1), Direction.RIGHT);
+
+        final var distances = new GridGraphDistances(graph);
+        final int start = graph.vertex(0, 0), end = graph.vertex(0, 2), isolated = graph.vertex(1, 1);
+        assertFalse(distances.isComputed(end));
+        assertEquals(6, distances.distance(start, end));
+        assertTrue(distances.isComputed(end));
+        assertFalse(distances.isComputed(start));
+        assertEquals(6, distances.distance(end, start));
+        assertEquals(0, distances.distance(isolated, isolated));
+        assertEquals(GridGraphDistances.UNREACHABLE, distances.distance(start, isolated));
+        assertEquals(GridGraphDistances.UNREACHABLE, distances.distance(isolated, end));
+
+        // a shortcut counts as a single step
+        final var shortcutDistances = new GridGraphDistances(graph, List.of(new Edge(graph, start, end)));
+        assertEquals(1, shortcutDistances.distance(start, end));
+        assertEquals(3, shortcutDistances.distance(graph.vertex(2, 0), end));
+
+        // precomputed fields equal the fields computed on demand
+        final var precomputed = new GridGraphDistances(graph);
+        precomputed.computeAllAsync(Runnable::run).join();
+        for (int target = 0; target < graph.numVertices(); ++target) {
+            assertTrue(precomputed.isComputed(target));
+            for (int source = 0; source < graph.numVertices(); ++source) {
+                assertEquals(distances.distance(source, target), precomputed.distance(source, target));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test distances up to the maximum number of vertices are stored without overflow")
+    public void testShortEncoding() {
+        final int length = GridGraphDistances.MAX_VERTICES;
+        final var distances = new GridGraphDistances(createLine(length));
+        assertEquals(length - 1, distances.distance(0, length - 1));
+        assertEquals(300, distances.distance(0, 300));
+        assertEquals(length - 1 - 40_000 % length, distances.distance(40_000 % length, length - 1));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new GridGraphDistances(new GridGraphImpl(1, GridGraphDistances.MAX_VERTICES + 1)));
+    }
+
+    @Test
+    @DisplayName("Test path distances in the Arcade Pac-Man maze")
+    public void testPacManMaze() {
+        final TerrainLayer terrain = loadPacManMap().terrainLayer();
+        final PathDistances pathDistances = terrain.pathDistances();
+        assertTrue(pathDistances.isAvailable());
+        assertTrue(pathDistances.isPrecomputable());
+
+        final List<HPortal> portals = terrain.horizontalPortals();
+        assertFalse(portals.isEmpty());
+        for (HPortal portal : portals) {
+            assertEquals(1, pathDistances.distance(portal.leftBorderEntryTile(), portal.rightBorderEntryTile()));
+            assertEquals(1, pathDistances.distance(portal.rightBorderEntryTile(), portal.leftBorderEntryTile()));
+        }
+
+        final Vector2i pacTile = terrain.getTileProperty(WorldMapPropertyName.POS_PAC);
+        assertEquals(0, pathDistances.distance(pacTile, pacTile));
+        assertEquals(1, pathDistances.distance(pacTile, pacTile.plus(Direction.LEFT.vector())));
+
+        final Vector2i wallTile = WorldMap.tile(pacTile.x(), pacTile.y() + 1); // wall below Pac-Man start tile
+        assertTrue(terrain.isInaccessibleTerrainTile(wallTile));
+        assertEquals(PathDistances.UNREACHABLE, pathDistances.distance(pacTile, wallTile));
+        assertEquals(PathDistances.UNREACHABLE, pathDistances.distance(wallTile, pacTile));
+
+        assertEquals(PathDistances.UNREACHABLE, pathDistances.distance(-1, pacTile.y(), pacTile.x(), pacTile.y()));
+        assertEquals(PathDistances.UNREACHABLE, pathDistances.distance(pacTile.x(), pacTile.y(), terrain.numCols(), 0));
+        assertEquals(PathDistances.UNREACHABLE, pathDistances.distance(0, terrain.numRows(), pacTile.x(), pacTile.y()));
+    }
+
+    @Test
+    @DisplayName("Test walled-off tiles are unreachable")
+    public void testWalledOffTile() {
+        final var terrain = new TerrainLayer(5, 5);
+        final Vector2i center = WorldMap.tile(2, 2);
+        for (Direction dir : Direction.values()) {
+            terrain.setContent(center.plus(dir.vector()), TerrainTile.WALL_H.$);
+        }
+        final PathDistances pathDistances = terrain.pathDistances();
+        assertEquals(8, pathDistances.distance(0, 0, 4, 4));
+        assertEquals(0, pathDistances.distance(center, center));
+        assertEquals(PathDistances.UNREACHABLE, pathDistances.distance(WorldMap.tile(0, 0), center));
+        assertEquals(PathDistances.UNREACHABLE, pathDistances.distance(center, WorldMap.tile(4, 4)));
+
+        // content change creates new path distances
+        terrain.setContent(center.plus(Direction.UP.vector()), TerrainTile.EMPTY.$);
+        assertNotSame(pathDistances, terrain.pathDistances());
+        assertEquals(4, terrain.pathDistances().distance(WorldMap.tile(0, 0), center));
+    }
+
+    @Test
+    @DisplayName("Test precomputed path distances equal the distances computed per target for all bundled maps")
+    public void testPrecomputedEqualsPerTarget() throws IOException {
+        final List<Path> mapFiles = bundledMapFiles();
+        assertFalse(mapFiles.isEmpty());
+        for (Path mapFile : mapFiles) {
+            final TerrainLayer terrain = WorldMap.fromFile(mapFile.toFile()).orElseThrow().terrainLayer();
+            final var perTarget = new PathDistances(terrain, terrain.horizontalPortals());
+            final var precomputed = new PathDistances(terrain, terrain.horizontalPortals());
+            if (!precomputed.isAvailable()) {
+                continue;
+            }
+            precomputed.precomputeAsync(Runnable::run).join();
+            final int numCols = terrain.numCols(), numRows = terrain.numRows();
+            for (int toY = 0; toY < numRows; ++toY) {
+                for (int toX = 0; toX < numCols; ++toX) {
+                    for (int fromY = 0; fromY < numRows; ++fromY) {
+                        for (int fromX = 0; fromX < numCols; ++fromX) {
+                            final int distance = perTarget.distance(fromX, fromY, toX, toY);
+                            assertEquals(distance, precomputed.distance(fromX, fromY, toX, toY),
+                                "Map %s, from (%d,%d) to (%d,%d)".formatted(mapFile, fromX, fromY, toX, toY));
+                            assertEquals(distance, precomputed.distance(toX, toY, fromX, fromY),
+                                "Map %s, distances not symmetric".formatted(mapFile));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test terrains too large for precomputing or for path distances at all")
+    public void testSizeLimits() {
+        final var largeTerrain = new TerrainLayer(60, 60);
+        final PathDistances largeDistances = largeTerrain.pathDistances();
+        assertTrue(largeDistances.isAvailable());
+        assertFalse(largeDistances.isPrecomputable());
+        assertTrue(largeDistances.precomputeAsync(Runnable::run).isDone());
+        assertEquals(118, largeDistances.distance(0, 0, 59, 59));
+
+        final var hugeTerrain = new TerrainLayer(200, 200);
+        final PathDistances hugeDistances = hugeTerrain.pathDistances();
+        assertFalse(hugeDistances.isAvailable());
+        assertFalse(hugeDistances.isPrecomputable());
+        assertEquals(PathDistances.UNREACHABLE, hugeDistances.distance(0, 0, 1, 0));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.basics.math.Direction;
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GamePlay;
+import de.amr.pacmanfx.arcade.pacman.ArcadePacMan_GameVariantUIConfig;
+import de.amr.pacmanfx.arcade.pacman.model.ArcadePacMan_WorldMapManager;
+import de.amr.pacmanfx.arcade.pacman.rules.ArcadePacMan_GameRules;
+import de.amr.pacmanfx.core.*;
+import de.amr.pacmanfx.core.ecs.systems.WorldNavigationSystem;
+import de.amr.pacmanfx.core.event.base.DefaultGameEventManager;
+import de.amr.pacmanfx.core.gamestate.CommonGameStateID;
+import de.amr.pacmanfx.core.headless.GameOutcome;
+import de.amr.pacmanfx.core.headless.HeadlessGameRunner;
+import de.amr.pacmanfx.core.model.GameCheats;
+import de.amr.pacmanfx.core.replay.Replay;
+import de.amr.pacmanfx.core.replay.ReplayPlayer;
+import de.amr.pacmanfx.core.replay.ReplayRecorder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestReplay {
+
+    private static final long SEED = 4711;
+
+    private static GameContext createGameContext() {
+        return new GameContext(
+            new CoinMechanism(99),
+            new GameVariantConfig(
+                new DefaultGameSystems(),
+                new ArcadePacMan_GamePlay(),
+                ArcadePacMan_GameVariantUIConfig.createGameFlow(),
+                new ArcadePacMan_GameRules(),
+                new ArcadePacMan_WorldMapManager()
+            ),
+            new DefaultGameEventManager()
+        );
+    }
+
+    private static Replay recordAutopilotGame() {
+        final GameContext game = createGameContext();
+        final var recorder = new ReplayRecorder(GameVariantID.ARCADE_PACMAN.name(), SEED, ReplayRecorder.DEFAULT_CHECKSUM_INTERVAL);
+        game.setReplayRecorder(recorder);
+        final var runner = new HeadlessGameRunner(GameVariantID.ARCADE_PACMAN.name(), game);
+        runner.setMaxLevelNumber(1);
+        runner.setMaxTicksPerGame(2 * 60 * 60);
+        final GameOutcome outcome = runner.runGame(0);
+        assertEquals(outcome.ticks(), recorder.tickCount());
+        return recorder.toReplay();
+    }
+
+    // Steers Pac-Man by changing the wish direction between ticks like the steering actions of the UI do. After
+    // 20 seconds, the autopilot takes over.
+    private static Replay recordManuallySteeredGame(boolean steering) {
+        final Direction[] steeringPattern = { Direction.LEFT, Direction.UP, Direction.RIGHT, Direction.DOWN };
+        final int autopilotTick = 20 * 60;
+        final GameContext game = createGameContext();
+        final var recorder = new ReplayRecorder(GameVariantID.ARCADE_PACMAN.name(), SEED, ReplayRecorder.DEFAULT_CHECKSUM_INTERVAL);
+        game.setReplayRecorder(recorder);
+        game.setSession(new GameSession(GameVariantID.ARCADE_PACMAN.name(), new GameCheats()));
+        game.variant().gamePlay().startSession(game);
+        game.coinMechanism().insertCoin();
+        game.variant().gameFlow().enterGameState(game, CommonGameStateID.GAME_STARTING);
+
+        final WorldNavigationSystem navigator = game.variant().systems().worldNavigator();
+        for (int tick = 0; tick < 30 * 60; ++tick) {
+            if (tick == autopilotTick) {
+                game.session().cheats().pacUsingAutopilotProperty().set(true);
+            }
+            if (steering && tick < autopilotTick && tick % 45 == 0 && game.session().optLevel().isPresent()) {
+                final Direction dir = steeringPattern[(tick / 45) % steeringPattern.length];
+                navigator.setWishDir(game.session().level().entities().pac(), dir);
+                recorder.recordSteering(dir);
+            }
+            game.session().newFrameState(tick);
+            recorder.beforeTick(game);
+            game.variant().gameFlow().update(game);
+            recorder.afterTick(game);
+        }
+        return recorder.toReplay();
+    }
+
+    @Test
+    @DisplayName("Test replay input encoding")
+    public void testInputEncoding() {
+        for (Direction dir : Direction.values()) {
+            final byte input = Replay.encodeInput(dir, true);
+            assertEquals(dir, Replay.steering(input));
+            assertTrue(Replay.stateTimeout(input));
+        }
+        final byte noInput = Replay.encodeInput(null, false);
+        assertNull(Replay.steering(noInput));
+        assertFalse(Replay.stateTimeout(noInput));
+    }
+
+    @Test
+    @DisplayName("Test replay binary format")
+    public void testReplayReadWrite() throws IOException {
+        final Replay replay = recordAutopilotGame();
+        final var bytes = new ByteArrayOutputStream();
+        replay.write(bytes);
+        assertTrue(bytes.size() < replay.tickCount(), "Run-length encoded inputs should be smaller than one byte per tick");
+
+        final Replay copy = Replay.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(replay.variantName(), copy.variantName());
+        assertEquals(replay.seed(), copy.seed());
+        assertEquals(replay.autopilot(), copy.autopilot());
+        assertEquals(replay.startTick(), copy.startTick());
+        assertEquals(replay.sessionOptions(), copy.sessionOptions());
+        assertArrayEquals(replay.inputs(), copy.inputs());
+        assertEquals(replay.actions(), copy.actions());
+        assertArrayEquals(replay.checksums(), copy.checksums());
+    }
+
+    @Test
+    @DisplayName("Test replay is bit-exact")
+    public void testReplayIsBitExact() {
+        final Replay replay = recordAutopilotGame();
+        assertTrue(replay.checksums().length > 0);
+
+        final GameContext game = createGameContext();
+        final var player = new ReplayPlayer(game, replay);
+        assertEquals(replay.checksums().length, player.play());
+    }
+
+    @Test
+    @DisplayName("Test cheats executed between ticks are replayed")
+    public void testCheatsAreReplayed() {
+        final GameContext game = createGameContext();
+        final var recorder = new ReplayRecorder(GameVariantID.ARCADE_PACMAN.name(), SEED, ReplayRecorder.DEFAULT_CHECKSUM_INTERVAL);
+        game.setReplayRecorder(recorder);
+        game.setSession(new GameSession(GameVariantID.ARCADE_PACMAN.name(), new GameCheats()));
+        game.variant().gamePlay().startSession(game);
+        game.session().cheats().pacUsingAutopilotProperty().set(true);
+        game.coinMechanism().insertCoin();
+        game.variant().gameFlow().enterGameState(game, CommonGameStateID.GAME_STARTING);
+
+        final GameCheats cheats = game.session().cheats();
+        for (int tick = 0; tick < 20 * 60; ++tick) {
+            if (tick == 10 * 60) {
+                cheats.execute(game, GameCheats.Cheat.ADD_LIVES);
+                cheats.pacImmuneProperty().set(true);
+            }
+            game.session().newFrameState(tick);
+            recorder.beforeTick(game);
+            game.variant().gameFlow().update(game);
+            recorder.afterTick(game);
+        }
+        final Replay replay = recorder.toReplay();
+        assertEquals(List.of(
+            new Replay.Action(10 * 60, GameCheats.Cheat.ADD_LIVES.name()),
+            new Replay.Action(10 * 60, GameCheats.Cheat.IMMUNITY_ON.name())), replay.actions());
+
+        final var player = new ReplayPlayer(createGameContext(), replay);
+        assertEquals(replay.checksums().length, player.play());
+    }
+
+    @Test
+    @DisplayName("Test manual steering is replayed")
+    public void testSteeringIsReplayed() {
+        final Replay steered = recordManuallySteeredGame(true);
+        final Replay unsteered = recordManuallySteeredGame(false);
+
+        long numSteeringInputs = 0;
+        for (byte input : steered.inputs()) {
+            if (Replay.steering(input) != null) ++numSteeringInputs;
+        }
+        assertTrue(numSteeringInputs > 0);
+        assertEquals(List.of(new Replay.Action(20 * 60, GameCheats.Cheat.AUTOPILOT_ON.name())), steered.actions());
+        assertFalse(Arrays.equals(steered.checksums(), unsteered.checksums()), "Steering should change the game");
+
+        final var player = new ReplayPlayer(createGameContext(), steered);
+        assertEquals(steered.checksums().length, player.play());
+    }
+
+    @Test
+    @DisplayName("Test same seed gives same recording")
+    public void testSameSeedSameRecording() {
+        final Replay first = recordAutopilotGame();
+        final Replay second = recordAutopilotGame();
+        assertArrayEquals(first.checksums(), second.checksums());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.pacmanfx.core.model.world.map.TerrainTile;
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.model.world.map.WorldMapLayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTileChangeEvents {
+
+    private record TileChange(int row, int col, byte oldCode, byte newCode) {}
+
+    private final List<TileChange> tileChanges = new ArrayList<>();
+    private int contentChanges;
+
+    private final WorldMapLayer.TileChangeListener listener = new WorldMapLayer.TileChangeListener() {
+        @Override
+        public void tileChanged(WorldMapLayer layer, int row, int col, byte oldCode, byte newCode) {
+            tileChanges.add(new TileChange(row, col, oldCode, newCode));
+        }
+
+        @Override
+        public void contentChanged(WorldMapLayer layer) {
+            ++contentChanges;
+        }
+    };
+
+    private WorldMap worldMap;
+
+    @BeforeEach
+    void createMap() {
+        worldMap = new WorldMap(28, 36);
+        worldMap.terrainLayer().addTileChangeListener(listener);
+    }
+
+    @Test
+    @DisplayName("Test tile change is published with old and new code")
+    public void testTileChange() {
+        worldMap.terrainLayer().setContent(5, 7, TerrainTile.WALL_H.$);
+        assertEquals(List.of(new TileChange(5, 7, TerrainTile.EMPTY.$, TerrainTile.WALL_H.$)), tileChanges);
+    }
+
+    @Test
+    @DisplayName("Test setting the same code publishes nothing")
+    public void testNoChange() {
+        worldMap.terrainLayer().setContent(5, 7, TerrainTile.EMPTY.$);
+        assertTrue(tileChanges.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test bulk operations publish a content change")
+    public void testBulkChange() {
+        worldMap.terrainLayer().fillRows(0, 3, TerrainTile.WALL_H.$);
+        assertTrue(tileChanges.isEmpty());
+        assertEquals(1, contentChanges);
+    }
+
+    @Test
+    @DisplayName("Test removed listener and copied layer publish nothing")
+    public void testRemoveListener() {
+        new WorldMap(worldMap).terrainLayer().setContent(1, 1, TerrainTile.WALL_V.$);
+        worldMap.terrainLayer().removeTileChangeListener(listener);
+        worldMap.terrainLayer().setContent(1, 1, TerrainTile.WALL_V.$);
+        assertTrue(tileChanges.isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.model.world.map.WorldMapBinaryFormat;
+import de.amr.pacmanfx.core.model.world.map.WorldMapLayer;
+import de.amr.pacmanfx.core.model.world.obstacle.Obstacle;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestWorldMapBinaryFormat {
+
+    private static WorldMap worldMap;
+
+    @BeforeAll
+    static void loadMap() {
+        final URL url = TestWorldMapBinaryFormat.class.getResource("/de/amr/pacmanfx/arcade/pacman/maps/pacman.world");
+        assertNotNull(url);
+        worldMap = WorldMap.fromURL(url).orElseThrow();
+    }
+
+    private static WorldMap roundtrip(boolean includeObstacles) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        WorldMapBinaryFormat.write(worldMap, includeObstacles, bytes);
+        return WorldMapBinaryFormat.read(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static void assertSameLayer(WorldMapLayer expected, WorldMapLayer actual) {
+        assertEquals(expected.numRows(), actual.numRows());
+        assertEquals(expected.numCols(), actual.numCols());
+        assertEquals(expected.propertyMap(), actual.propertyMap());
+        for (int row = 0; row < expected.numRows(); ++row) {
+            for (int col = 0; col < expected.numCols(); ++col) {
+                assertEquals(expected.content(row, col), actual.content(row, col), "row=%d col=%d".formatted(row, col));
+            }
+        }
+    }
+
+    private static Set<String> obstacleEncodings(WorldMap map) {
+        return map.terrainLayer().obstacles().stream().map(Obstacle::encoding).collect(Collectors.toSet());
+    }
+
+    // overwrites the given bytes with 0x7F, e.g. turns an int count into a huge value
+    private static ByteArrayInputStream garbled(byte[] content, int offset, int length) {
+        final byte[] garbled = content.clone();
+        Arrays.fill(garbled, offset, offset + length, (byte) 0x7F);
+        return new ByteArrayInputStream(garbled);
+    }
+
+    @Test
+    @DisplayName("Test binary map roundtrip with stored obstacles")
+    public void testRoundtripWithObstacles() throws IOException {
+        final WorldMap copy = roundtrip(true);
+        assertSameLayer(worldMap.terrainLayer(), copy.terrainLayer());
+        assertSameLayer(worldMap.foodLayer(), copy.foodLayer());
+        assertEquals(obstacleEncodings(worldMap), obstacleEncodings(copy));
+        assertEquals(worldMap.terrainLayer().pacStartPosition(), copy.terrainLayer().pacStartPosition());
+    }
+
+    @Test
+    @DisplayName("Test binary map roundtrip with computed obstacles")
+    public void testRoundtripWithoutObstacles() throws IOException {
+        final WorldMap copy = roundtrip(false);
+        assertSameLayer(worldMap.terrainLayer(), copy.terrainLayer());
+        assertEquals(obstacleEncodings(worldMap), obstacleEncodings(copy));
+    }
+
+    @Test
+    @DisplayName("Test binary map is smaller than text map")
+    public void testBinaryMapIsCompact() throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        WorldMapBinaryFormat.write(worldMap, false, bytes);
+        assertTrue(bytes.size() < worldMap.numRows() * worldMap.numCols() * 2);
+    }
+
+    @Test
+    @DisplayName("Test invalid binary map is rejected")
+    public void testInvalidData() {
+        assertThrows(IOException.class, () -> WorldMapBinaryFormat.read(new ByteArrayInputStream(new byte[] {1, 2, 3})));
+    }
+
+    @Test
+    @DisplayName("Test truncated and garbled binary maps are rejected")
+    public void testCorruptData() throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        WorldMapBinaryFormat.write(worldMap, true, bytes);
+        final byte[] content = bytes.toByteArray();
+
+        for (int length = 0; length < content.length; ++length) {
+            final byte[] truncated = Arrays.copyOf(content, length);
+            assertThrows(IOException.class, () -> WorldMapBinaryFormat.read(new ByteArrayInputStream(truncated)),
+                "Truncated to %d bytes".formatted(length));
+        }
+
+        // header: magic (4), version (2), flags (1), rows (2), cols (2), then terrain property count (4) and the
+        // length of the first property key (4)
+        assertThrows(IOException.class, () -> WorldMapBinaryFormat.read(garbled(content, 7, 4)));
+        assertThrows(IOException.class, () -> WorldMapBinaryFormat.read(garbled(content, 11, 4)));
+        assertThrows(IOException.class, () -> WorldMapBinaryFormat.read(garbled(content, 15, 4)));
+    }
+
+}
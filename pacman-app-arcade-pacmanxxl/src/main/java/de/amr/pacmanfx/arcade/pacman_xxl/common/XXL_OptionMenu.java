@@ -17,6 +17,8 @@ import de.amr.pacmanfx.uilib.widgets.optionmenu.OptionMenuEntry;
 import de.amr.pacmanfx.uilib.widgets.optionmenu.OptionMenuSettings;
 import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import javafx.scene.input.KeyCode;
 import org.tinylog.Logger;
 
@@ -61,6 +63,11 @@ public class XXL_OptionMenu extends OptionMenu {
         addEntry(meCutScenesEnabled);
         addEntry(meMapOrder);
 
+        // Custom maps are loaded in the background and change when map files are edited, the list is updated on the
+        // application thread
+        final ObservableList<WorldMap> customMaps = XXL_WorldMapManager.instance().customMaps();
+        customMaps.addListener((ListChangeListener<WorldMap>) _ -> meMapOrder.setEnabled(!customMaps.isEmpty()));
+
         chaseAnimation = new XXL_ChaseAnimation(settings.numTilesX());
         chaseAnimation.setY((settings.numTilesY() - 12) * WorldMap.TS);
         chaseAnimation.scalingProperty().bind(scalingProperty());
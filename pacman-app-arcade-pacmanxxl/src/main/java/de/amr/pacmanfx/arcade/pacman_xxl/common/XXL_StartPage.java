@@ -73,9 +73,12 @@ public class XXL_StartPage implements StartPage {
     @Override
     public void setGameApp(GameAppContext app) {
         this.app = requireNonNull(app);
-        // Ensure both game variants are available
-        app.gameVariants().registerGameVariant(GameVariantID.ARCADE_PACMAN_XXL.name());
-        app.gameVariants().registerGameVariant(GameVariantID.ARCADE_MS_PACMAN_XXL.name());
+        // Ensure both game variants are available, they may have been loaded in the background already
+        for (GameVariantID variantID : new GameVariantID[] { GameVariantID.ARCADE_PACMAN_XXL, GameVariantID.ARCADE_MS_PACMAN_XXL }) {
+            if (!app.gameVariants().isVariantRegistered(variantID.name())) {
+                app.gameVariants().registerGameVariant(variantID.name());
+            }
+        }
     }
 
     @Override
@@ -4,30 +4,55 @@
 package de.amr.pacmanfx.arcade.pacman_xxl.common;
 
 import de.amr.basics.filesystem.PathWatchEventListener;
+import de.amr.basics.math.RandomNumberSupport;
 import de.amr.pacmanfx.core.GameConstants;
 import de.amr.pacmanfx.core.model.world.map.*;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import org.tinylog.Logger;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.random.RandomGenerator;
 
 import static de.amr.basics.math.RandomNumberSupport.randomInt;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Map manager of the Pac-Man XXL game variants: built-in "masonic" maps and the maps from the custom map directory.
+ * <p>
+ * Custom maps are loaded in the background: the map files are parsed in parallel on a bounded executor and the
+ * {@link #customMaps() custom map list} is updated in a single batch on the list update executor (the JavaFX
+ * application thread for the {@link #instance() shared instance}). Parsed maps are cached by file content hash, so
+ * files whose content did not change are not parsed again. Watch events of the custom map directory are debounced and
+ * handled the same way.
+ */
 public class XXL_WorldMapManager implements WorldMapManager, PathWatchEventListener {
 
+    private static final long WATCH_EVENT_DEBOUNCE_MILLIS = 300;
+
+    private static final String REPLAY_OPTION_SELECTION_MODE = "MAP_SELECTION_MODE";
+    private static final String REPLAY_OPTION_CUSTOM_MAPS = "CUSTOM_MAPS";
+
+    private static final ExecutorService MAP_LOADER = Executors.newFixedThreadPool(
+        Math.clamp(Runtime.getRuntime().availableProcessors() - 1, 1, 4),
+        Thread.ofPlatform().daemon().name("custom-map-loader-", 0).factory());
+
+    private static final ScheduledExecutorService WATCH_EVENT_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().daemon().name("custom-map-watch-events").factory());
+
     private static class SingletonHolder {
-        static final XXL_WorldMapManager SINGLETON = new XXL_WorldMapManager();
+        static final XXL_WorldMapManager SINGLETON = new XXL_WorldMapManager(Platform::runLater);
     }
 
     public static XXL_WorldMapManager instance() {
@@ -35,12 +60,35 @@ public class XXL_WorldMapManager implements WorldMapManager, PathWatchEventListe
     }
 
     private final ObservableList<WorldMap> customMaps = FXCollections.observableArrayList();
+    // Built-in maps are loaded once and not modified afterwards, see loadMapPrototypes()
     private final List<WorldMap> builtinMaps = new ArrayList<>();
     private final List<WorldMapColorSchemeImpl> builtInMapColorSchemes = new ArrayList<>();
+    private final Object prototypesLock = new Object();
+    private volatile boolean prototypesLoaded;
+
+    // Parsed custom maps by content hash of their file
+    private final Map<String, WorldMap> parseCache = new ConcurrentHashMap<>();
+    // Custom map files changed since the last update, guarded by "this"
+    private final Set<File> pendingChangedFiles = new LinkedHashSet<>();
+    private ScheduledFuture<?> pendingUpdate;
+    // null: updates are applied on the loader thread and loading custom maps blocks until done
+    private final Executor listUpdateExecutor;
+    private volatile CompletableFuture<Void> customMapsLoaded;
 
     private WorldMapSelectionMode selectionMode;
 
-    private XXL_WorldMapManager() {
+    /**
+     * Creates a map manager independent of the {@link #instance() shared instance}, e.g. for isolated game contexts
+     * running concurrently. The shared instance is the one observed by the UI and the custom map directory watchdog.
+     * <p>
+     * Custom maps of this map manager are loaded synchronously such that map selection does not depend on timing.
+     */
+    public XXL_WorldMapManager() {
+        this(null);
+    }
+
+    private XXL_WorldMapManager(Executor listUpdateExecutor) {
+        this.listUpdateExecutor = listUpdateExecutor;
         this.selectionMode = WorldMapSelectionMode.CUSTOM_MAPS_FIRST;
         addJuniorPacMapPrototypesIfEmptyDir();
     }
@@ -49,98 +97,247 @@ public class XXL_WorldMapManager implements WorldMapManager, PathWatchEventListe
         return selectionMode;
     }
 
+    /**
+     * Called on the directory watchdog thread. Changed files are collected and handled together when no further events
+     * arrived during the debounce delay.
+     */
     @Override
     public void handleWatchEvents(List<WatchEvent<Path>> watchEvents) {
         Logger.info("Detected custom map directory changes:");
-        for (WatchEvent<Path> event : watchEvents) {
-            final Path relPath = event.context(); // file or directory name in custom map dir
-            final File file = GameConstants.CUSTOM_MAP_DIR.toPath().resolve(relPath).toFile();
-            Logger.info("WatchEvent kind={}, relative path='{}' file='{}'", event.kind(), relPath, file);
-            if (!file.getAbsolutePath().toLowerCase().endsWith(".world")) {
-                Logger.info("Ignored: File '{}' is no world map file or has wrong extension", file);
-                continue;
-            }
-            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
-                // A new map file has appeared
-                final Optional<WorldMap> worldMap = WorldMap.fromFile(file);
-                if (worldMap.isPresent()) {
-                    customMaps.add(worldMap.get());
-                    Logger.debug("Added new custom map from file '{}'", file);
-                }
-            }
-            else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
-                // A map file has been removed
-                try {
-                    final URL url = file.toURI().toURL();
-                    customMapPrototype(url).ifPresent(worldMap -> {
-                        customMaps.remove(worldMap);
-                        Logger.info("Removed custom map file '{}'", file);
-                    });
-                } catch (MalformedURLException x) {
-                    Logger.error(x, "Could not remove custom map for deleted file '{}'", file);
+        synchronized (this) {
+            for (WatchEvent<Path> event : watchEvents) {
+                final Path relPath = event.context(); // file or directory name in custom map dir
+                final File file = GameConstants.CUSTOM_MAP_DIR.toPath().resolve(relPath).toFile();
+                Logger.info("WatchEvent kind={}, relative path='{}' file='{}'", event.kind(), relPath, file);
+                if (!WorldMap.isWorldMapFileName(file.getName().toLowerCase())) {
+                    Logger.info("Ignored: File '{}' is no world map file or has wrong extension", file);
+                    continue;
                 }
+                pendingChangedFiles.add(file);
             }
-            else if (event.kind() == StandardWatchEventKinds.ENTRY_MODIFY) {
-                // A map file has been changed
-                try {
-                    final URL url = file.toURI().toURL();
-                    customMapPrototype(url).ifPresent(customMaps::remove);
-                    final Optional<WorldMap> worldMap = WorldMap.fromFile(file);
-                    if (worldMap.isPresent()) {
-                        customMaps.add(worldMap.get());
-                        Logger.info("Updated custom map from file '{}'", file);
-                    }
-                } catch (IOException x) {
-                    Logger.error(x, "Could not load world map");
-                }
+            if (pendingUpdate != null) {
+                pendingUpdate.cancel(false);
             }
+            pendingUpdate = WATCH_EVENT_SCHEDULER.schedule(this::updateChangedCustomMaps,
+                WATCH_EVENT_DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
         }
     }
 
+    private void updateChangedCustomMaps() {
+        final List<File> changedFiles;
+        synchronized (this) {
+            changedFiles = List.copyOf(pendingChangedFiles);
+            pendingChangedFiles.clear();
+            pendingUpdate = null;
+        }
+        if (changedFiles.isEmpty()) {
+            return;
+        }
+        // Deleted files have no replacement, created or modified files are (re)loaded. A map may exist as text and as
+        // binary file, all maps with the base name of a changed file are replaced by the map from the preferred file.
+        final Set<String> changedURLs = new HashSet<>();
+        final Set<File> filesToLoad = new LinkedHashSet<>();
+        for (File file : changedFiles) {
+            final String name = file.getName();
+            final String baseName = name.substring(0, name.lastIndexOf('.'));
+            changedURLs.add(fileURL(new File(file.getParentFile(), baseName + WorldMap.TEXT_FILE_EXTENSION)));
+            changedURLs.add(fileURL(new File(file.getParentFile(), baseName + WorldMap.BINARY_FILE_EXTENSION)));
+            WorldMap.preferredWorldMapFile(file).ifPresent(filesToLoad::add);
+        }
+        final List<CompletableFuture<Optional<WorldMap>>> loadingMaps = filesToLoad.stream()
+            .map(this::loadCustomMapAsync)
+            .toList();
+        whenAllLoaded(loadingMaps).thenAcceptAsync(loadedMaps -> {
+            final List<WorldMap> updatedMaps = new ArrayList<>(customMaps);
+            updatedMaps.removeIf(worldMap -> changedURLs.contains(worldMap.url()));
+            updatedMaps.addAll(loadedMaps);
+            customMaps.setAll(updatedMaps);
+            parseCache.values().retainAll(updatedMaps);
+            Logger.info("Custom maps updated: {} file(s) changed, {} map(s) (re)loaded", changedFiles.size(), loadedMaps.size());
+        }, updateExecutor()).exceptionally(x -> {
+            Logger.error(x, "Could not update custom maps");
+            return null;
+        });
+    }
+
     public void setSelectionMode(WorldMapSelectionMode mode) {
         selectionMode = requireNonNull(mode);
     }
 
+    /**
+     * The maps of the levels depend on the selection mode and on the custom maps, so replays store both as session
+     * options. The custom maps are represented by their number and a hash of their file names.
+     *
+     * @return session options for replays
+     */
+    public Map<String, String> replayOptions() {
+        return Map.of(
+            REPLAY_OPTION_SELECTION_MODE, selectionMode.name(),
+            REPLAY_OPTION_CUSTOM_MAPS, customMapsFingerprint());
+    }
+
+    /**
+     * Restores the selection mode stored in a replay.
+     *
+     * @param options session options of the replay, see {@link #replayOptions()}
+     * @throws IllegalArgumentException if an option is missing or the custom maps differ from the recorded ones
+     */
+    public void applyReplayOptions(Map<String, String> options) {
+        final String mode = options.get(REPLAY_OPTION_SELECTION_MODE);
+        final String customMapsFingerprint = options.get(REPLAY_OPTION_CUSTOM_MAPS);
+        if (mode == null || customMapsFingerprint == null) {
+            throw new IllegalArgumentException("Map options are missing");
+        }
+        loadMapPrototypes();
+        if (!customMapsFingerprint.equals(customMapsFingerprint())) {
+            throw new IllegalArgumentException("Custom maps differ from the maps of the recorded game");
+        }
+        setSelectionMode(WorldMapSelectionMode.valueOf(mode));
+    }
+
+    private String customMapsFingerprint() {
+        final List<String> fileNames = customMaps.stream()
+            .map(worldMap -> String.valueOf(worldMap.url()))
+            .map(url -> url.substring(url.lastIndexOf('/') + 1))
+            .toList();
+        return "%d:%08x".formatted(fileNames.size(), fileNames.hashCode());
+    }
+
     @Override
     public ObservableList<WorldMap> customMaps() {
         return customMaps;
     }
 
+    /**
+     * @return future completed when the initial loading of the custom maps has been finished and the custom map list has
+     * been updated, {@code null} if loading has not been started
+     */
+    public CompletableFuture<Void> customMapsLoaded() {
+        return customMapsLoaded;
+    }
+
+    /**
+     * Starts loading the custom maps in the background. The shared instance updates the custom map list on the JavaFX
+     * application thread when all maps are loaded, other instances wait until the maps have been loaded.
+     */
     @Override
     public void loadCustomMaps() {
-        if (!customMaps.isEmpty()) {
-            Logger.info("Custom maps have already been loaded");
-            return;
+        final CompletableFuture<Void> loaded;
+        // Both game variants of the shared instance may be loaded concurrently on different threads
+        synchronized (this) {
+            if (customMapsLoaded != null) {
+                Logger.info("Custom maps have already been loaded");
+                return;
+            }
+            loaded = startLoadingCustomMaps();
+            if (loaded == null) {
+                return;
+            }
+            customMapsLoaded = loaded;
         }
-        final File[] worldMapFiles = GameConstants.CUSTOM_MAP_DIR.listFiles((_, name) -> name.endsWith(".world"));
-        if (worldMapFiles == null) {
+        if (listUpdateExecutor == null) {
+            loaded.join();
+        }
+    }
+
+    private CompletableFuture<Void> startLoadingCustomMaps() {
+        final File[] files = GameConstants.CUSTOM_MAP_DIR.listFiles((_, name) -> WorldMap.isWorldMapFileName(name));
+        if (files == null) {
             Logger.error("Could not access custom map directory '{}'", GameConstants.CUSTOM_MAP_DIR);
-            return;
+            return null;
         }
-        if (worldMapFiles.length == 0) {
+        Arrays.sort(files);
+        // converted maps exist as text and as binary file, load only one of them
+        final List<File> worldMapFiles = WorldMap.preferredWorldMapFiles(files);
+        if (worldMapFiles.isEmpty()) {
             Logger.info("No custom maps found in directory '{}'", GameConstants.CUSTOM_MAP_DIR);
         } else {
-            Logger.info("Found {} custom map(s)", worldMapFiles.length);
+            Logger.info("Found {} custom map(s)", worldMapFiles.size());
+        }
+        final long startTime = System.nanoTime();
+        final List<CompletableFuture<Optional<WorldMap>>> loadingMaps = worldMapFiles.stream()
+            .map(this::loadCustomMapAsync)
+            .toList();
+        return whenAllLoaded(loadingMaps).thenAcceptAsync(loadedMaps -> {
+            customMaps.setAll(loadedMaps);
+            Logger.info("{} custom map(s) loaded in {} ms", loadedMaps.size(), (System.nanoTime() - startTime) / 1_000_000);
+        }, updateExecutor());
+    }
+
+    private Executor updateExecutor() {
+        return listUpdateExecutor != null ? listUpdateExecutor : Runnable::run;
+    }
+
+    private static CompletableFuture<List<WorldMap>> whenAllLoaded(List<CompletableFuture<Optional<WorldMap>>> loadingMaps) {
+        return CompletableFuture.allOf(loadingMaps.toArray(CompletableFuture[]::new))
+            .thenApply(_ -> loadingMaps.stream().map(CompletableFuture::join).flatMap(Optional::stream).toList());
+    }
+
+    private CompletableFuture<Optional<WorldMap>> loadCustomMapAsync(File file) {
+        return CompletableFuture.supplyAsync(() -> loadCustomMap(file), MAP_LOADER);
+    }
+
+    private Optional<WorldMap> loadCustomMap(File file) {
+        final String contentHash;
+        try {
+            contentHash = contentHash(Files.readAllBytes(file.toPath()));
+        } catch (IOException x) {
+            Logger.error(x, "Could not read custom map file '{}'", file);
+            return Optional.empty();
+        }
+        final WorldMap cachedMap = parseCache.get(contentHash);
+        // A cached map is only reused for the same file because the map stores the URL of its file
+        if (cachedMap != null && fileURL(file).equals(cachedMap.url())) {
+            Logger.debug("Custom map file '{}' unchanged, parsing skipped", file);
+            return Optional.of(cachedMap);
+        }
+        final Optional<WorldMap> worldMap = WorldMap.fromFile(file);
+        worldMap.ifPresent(map -> {
+            parseCache.put(contentHash, map);
+            Logger.debug("Custom map loaded from file '{}'", file);
+        });
+        return worldMap;
+    }
+
+    private static String contentHash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException x) {
+            throw new IllegalStateException(x); // every Java platform supports SHA-256
         }
-        for (File file : worldMapFiles) {
-            WorldMap.fromFile(file).ifPresent(worldMap -> {
-                customMaps.add(worldMap);
-                Logger.debug("Custom map loaded from file '{}'", file);
-            });
+    }
+
+    private static String fileURL(File file) {
+        try {
+            return file.toURI().toURL().toExternalForm();
+        } catch (IOException x) {
+            throw new UncheckedIOException(x);
         }
     }
 
+    /**
+     * Loads the built-in maps and starts loading the custom maps. Thread-safe: the game variants sharing this map
+     * manager may be created concurrently, e.g. in the background at application startup.
+     */
     @Override
     public void loadMapPrototypes() {
-        if (builtinMaps.isEmpty()) {
+        if (prototypesLoaded) {
+            return;
+        }
+        synchronized (prototypesLock) {
+            if (prototypesLoaded) {
+                return;
+            }
             try {
                 final List<WorldMap> masonicMaps = WorldMapManager.loadMaps(getClass(),
                     "/de/amr/pacmanfx/arcade/pacman_xxl/maps/masonic_%d.world", 8);
+                final List<WorldMapColorSchemeImpl> colorSchemes = new ArrayList<>();
                 for (WorldMap worldMap : masonicMaps) {
-                    builtInMapColorSchemes.add(WorldMapManager.extractColorScheme(worldMap));
+                    colorSchemes.add(WorldMapManager.extractColorScheme(worldMap));
                 }
+                builtInMapColorSchemes.addAll(colorSchemes);
                 builtinMaps.addAll(masonicMaps);
-                loadCustomMaps();
+                prototypesLoaded = true;
             } catch (IOException x) {
                 Logger.error("Could not open world map");
                 throw new RuntimeException(x);
@@ -150,22 +347,25 @@ public class XXL_WorldMapManager implements WorldMapManager, PathWatchEventListe
                 throw new RuntimeException(x);
             }
         }
+        loadCustomMaps();
     }
 
     @Override
     public WorldMap supplyWorldMap(int levelNumber, Object... args) {
         loadMapPrototypes(); // ensure maps loaded
+        final RandomGenerator rng = args.length > 0 && args[0] instanceof RandomGenerator gameRandom
+            ? gameRandom : RandomNumberSupport.generator();
         final WorldMap prototype = switch (selectionMode) {
             case NO_CUSTOM_MAPS -> {
                 // first pick built-in maps in order, then randomly
-                final int i = levelNumber <= builtinMaps.size() ? levelNumber - 1 : randomInt(0, builtinMaps.size());
+                final int i = levelNumber <= builtinMaps.size() ? levelNumber - 1 : randomInt(rng, 0, builtinMaps.size());
                 yield builtinMaps.get(i);
             }
             case CUSTOM_MAPS_FIRST -> levelNumber <= customMaps.size()
                     ? customMaps.get(levelNumber - 1) // pick custom maps in order
-                    : builtinMaps.get(randomInt(0, builtinMaps.size())); // pick random built-in map
+                    : builtinMaps.get(randomInt(rng, 0, builtinMaps.size())); // pick random built-in map
             case ALL_RANDOM -> {
-                final int i = randomInt(0, customMaps().size() + builtinMaps.size());
+                final int i = randomInt(rng, 0, customMaps().size() + builtinMaps.size());
                 yield i < customMaps().size() ? customMaps.get(i) : builtinMaps.get(i - customMaps().size());
             }
         };
@@ -175,7 +375,7 @@ public class XXL_WorldMapManager implements WorldMapManager, PathWatchEventListe
 
         // If selected map is a built-in map, use a random color scheme to get variation
         final WorldMapColorSchemeImpl colorScheme = builtinMaps.contains(prototype)
-            ? builtInMapColorSchemes.get(randomInt(0, builtInMapColorSchemes.size()))
+            ? builtInMapColorSchemes.get(randomInt(rng, 0, builtInMapColorSchemes.size()))
             : WorldMapManager.extractColorScheme(prototype);
         worldMap.setConfigValue(WorldMapConfigKey.COLOR_SCHEME, colorScheme);
         Logger.info("Map selected (mode {}): {}", selectionMode, worldMap.url());
@@ -183,7 +383,8 @@ public class XXL_WorldMapManager implements WorldMapManager, PathWatchEventListe
         return worldMap;
     }
 
-    private void addJuniorPacMapPrototypesIfEmptyDir() {
+    // synchronized: several map managers may be created concurrently by isolated game contexts
+    private static synchronized void addJuniorPacMapPrototypesIfEmptyDir() {
         final File[] files = GameConstants.CUSTOM_MAP_DIR.listFiles();
         if (files == null) {
             Logger.error("Could not access custom map directory '{}'", GameConstants.CUSTOM_MAP_DIR);
@@ -211,8 +412,4 @@ public class XXL_WorldMapManager implements WorldMapManager, PathWatchEventListe
             }
         }
     }
-
-    private Optional<WorldMap> customMapPrototype(URL url) {
-        return customMaps.stream().filter(map -> url.toExternalForm().equals(map.url())).findFirst();
-    }
 }
\ No newline at end of file
@@ -16,6 +16,8 @@ import de.amr.pacmanfx.core.model.world.map.WorldMapSelectionMode;
 import de.amr.pacmanfx.core.GameSession;
 import de.amr.pacmanfx.core.steering.RuleGuidedPacSteering;
 
+import java.util.Map;
+
 import static de.amr.basics.math.RandomNumberSupport.randomInt;
 import static java.util.Objects.requireNonNull;
 
@@ -34,7 +36,7 @@ public class XXL_MsPacMan_GamePlay extends ArcadeMsPacMan_GamePlay {
         worldMapManager.setSelectionMode(WorldMapSelectionMode.NO_CUSTOM_MAPS);
 
         // Select random (standard) level with different map and map color scheme for each choice
-        final int levelNumber = DEMO_LEVEL_NUMBERS[randomInt(0, DEMO_LEVEL_NUMBERS.length)];
+        final int levelNumber = DEMO_LEVEL_NUMBERS[randomInt(game.random(), 0, DEMO_LEVEL_NUMBERS.length)];
         final GameLevel level = createLevel(game, levelNumber);
 
         final Pac pac = level.entities().pac();
@@ -59,4 +61,17 @@ public class XXL_MsPacMan_GamePlay extends ArcadeMsPacMan_GamePlay {
 
         return level;
     }
+
+    @Override
+    public Map<String, String> sessionOptions(GameContext game) {
+        requireNonNull(game);
+        return ((XXL_WorldMapManager) game.variant().worldMapManager()).replayOptions();
+    }
+
+    @Override
+    public void applySessionOptions(GameContext game, Map<String, String> options) {
+        requireNonNull(game);
+        requireNonNull(options);
+        ((XXL_WorldMapManager) game.variant().worldMapManager()).applyReplayOptions(options);
+    }
 }
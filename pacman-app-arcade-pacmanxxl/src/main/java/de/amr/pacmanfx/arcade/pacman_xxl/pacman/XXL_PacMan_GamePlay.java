@@ -17,6 +17,8 @@ import de.amr.pacmanfx.core.model.world.map.WorldMapSelectionMode;
 import de.amr.pacmanfx.core.GameSession;
 import de.amr.pacmanfx.core.steering.RuleGuidedPacSteering;
 
+import java.util.Map;
+
 import static de.amr.basics.math.RandomNumberSupport.randomInt;
 import static java.util.Objects.requireNonNull;
 
@@ -35,7 +37,7 @@ public class XXL_PacMan_GamePlay extends ArcadePacMan_GamePlay {
         worldMapManager.setSelectionMode(WorldMapSelectionMode.NO_CUSTOM_MAPS);
 
         // Select random (standard) level with different map and map color scheme for each choice
-        final int levelNumber = DEMOLEVEL_NUMBERS[randomInt(0, DEMOLEVEL_NUMBERS.length)];
+        final int levelNumber = DEMOLEVEL_NUMBERS[randomInt(game.random(), 0, DEMOLEVEL_NUMBERS.length)];
         final GameLevel level = createLevel(game, levelNumber);
 
         final Pac pac = level.entities().pac();
@@ -60,4 +62,17 @@ public class XXL_PacMan_GamePlay extends ArcadePacMan_GamePlay {
 
         return level;
     }
+
+    @Override
+    public Map<String, String> sessionOptions(GameContext game) {
+        requireNonNull(game);
+        return ((XXL_WorldMapManager) game.variant().worldMapManager()).replayOptions();
+    }
+
+    @Override
+    public void applySessionOptions(GameContext game, Map<String, String> options) {
+        requireNonNull(game);
+        requireNonNull(options);
+        ((XXL_WorldMapManager) game.variant().worldMapManager()).applyReplayOptions(options);
+    }
 }
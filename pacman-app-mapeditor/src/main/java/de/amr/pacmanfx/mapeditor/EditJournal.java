@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.mapeditor;
+
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.model.world.map.WorldMapLayer;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import org.tinylog.Logger;
+
+import java.util.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Undo/redo journal of the map editor.
+ * <p>
+ * The journal listens to the tile changes of the current world map and stores them as compact deltas, one {@code long}
+ * per changed tile containing the layer, the tile index and the old and new tile code. All deltas recorded until the
+ * next editor update form one undoable step, during a stroke (painting with the mouse) all deltas are coalesced into a
+ * single step. Bulk changes of a layer are converted into deltas by comparing with a shadow copy of the layer content,
+ * so also actions like "Clear Terrain" are undoable. Inserting and deleting rows creates a new map, these steps only
+ * store the row index and the content of a deleted row.
+ * <p>
+ * Layer properties (house position, ghost positions, colors etc.) are plain maps, changes of them are detected when a
+ * step is closed by comparing with a shadow copy of the property maps. The changed properties are stored with their old
+ * and new value in the same step as the tile deltas, so that e.g. placing a house is undone as a whole.
+ * <p>
+ * The number of steps is not limited, but the memory used by the steps is. If the limit is exceeded, the oldest steps
+ * are dropped.
+ */
+public class EditJournal {
+
+    /**
+     * The editor operations used by the journal to apply undo and redo steps.
+     */
+    public interface Host {
+        void setCurrentWorldMap(WorldMap worldMap);
+        void setTerrainTilesChanged(Vector2i... tiles);
+        void setTerrainMapChanged();
+        void setFoodMapChanged();
+        void setEdited(boolean edited);
+    }
+
+    /** Maximum memory (in bytes) used by the undo and redo steps together. */
+    public static final long MAX_BYTES = 4 * 1024 * 1024;
+
+    private static final int LAYER_TERRAIN = 0;
+    private static final int LAYER_FOOD = 1;
+
+    // Delta layout: bit 48 = layer, bits 16-47 = tile index, bits 8-15 = old code, bits 0-7 = new code
+
+    public static long delta(int layer, int index, byte oldCode, byte newCode) {
+        return (long) layer << 48 | (long) index << 16 | (oldCode & 0xFFL) << 8 | newCode & 0xFFL;
+    }
+
+    public static int deltaLayer(long delta) { return (int) (delta >>> 48) & 1; }
+
+    public static int deltaIndex(long delta) { return (int) (delta >>> 16); }
+
+    public static byte deltaOldCode(long delta) { return (byte) (delta >>> 8); }
+
+    public static byte deltaNewCode(long delta) { return (byte) delta; }
+
+    private sealed interface Step permits EditStep, RowInsertedStep, RowDeletedStep {
+        long byteSize();
+    }
+
+    // old or new value null means that the property did not exist
+    private record PropertyDelta(int layer, String name, String oldValue, String newValue) {
+        long byteSize() { return 32 + 2L * (name.length() + length(oldValue) + length(newValue)); }
+
+        private static int length(String value) { return value != null ? value.length() : 0; }
+    }
+
+    private record EditStep(long[] deltas, PropertyDelta[] propertyDeltas) implements Step {
+        @Override
+        public long byteSize() {
+            long size = 32 + 8L * deltas.length;
+            for (PropertyDelta propertyDelta : propertyDeltas) {
+                size += propertyDelta.byteSize();
+            }
+            return size;
+        }
+    }
+
+    private record RowInsertedStep(int rowIndex) implements Step {
+        @Override
+        public long byteSize() { return 16; }
+    }
+
+    private record RowDeletedStep(int rowIndex, byte[] terrainRow, byte[] foodRow) implements Step {
+        @Override
+        public long byteSize() { return 32 + terrainRow.length + foodRow.length; }
+    }
+
+    private final Host editor;
+    private final Deque<Step> undoSteps = new ArrayDeque<>();
+    private final Deque<Step> redoSteps = new ArrayDeque<>();
+    private final BooleanProperty undoAvailable = new SimpleBooleanProperty(false);
+    private final BooleanProperty redoAvailable = new SimpleBooleanProperty(false);
+    private long byteSize;
+
+    private WorldMap worldMap;
+    private byte[] terrainShadow;
+    private byte[] foodShadow;
+    private final Map<String, String> terrainPropertiesShadow = new HashMap<>();
+    private final Map<String, String> foodPropertiesShadow = new HashMap<>();
+
+    // deltas of the step being recorded
+    private long[] pendingDeltas = new long[64];
+    private int numPendingDeltas;
+
+    private boolean strokeActive;
+    private boolean replaying;
+    private boolean replacingMap;
+
+    private final WorldMapLayer.TileChangeListener tileChangeListener = new WorldMapLayer.TileChangeListener() {
+        @Override
+        public void tileChanged(WorldMapLayer layer, int row, int col, byte oldCode, byte newCode) {
+            final int index = layer.indexInRowWiseOrder(col, row);
+            shadow(layer)[index] = newCode;
+            if (!replaying) {
+                record(delta(layerID(layer), index, oldCode, newCode));
+            }
+        }
+
+        @Override
+        public void contentChanged(WorldMapLayer layer) {
+            final byte[] shadow = shadow(layer);
+            for (int index = 0; index < shadow.length; ++index) {
+                final byte code = layer.contentUnchecked(index);
+                if (code != shadow[index]) {
+                    if (!replaying) {
+                        record(delta(layerID(layer), index, shadow[index], code));
+                    }
+                    shadow[index] = code;
+                }
+            }
+        }
+    };
+
+    public EditJournal(Host editor) {
+        this.editor = requireNonNull(editor);
+    }
+
+    public ReadOnlyBooleanProperty undoAvailableProperty() {
+        return undoAvailable;
+    }
+
+    public ReadOnlyBooleanProperty redoAvailableProperty() {
+        return redoAvailable;
+    }
+
+    /**
+     * Called when the current world map of the editor has been replaced. Unless the replacement is a journaled row
+     * operation, the journal is cleared.
+     *
+     * @param oldMap the previous map (may be null)
+     * @param newMap the new map (may be null)
+     */
+    public void onWorldMapReplaced(WorldMap oldMap, WorldMap newMap) {
+        if (oldMap != null) {
+            oldMap.terrainLayer().removeTileChangeListener(tileChangeListener);
+            oldMap.foodLayer().removeTileChangeListener(tileChangeListener);
+        }
+        worldMap = newMap;
+        if (newMap != null) {
+            terrainShadow = copyContent(newMap.terrainLayer());
+            foodShadow = copyContent(newMap.foodLayer());
+            syncPropertyShadows();
+            newMap.terrainLayer().addTileChangeListener(tileChangeListener);
+            newMap.foodLayer().addTileChangeListener(tileChangeListener);
+        }
+        if (!replacingMap) {
+            clear();
+        }
+    }
+
+    public void clear() {
+        undoSteps.clear();
+        redoSteps.clear();
+        numPendingDeltas = 0;
+        if (worldMap != null) {
+            syncPropertyShadows();
+        }
+        byteSize = 0;
+        updateAvailability();
+    }
+
+    /**
+     * While a stroke is active, all recorded changes are coalesced into a single step. Ending a stroke closes the step
+     * immediately, so that a following edit is not merged into the stroke.
+     *
+     * @param active if a stroke is active
+     */
+    public void setStrokeActive(boolean active) {
+        if (strokeActive && !active) {
+            strokeActive = false;
+            closeStep();
+        }
+        strokeActive = active;
+    }
+
+    /**
+     * Called at each editor update. Closes the current step unless a stroke is active.
+     */
+    public void update() {
+        if (!strokeActive) {
+            closeStep();
+        }
+    }
+
+    public void undo() {
+        closeStep();
+        final Step step = undoSteps.pollFirst();
+        if (step == null) {
+            return;
+        }
+        switch (step) {
+            case EditStep(long[] deltas, PropertyDelta[] propertyDeltas) -> applyDeltas(deltas, propertyDeltas, true);
+            case RowInsertedStep(int rowIndex) -> replaceMap(worldMap.deleteRowAtIndex(rowIndex));
+            case RowDeletedStep(int rowIndex, byte[] terrainRow, byte[] foodRow) -> {
+                final WorldMap newMap = worldMap.insertRowBeforeIndex(rowIndex);
+                for (int col = 0; col < newMap.numCols(); ++col) {
+                    newMap.terrainLayer().setContent(rowIndex, col, terrainRow[col]);
+                    newMap.foodLayer().setContent(rowIndex, col, foodRow[col]);
+                }
+                replaceMap(newMap);
+            }
+        }
+        redoSteps.addFirst(step);
+        updateAvailability();
+        Logger.debug("Undo {}", step.getClass().getSimpleName());
+    }
+
+    public void redo() {
+        closeStep();
+        final Step step = redoSteps.pollFirst();
+        if (step == null) {
+            return;
+        }
+        switch (step) {
+            case EditStep(long[] deltas, PropertyDelta[] propertyDeltas) -> applyDeltas(deltas, propertyDeltas, false);
+            case RowInsertedStep(int rowIndex) -> replaceMap(worldMap.insertRowBeforeIndex(rowIndex));
+            case RowDeletedStep(int rowIndex, _, _) -> replaceMap(worldMap.deleteRowAtIndex(rowIndex));
+        }
+        undoSteps.addFirst(step);
+        updateAvailability();
+        Logger.debug("Redo {}", step.getClass().getSimpleName());
+    }
+
+    /**
+     * Replaces the current map by a copy with an empty row inserted before the given row and records this step.
+     *
+     * @param rowIndex row index
+     */
+    public void insertRow(int rowIndex) {
+        closeStep();
+        replaceMap(worldMap.insertRowBeforeIndex(rowIndex));
+        push(new RowInsertedStep(rowIndex));
+    }
+
+    /**
+     * Replaces the current map by a copy without the given row and records this step.
+     *
+     * @param rowIndex row index
+     */
+    public void deleteRow(int rowIndex) {
+        closeStep();
+        final var terrainRow = new byte[worldMap.numCols()];
+        final var foodRow = new byte[worldMap.numCols()];
+        for (int col = 0; col < worldMap.numCols(); ++col) {
+            terrainRow[col] = worldMap.terrainLayer().content(rowIndex, col);
+            foodRow[col] = worldMap.foodLayer().content(rowIndex, col);
+        }
+        replaceMap(worldMap.deleteRowAtIndex(rowIndex));
+        push(new RowDeletedStep(rowIndex, terrainRow, foodRow));
+    }
+
+    /**
+     * @return memory (in bytes) used by the recorded steps
+     */
+    public long byteSize() {
+        return byteSize;
+    }
+
+    private void record(long delta) {
+        if (numPendingDeltas == pendingDeltas.length) {
+            pendingDeltas = Arrays.copyOf(pendingDeltas, 2 * pendingDeltas.length);
+        }
+        pendingDeltas[numPendingDeltas++] = delta;
+    }
+
+    private void closeStep() {
+        if (worldMap == null) {
+            return;
+        }
+        final List<PropertyDelta> propertyDeltas = new ArrayList<>(0);
+        diffProperties(LAYER_TERRAIN, worldMap.terrainLayer(), terrainPropertiesShadow, propertyDeltas);
+        diffProperties(LAYER_FOOD, worldMap.foodLayer(), foodPropertiesShadow, propertyDeltas);
+        if (numPendingDeltas == 0 && propertyDeltas.isEmpty()) {
+            return;
+        }
+        final long[] deltas = compact(pendingDeltas, numPendingDeltas);
+        numPendingDeltas = 0;
+        if (pendingDeltas.length > 1024) {
+            pendingDeltas = new long[64];
+        }
+        if (deltas.length > 0 || !propertyDeltas.isEmpty()) {
+            push(new EditStep(deltas, propertyDeltas.toArray(PropertyDelta[]::new)));
+        }
+    }
+
+    private static void diffProperties(int layerID, WorldMapLayer layer, Map<String, String> shadow, List<PropertyDelta> out) {
+        final Map<String, String> properties = layer.propertyMap();
+        if (properties.equals(shadow)) {
+            return;
+        }
+        properties.forEach((name, value) -> {
+            final String oldValue = shadow.get(name);
+            if (!Objects.equals(oldValue, value)) {
+                out.add(new PropertyDelta(layerID, name, oldValue, value));
+            }
+        });
+        shadow.forEach((name, oldValue) -> {
+            if (!properties.containsKey(name)) {
+                out.add(new PropertyDelta(layerID, name, oldValue, null));
+            }
+        });
+        shadow.clear();
+        shadow.putAll(properties);
+    }
+
+    /**
+     * Merges all deltas of the same tile into one delta (first old code, last new code) and removes deltas without
+     * effect.
+     *
+     * @param deltas tile deltas in recording order
+     * @param count number of deltas to use
+     * @return the effective deltas, each tile occurs at most once
+     */
+    public static long[] compact(long[] deltas, int count) {
+        final long[] merged = new long[count];
+        final Map<Long, Integer> positionByTile = new HashMap<>();
+        int numMerged = 0;
+        for (int i = 0; i < count; ++i) {
+            final long delta = deltas[i];
+            final long tileKey = delta >>> 16;
+            final Integer position = positionByTile.get(tileKey);
+            if (position == null) {
+                positionByTile.put(tileKey, numMerged);
+                merged[numMerged++] = delta;
+            } else {
+                merged[position] = merged[position] & ~0xFFL | delta & 0xFFL;
+            }
+        }
+        int numEffective = 0;
+        for (int i = 0; i < numMerged; ++i) {
+            if (deltaOldCode(merged[i]) != deltaNewCode(merged[i])) {
+                merged[numEffective++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, numEffective);
+    }
+
+    private void push(Step step) {
+        undoSteps.addFirst(step);
+        byteSize += step.byteSize();
+        redoSteps.forEach(redoStep -> byteSize -= redoStep.byteSize());
+        redoSteps.clear();
+        while (byteSize > MAX_BYTES && undoSteps.size() > 1) {
+            byteSize -= undoSteps.pollLast().byteSize();
+        }
+        updateAvailability();
+    }
+
+    private void applyDeltas(long[] deltas, PropertyDelta[] propertyDeltas, boolean undo) {
+        final List<Vector2i> changedTerrainTiles = new ArrayList<>();
+        boolean foodChanged = false;
+        boolean terrainPropertiesChanged = false;
+        replaying = true;
+        try {
+            for (PropertyDelta propertyDelta : propertyDeltas) {
+                final boolean terrain = propertyDelta.layer() == LAYER_TERRAIN;
+                final WorldMapLayer layer = terrain ? worldMap.terrainLayer() : worldMap.foodLayer();
+                final Map<String, String> shadow = terrain ? terrainPropertiesShadow : foodPropertiesShadow;
+                final String value = undo ? propertyDelta.oldValue() : propertyDelta.newValue();
+                for (Map<String, String> map : List.of(layer.propertyMap(), shadow)) {
+                    if (value != null) {
+                        map.put(propertyDelta.name(), value);
+                    } else {
+                        map.remove(propertyDelta.name());
+                    }
+                }
+                if (terrain) {
+                    terrainPropertiesChanged = true;
+                } else {
+                    foodChanged = true;
+                }
+            }
+            // deltas of a step are compacted, each tile occurs only once, so the order does not matter
+            for (long delta : deltas) {
+                final WorldMapLayer layer = deltaLayer(delta) == LAYER_TERRAIN ? worldMap.terrainLayer() : worldMap.foodLayer();
+                final Vector2i tile = layer.tileAtIndex(deltaIndex(delta));
+                layer.setContent(tile, undo ? deltaOldCode(delta) : deltaNewCode(delta));
+                if (layer instanceof TerrainLayer) {
+                    changedTerrainTiles.add(tile);
+                } else {
+                    foodChanged = true;
+                }
+            }
+        } finally {
+            replaying = false;
+        }
+        // property changes (house position etc.) may affect the complete maze
+        if (terrainPropertiesChanged) {
+            editor.setTerrainMapChanged();
+        } else if (!changedTerrainTiles.isEmpty()) {
+            editor.setTerrainTilesChanged(changedTerrainTiles.toArray(Vector2i[]::new));
+        }
+        if (foodChanged) {
+            editor.setFoodMapChanged();
+        }
+        editor.setEdited(true);
+    }
+
+    private void replaceMap(WorldMap newMap) {
+        replacingMap = true;
+        try {
+            editor.setCurrentWorldMap(newMap);
+        } finally {
+            replacingMap = false;
+        }
+        editor.setEdited(true);
+    }
+
+    private void syncPropertyShadows() {
+        terrainPropertiesShadow.clear();
+        terrainPropertiesShadow.putAll(worldMap.terrainLayer().propertyMap());
+        foodPropertiesShadow.clear();
+        foodPropertiesShadow.putAll(worldMap.foodLayer().propertyMap());
+    }
+
+    private void updateAvailability() {
+        undoAvailable.set(!undoSteps.isEmpty());
+        redoAvailable.set(!redoSteps.isEmpty());
+    }
+
+    private int layerID(WorldMapLayer layer) {
+        return layer instanceof FoodLayer ? LAYER_FOOD : LAYER_TERRAIN;
+    }
+
+    private byte[] shadow(WorldMapLayer layer) {
+        return layer instanceof FoodLayer ? foodShadow : terrainShadow;
+    }
+
+    private static byte[] copyContent(WorldMapLayer layer) {
+        final var content = new byte[layer.numRows() * layer.numCols()];
+        for (int index = 0; index < content.length; ++index) {
+            content[index] = layer.contentUnchecked(index);
+        }
+        return content;
+    }
+}
@@ -3,6 +3,7 @@
  */
 package de.amr.pacmanfx.mapeditor;
 
+import de.amr.basics.math.Vector2i;
 import de.amr.pacmanfx.core.model.world.map.WorldMap;
 import de.amr.pacmanfx.core.model.world.map.WorldMapChecker;
 import de.amr.pacmanfx.core.model.world.map.WorldMapParseException;
@@ -20,26 +21,28 @@ import org.tinylog.Logger;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.function.Consumer;
 
 import static de.amr.pacmanfx.mapeditor.TileMapEditorGlobals.*;
 import static java.util.Objects.requireNonNull;
 
-public class TileMapEditor {
+public class TileMapEditor implements EditJournal.Host {
 
     private final TileMapEditorUI ui;
     private final AnimationTimer updateTimer;
+    private final EditJournal journal;
     private SampleMaps sampleMaps;
     private Consumer<TileMapEditor> quitEditorAction = _ -> {};
 
     public TileMapEditor(Stage stage) {
         requireNonNull(stage);
+        journal = new EditJournal(this);
         ui = new TileMapEditorUI(stage, this);
-        currentWorldMap.addListener((_, _, _) -> setWorldMapChanged());
+        currentWorldMap.addListener((_, oldMap, newMap) -> {
+            journal.onWorldMapReplaced(oldMap, newMap);
+            setWorldMapChanged();
+        });
         sourceCodeLineNumbers.addListener((_, _, lineNumbers) -> {
             final String source = WorldMapWriter.createSourceCode(currentWorldMap(), lineNumbers);
             sourceCode.set(source);
@@ -111,15 +114,22 @@ public class TileMapEditor {
         return ui;
     }
 
+    public EditJournal journal() {
+        return journal;
+    }
+
     private WorldMapChecker.WorldMapCheckResult checkResult;
 
     // Change management
     private boolean edited;
     private boolean terrainMapChanged;
+    private boolean terrainMapChangedCompletely;
+    private final Set<Vector2i> changedTerrainTiles = new HashSet<>();
     private boolean terrainMapPropertyChanged;
     private boolean foodMapChanged;
     private boolean foodMapPropertyChanged;
 
+    @Override
     public void setEdited(boolean edited) {
         this.edited = edited;
     }
@@ -131,14 +141,29 @@ public class TileMapEditor {
         setFoodMapChanged();
     }
 
+    @Override
     public void setTerrainMapChanged() {
         terrainMapChanged = true;
+        terrainMapChangedCompletely = true;
+    }
+
+    /**
+     * Marks single terrain tiles as changed. If no other terrain change happened until the next update, only the
+     * obstacles near these tiles are recomputed and only their 3D walls are replaced.
+     *
+     * @param tiles the changed tiles
+     */
+    @Override
+    public void setTerrainTilesChanged(Vector2i... tiles) {
+        terrainMapChanged = true;
+        changedTerrainTiles.addAll(Arrays.asList(tiles));
     }
 
     public void setTerrainMapPropertyChanged() {
         this.terrainMapPropertyChanged = true;
     }
 
+    @Override
     public void setFoodMapChanged() {
         foodMapChanged = true;
     }
@@ -149,13 +174,22 @@ public class TileMapEditor {
 
     private void processChanges() {
         boolean sourceNeedsUpdate = false;
-        if (terrainMapChanged || foodMapChanged) {
+        final boolean onlyTilesChanged = terrainMapChanged && !terrainMapChangedCompletely && checkResult != null;
+        if (onlyTilesChanged) {
+            checkResult = WorldMapChecker.check(currentWorldMap(), changedTerrainTiles);
+        } else if (terrainMapChanged || foodMapChanged) {
             checkResult = WorldMapChecker.check(currentWorldMap());
         }
         if (terrainMapChanged) {
-            ui.onTerrainMapChanged();
+            if (onlyTilesChanged) {
+                ui.onTerrainTilesChanged();
+            } else {
+                ui.onTerrainMapChanged();
+            }
             sourceNeedsUpdate = true;
             terrainMapChanged = false;
+            terrainMapChangedCompletely = false;
+            changedTerrainTiles.clear();
         }
         if (terrainMapPropertyChanged) {
             sourceNeedsUpdate = true;
@@ -176,6 +210,7 @@ public class TileMapEditor {
             final String source = WorldMapWriter.createSourceCode(currentWorldMap(), sourceCodeLineNumbers.get());
             sourceCode.set(source);
         }
+        journal.update();
     }
 
     public WorldMapChecker.WorldMapCheckResult checkResult() {
@@ -230,6 +265,7 @@ public class TileMapEditor {
 
     public WorldMap currentWorldMap() { return currentWorldMap.get(); }
 
+    @Override
     public void setCurrentWorldMap(WorldMap worldMap) { currentWorldMap.set(worldMap); }
 
     // -- sourceCode
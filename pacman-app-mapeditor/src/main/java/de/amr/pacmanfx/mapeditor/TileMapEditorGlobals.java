@@ -59,7 +59,7 @@ public final class TileMapEditorGlobals {
 
     public static final Node NO_GRAPHIC = null;
 
-    public static final ExtensionFilter FILTER_WORLD_MAP_FILES = new ExtensionFilter("World Map", "*.world");
+    public static final ExtensionFilter FILTER_WORLD_MAP_FILES = new ExtensionFilter("World Map", "*.world", "*.wmb");
     public static final ExtensionFilter FILTER_IMAGE_FILES     = new ExtensionFilter("Image", "*.bmp", "*.gif", "*.jpg", "*.png");
     public static final ExtensionFilter FILTER_ALL_FILES       = new ExtensionFilter("Any File", "*.*");
 
@@ -82,6 +82,14 @@ public class TileMapEditorMenus {
         final TileMapEditor editor = ui.editor();
         final BooleanBinding isInspectingMap = ui.editModeProperty().isEqualTo(EditMode.INSPECT);
 
+        final var miUndo = new MenuItem(translated("menu.edit.undo"));
+        miUndo.disableProperty().bind(editor.journal().undoAvailableProperty().not());
+        miUndo.setOnAction(_ -> new Action_Undo(editor).execute());
+
+        final var miRedo = new MenuItem(translated("menu.edit.redo"));
+        miRedo.disableProperty().bind(editor.journal().redoAvailableProperty().not());
+        miRedo.setOnAction(_ -> new Action_Redo(editor).execute());
+
         final var miObstacleJoining = new CheckMenuItem(translated("menu.edit.obstacles_joining"));
         miObstacleJoining.selectedProperty().bindBidirectional(ui.obstaclesJoiningProperty());
 
@@ -125,6 +133,9 @@ public class TileMapEditorMenus {
         miAssignDefaultColors.setOnAction(_ -> new Action_SetDefaultMapColors(editor).execute());
 
         final Menu menu = new Menu(translated("menu.edit"), NO_GRAPHIC,
+            miUndo,
+            miRedo,
+            new SeparatorMenuItem(),
             miObstacleJoining,
             new SeparatorMenuItem(),
             miAddBorder,
@@ -28,6 +28,7 @@ import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.effect.Glow;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.TransferMode;
 import javafx.scene.layout.*;
@@ -335,6 +336,11 @@ public class TileMapEditorUI {
             if (inputEnabled()) onKeyPressed(keyEvent);
         });
 
+        // Releasing the shift key ends a paint stroke even if the mouse is not moved anymore
+        contentPane.addEventFilter(KeyEvent.KEY_RELEASED, keyEvent -> {
+            if (keyEvent.getCode() == KeyCode.SHIFT) editor.journal().setStrokeActive(false);
+        });
+
         propertyEditorsVisibleProperty().addListener((_, _, visible) ->
             contentPane.setLeft(visible ? propertyEditorsPane : null));
 
@@ -829,7 +835,10 @@ public class TileMapEditorUI {
 
     private void onKeyPressed(KeyEvent keyEvent) {
         boolean alt = keyEvent.isAltDown();
+        boolean control = keyEvent.isControlDown();
         final EditorAction<?> action = switch (keyEvent.getCode()) {
+            case Z     -> control && !editModeIs(INSPECT) ? new Action_Undo(editor) : null;
+            case Y     -> control && !editModeIs(INSPECT) ? new Action_Redo(editor) : null;
             case LEFT  -> alt ? new Action_SelectNextMapFile(editor, false) : null;
             case RIGHT -> alt ? new Action_SelectNextMapFile(editor, true) : null;
             case PLUS  -> new Action_ZoomIn(this);
@@ -850,6 +859,7 @@ public class TileMapEditorUI {
 
     private void consumeEventAndExecuteAction(KeyEvent e, EditorAction<?> action) {
         e.consume();
+        editor.journal().setStrokeActive(false);
         action.execute();
     }
 
@@ -860,6 +870,10 @@ public class TileMapEditorUI {
         terrainPropertiesEditor.updateEditorValues();
     }
 
+    public void onTerrainTilesChanged() {
+        preview3D.updateMazeObstacles();
+    }
+
     public void onFoodMapChanged() {
         preview3D.updateFood();
         foodPropertiesEditor.updateEditorValues();
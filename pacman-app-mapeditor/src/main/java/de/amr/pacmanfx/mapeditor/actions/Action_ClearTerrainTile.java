@@ -22,7 +22,7 @@ public class Action_ClearTerrainTile extends EditorAction<Void> {
     @Override
     public Void execute() {
         editor.currentWorldMap().terrainLayer().setContent(tile, TerrainTile.EMPTY.$);
-        editor.setTerrainMapChanged();
+        editor.setTerrainTilesChanged(tile);
         editor.setEdited(true);
         return null;
     }
@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.mapeditor.actions;
+
+import de.amr.pacmanfx.mapeditor.TileMapEditor;
+
+/**
+ * Deletes the given row. The map is replaced by a copy, the journal records only the row index and the deleted tiles.
+ */
+public class Action_DeleteRow extends EditorAction<Void> {
+
+    private final int rowIndex;
+
+    public Action_DeleteRow(TileMapEditor editor, int rowIndex) {
+        super(editor);
+        this.rowIndex = rowIndex;
+    }
+
+    @Override
+    public Void execute() {
+        editor.journal().deleteRow(rowIndex);
+        return null;
+    }
+}
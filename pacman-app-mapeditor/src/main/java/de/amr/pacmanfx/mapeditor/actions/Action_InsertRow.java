@@ -0,0 +1,25 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.mapeditor.actions;
+
+import de.amr.pacmanfx.mapeditor.TileMapEditor;
+
+/**
+ * Inserts an empty row before the given row. The map is replaced by a copy, the journal records only the row index.
+ */
+public class Action_InsertRow extends EditorAction<Void> {
+
+    private final int rowIndex;
+
+    public Action_InsertRow(TileMapEditor editor, int rowIndex) {
+        super(editor);
+        this.rowIndex = rowIndex;
+    }
+
+    @Override
+    public Void execute() {
+        editor.journal().insertRow(rowIndex);
+        return null;
+    }
+}
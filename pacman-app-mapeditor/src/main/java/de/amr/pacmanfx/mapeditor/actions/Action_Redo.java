@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.mapeditor.actions;
+
+import de.amr.pacmanfx.mapeditor.TileMapEditor;
+
+/**
+ * Redoes the last undone edit step, see {@link de.amr.pacmanfx.mapeditor.EditJournal}.
+ */
+public class Action_Redo extends EditorAction<Void> {
+
+    public Action_Redo(TileMapEditor editor) {
+        super(editor);
+    }
+
+    @Override
+    public Void execute() {
+        editor.journal().redo();
+        return null;
+    }
+}
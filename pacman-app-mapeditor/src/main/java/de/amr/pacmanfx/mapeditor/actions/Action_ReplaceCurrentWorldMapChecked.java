@@ -24,7 +24,7 @@ public class Action_ReplaceCurrentWorldMapChecked extends EditorUIAction<Boolean
     @Override
     public Boolean execute() {
         requireNonNull(file);
-        if (file.getName().endsWith(".world")) {
+        if (WorldMap.isWorldMapFileName(file.getName())) {
             final Optional<WorldMap> worldMap = WorldMap.fromFile(file);
             if (worldMap.isPresent()) {
                 ui.afterCheckForUnsavedChanges(() -> {
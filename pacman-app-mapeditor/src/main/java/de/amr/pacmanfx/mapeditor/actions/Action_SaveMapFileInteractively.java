@@ -3,6 +3,7 @@
  */
 package de.amr.pacmanfx.mapeditor.actions;
 
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
 import de.amr.pacmanfx.mapeditor.MessageType;
 import de.amr.pacmanfx.mapeditor.TileMapEditorUI;
 import javafx.stage.FileChooser;
@@ -25,9 +26,13 @@ public class Action_SaveMapFileInteractively extends EditorUIAction<File> {
         File file = fileChooser.showSaveDialog(ui.stage());
         if (file != null) {
             editor.setCurrentDirectory(file.getParentFile());
-            if (file.getName().endsWith(".world")) {
+            if (WorldMap.isWorldMapFileName(file.getName())) {
                 try {
-                    editor.currentWorldMap().saveToFile(file);
+                    if (file.getName().endsWith(WorldMap.BINARY_FILE_EXTENSION)) {
+                        editor.currentWorldMap().saveToBinaryFile(file);
+                    } else {
+                        editor.currentWorldMap().saveToFile(file);
+                    }
                     editor.setEdited(false);
                     boolean replaceSuccess = new Action_ReplaceCurrentWorldMapChecked(ui, file).execute();
                     if (replaceSuccess) {
@@ -31,7 +31,7 @@ public class Action_SelectNextMapFile extends EditorAction<File> {
             Logger.error("Cannot load next map file for {}, parent is NULL", currentFile);
             return null;
         }
-        File[] mapFiles = dir.listFiles((_, name) -> name.endsWith(".world"));
+        File[] mapFiles = dir.listFiles((_, name) -> WorldMap.isWorldMapFileName(name));
         if (mapFiles == null) {
             Logger.warn("No map files found in directory {}", dir);
             return null;
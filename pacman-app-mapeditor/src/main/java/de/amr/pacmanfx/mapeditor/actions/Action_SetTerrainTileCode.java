@@ -56,7 +56,16 @@ public class Action_SetTerrainTileCode extends EditorAction<Void> {
             }
         }
         editor.setEdited(true);
-        editor.setWorldMapChanged();
+        if (worldMap == editor.currentWorldMap()) {
+            if (editor.symmetricEditMode()) {
+                editor.setTerrainTilesChanged(tile, worldMap.terrainLayer().mirrorPosition(tile));
+            } else {
+                editor.setTerrainTilesChanged(tile);
+            }
+            editor.setFoodMapChanged();
+        } else {
+            editor.setWorldMapChanged();
+        }
 
         return null;
     }
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.mapeditor.actions;
+
+import de.amr.pacmanfx.mapeditor.TileMapEditor;
+
+/**
+ * Undoes the last edit step, see {@link de.amr.pacmanfx.mapeditor.EditJournal}.
+ */
+public class Action_Undo extends EditorAction<Void> {
+
+    public Action_Undo(TileMapEditor editor) {
+        super(editor);
+    }
+
+    @Override
+    public Void execute() {
+        editor.journal().undo();
+        return null;
+    }
+}
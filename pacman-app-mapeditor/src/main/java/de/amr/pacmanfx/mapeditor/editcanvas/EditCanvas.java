@@ -10,6 +10,7 @@ import de.amr.basics.util.Ufx;
 import de.amr.pacmanfx.core.model.world.map.FoodLayer;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.model.world.map.WorldMapLayer;
 import de.amr.pacmanfx.mapeditor.EditMode;
 import de.amr.pacmanfx.mapeditor.TileMapEditorUI;
 import de.amr.pacmanfx.mapeditor.TileMapEditorUtils;
@@ -24,6 +25,7 @@ import de.amr.pacmanfx.uilib.rendering.TerrainMapColoring;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.*;
 import javafx.scene.Cursor;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
@@ -33,7 +35,9 @@ import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
+import org.tinylog.Logger;
 
+import java.util.*;
 import java.util.function.Predicate;
 
 import static de.amr.pacmanfx.core.model.world.map.WorldMapPropertyName.COLOR_FOOD;
@@ -53,6 +57,22 @@ public class EditCanvas extends Canvas {
         }
     }
 
+    /** If more tiles have changed since the last repaint, the complete canvas is repainted. */
+    private static final int MAX_DIRTY_TILES = 64;
+
+    /** Maximum width or height in pixels of a cached grid image. For larger canvases, the grid lines are stroked. */
+    private static final int MAX_GRID_IMAGE_SIZE = 4096;
+
+    private static final int MAX_GRID_IMAGES = 8;
+
+    private record GridImageKey(int numRows, int numCols, double gridSize, double outputScale) {}
+
+    /** Everything besides the tile content that affects the canvas content. If it changes, all is repainted. */
+    private record RenderState(
+        WorldMap worldMap, double gridSize, TerrainMapColoring colors, Image templateImage, EditMode editMode,
+        boolean focused, boolean dragging, int displayFlags, int emptyRowsOverMaze, int emptyRowsBelowMaze,
+        int terrainPropertiesHash, int foodPropertiesHash) {}
+
     private static final ResourceManager RESOURCE_MANAGER = () -> EditCanvas.class;
 
     public static final Cursor CURSOR_RUBBER = RESOURCE_MANAGER.cursor("/de/amr/pacmanfx/mapeditor/graphics/radiergummi.jpg");
@@ -83,6 +103,25 @@ public class EditCanvas extends Canvas {
 
     private final TileMapEditorUI ui;
 
+    private final Map<GridImageKey, Image> gridImageCache = new HashMap<>();
+    private final Set<Vector2i> dirtyTiles = new HashSet<>();
+    private boolean fullRepaintRequired = true;
+    private RenderState lastRenderState;
+    private List<Vector2i> lastTilesWithErrors;
+    private Vector2i lastFocussedTile;
+
+    private final WorldMapLayer.TileChangeListener tileChangeListener = new WorldMapLayer.TileChangeListener() {
+        @Override
+        public void tileChanged(WorldMapLayer layer, int row, int col, byte oldCode, byte newCode) {
+            dirtyTiles.add(WorldMap.tile(col, row));
+        }
+
+        @Override
+        public void contentChanged(WorldMapLayer layer) {
+            fullRepaintRequired = true;
+        }
+    };
+
     public EditCanvas(TileMapEditorUI ui) {
         this.ui = requireNonNull(ui);
 
@@ -122,6 +161,18 @@ public class EditCanvas extends Canvas {
         symmetricEditModeProperty()         .bind(ui.editor().symmetricEditModeProperty());
         templateImageGrayProperty()         .bind(ui.editor().templateImageProperty().map(Ufx::imageToGreyscale));
         terrainVisibleProperty()            .bind(ui.terrainVisibleProperty());
+
+        worldMap.addListener((_, oldMap, newMap) -> {
+            if (oldMap != null) {
+                oldMap.terrainLayer().removeTileChangeListener(tileChangeListener);
+                oldMap.foodLayer().removeTileChangeListener(tileChangeListener);
+            }
+            if (newMap != null) {
+                newMap.terrainLayer().addTileChangeListener(tileChangeListener);
+                newMap.foodLayer().addTileChangeListener(tileChangeListener);
+            }
+            fullRepaintRequired = true;
+        });
         worldMapProperty()                  .bind(ui.editor().currentWorldMapProperty());
 
         renderer = new TerrainAndActorRenderer(this);
@@ -259,14 +310,100 @@ public class EditCanvas extends Canvas {
         obstacleEditor.setEnabled(false);
     }
 
+    /**
+     * Draws the edit canvas. If only some tiles have changed since the last call, only the regions around these tiles
+     * are repainted. Changes of the map, the zoom level, the colors or the display options repaint the complete canvas.
+     *
+     * @param colors the map colors
+     */
     public void draw(TerrainMapColoring colors) {
+        final WorldMap worldMap = worldMap();
+        final RenderState renderState = createRenderState(worldMap, colors);
+        collectDirtyTiles(worldMap);
+
+        final boolean repaintAll = fullRepaintRequired
+            || !renderState.equals(lastRenderState)
+            || dirtyTiles.size() > MAX_DIRTY_TILES
+            // obstacle overlays may change outside the dirty regions
+            || !dirtyTiles.isEmpty() && (segmentNumbersVisible.get() || obstacleInnerAreaDisplayed.get());
+
+        if (repaintAll) {
+            drawRegion(colors, 0, 0, worldMap.numCols(), worldMap.numRows());
+        } else {
+            for (Vector2i tile : dirtyTiles) {
+                // Wall pieces and actor sprites are not confined to their tile, so repaint the neighbor tiles too
+                final int minCol = Math.max(tile.x() - 1, 0);
+                final int minRow = Math.max(tile.y() - 1, 0);
+                final int numCols = Math.min(tile.x() + 2, worldMap.numCols()) - minCol;
+                final int numRows = Math.min(tile.y() + 2, worldMap.numRows()) - minRow;
+                if (numCols > 0 && numRows > 0) {
+                    ctx.save();
+                    ctx.beginPath();
+                    ctx.rect(minCol * gridSize(), minRow * gridSize(), numCols * gridSize(), numRows * gridSize());
+                    ctx.clip();
+                    drawRegion(colors, minCol, minRow, numCols, numRows);
+                    ctx.restore();
+                }
+            }
+        }
+        dirtyTiles.clear();
+        fullRepaintRequired = false;
+        lastRenderState = renderState;
+    }
+
+    private RenderState createRenderState(WorldMap worldMap, TerrainMapColoring colors) {
+        int displayFlags = 0;
+        if (actorsVisible.get())              displayFlags |= 1;
+        if (foodVisible.get())                displayFlags |= 1 << 1;
+        if (gridVisible.get())                displayFlags |= 1 << 2;
+        if (obstacleInnerAreaDisplayed.get()) displayFlags |= 1 << 3;
+        if (segmentNumbersVisible.get())      displayFlags |= 1 << 4;
+        if (symmetricEditMode.get())          displayFlags |= 1 << 5;
+        if (terrainVisible.get())             displayFlags |= 1 << 6;
+        final TerrainLayer terrain = worldMap.terrainLayer();
+        return new RenderState(worldMap, gridSize(), colors, templateImageGray.get(), editMode.get(),
+            isFocused(), dragging(), displayFlags,
+            terrain.emptyRowsOverMaze(), terrain.emptyRowsBelowMaze(),
+            // properties contain actor positions, scatter targets and colors
+            terrain.propertyMap().hashCode(), worldMap.foodLayer().propertyMap().hashCode());
+    }
+
+    private void collectDirtyTiles(WorldMap worldMap) {
+        final List<Vector2i> tilesWithErrors = ui.editor().checkResult().tilesWithErrors();
+        if (tilesWithErrors != lastTilesWithErrors) {
+            if (lastTilesWithErrors != null) {
+                addDirtyTilesAndMirroredTiles(worldMap, lastTilesWithErrors);
+            }
+            addDirtyTilesAndMirroredTiles(worldMap, tilesWithErrors);
+            lastTilesWithErrors = tilesWithErrors;
+        }
+        if (!Objects.equals(focussedTile(), lastFocussedTile)) {
+            if (lastFocussedTile != null) {
+                dirtyTiles.add(lastFocussedTile);
+            }
+            if (focussedTile() != null) {
+                dirtyTiles.add(focussedTile());
+            }
+            lastFocussedTile = focussedTile();
+        }
+    }
+
+    // Error markers are also drawn at the mirrored position in symmetric edit mode
+    private void addDirtyTilesAndMirroredTiles(WorldMap worldMap, List<Vector2i> tiles) {
+        for (Vector2i tile : tiles) {
+            dirtyTiles.add(tile);
+            dirtyTiles.add(WorldMap.tile(worldMap.numCols() - tile.x() - 1, tile.y()));
+        }
+    }
+
+    private void drawRegion(TerrainMapColoring colors, int minCol, int minRow, int numCols, int numRows) {
         final double scaledTileSize = scaling() * WorldMap.TS;
         final TerrainLayer terrain = worldMap().terrainLayer();
 
         ctx.setImageSmoothing(false);
 
         ctx.setFill(colors.floorColor());
-        ctx.fillRect(0, 0, getWidth(), getHeight());
+        ctx.fillRect(minCol * gridSize(), minRow * gridSize(), numCols * gridSize(), numRows * gridSize());
 
         // Indicate if edit canvas has focus by a dashed yellow border
         if (isFocused()) {
@@ -286,7 +423,7 @@ public class EditCanvas extends Canvas {
         }
 
         if (gridVisibleProperty().get()) {
-            drawGrid();
+            drawGrid(minCol, minRow, numCols, numRows);
         }
 
         // Indicate top and bottom of maze area with dashed horizontal lines
@@ -309,7 +446,7 @@ public class EditCanvas extends Canvas {
             renderer.setMapColoring(colors);
             renderer.setSegmentNumbersDisplayed(segmentNumbersVisible.get());
             renderer.setObstacleInnerAreaDisplayed(obstacleInnerAreaDisplayed.get());
-            renderer.draw(worldMap());
+            renderer.draw(worldMap(), minCol, minRow, numCols, numRows);
             obstacleEditor.draw(renderer);
         }
 
@@ -341,7 +478,11 @@ public class EditCanvas extends Canvas {
             final Color foodColor = getColorFromMapLayer(foodLayer, COLOR_FOOD, ArcadeSprites.MS_PACMAN_COLOR_FOOD);
             foodRenderer.setEnergizerColor(foodColor);
             foodRenderer.setPelletColor(foodColor);
-            foodLayer.tiles().forEach(tile -> foodRenderer.drawTile(tile, foodLayer.content(tile)));
+            for (int row = minRow; row < minRow + numRows; ++row) {
+                for (int col = minCol; col < minCol + numCols; ++col) {
+                    foodRenderer.drawTile(WorldMap.tile(col, row), foodLayer.content(row, col));
+                }
+            }
         }
 
         // Draw actors
@@ -364,17 +505,67 @@ public class EditCanvas extends Canvas {
         }
     }
 
-    private void drawGrid() {
-        ctx.save();
-        ctx.setLineWidth(GRID_LINE_WIDTH);
-        ctx.setStroke(GRID_LINE_COLOR);
-        for (int row = 1; row < worldMap().numRows(); ++row) {
-            ctx.strokeLine(0, row * gridSize(), getWidth(), row * gridSize());
+    private void drawGrid(int minCol, int minRow, int numCols, int numRows) {
+        final Image gridImage = gridImage();
+        if (gridImage != null) {
+            final double x = minCol * gridSize(), y = minRow * gridSize();
+            final double width = numCols * gridSize(), height = numRows * gridSize();
+            final double imageScale = gridImage.getWidth() / getWidth();
+            ctx.drawImage(gridImage,
+                x * imageScale, y * imageScale, width * imageScale, height * imageScale,
+                x, y, width, height);
+        } else {
+            strokeGridLines(ctx, minCol, minRow, numCols, numRows);
+        }
+    }
+
+    // Lines between the tiles of the given region including its border lines but without the map border lines
+    private void strokeGridLines(GraphicsContext g, int minCol, int minRow, int numCols, int numRows) {
+        final double left = minCol * gridSize(), right = (minCol + numCols) * gridSize();
+        final double top = minRow * gridSize(), bottom = (minRow + numRows) * gridSize();
+        g.save();
+        g.setLineWidth(GRID_LINE_WIDTH);
+        g.setStroke(GRID_LINE_COLOR);
+        for (int row = Math.max(minRow, 1); row <= Math.min(minRow + numRows, worldMap().numRows() - 1); ++row) {
+            g.strokeLine(left, row * gridSize(), right, row * gridSize());
         }
-        for (int col = 1; col < worldMap().numCols(); ++col) {
-            ctx.strokeLine(col * gridSize(), 0, col * gridSize(), getHeight());
+        for (int col = Math.max(minCol, 1); col <= Math.min(minCol + numCols, worldMap().numCols() - 1); ++col) {
+            g.strokeLine(col * gridSize(), top, col * gridSize(), bottom);
         }
-        ctx.restore();
+        g.restore();
+    }
+
+    /**
+     * @return the cached grid image for the current map size and zoom level or {@code null} if the canvas is too
+     * large for an image
+     */
+    private Image gridImage() {
+        final double outputScale = getScene() != null && getScene().getWindow() != null
+            ? getScene().getWindow().getOutputScaleX() : 1;
+        if (Math.max(getWidth(), getHeight()) * outputScale > MAX_GRID_IMAGE_SIZE) {
+            return null;
+        }
+        final var key = new GridImageKey(worldMap().numRows(), worldMap().numCols(), gridSize(), outputScale);
+        Image gridImage = gridImageCache.get(key);
+        if (gridImage == null) {
+            if (gridImageCache.size() == MAX_GRID_IMAGES) {
+                gridImageCache.clear();
+            }
+            gridImage = createGridImage(outputScale);
+            gridImageCache.put(key, gridImage);
+            Logger.debug("Grid image created for {}", key);
+        }
+        return gridImage;
+    }
+
+    private Image createGridImage(double outputScale) {
+        final var gridCanvas = new Canvas(getWidth() * outputScale, getHeight() * outputScale);
+        final GraphicsContext g = gridCanvas.getGraphicsContext2D();
+        g.scale(outputScale, outputScale);
+        strokeGridLines(g, 0, 0, worldMap().numCols(), worldMap().numRows());
+        final var snapshotParameters = new SnapshotParameters();
+        snapshotParameters.setFill(Color.TRANSPARENT);
+        return gridCanvas.snapshot(snapshotParameters, null);
     }
 
     // Event handlers
@@ -411,6 +602,7 @@ public class EditCanvas extends Canvas {
 
         event.consume();
 
+        updateStroke(event);
         final Vector2i tileAtMouse = tileAt(event.getX(), event.getY());
         setDragging(true);
         obstacleEditor.startEditing(tileAtMouse);
@@ -423,14 +615,18 @@ public class EditCanvas extends Canvas {
 
         event.consume();
 
+        // The obstacle preview is not part of the map, repaint the old and the new preview area
         final Vector2i tileAtMouse = tileAt(event.getX(), event.getY());
+        obstacleEditor.forEachPreviewTile(dirtyTiles::add);
         obstacleEditor.continueEditing(tileAtMouse);
+        obstacleEditor.forEachPreviewTile(dirtyTiles::add);
     }
 
     public void onMouseReleased(MouseEvent event) {
         if (event.getButton() != MouseButton.PRIMARY)
             return;
 
+        updateStroke(event);
         if (dragging()) {
             setDragging(false);
             obstacleEditor.endEditing();
@@ -464,6 +660,7 @@ public class EditCanvas extends Canvas {
     public void onMouseMoved(MouseEvent mouseEvent) {
         Vector2i tile = tileAt(mouseEvent.getX(), mouseEvent.getY());
         focussedTile.set(tile);
+        updateStroke(mouseEvent);
         switch (editMode.get()) {
             case INSPECT -> new Action_IdentifyTileAndObstacle(ui, tile).execute();
             case EDIT -> {
@@ -490,6 +687,12 @@ public class EditCanvas extends Canvas {
         mouseEvent.consume();
     }
 
+    // Painting with shift key pressed is undone as a single step. The stroke state is updated on every mouse event that
+    // may edit the map, releasing the shift key is handled by the UI.
+    private void updateStroke(MouseEvent mouseEvent) {
+        ui.editor().journal().setStrokeActive(mouseEvent.isShiftDown() && editMode.get() != EditMode.INSPECT);
+    }
+
     public void onContextMenuRequested(ContextMenuEvent event) {
         if (ui.editModeIs(EditMode.INSPECT) || event.isKeyboardTrigger()) {
             return;
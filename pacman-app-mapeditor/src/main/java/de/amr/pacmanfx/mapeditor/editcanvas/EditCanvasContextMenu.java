@@ -12,7 +12,9 @@ import de.amr.pacmanfx.mapeditor.TileMapEditorUI;
 import de.amr.pacmanfx.mapeditor.TileMapEditorUtils;
 import de.amr.pacmanfx.mapeditor.actions.Action_CarveTunnel;
 import de.amr.pacmanfx.mapeditor.actions.Action_ClearFoodAroundHouse;
+import de.amr.pacmanfx.mapeditor.actions.Action_DeleteRow;
 import de.amr.pacmanfx.mapeditor.actions.Action_FloodWithPellets;
+import de.amr.pacmanfx.mapeditor.actions.Action_InsertRow;
 import de.amr.pacmanfx.mapeditor.actions.Action_MoveArcadeHouse;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuItem;
@@ -52,16 +54,10 @@ public class EditCanvasContextMenu extends ContextMenu {
         miClearFoodAroundHouse.setOnAction(_ -> new Action_ClearFoodAroundHouse(editor, worldMap).execute());
 
         var miInsertRow = new MenuItem(translated("menu.edit.insert_row"));
-        miInsertRow.setOnAction(_ -> {
-            int rowIndex = tile.y();
-            editor.setCurrentWorldMap(worldMap.insertRowBeforeIndex(rowIndex));
-        });
+        miInsertRow.setOnAction(_ -> new Action_InsertRow(editor, tile.y()).execute());
 
         var miDeleteRow = new MenuItem(translated("menu.edit.delete_row"));
-        miDeleteRow.setOnAction(_ -> {
-            int rowIndex = tile.y();
-            editor.setCurrentWorldMap(worldMap.deleteRowAtIndex(rowIndex));
-        });
+        miDeleteRow.setOnAction(_ -> new Action_DeleteRow(editor, tile.y()).execute());
 
         var miFloodWithPellets = new MenuItem(translated("menu.edit.flood_with_pellets"));
         miFloodWithPellets.setOnAction(_ -> new Action_FloodWithPellets(editor, tile).execute());
@@ -16,6 +16,8 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 
+import java.util.function.Consumer;
+
 import static de.amr.basics.math.MathAdds.isEven;
 import static de.amr.pacmanfx.core.model.world.map.TerrainTile.*;
 import static java.util.Objects.requireNonNull;
@@ -112,6 +114,28 @@ public class ObstacleEditor {
         }
     }
 
+    /**
+     * Calls the given action for each tile covered by the preview of the edited obstacle, including the mirrored tiles
+     * in symmetric edit mode.
+     *
+     * @param action action for each tile
+     */
+    public void forEachPreviewTile(Consumer<Vector2i> action) {
+        requireNonNull(action);
+        if (minTile == null || maxTile == null) {
+            return;
+        }
+        for (int y = minTile.y(); y <= maxTile.y(); ++y) {
+            for (int x = minTile.x(); x <= maxTile.x(); ++x) {
+                final Vector2i tile = new Vector2i(x, y);
+                action.accept(tile);
+                if (symmetricEditModeProperty().get()) {
+                    action.accept(worldMap.get().terrainLayer().mirrorPosition(tile));
+                }
+            }
+        }
+    }
+
     public void draw(TerrainMapTileRenderer renderer) {
         byte[][] editedRect = editedRect();
         if (editedRect == null) return;
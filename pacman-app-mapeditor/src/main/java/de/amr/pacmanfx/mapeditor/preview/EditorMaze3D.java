@@ -35,7 +35,9 @@ import javafx.scene.shape.*;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Scale;
 import javafx.scene.transform.Translate;
+import org.tinylog.Logger;
 
+import java.util.*;
 import java.util.stream.Stream;
 
 import static de.amr.basics.util.Ufx.colorWithOpacity;
@@ -107,6 +109,11 @@ public class EditorMaze3D extends Group {
     private final Group mazeGroup = new Group();
     private final Group foodGroup = new Group();
 
+    // 3D wall shapes of each obstacle, allows replacing only the walls of changed obstacles
+    private final Map<Obstacle, List<Node>> obstacleWallShapes = new HashMap<>();
+    private PhongMaterial obstacleBaseMaterial;
+    private PhongMaterial obstacleTopMaterial;
+
     private final TerrainRenderer3D r3D;
     private final PerspectiveCamera camera;
 
@@ -158,6 +165,7 @@ public class EditorMaze3D extends Group {
         final double height = worldMap().numRows() * WorldMap.TS;
 
         mazeGroup.getChildren().clear();
+        obstacleWallShapes.clear();
 
         // Floor: Set left-upper corner at origin (centered at origin by default)
         final Box floor = new Box(width, height, 0.1);
@@ -171,23 +179,11 @@ public class EditorMaze3D extends Group {
         final Color wallTopColor = TileMapEditorUtils.getColorFromMapLayer(worldMap().terrainLayer(),
             WorldMapPropertyName.COLOR_WALL_FILL, MS_PACMAN_COLOR_WALL_FILL);
 
-        PhongMaterial wallBaseMaterial = Ufx.coloredPhongMaterial(wallBaseColor);
-        PhongMaterial wallTopMaterial = Ufx.coloredPhongMaterial(wallTopColor);
-
-        r3D.setOnWallCreated(wall3D -> {
-            wall3D.setBaseHeight(OBSTACLE_HEIGHT);
-            wall3D.setBaseMaterial(wallBaseMaterial);
-            wall3D.setTopMaterial(wallTopMaterial);
-            wall3D.base().visibleProperty().bind(terrainVisibleProperty());
-            wall3D.top().visibleProperty().bind(terrainVisibleProperty());
-            mazeGroup.getChildren().addAll(wall3D.base(), wall3D.top());
-            return wall3D;
-        });
+        obstacleBaseMaterial = Ufx.coloredPhongMaterial(wallBaseColor);
+        obstacleTopMaterial = Ufx.coloredPhongMaterial(wallTopColor);
         for (Obstacle obstacle : worldMap().terrainLayer().obstacles()) {
-            boolean worldBorder = ObstacleBuilder.isBorderObstacle(obstacle, worldMap());
-            r3D.renderObstacle3D(obstacle, worldBorder, 2, WorldMap.HTS);
+            addObstacleWalls(obstacle);
         }
-        r3D.setOnWallCreated(null);
 
         addHouse(wallBaseColor, wallTopColor);
 
@@ -205,6 +201,55 @@ public class EditorMaze3D extends Group {
         addActorShape(ghostShapes[3], WorldMapPropertyName.POS_GHOST_4_ORANGE);
     }
 
+    /**
+     * Replaces the walls of the obstacles which have been removed or added since the last update. Obstacles which
+     * were not affected by the last terrain edit keep their identity and therefore their 3D walls.
+     */
+    public void updateObstacles() {
+        if (worldMap() == null || obstacleBaseMaterial == null) {
+            return;
+        }
+        final Set<Obstacle> obstacles = worldMap().terrainLayer().obstacles();
+        final Set<Node> removedShapes = new HashSet<>();
+        final Iterator<Map.Entry<Obstacle, List<Node>>> it = obstacleWallShapes.entrySet().iterator();
+        while (it.hasNext()) {
+            final Map.Entry<Obstacle, List<Node>> entry = it.next();
+            if (!obstacles.contains(entry.getKey())) {
+                removedShapes.addAll(entry.getValue());
+                it.remove();
+            }
+        }
+        mazeGroup.getChildren().removeAll(removedShapes);
+        int numAdded = 0;
+        for (Obstacle obstacle : obstacles) {
+            if (!obstacleWallShapes.containsKey(obstacle)) {
+                addObstacleWalls(obstacle);
+                ++numAdded;
+            }
+        }
+        Logger.debug("Maze 3D obstacles updated: {} wall shapes removed, {} obstacles added", removedShapes.size(), numAdded);
+    }
+
+    private void addObstacleWalls(Obstacle obstacle) {
+        final List<Node> wallShapes = new ArrayList<>();
+        r3D.setOnWallCreated(wall3D -> {
+            wall3D.setBaseHeight(OBSTACLE_HEIGHT);
+            wall3D.setBaseMaterial(obstacleBaseMaterial);
+            wall3D.setTopMaterial(obstacleTopMaterial);
+            for (Shape3D shape : List.<Shape3D>of(wall3D.base(), wall3D.top())) {
+                shape.visibleProperty().bind(terrainVisibleProperty());
+                shape.drawModeProperty().bind(wireframe.map(wireframe -> wireframe ? DrawMode.LINE : DrawMode.FILL));
+                wallShapes.add(shape);
+            }
+            return wall3D;
+        });
+        final boolean worldBorder = ObstacleBuilder.isBorderObstacle(obstacle, worldMap());
+        r3D.renderObstacle3D(obstacle, worldBorder, 2, WorldMap.HTS);
+        r3D.setOnWallCreated(null);
+        mazeGroup.getChildren().addAll(wallShapes);
+        obstacleWallShapes.put(obstacle, wallShapes);
+    }
+
     private Group createGhostBody(Color dressColor, double rotateY) {
         final Group body = new Group();
 
@@ -94,6 +94,10 @@ public class Preview3D {
         editorMaze3D.rebuildMaze();
     }
 
+    public void updateMazeObstacles() {
+        editorMaze3D.updateObstacles();
+    }
+
     public void reset() {
         PerspectiveCamera camera = editorMaze3D.camera();
         camera.setRotationAxis(Rotate.X_AXIS);
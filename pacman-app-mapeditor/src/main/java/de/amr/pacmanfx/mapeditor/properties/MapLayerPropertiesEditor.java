@@ -84,6 +84,13 @@ public class MapLayerPropertiesEditor extends BorderPane {
     }
 
     public void updateEditorValues() {
+        // properties may have been added or removed, e.g. by undo
+        final Set<String> editedNames = new HashSet<>();
+        propertyEditors.forEach(editor -> editedNames.add(editor.property().name()));
+        if (!editedNames.equals(layer().propertyMap().keySet())) {
+            createPropertyEditors();
+            return;
+        }
         propertyEditors.forEach(editor -> {
             String value = layer().propertyMap().get(editor.property().name());
             editor.property().setValue(value);
@@ -7,6 +7,7 @@ import de.amr.basics.math.Direction;
 import de.amr.basics.math.RectShort;
 import de.amr.basics.math.Vector2f;
 import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.core.model.world.map.TerrainTile;
 import de.amr.pacmanfx.core.model.world.map.WorldMap;
 import de.amr.pacmanfx.core.model.world.map.WorldMapParser;
@@ -127,12 +128,31 @@ public class TerrainMapTileRenderer extends BaseRenderer implements TerrainMapRe
 
     @Override
     public void draw(WorldMap worldMap) {
+        draw(worldMap, 0, 0, worldMap.numCols(), worldMap.numRows());
+    }
+
+    /**
+     * Draws the terrain tiles inside the given tile rectangle. Special tiles and obstacle overlays are always drawn
+     * completely, a caller repainting a part of the canvas has to clip the graphics context to this part.
+     *
+     * @param worldMap world map
+     * @param minCol first column of the tile rectangle
+     * @param minRow first row of the tile rectangle
+     * @param numCols number of columns of the tile rectangle
+     * @param numRows number of rows of the tile rectangle
+     */
+    public void draw(WorldMap worldMap, int minCol, int minRow, int numCols, int numRows) {
+        final TerrainLayer terrain = worldMap.terrainLayer();
         ctx.save();
         ctx.scale(scaling(), scaling());
-        worldMap.terrainLayer().tiles().filter(tile -> terrainFilter.test(worldMap, tile)).forEach(tile -> {
-            byte code = worldMap.terrainLayer().content(tile);
-            drawTileUnscaled(tile, code);
-        });
+        for (int row = minRow; row < minRow + numRows; ++row) {
+            for (int col = minCol; col < minCol + numCols; ++col) {
+                final Vector2i tile = WorldMap.tile(col, row);
+                if (terrainFilter.test(worldMap, tile)) {
+                    drawTileUnscaled(tile, terrain.content(row, col));
+                }
+            }
+        }
         if (specialTilesDisplayed) {
             specialTile(worldMap, WorldMapPropertyName.POS_SCATTER_RED_GHOST).ifPresent(tile -> drawScatterTarget(tile, Color.RED));
             specialTile(worldMap, WorldMapPropertyName.POS_SCATTER_PINK_GHOST).ifPresent(tile -> drawScatterTarget(tile, Color.PINK));
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.model.world.map.FoodTile;
+import de.amr.pacmanfx.core.model.world.map.TerrainTile;
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.model.world.map.WorldMapPropertyName;
+import de.amr.pacmanfx.mapeditor.EditJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEditJournal {
+
+    private static class TestHost implements EditJournal.Host {
+        EditJournal journal;
+        WorldMap worldMap;
+
+        @Override
+        public void setCurrentWorldMap(WorldMap newMap) {
+            final WorldMap oldMap = worldMap;
+            worldMap = newMap;
+            journal.onWorldMapReplaced(oldMap, newMap);
+        }
+
+        @Override public void setTerrainTilesChanged(Vector2i... tiles) {}
+        @Override public void setTerrainMapChanged() {}
+        @Override public void setFoodMapChanged() {}
+        @Override public void setEdited(boolean edited) {}
+    }
+
+    private TestHost host;
+    private EditJournal journal;
+
+    @BeforeEach
+    void createJournal() {
+        host = new TestHost();
+        journal = new EditJournal(host);
+        host.journal = journal;
+        host.setCurrentWorldMap(new WorldMap(28, 36));
+    }
+
+    private WorldMap worldMap() {
+        return host.worldMap;
+    }
+
+    @Test
+    @DisplayName("Test delta packing keeps layer, index and codes")
+    public void testDeltaPacking() {
+        final long delta = EditJournal.delta(1, 123_456, (byte) 0xFE, (byte) 3);
+        assertEquals(1, EditJournal.deltaLayer(delta));
+        assertEquals(123_456, EditJournal.deltaIndex(delta));
+        assertEquals((byte) 0xFE, EditJournal.deltaOldCode(delta));
+        assertEquals((byte) 3, EditJournal.deltaNewCode(delta));
+    }
+
+    @Test
+    @DisplayName("Test compact merges deltas per tile and drops deltas without effect")
+    public void testCompact() {
+        final long[] deltas = {
+            EditJournal.delta(0, 5, (byte) 0, (byte) 1),
+            EditJournal.delta(0, 7, (byte) 3, (byte) 4),
+            EditJournal.delta(1, 5, (byte) 0, (byte) 1),
+            EditJournal.delta(0, 5, (byte) 1, (byte) 2),
+            EditJournal.delta(0, 7, (byte) 4, (byte) 3),
+        };
+        final long[] compacted = EditJournal.compact(deltas, deltas.length);
+        assertArrayEquals(new long[] {
+            EditJournal.delta(0, 5, (byte) 0, (byte) 2),
+            EditJournal.delta(1, 5, (byte) 0, (byte) 1),
+        }, compacted);
+        assertEquals(0, EditJournal.compact(deltas, 0).length);
+    }
+
+    @Test
+    @DisplayName("Test tile and property changes are undone and redone as one step")
+    public void testUndoRedoTilesAndProperties() {
+        final var houseMinTile = String.valueOf(new Vector2i(10, 15));
+        worldMap().terrainLayer().setContent(15, 10, TerrainTile.DOOR.$);
+        worldMap().terrainLayer().propertyMap().put(WorldMapPropertyName.POS_HOUSE_MIN_TILE, houseMinTile);
+        worldMap().foodLayer().propertyMap().put(WorldMapPropertyName.COLOR_FOOD, "red");
+        journal.update();
+
+        journal.undo();
+        assertEquals(TerrainTile.EMPTY.$, worldMap().terrainLayer().content(15, 10));
+        assertFalse(worldMap().terrainLayer().propertyMap().containsKey(WorldMapPropertyName.POS_HOUSE_MIN_TILE));
+        assertFalse(worldMap().foodLayer().propertyMap().containsKey(WorldMapPropertyName.COLOR_FOOD));
+        assertFalse(journal.undoAvailableProperty().get());
+
+        journal.redo();
+        assertEquals(TerrainTile.DOOR.$, worldMap().terrainLayer().content(15, 10));
+        assertEquals(houseMinTile, worldMap().terrainLayer().propertyMap().get(WorldMapPropertyName.POS_HOUSE_MIN_TILE));
+        assertEquals("red", worldMap().foodLayer().propertyMap().get(WorldMapPropertyName.COLOR_FOOD));
+        assertFalse(journal.redoAvailableProperty().get());
+    }
+
+    @Test
+    @DisplayName("Test changed and removed property values are restored")
+    public void testUndoPropertyChange() {
+        worldMap().terrainLayer().propertyMap().put(WorldMapPropertyName.COLOR_WALL_FILL, "blue");
+        worldMap().terrainLayer().propertyMap().put(WorldMapPropertyName.COLOR_DOOR, "pink");
+        journal.update();
+        worldMap().terrainLayer().propertyMap().put(WorldMapPropertyName.COLOR_WALL_FILL, "green");
+        worldMap().terrainLayer().propertyMap().remove(WorldMapPropertyName.COLOR_DOOR);
+        journal.update();
+
+        journal.undo();
+        assertEquals("blue", worldMap().terrainLayer().propertyMap().get(WorldMapPropertyName.COLOR_WALL_FILL));
+        assertEquals("pink", worldMap().terrainLayer().propertyMap().get(WorldMapPropertyName.COLOR_DOOR));
+        assertTrue(journal.undoAvailableProperty().get());
+    }
+
+    @Test
+    @DisplayName("Test a stroke is one step and ends when it is deactivated")
+    public void testStroke() {
+        journal.setStrokeActive(true);
+        worldMap().foodLayer().setContent(4, 1, FoodTile.PELLET.$);
+        journal.update();
+        worldMap().foodLayer().setContent(4, 2, FoodTile.PELLET.$);
+        journal.update();
+        journal.setStrokeActive(false);
+        // edit without update in between must not be merged into the stroke
+        worldMap().foodLayer().setContent(4, 3, FoodTile.ENERGIZER.$);
+        journal.update();
+
+        journal.undo();
+        assertEquals(FoodTile.EMPTY.$, worldMap().foodLayer().content(4, 3));
+        assertEquals(FoodTile.PELLET.$, worldMap().foodLayer().content(4, 2));
+        journal.undo();
+        assertEquals(FoodTile.EMPTY.$, worldMap().foodLayer().content(4, 1));
+        assertEquals(FoodTile.EMPTY.$, worldMap().foodLayer().content(4, 2));
+        assertFalse(journal.undoAvailableProperty().get());
+    }
+
+    @Test
+    @DisplayName("Test undo and redo of inserted and deleted rows")
+    public void testUndoRedoRows() {
+        worldMap().terrainLayer().setContent(3, 5, TerrainTile.WALL_H.$);
+        worldMap().foodLayer().setContent(3, 6, FoodTile.ENERGIZER.$);
+        journal.update();
+
+        journal.deleteRow(3);
+        assertEquals(35, worldMap().numRows());
+        journal.undo();
+        assertEquals(36, worldMap().numRows());
+        assertEquals(TerrainTile.WALL_H.$, worldMap().terrainLayer().content(3, 5));
+        assertEquals(FoodTile.ENERGIZER.$, worldMap().foodLayer().content(3, 6));
+        journal.redo();
+        assertEquals(35, worldMap().numRows());
+
+        journal.insertRow(0);
+        assertEquals(36, worldMap().numRows());
+        journal.undo();
+        assertEquals(35, worldMap().numRows());
+        journal.redo();
+        assertEquals(36, worldMap().numRows());
+
+        // back to the start: undo insert, delete and the tile changes
+        journal.undo();
+        journal.undo();
+        journal.undo();
+        assertEquals(36, worldMap().numRows());
+        assertEquals(TerrainTile.EMPTY.$, worldMap().terrainLayer().content(3, 5));
+        assertFalse(journal.undoAvailableProperty().get());
+    }
+
+    @Test
+    @DisplayName("Test oldest steps are dropped when the memory limit is exceeded")
+    public void testMemoryCap() {
+        // each step changes all tiles of the terrain layer
+        final int tilesPerStep = worldMap().numRows() * worldMap().numCols();
+        final long stepsOverLimit = 2 * EditJournal.MAX_BYTES / (8L * tilesPerStep);
+        for (int i = 0; i < stepsOverLimit; ++i) {
+            worldMap().terrainLayer().setAll(i % 2 == 0 ? TerrainTile.WALL_H.$ : TerrainTile.WALL_V.$);
+            journal.update();
+        }
+        assertTrue(journal.byteSize() <= EditJournal.MAX_BYTES);
+        assertTrue(journal.byteSize() > EditJournal.MAX_BYTES / 2);
+
+        int numUndoSteps = 0;
+        while (journal.undoAvailableProperty().get()) {
+            journal.undo();
+            ++numUndoSteps;
+        }
+        assertTrue(numUndoSteps > 0 && numUndoSteps < stepsOverLimit);
+        // undo and redo steps together stay below the limit
+        assertTrue(journal.byteSize() <= EditJournal.MAX_BYTES);
+    }
+}
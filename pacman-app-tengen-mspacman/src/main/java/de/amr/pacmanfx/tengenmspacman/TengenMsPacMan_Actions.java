@@ -103,6 +103,8 @@ public final class TengenMsPacMan_Actions {
                 final GameSession session = app.game().session();
                 session.optLevel().ifPresent(gameLevel -> {
                     gamePlay.setBoosterOn(app.game(), gameLevel.entities().pac(), !gamePlay.isBoosterOn(session));
+                    app.game().optReplayRecorder().ifPresent(recorder -> recorder.recordAction(gamePlay.isBoosterOn(session)
+                        ? TengenMsPacMan_GamePlay.REPLAY_ACTION_BOOSTER_ON : TengenMsPacMan_GamePlay.REPLAY_ACTION_BOOSTER_OFF));
                     if (gamePlay.isBoosterOn(session)) {
                         app.ui().shortMessage("Booster ON!"); //TODO localize
                     }
@@ -44,7 +44,9 @@ import de.amr.pacmanfx.tengenmspacman.rules.TengenMsPacMan_GameRules;
 import de.amr.pacmanfx.tengenmspacman.sprites.TengenMsPacMan_AnimationID;
 import org.tinylog.Logger;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static de.amr.basics.math.RandomNumberSupport.randomBoolean;
@@ -56,6 +58,10 @@ public class TengenMsPacMan_GamePlay extends CommonGamePlay {
     public static final int ARCADE_MAP_GAME_OVER_TICKS = 420;
     public static final int NON_ARCADE_MAP_GAME_OVER_TICKS = 600;
 
+    /** Replay actions recorded when the booster is switched on or off during the game. */
+    public static final String REPLAY_ACTION_BOOSTER_ON = "BOOSTER_ON";
+    public static final String REPLAY_ACTION_BOOSTER_OFF = "BOOSTER_OFF";
+
     public TengenMsPacMan_GamePlay() {}
 
     // Tengen Ms. Pac-Man specific methods
@@ -197,6 +203,52 @@ public class TengenMsPacMan_GamePlay extends CommonGamePlay {
 
     // GamePlay interface
 
+    @Override
+    public Map<String, String> sessionOptions(GameContext game) {
+        requireNonNull(game);
+        final GameSession session = game.session();
+        final Map<String, String> options = new LinkedHashMap<>();
+        options.put(TengenMsPacMan_GamePlayOptions.BOOSTER_MODE.name(),       boosterMode(session).name());
+        options.put(TengenMsPacMan_GamePlayOptions.BOOSTER_ON.name(),         String.valueOf(isBoosterOn(session)));
+        options.put(TengenMsPacMan_GamePlayOptions.DIFFICULTY.name(),         difficulty(session).name());
+        options.put(TengenMsPacMan_GamePlayOptions.MAP_CATEGORY.name(),       mapCategory(session).name());
+        options.put(TengenMsPacMan_GamePlayOptions.START_LEVEL_NUMBER.name(), String.valueOf(startLevelNumber(session)));
+        options.put(TengenMsPacMan_GamePlayOptions.NUM_CONTINUES.name(),      String.valueOf(numContinues(session)));
+        return options;
+    }
+
+    @Override
+    public void applySessionOptions(GameContext game, Map<String, String> options) {
+        requireNonNull(game);
+        requireNonNull(options);
+        final GameSession session = game.session();
+        setBoosterMode(session,      BoosterMode.valueOf(option(options, TengenMsPacMan_GamePlayOptions.BOOSTER_MODE)));
+        setBoosterOn(session,        Boolean.parseBoolean(option(options, TengenMsPacMan_GamePlayOptions.BOOSTER_ON)));
+        setDifficulty(game,          Difficulty.valueOf(option(options, TengenMsPacMan_GamePlayOptions.DIFFICULTY)));
+        setMapCategory(session,      MapCategory.valueOf(option(options, TengenMsPacMan_GamePlayOptions.MAP_CATEGORY)));
+        setStartLevelNumber(session, Integer.parseInt(option(options, TengenMsPacMan_GamePlayOptions.START_LEVEL_NUMBER)));
+        setNumContinues(session,     Integer.parseInt(option(options, TengenMsPacMan_GamePlayOptions.NUM_CONTINUES)));
+    }
+
+    private static String option(Map<String, String> options, TengenMsPacMan_GamePlayOptions key) {
+        final String value = options.get(key.name());
+        if (value == null) {
+            throw new IllegalArgumentException("Session option %s is missing".formatted(key));
+        }
+        return value;
+    }
+
+    @Override
+    public void executeReplayAction(GameContext game, String action) {
+        requireNonNull(game);
+        requireNonNull(action);
+        switch (action) {
+            case REPLAY_ACTION_BOOSTER_ON  -> setBoosterOn(game, game.session().level().entities().pac(), true);
+            case REPLAY_ACTION_BOOSTER_OFF -> setBoosterOn(game, game.session().level().entities().pac(), false);
+            default -> super.executeReplayAction(game, action);
+        }
+    }
+
     @Override
     public void startSession(GameContext game) {
         requireNonNull(game);
@@ -252,14 +304,14 @@ public class TengenMsPacMan_GamePlay extends CommonGamePlay {
 
         addEntities(entities, game, worldMap);
 
-        final GameLevel level = new GameLevel(levelNumber, worldMap, entities, huntingTimer);
+        final GameLevel level = new GameLevel(levelNumber, worldMap, entities, huntingTimer, game.random());
 
         session.setLevel(level);
         // For non-Arcade game levels, spend some extra time for the moving "game over" text animation
         session.setGameOverStateTicks(mapCategory(session) == MapCategory.ARCADE
             ? ARCADE_MAP_GAME_OVER_TICKS : NON_ARCADE_MAP_GAME_OVER_TICKS);
 
-        level.setBonusSymbolCodes(rules.bonusSymbols(levelNumber));
+        level.setBonusSymbolCodes(rules.bonusSymbols(levelNumber, level.random()));
 
         huntingTimer.setPhaseChangeCallback(newPhaseIndex -> {
             if (newPhaseIndex > 0) {
@@ -393,8 +445,8 @@ public class TengenMsPacMan_GamePlay extends CommonGamePlay {
         final Vector2i houseEntryOpposite = houseEntry.plus(0, house.sizeInTiles().y() + 1);
 
         final List<HPortal> portals = terrain.horizontalPortals();
-        final HPortal entryPortal = portals.get(randomInt(0, portals.size()));
-        final HPortal exitPortal  = portals.get(randomInt(0, portals.size()));
+        final HPortal entryPortal = portals.get(randomInt(level.random(), 0, portals.size()));
+        final HPortal exitPortal  = portals.get(randomInt(level.random(), 0, portals.size()));
 
         level.selectNextBonus();
 
@@ -408,7 +460,7 @@ public class TengenMsPacMan_GamePlay extends CommonGamePlay {
 
         systems.bonusState().showEdible(bonus);
 
-        final boolean leftToRight = randomBoolean();
+        final boolean leftToRight = randomBoolean(level.random());
         final List<Vector2i> waypoints = List.of(
             leftToRight ? entryPortal.leftBorderEntryTile() : entryPortal.rightBorderEntryTile(),
             houseEntry,
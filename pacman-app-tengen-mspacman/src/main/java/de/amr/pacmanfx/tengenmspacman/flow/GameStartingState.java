@@ -28,6 +28,8 @@ public class GameStartingState extends GameState {
 
     @Override
     public void onEnter(GameContext game) {
+        game.optReplayRecorder().ifPresent(recorder -> recorder.start(game));
+
         final var gamePlay = (TengenMsPacMan_GamePlay) game.variant().gamePlay();
         final GameSession session = game.session();
 
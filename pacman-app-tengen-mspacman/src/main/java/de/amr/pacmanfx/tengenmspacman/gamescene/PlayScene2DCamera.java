@@ -109,7 +109,7 @@ public class PlayScene2DCamera extends ParallelCamera {
     }
 
     private void updateTrackingMode(double mapHeightPixels, GameEntity movingActor) {
-        final WorldNavigationComp worldNavigation = movingActor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp worldNavigation = movingActor.reqComp(WorldNavigationComp.TYPE);
 
         double relY = movingActor.pos().y() / mapHeightPixels;
         if (relY < 0.5 || relY < 0.6 && worldNavigation.moveDir() == Direction.UP) {
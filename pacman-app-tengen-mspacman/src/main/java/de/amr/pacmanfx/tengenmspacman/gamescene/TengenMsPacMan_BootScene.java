@@ -42,7 +42,7 @@ public class TengenMsPacMan_BootScene extends GameScene {
     @Override
     public void onActivate() {
         movingText = new GameEntity();
-        movingText.setComp(MovementComp.class, new MovementComp());
+        movingText.setComp(MovementComp.TYPE, new MovementComp());
         movingText.pos().set(tilesPx(9), canvasRendering().unscaledHeight()); // lower border of screen
 
         final GameVariant gameVariant = app().gameVariants().currentGameVariant();
@@ -20,12 +20,17 @@ import de.amr.pacmanfx.core.event.ghost.GhostEatenEvent;
 import de.amr.pacmanfx.core.event.pac.*;
 import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.level.GameLevelMessageType;
+import de.amr.pacmanfx.core.model.rules.GameRules;
 import de.amr.pacmanfx.core.model.test.TestStateID;
 import de.amr.pacmanfx.tengenmspacman.TengenMsPacMan_Extras;
 import de.amr.pacmanfx.tengenmspacman.TengenMsPacMan_GamePlay;
+import de.amr.pacmanfx.tengenmspacman.TengenMsPacMan_GameVariantUIConfig.MapConfigKey;
 import de.amr.pacmanfx.tengenmspacman.flow.TengenMsPacMan_GameState;
+import de.amr.pacmanfx.tengenmspacman.model.MapCategory;
 import de.amr.pacmanfx.tengenmspacman.model.MessageAnimation;
+import de.amr.pacmanfx.tengenmspacman.model.TengenMsPacMan_WorldMapManager;
 import de.amr.pacmanfx.tengenmspacman.sprites.TengenMsPacMan_AnimationID;
+import de.amr.pacmanfx.tengenmspacman.sprites.TengenMsPacMan_MapRepository;
 import de.amr.pacmanfx.ui.sound.GameSoundEffects;
 import de.amr.pacmanfx.uilib.rendering.BaseRenderer;
 import javafx.scene.text.Font;
@@ -128,6 +133,21 @@ public interface TengenMsPacMan_PlayScene2D_GameEventHandler extends DefaultGame
     default void onLevelCreated(LevelCreatedEvent e) {
         final GameContext game = gameScene().game();
         gameScene().acceptGameLevel(game.session(), e.level());
+        prewarmNextLevelMapImages(game, e.level());
+    }
+
+    // Recoloring happens in the background while this level is played, the next level start gets the images from cache.
+    // Maps with random colors cannot be predicted and are skipped, so the random generator of the game is not touched.
+    private void prewarmNextLevelMapImages(GameContext game, GameLevel level) {
+        final GameRules rules = game.variant().rules();
+        final int nextLevelNumber = level.number() + 1;
+        if (nextLevelNumber > rules.lastLevelNumber()
+            || !(game.variant().worldMapManager() instanceof TengenMsPacMan_WorldMapManager mapManager)) {
+            return;
+        }
+        final MapCategory mapCategory = level.worldMap().getConfigValue(MapConfigKey.MAP_CATEGORY);
+        mapManager.optPredeterminedWorldMap(nextLevelNumber, mapCategory).ifPresent(nextWorldMap ->
+            TengenMsPacMan_MapRepository.instance().prewarmMapImageSetAsync(nextWorldMap, rules.numLevelFlashes(nextLevelNumber)));
     }
 
     @Override
@@ -29,7 +29,7 @@ public class MessageAnimation extends GameEntity {
     private Vector2f startPosition;
 
     public MessageAnimation() {
-        setComp(MovementComp.class, new MovementComp());
+        setComp(MovementComp.TYPE, new MovementComp());
     }
 
     public void setDelayTicks(int delayTicks) {
@@ -16,10 +16,12 @@ import java.io.IOException;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static de.amr.pacmanfx.core.Validations.requireValidLevelNumber;
 import static de.amr.pacmanfx.tengenmspacman.model.MapCategory.*;
 import static de.amr.pacmanfx.tengenmspacman.sprites.NES_WorldMapColorScheme.*;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Selects and configures the correct maze for each level in the Tengen NES Ms. Pac-Man port.
@@ -30,6 +32,17 @@ public class TengenMsPacMan_WorldMapManager implements WorldMapManager {
 
     private record PrototypeConfig(String path, int numMaps) {}
 
+    // A color scheme null means that a random color scheme is used
+    private record MapSpec(MapCategory category, int number, NES_WorldMapColorScheme colorScheme) {}
+
+    private static MapSpec spec(MapCategory category, int number, NES_WorldMapColorScheme colorScheme) {
+        return new MapSpec(category, number, requireNonNull(colorScheme));
+    }
+
+    private static MapSpec randomlyColoredSpec(MapCategory category, int number) {
+        return new MapSpec(category, number, null);
+    }
+
     private static final Map<MapCategory, PrototypeConfig> PROTOTYPE_CONFIG_MAP = Map.of(
         ARCADE,  new PrototypeConfig(TengenMsPacMan_GameVariantUIConfig.MAPS_FOLDER + "arcade%d.world", 4),
         MINI,    new PrototypeConfig(TengenMsPacMan_GameVariantUIConfig.MAPS_FOLDER + "mini%d.world", 6),
@@ -61,18 +74,26 @@ public class TengenMsPacMan_WorldMapManager implements WorldMapManager {
 
         // Ensure *all* prototypes are loaded! STRANGE maps for example uses BIG maps list etc.
         loadMapPrototypes();
-        return switch (mapCategory) {
-            case ARCADE -> configuredArcadeMap(levelNumber);
-            case MINI -> configuredMiniMap(levelNumber);
-            case BIG -> configuredBigMap(levelNumber);
-            case STRANGE -> {
-                final WorldMap strangeMap = configuredStrangeMap(levelNumber);
-                // Store maze ID in map properties to make renderer happy
-                final var mapID = NonArcadeMapsSpriteSheet.MapID.values()[levelNumber - 1];
-                strangeMap.setConfigValue(TengenMsPacMan_GameVariantUIConfig.MapConfigKey.MAP_ID, mapID);
-                yield strangeMap;
-            }
-        };
+        return createWorldMap(levelNumber, mapCategory, mapSpec(levelNumber, mapCategory));
+    }
+
+    /**
+     * Supplies the map for the given level only if its configuration is fixed. Maps with a random color scheme
+     * (levels 28-31) are not supplied, so this method never uses the random generator of the game.
+     *
+     * @param levelNumber level number
+     * @param mapCategory map category
+     * @return the map for the level or nothing if its color scheme is chosen randomly
+     */
+    public Optional<WorldMap> optPredeterminedWorldMap(int levelNumber, MapCategory mapCategory) {
+        requireValidLevelNumber(levelNumber);
+        requireNonNull(mapCategory);
+        final MapSpec spec = mapSpec(levelNumber, mapCategory);
+        if (spec.colorScheme() == null) {
+            return Optional.empty();
+        }
+        loadMapPrototypes();
+        return Optional.of(createWorldMap(levelNumber, mapCategory, spec));
     }
 
     // Helpers
@@ -90,146 +111,156 @@ public class TengenMsPacMan_WorldMapManager implements WorldMapManager {
         }
     }
 
-    private WorldMap configuredMap(MapCategory category, int number, NES_WorldMapColorScheme nesColorScheme) {
-        final var worldMap = new WorldMap(mapPrototypes.get(category).get(number - 1));
-        worldMap.setConfigValue(WorldMapConfigKey.MAP_NUMBER, number);
-        worldMap.setConfigValue(TengenMsPacMan_GameVariantUIConfig.MapConfigKey.MAP_CATEGORY, category);
-        worldMap.setConfigValue(WorldMapConfigKey.COLOR_SCHEME, nesColorScheme);
-        worldMap.setConfigValue(TengenMsPacMan_GameVariantUIConfig.MapConfigKey.MULTIPLE_FLASH_COLORS, false);
-        return worldMap;
+    private static MapSpec mapSpec(int levelNumber, MapCategory mapCategory) {
+        return switch (mapCategory) {
+            case ARCADE -> arcadeMapSpec(levelNumber);
+            case MINI -> miniMapSpec(levelNumber);
+            case BIG -> bigMapSpec(levelNumber);
+            case STRANGE -> strangeMapSpec(levelNumber);
+        };
     }
 
-    private WorldMap randomlyConfiguredMap(MapCategory category, int number) {
-        final WorldMap worldMap = configuredMap(category, number, NES_WorldMapColorScheme.randomScheme());
-        worldMap.setConfigValue(TengenMsPacMan_GameVariantUIConfig.MapConfigKey.MULTIPLE_FLASH_COLORS, true);
+    private WorldMap createWorldMap(int levelNumber, MapCategory mapCategory, MapSpec spec) {
+        final boolean randomColors = spec.colorScheme() == null;
+        final var worldMap = new WorldMap(mapPrototypes.get(spec.category()).get(spec.number() - 1));
+        worldMap.setConfigValue(WorldMapConfigKey.MAP_NUMBER, spec.number());
+        worldMap.setConfigValue(TengenMsPacMan_GameVariantUIConfig.MapConfigKey.MAP_CATEGORY, spec.category());
+        worldMap.setConfigValue(WorldMapConfigKey.COLOR_SCHEME,
+            randomColors ? NES_WorldMapColorScheme.randomScheme() : spec.colorScheme());
+        worldMap.setConfigValue(TengenMsPacMan_GameVariantUIConfig.MapConfigKey.MULTIPLE_FLASH_COLORS, randomColors);
+        if (mapCategory == STRANGE) {
+            // Store maze ID in map properties to make renderer happy
+            final var mapID = NonArcadeMapsSpriteSheet.MapID.values()[levelNumber - 1];
+            worldMap.setConfigValue(TengenMsPacMan_GameVariantUIConfig.MapConfigKey.MAP_ID, mapID);
+        }
         return worldMap;
     }
 
-    private WorldMap configuredArcadeMap(int levelNumber) {
+    private static MapSpec arcadeMapSpec(int levelNumber) {
         return switch (levelNumber) {
-            case 1,2         -> configuredMap(ARCADE, 1, _36_15_20_PINK_RED_WHITE);
-            case 3,4,5       -> configuredMap(ARCADE, 2, _21_20_28_BLUE_WHITE_YELLOW);
-            case 6,7,8,9     -> configuredMap(ARCADE, 3, _16_20_15_ORANGE_WHITE_RED);
-            case 10,11,12,13 -> configuredMap(ARCADE, 4, _01_38_20_BLUE_YELLOW_WHITE);
-            case 14,15,16,17 -> configuredMap(ARCADE, 3, _35_28_20_PINK_YELLOW_WHITE);
-            case 18,19,20,21 -> configuredMap(ARCADE, 4, _36_15_20_PINK_RED_WHITE);
-            case 22,23,24,25 -> configuredMap(ARCADE, 3, _17_20_20_BROWN_WHITE_WHITE);
-            case 26,27,28,29 -> configuredMap(ARCADE, 4, _13_20_28_VIOLET_WHITE_YELLOW);
-            case 30,31,32    -> configuredMap(ARCADE, 3, _0F_20_28_BLACK_WHITE_YELLOW);
+            case 1,2         -> spec(ARCADE, 1, _36_15_20_PINK_RED_WHITE);
+            case 3,4,5       -> spec(ARCADE, 2, _21_20_28_BLUE_WHITE_YELLOW);
+            case 6,7,8,9     -> spec(ARCADE, 3, _16_20_15_ORANGE_WHITE_RED);
+            case 10,11,12,13 -> spec(ARCADE, 4, _01_38_20_BLUE_YELLOW_WHITE);
+            case 14,15,16,17 -> spec(ARCADE, 3, _35_28_20_PINK_YELLOW_WHITE);
+            case 18,19,20,21 -> spec(ARCADE, 4, _36_15_20_PINK_RED_WHITE);
+            case 22,23,24,25 -> spec(ARCADE, 3, _17_20_20_BROWN_WHITE_WHITE);
+            case 26,27,28,29 -> spec(ARCADE, 4, _13_20_28_VIOLET_WHITE_YELLOW);
+            case 30,31,32    -> spec(ARCADE, 3, _0F_20_28_BLACK_WHITE_YELLOW);
             default -> throw new IllegalArgumentException("Illegal level number: " + levelNumber);
         };
     }
 
-    private WorldMap configuredMiniMap(int levelNumber) {
+    private static MapSpec miniMapSpec(int levelNumber) {
         return switch (levelNumber) {
-            case 1  -> configuredMap(MINI, 1, _36_15_20_PINK_RED_WHITE);
-            case 2  -> configuredMap(MINI, 2, _21_20_28_BLUE_WHITE_YELLOW);
-            case 3  -> configuredMap(MINI, 1, _16_20_15_ORANGE_WHITE_RED);
-            case 4  -> configuredMap(MINI, 2, _01_38_20_BLUE_YELLOW_WHITE);
-            case 5  -> configuredMap(MINI, 3, _35_28_20_PINK_YELLOW_WHITE);
-            case 6  -> configuredMap(MINI, 1, _36_15_20_PINK_RED_WHITE);
-            case 7  -> configuredMap(MINI, 2, _17_20_20_BROWN_WHITE_WHITE);
-            case 8  -> configuredMap(MINI, 3, _13_20_28_VIOLET_WHITE_YELLOW);
-            case 9  -> configuredMap(MINI, 4, _0F_20_28_BLACK_WHITE_YELLOW);
-            case 10 -> configuredMap(MINI, 1, _0F_01_20_BLACK_BLUE_WHITE);
-            case 11 -> configuredMap(MINI, 2, _14_25_20_VIOLET_ROSE_WHITE);
-            case 12 -> configuredMap(MINI, 3, _15_20_20_RED_WHITE_WHITE);
-            case 13 -> configuredMap(MINI, 4, _1B_20_20_GREEN_WHITE_WHITE);
-            case 14 -> configuredMap(MINI, 1, _28_20_2A_YELLOW_WHITE_GREEN);
-            case 15 -> configuredMap(MINI, 2, _1A_20_28_GREEN_WHITE_YELLOW);
-            case 16 -> configuredMap(MINI, 3, _18_20_20_KHAKI_WHITE_WHITE);
-            case 17 -> configuredMap(MINI, 4, _25_20_20_ROSE_WHITE_WHITE);
-            case 18 -> configuredMap(MINI, 5, _12_20_28_BLUE_WHITE_YELLOW);
-            case 19 -> configuredMap(MINI, 5, _07_20_20_BROWN_WHITE_WHITE);
-            case 20 -> configuredMap(MINI, 4, _15_25_20_RED_ROSE_WHITE);
-            case 21 -> configuredMap(MINI, 3, _0F_20_1C_BLACK_WHITE_GREEN);
-            case 22 -> configuredMap(MINI, 2, _19_20_20_GREEN_WHITE_WHITE);
-            case 23 -> configuredMap(MINI, 1, _0C_20_14_GREEN_WHITE_VIOLET);
-            case 24 -> configuredMap(MINI, 6, _23_20_2B_VIOLET_WHITE_GREEN);
-            case 25 -> configuredMap(MINI, 1, _10_20_28_GRAY_WHITE_YELLOW);
-            case 26 -> configuredMap(MINI, 2, _03_20_20_BLUE_WHITE_WHITE);
-            case 27 -> configuredMap(MINI, 3, _04_20_20_VIOLET_WHITE_WHITE);
-            case 28 -> randomlyConfiguredMap(MINI, 4);
-            case 29 -> randomlyConfiguredMap(MINI, 5);
-            case 30 -> randomlyConfiguredMap(MINI, 2);
-            case 31 -> randomlyConfiguredMap(MINI, 3);
-            case 32 -> configuredMap(MINI, 6, _15_25_20_RED_ROSE_WHITE);
+            case 1  -> spec(MINI, 1, _36_15_20_PINK_RED_WHITE);
+            case 2  -> spec(MINI, 2, _21_20_28_BLUE_WHITE_YELLOW);
+            case 3  -> spec(MINI, 1, _16_20_15_ORANGE_WHITE_RED);
+            case 4  -> spec(MINI, 2, _01_38_20_BLUE_YELLOW_WHITE);
+            case 5  -> spec(MINI, 3, _35_28_20_PINK_YELLOW_WHITE);
+            case 6  -> spec(MINI, 1, _36_15_20_PINK_RED_WHITE);
+            case 7  -> spec(MINI, 2, _17_20_20_BROWN_WHITE_WHITE);
+            case 8  -> spec(MINI, 3, _13_20_28_VIOLET_WHITE_YELLOW);
+            case 9  -> spec(MINI, 4, _0F_20_28_BLACK_WHITE_YELLOW);
+            case 10 -> spec(MINI, 1, _0F_01_20_BLACK_BLUE_WHITE);
+            case 11 -> spec(MINI, 2, _14_25_20_VIOLET_ROSE_WHITE);
+            case 12 -> spec(MINI, 3, _15_20_20_RED_WHITE_WHITE);
+            case 13 -> spec(MINI, 4, _1B_20_20_GREEN_WHITE_WHITE);
+            case 14 -> spec(MINI, 1, _28_20_2A_YELLOW_WHITE_GREEN);
+            case 15 -> spec(MINI, 2, _1A_20_28_GREEN_WHITE_YELLOW);
+            case 16 -> spec(MINI, 3, _18_20_20_KHAKI_WHITE_WHITE);
+            case 17 -> spec(MINI, 4, _25_20_20_ROSE_WHITE_WHITE);
+            case 18 -> spec(MINI, 5, _12_20_28_BLUE_WHITE_YELLOW);
+            case 19 -> spec(MINI, 5, _07_20_20_BROWN_WHITE_WHITE);
+            case 20 -> spec(MINI, 4, _15_25_20_RED_ROSE_WHITE);
+            case 21 -> spec(MINI, 3, _0F_20_1C_BLACK_WHITE_GREEN);
+            case 22 -> spec(MINI, 2, _19_20_20_GREEN_WHITE_WHITE);
+            case 23 -> spec(MINI, 1, _0C_20_14_GREEN_WHITE_VIOLET);
+            case 24 -> spec(MINI, 6, _23_20_2B_VIOLET_WHITE_GREEN);
+            case 25 -> spec(MINI, 1, _10_20_28_GRAY_WHITE_YELLOW);
+            case 26 -> spec(MINI, 2, _03_20_20_BLUE_WHITE_WHITE);
+            case 27 -> spec(MINI, 3, _04_20_20_VIOLET_WHITE_WHITE);
+            case 28 -> randomlyColoredSpec(MINI, 4);
+            case 29 -> randomlyColoredSpec(MINI, 5);
+            case 30 -> randomlyColoredSpec(MINI, 2);
+            case 31 -> randomlyColoredSpec(MINI, 3);
+            case 32 -> spec(MINI, 6, _15_25_20_RED_ROSE_WHITE);
             default -> throw new IllegalArgumentException("Illegal level number: " + levelNumber);
         };
     }
 
-    private WorldMap configuredBigMap(int levelNumber) {
+    private static MapSpec bigMapSpec(int levelNumber) {
         return switch (levelNumber) {
-            case 1  -> configuredMap(BIG,  1, _36_15_20_PINK_RED_WHITE);
-            case 2  -> configuredMap(BIG,  2, _21_20_28_BLUE_WHITE_YELLOW);
-            case 3  -> configuredMap(BIG,  3, _16_20_15_ORANGE_WHITE_RED);
-            case 4  -> configuredMap(BIG,  1, _01_38_20_BLUE_YELLOW_WHITE);
-            case 5  -> configuredMap(BIG,  2, _35_28_20_PINK_YELLOW_WHITE);
-            case 6  -> configuredMap(BIG,  3, _36_15_20_PINK_RED_WHITE);
-            case 7  -> configuredMap(BIG,  4, _17_20_20_BROWN_WHITE_WHITE);
-            case 8  -> configuredMap(BIG,  5, _13_20_28_VIOLET_WHITE_YELLOW);
-            case 9  -> configuredMap(BIG,  6, _0F_20_28_BLACK_WHITE_YELLOW);
-            case 10 -> configuredMap(BIG,  7, _0F_01_20_BLACK_BLUE_WHITE);
-            case 11 -> configuredMap(BIG,  5, _14_25_20_VIOLET_ROSE_WHITE);
-            case 12 -> configuredMap(BIG,  3, _15_20_20_RED_WHITE_WHITE);
-            case 13 -> configuredMap(BIG,  4, _1B_20_20_GREEN_WHITE_WHITE);
-            case 14 -> configuredMap(BIG,  8, _28_20_2A_YELLOW_WHITE_GREEN);
-            case 15 -> configuredMap(BIG,  2, _1A_20_28_GREEN_WHITE_YELLOW);
-            case 16 -> configuredMap(BIG,  1, _18_20_20_KHAKI_WHITE_WHITE);
-            case 17 -> configuredMap(BIG,  7, _25_20_20_ROSE_WHITE_WHITE);
-            case 18 -> configuredMap(BIG,  6, _12_20_28_BLUE_WHITE_YELLOW);
-            case 19 -> configuredMap(BIG,  7, _07_20_20_BROWN_WHITE_WHITE);
-            case 20 -> configuredMap(BIG,  1, _15_25_20_RED_ROSE_WHITE);
-            case 21 -> configuredMap(BIG,  9, _0F_20_1C_BLACK_WHITE_GREEN);
-            case 22 -> configuredMap(BIG,  3, _19_20_20_GREEN_WHITE_WHITE);
-            case 23 -> configuredMap(BIG,  4, _0C_20_14_GREEN_WHITE_VIOLET);
-            case 24 -> configuredMap(BIG,  5, _23_20_2B_VIOLET_WHITE_GREEN);
-            case 25 -> configuredMap(BIG,  8, _10_20_28_GRAY_WHITE_YELLOW);
-            case 26 -> configuredMap(BIG, 10, _03_20_20_BLUE_WHITE_WHITE);
-            case 27 -> configuredMap(BIG,  8, _04_20_20_VIOLET_WHITE_WHITE);
-            case 28 -> randomlyConfiguredMap(BIG,  5);
-            case 29 -> randomlyConfiguredMap(BIG,  9);
-            case 30 -> randomlyConfiguredMap(BIG,  2);
-            case 31 -> randomlyConfiguredMap(BIG, 10);
-            case 32 -> configuredMap(BIG, 11, _15_25_20_RED_ROSE_WHITE);
+            case 1  -> spec(BIG,  1, _36_15_20_PINK_RED_WHITE);
+            case 2  -> spec(BIG,  2, _21_20_28_BLUE_WHITE_YELLOW);
+            case 3  -> spec(BIG,  3, _16_20_15_ORANGE_WHITE_RED);
+            case 4  -> spec(BIG,  1, _01_38_20_BLUE_YELLOW_WHITE);
+            case 5  -> spec(BIG,  2, _35_28_20_PINK_YELLOW_WHITE);
+            case 6  -> spec(BIG,  3, _36_15_20_PINK_RED_WHITE);
+            case 7  -> spec(BIG,  4, _17_20_20_BROWN_WHITE_WHITE);
+            case 8  -> spec(BIG,  5, _13_20_28_VIOLET_WHITE_YELLOW);
+            case 9  -> spec(BIG,  6, _0F_20_28_BLACK_WHITE_YELLOW);
+            case 10 -> spec(BIG,  7, _0F_01_20_BLACK_BLUE_WHITE);
+            case 11 -> spec(BIG,  5, _14_25_20_VIOLET_ROSE_WHITE);
+            case 12 -> spec(BIG,  3, _15_20_20_RED_WHITE_WHITE);
+            case 13 -> spec(BIG,  4, _1B_20_20_GREEN_WHITE_WHITE);
+            case 14 -> spec(BIG,  8, _28_20_2A_YELLOW_WHITE_GREEN);
+            case 15 -> spec(BIG,  2, _1A_20_28_GREEN_WHITE_YELLOW);
+            case 16 -> spec(BIG,  1, _18_20_20_KHAKI_WHITE_WHITE);
+            case 17 -> spec(BIG,  7, _25_20_20_ROSE_WHITE_WHITE);
+            case 18 -> spec(BIG,  6, _12_20_28_BLUE_WHITE_YELLOW);
+            case 19 -> spec(BIG,  7, _07_20_20_BROWN_WHITE_WHITE);
+            case 20 -> spec(BIG,  1, _15_25_20_RED_ROSE_WHITE);
+            case 21 -> spec(BIG,  9, _0F_20_1C_BLACK_WHITE_GREEN);
+            case 22 -> spec(BIG,  3, _19_20_20_GREEN_WHITE_WHITE);
+            case 23 -> spec(BIG,  4, _0C_20_14_GREEN_WHITE_VIOLET);
+            case 24 -> spec(BIG,  5, _23_20_2B_VIOLET_WHITE_GREEN);
+            case 25 -> spec(BIG,  8, _10_20_28_GRAY_WHITE_YELLOW);
+            case 26 -> spec(BIG, 10, _03_20_20_BLUE_WHITE_WHITE);
+            case 27 -> spec(BIG,  8, _04_20_20_VIOLET_WHITE_WHITE);
+            case 28 -> randomlyColoredSpec(BIG,  5);
+            case 29 -> randomlyColoredSpec(BIG,  9);
+            case 30 -> randomlyColoredSpec(BIG,  2);
+            case 31 -> randomlyColoredSpec(BIG, 10);
+            case 32 -> spec(BIG, 11, _15_25_20_RED_ROSE_WHITE);
             default -> throw new IllegalArgumentException("Illegal level number: " + levelNumber);
         };
     }
 
-    private WorldMap configuredStrangeMap(int levelNumber) {
+    private static MapSpec strangeMapSpec(int levelNumber) {
         return switch (levelNumber) {
-            case  1 -> configuredMap(STRANGE,  1, _36_15_20_PINK_RED_WHITE);
-            case  2 -> configuredMap(STRANGE,  2, _21_20_28_BLUE_WHITE_YELLOW);
-            case  3 -> configuredMap(STRANGE,  3, _16_20_15_ORANGE_WHITE_RED);
-            case  4 -> configuredMap(STRANGE,  4, _01_38_20_BLUE_YELLOW_WHITE);
-            case  5 -> configuredMap(STRANGE,  5, _35_28_20_PINK_YELLOW_WHITE);
-            case  6 -> configuredMap(STRANGE,  6, _36_15_20_PINK_RED_WHITE);
-            case  7 -> configuredMap(STRANGE,  7, _17_20_20_BROWN_WHITE_WHITE);
-            case  8 -> configuredMap(STRANGE,  8, _13_20_28_VIOLET_WHITE_YELLOW);
-            case  9 -> configuredMap(STRANGE,  9, _0F_20_28_BLACK_WHITE_YELLOW);
-            case 10 -> configuredMap(BIG,      7, _0F_01_20_BLACK_BLUE_WHITE);
-            case 11 -> configuredMap(STRANGE, 10, _14_25_20_VIOLET_ROSE_WHITE);
-            case 12 -> configuredMap(STRANGE, 11, _15_20_20_RED_WHITE_WHITE);
-            case 13 -> configuredMap(STRANGE,  6, _1B_20_20_GREEN_WHITE_WHITE);
-            case 14 -> configuredMap(BIG,      8, _28_20_2A_YELLOW_WHITE_GREEN);
-            case 15 -> configuredMap(STRANGE, 12, _1A_20_28_GREEN_WHITE_YELLOW);
-            case 16 -> configuredMap(MINI,     5, _18_20_20_KHAKI_WHITE_WHITE);
-            case 17 -> configuredMap(BIG,      6, _25_20_20_ROSE_WHITE_WHITE);
-            case 18 -> configuredMap(STRANGE, 13, _12_20_28_BLUE_WHITE_YELLOW);
-            case 19 -> configuredMap(BIG,      1, _07_20_20_BROWN_WHITE_WHITE);
-            case 20 -> configuredMap(BIG,      2, _15_25_20_RED_ROSE_WHITE);
-            case 21 -> configuredMap(BIG,      3, _0F_20_1C_BLACK_WHITE_GREEN);
-            case 22 -> configuredMap(BIG,      4, _19_20_20_GREEN_WHITE_WHITE);
-            case 23 -> configuredMap(BIG,      5, _0C_20_14_GREEN_WHITE_VIOLET);
-            case 24 -> configuredMap(STRANGE,  4, _23_20_2B_VIOLET_WHITE_GREEN);
-            case 25 -> configuredMap(BIG,     10, _10_20_28_GRAY_WHITE_YELLOW);
-            case 26 -> configuredMap(BIG,      9, _03_20_20_BLUE_WHITE_WHITE);
-            case 27 -> configuredMap(STRANGE, 14, _04_20_20_VIOLET_WHITE_WHITE);
-            case 28 -> randomlyConfiguredMap(MINI,     5);
-            case 29 -> randomlyConfiguredMap(STRANGE,  8);
-            case 30 -> randomlyConfiguredMap(MINI,     4);
-            case 31 -> randomlyConfiguredMap(STRANGE, 11);
-            case 32 -> configuredMap(STRANGE, 15, _15_25_20_RED_ROSE_WHITE);
+            case  1 -> spec(STRANGE,  1, _36_15_20_PINK_RED_WHITE);
+            case  2 -> spec(STRANGE,  2, _21_20_28_BLUE_WHITE_YELLOW);
+            case  3 -> spec(STRANGE,  3, _16_20_15_ORANGE_WHITE_RED);
+            case  4 -> spec(STRANGE,  4, _01_38_20_BLUE_YELLOW_WHITE);
+            case  5 -> spec(STRANGE,  5, _35_28_20_PINK_YELLOW_WHITE);
+            case  6 -> spec(STRANGE,  6, _36_15_20_PINK_RED_WHITE);
+            case  7 -> spec(STRANGE,  7, _17_20_20_BROWN_WHITE_WHITE);
+            case  8 -> spec(STRANGE,  8, _13_20_28_VIOLET_WHITE_YELLOW);
+            case  9 -> spec(STRANGE,  9, _0F_20_28_BLACK_WHITE_YELLOW);
+            case 10 -> spec(BIG,      7, _0F_01_20_BLACK_BLUE_WHITE);
+            case 11 -> spec(STRANGE, 10, _14_25_20_VIOLET_ROSE_WHITE);
+            case 12 -> spec(STRANGE, 11, _15_20_20_RED_WHITE_WHITE);
+            case 13 -> spec(STRANGE,  6, _1B_20_20_GREEN_WHITE_WHITE);
+            case 14 -> spec(BIG,      8, _28_20_2A_YELLOW_WHITE_GREEN);
+            case 15 -> spec(STRANGE, 12, _1A_20_28_GREEN_WHITE_YELLOW);
+            case 16 -> spec(MINI,     5, _18_20_20_KHAKI_WHITE_WHITE);
+            case 17 -> spec(BIG,      6, _25_20_20_ROSE_WHITE_WHITE);
+            case 18 -> spec(STRANGE, 13, _12_20_28_BLUE_WHITE_YELLOW);
+            case 19 -> spec(BIG,      1, _07_20_20_BROWN_WHITE_WHITE);
+            case 20 -> spec(BIG,      2, _15_25_20_RED_ROSE_WHITE);
+            case 21 -> spec(BIG,      3, _0F_20_1C_BLACK_WHITE_GREEN);
+            case 22 -> spec(BIG,      4, _19_20_20_GREEN_WHITE_WHITE);
+            case 23 -> spec(BIG,      5, _0C_20_14_GREEN_WHITE_VIOLET);
+            case 24 -> spec(STRANGE,  4, _23_20_2B_VIOLET_WHITE_GREEN);
+            case 25 -> spec(BIG,     10, _10_20_28_GRAY_WHITE_YELLOW);
+            case 26 -> spec(BIG,      9, _03_20_20_BLUE_WHITE_WHITE);
+            case 27 -> spec(STRANGE, 14, _04_20_20_VIOLET_WHITE_WHITE);
+            case 28 -> randomlyColoredSpec(MINI,     5);
+            case 29 -> randomlyColoredSpec(STRANGE,  8);
+            case 30 -> randomlyColoredSpec(MINI,     4);
+            case 31 -> randomlyColoredSpec(STRANGE, 11);
+            case 32 -> spec(STRANGE, 15, _15_25_20_RED_ROSE_WHITE);
             default -> throw new IllegalArgumentException("Illegal level number: " + levelNumber);
         };
     }
@@ -12,7 +12,7 @@ import de.amr.pacmanfx.core.GameSession;
 import de.amr.pacmanfx.core.entities.House;
 import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.model.rules.GameRules;
-import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.FoodState;
 import de.amr.pacmanfx.core.model.world.map.WorldMap;
 import de.amr.pacmanfx.core.model.world.map.WorldMapConfigKey;
 import de.amr.pacmanfx.core.model.world.map.WorldMapPropertyName;
@@ -35,7 +35,6 @@ import static de.amr.pacmanfx.tengenmspacman.TengenMsPacMan_GameVariantUIConfig.
 import static de.amr.pacmanfx.tengenmspacman.TengenMsPacMan_GameVariantUIConfig.READY_MESSAGE_TEXT;
 import static de.amr.pacmanfx.tengenmspacman.sprites.NonArcadeMapsSpriteSheet.MapID.MAP32_ANIMATED;
 import static java.util.Objects.requireNonNull;
-import static java.util.function.Predicate.not;
 
 public class TengenMsPacMan_GameLevelRenderer extends BaseRenderer implements SpriteRenderer, GameLevelRenderer {
 
@@ -127,41 +126,37 @@ public class TengenMsPacMan_GameLevelRenderer extends BaseRenderer implements Sp
     }
 
     private void drawPellets(GameLevel level, Color pelletColor) {
-        final FoodLayer foodLayer = level.worldMap().foodLayer();
-        foodLayer.tiles()
-            .filter(foodLayer::isFoodTile)
-            .filter(not(foodLayer::isEnergizerTile)).forEach(tile -> {
-                // overpaint the pellet from the map image
-                ctx.setFill(backgroundColor());
-                fillSquareAtTileCenter(tile, 4);
-                if (!level.food().hasEatenFoodAtTile(tile)) {
-                    // draw pellet using the right color
-                    ctx.setFill(pelletColor);
-                    fillSquareAtTileCenter(tile, 2);
-                }
-        });
+        final FoodState food = level.food();
+        final int numCols = level.worldMap().foodLayer().numCols();
+        // overpaint the pellets from the map image
+        ctx.setFill(backgroundColor());
+        food.forEachFoodTileIndex(false, index -> fillSquareAtTileCenter(index % numCols, index / numCols, 4));
+        // draw remaining pellets using the right color
+        ctx.setFill(pelletColor);
+        food.forEachRemainingFoodTileIndex(false, index -> fillSquareAtTileCenter(index % numCols, index / numCols, 2));
     }
 
     private void drawEnergizers(GameLevel level, Color pelletColor, boolean blinkingOn) {
-        final FoodLayer foodLayer = level.worldMap().foodLayer();
+        final FoodState food = level.food();
+        final int numCols = level.worldMap().foodLayer().numCols();
         final double size = WorldMap.TS;
         final double centerOffset = 0.5 * WorldMap.HTS;
-        foodLayer.tiles().filter(foodLayer::isEnergizerTile).forEach(tile -> {
-            // overpaint energizer pixels from map image
-            ctx.setFill(backgroundColor());
-            fillSquareAtTileCenter(tile, WorldMap.TS + 2);
-            // draw energizer if not eaten and blinking is in ON phase
-            if (!level.food().hasEatenFoodAtTile(tile) && blinkingOn) {
-                final int x = tile.x() * WorldMap.TS;
-                final int y = tile.y() * WorldMap.TS;
+        // overpaint energizer pixels from map image
+        ctx.setFill(backgroundColor());
+        food.forEachFoodTileIndex(true, index -> fillSquareAtTileCenter(index % numCols, index / numCols, WorldMap.TS + 2));
+        // draw energizer if not eaten and blinking is in ON phase
+        if (blinkingOn) {
+            ctx.setFill(pelletColor);
+            food.forEachRemainingFoodTileIndex(true, index -> {
+                final int x = (index % numCols) * WorldMap.TS;
+                final int y = (index / numCols) * WorldMap.TS;
                 // draw pixelated "circle"
                 // TODO use sprite instead?
-                ctx.setFill(pelletColor);
                 ctx.fillRect(x + centerOffset, y, WorldMap.HTS, size);
                 ctx.fillRect(x, y + centerOffset, size, WorldMap.HTS);
                 ctx.fillRect(x + 1, y + 1, size - 2, size - 2);
-            }
-        });
+            });
+        }
     }
 
     private void drawGameOverMessage(GameSession session, WorldMap worldMap, Vector2f pos) {
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.random.RandomGenerator;
 
 import static de.amr.basics.math.RandomNumberSupport.randomInt;
 
@@ -78,7 +79,7 @@ public class TengenMsPacMan_GameRules implements GameRules {
 
     @Override
     public boolean isLevelCompleted(GameLevel level) {
-        return level.food().remainingFoodCount() == 0;
+        return level.food().allFoodEaten();
     }
 
     @Override
@@ -102,23 +103,23 @@ public class TengenMsPacMan_GameRules implements GameRules {
     }
 
     @Override
-    public List<Integer> bonusSymbols(int levelNumber) {
+    public List<Integer> bonusSymbols(int levelNumber, RandomGenerator rng) {
         return List.of(
-            computeNextBonusSymbolCode(levelNumber),
-            computeNextBonusSymbolCode(levelNumber)
+            computeNextBonusSymbolCode(levelNumber, rng),
+            computeNextBonusSymbolCode(levelNumber, rng)
         );
     }
 
     // TODO: I have no idea yet how Tengen Ms. Pac-Man exactly implemented this.
     //       What I know is that the "strange" maps use an extended set of bonus symbols.
-    public int computeNextBonusSymbolCode(int levelNumber) {
+    public int computeNextBonusSymbolCode(int levelNumber, RandomGenerator rng) {
         final int lastSymbolCode = mapCategory() == MapCategory.STRANGE
             ? BonusSymbol.FLOWER.ordinal()
             : BonusSymbol.BANANA.ordinal();
 
         return levelNumber - 1 <= lastSymbolCode
             ? levelNumber - 1
-            : randomInt(0, lastSymbolCode + 1);
+            : randomInt(rng, 0, lastSymbolCode + 1);
     }
 
     @Override
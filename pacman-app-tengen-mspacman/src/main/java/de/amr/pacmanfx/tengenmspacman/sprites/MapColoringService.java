@@ -13,7 +13,9 @@ import org.tinylog.Logger;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static de.amr.basics.math.RectShort.sprite;
 
@@ -21,17 +23,42 @@ import static de.amr.basics.math.RectShort.sprite;
  * Recolors maze images from source NES color schemes to target schemes.
  * Generates flashing maze variants (single black/white or multiple random colors)
  * used during energizer periods in the Tengen NES Ms. Pac-Man port.
+ * <p>
+ * Recolored images are kept in a cache with LRU eviction, keyed by map category, map ID, source and target color
+ * scheme. The service is thread-safe, so images can be computed in advance on background threads.
  */
 public class MapColoringService {
 
+    /** Maximum number of recolored map images kept in the cache. */
+    public static final int CACHE_CAPACITY = 48;
+
+    private record CacheKey(
+        MapCategory mapCategory,
+        Object mapID,
+        NES_WorldMapColorScheme sourceColorScheme,
+        NES_WorldMapColorScheme targetColorScheme) {}
+
     private static class SingletonHolder {
         static MapColoringService SINGLETON = new MapColoringService();
     }
 
     public static MapColoringService instance() { return SingletonHolder.SINGLETON; }
 
+    private final Map<CacheKey, ColorSchemedMapSprite> cache = new LinkedHashMap<>(CACHE_CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, ColorSchemedMapSprite> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
     private MapColoringService() {}
 
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
     public ColorSchemedMapSprite recolorMapImage(
         MapCategory mapCategory,
         Object mapID,
@@ -59,15 +86,14 @@ public class MapColoringService {
     {
         final var flashingMapImages = new ArrayList<ColorSchemedMapSprite>();
         if (multipleFlashColors) {
+            // each random color scheme needs its own recoloring, do them in parallel
             final List<NES_WorldMapColorScheme> randomColorSchemes = randomColorSchemesOtherThan(flashCount, targetColorScheme);
-            for (NES_WorldMapColorScheme randomColorScheme : randomColorSchemes) {
-                final ColorSchemedMapSprite maze = computeRecoloredMapImage(
+            randomColorSchemes.parallelStream()
+                .map(randomColorScheme -> computeRecoloredMapImage(
                     mapCategory, mapID,
                     spriteSheet, mapSprite,
-                    sourceColorScheme, randomColorScheme
-                );
-                flashingMapImages.add(maze);
-            }
+                    sourceColorScheme, randomColorScheme))
+                .forEachOrdered(flashingMapImages::add);
         } else {
             final ColorSchemedMapSprite blackWhiteMapImage = computeRecoloredMapImage(
                 mapCategory, mapID,
@@ -113,10 +139,17 @@ public class MapColoringService {
         NES_WorldMapColorScheme sourceColorScheme,
         NES_WorldMapColorScheme targetColorScheme)
     {
-        // Make copy of spritesheet image region
-        final Image existingMapImage = spriteSheet.image(mapSprite);
+        final var key = new CacheKey(mapCategory, mapID, sourceColorScheme, targetColorScheme);
+        synchronized (cache) {
+            final ColorSchemedMapSprite cachedMapImage = cache.get(key);
+            if (cachedMapImage != null) {
+                return cachedMapImage;
+            }
+        }
+        // The sprite region is recolored directly from the sprite sheet image. Computing outside the lock may cause
+        // duplicate work when two threads request the same image at the same time but never blocks the other thread.
         final Image recoloredMapImage = Ufx.replaceImageColors(
-            existingMapImage,
+            spriteSheet.sourceImage(), mapSprite,
             Color.valueOf(sourceColorScheme.wallFill()),
             Color.valueOf(sourceColorScheme.wallStroke()),
             Color.valueOf(sourceColorScheme.pellet()),
@@ -128,6 +161,9 @@ public class MapColoringService {
             recoloredMapImage,
             sprite(0, 0, mapSprite.width(), mapSprite.height()),
             targetColorScheme);
+        synchronized (cache) {
+            cache.put(key, coloredMapImage);
+        }
         Logger.info("{} map ({}) recolored to {}", mapCategory, mapID, targetColorScheme);
         return coloredMapImage;
     }
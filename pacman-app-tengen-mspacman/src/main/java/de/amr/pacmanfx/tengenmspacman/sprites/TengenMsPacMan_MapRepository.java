@@ -10,7 +10,10 @@ import de.amr.pacmanfx.core.model.world.map.WorldMapConfigKey;
 import de.amr.pacmanfx.tengenmspacman.TengenMsPacMan_GameVariantUIConfig;
 import de.amr.pacmanfx.tengenmspacman.model.MapCategory;
 
+import org.tinylog.Logger;
+
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static de.amr.pacmanfx.tengenmspacman.sprites.NES_WorldMapColorScheme.*;
 import static java.util.Objects.requireNonNull;
@@ -64,6 +67,25 @@ public class TengenMsPacMan_MapRepository {
         };
     }
 
+    /**
+     * Computes the map images for the given world map in the background. A later call of
+     * {@link #createMapImageSet(WorldMap, int)} for an equally configured map gets the recolored images from the cache
+     * of the {@link MapColoringService} and does not stall.
+     *
+     * @param worldMap world map (e.g. of the next level)
+     * @param flashCount number of flashes
+     * @return future completed when the images are computed
+     */
+    public CompletableFuture<Void> prewarmMapImageSetAsync(WorldMap worldMap, int flashCount) {
+        requireNonNull(worldMap);
+        return CompletableFuture.runAsync(() -> createMapImageSet(worldMap, flashCount))
+            .whenComplete((_, x) -> {
+                if (x != null) {
+                    Logger.warn(x, "Could not pre-compute map images");
+                }
+            });
+    }
+
     // All requested maze color schemes exist in the sprite sheet, we only have to select the right sprite for the
     // requested (map number, color scheme) combination:
     private MapImageSet arcadeMapImageSet(int mapNumber, NES_WorldMapColorScheme colorScheme, int flashCount) {
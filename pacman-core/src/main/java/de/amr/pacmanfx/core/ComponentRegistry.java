@@ -6,7 +6,8 @@ package de.amr.pacmanfx.core;
 
 import de.amr.basics.Disposable;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.SequencedCollection;
@@ -15,25 +16,31 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * A component registry.
+ * <p>
+ * Components are stored in an array indexed by the {@link ComponentType#id() component type ID}, so access by a
+ * {@link ComponentType} is an array load. Access by component class first looks up the type of the class.
  *
  * @param <C> the component base type e.g. {@link de.amr.pacmanfx.core.ecs.EntityComponent}
  */
 public class ComponentRegistry<C> implements Disposable {
 
-    private final LinkedHashMap<Class<? extends C>, C> componentMap = new LinkedHashMap<>(10);
+    private static final Object[] NO_SLOTS = {};
+
+    private Object[] slots = NO_SLOTS; // indexed by component type ID
+    private final List<C> components = new ArrayList<>(10); // insertion-order
 
     public ComponentRegistry() {
     }
 
     protected SequencedCollection<C> componentsNoCopy() {
-        return componentMap.sequencedValues();
+        return components;
     }
 
     /**
      * @return a copy of the set of registered components in insertion-order
      */
     public SequencedCollection<C> components() {
-        return List.copyOf(componentMap.sequencedValues());
+        return List.copyOf(components);
     }
 
     @Override
@@ -43,7 +50,8 @@ public class ComponentRegistry<C> implements Disposable {
                 ((Disposable) component).dispose();
             }
         }
-        componentMap.clear();
+        components.clear();
+        slots = NO_SLOTS;
     }
 
     /**
@@ -54,17 +62,35 @@ public class ComponentRegistry<C> implements Disposable {
      * @param <T> component type
      */
     public final <T extends C> void setComp(Class<T> type, T component) {
+        setComp(ComponentType.of(requireNonNull(type)), component);
+    }
+
+    /**
+     * Sets the entity component of the given type. Throws an exception if there is already such a component registered.
+     *
+     * @param type the component type
+     * @param component the component to be registered
+     * @param <T> component type
+     */
+    public final <T extends C> void setComp(ComponentType<T> type, T component) {
         requireNonNull(type);
         requireNonNull(component);
-        if (componentMap.containsKey(type)) {
-            throw new IllegalArgumentException("Component for class: " + type.getSimpleName() + " is already registered!");
+        if (slot(type.id()) != null) {
+            throw new IllegalArgumentException("Component for class: " + type.javaClass().getSimpleName() + " is already registered!");
+        }
+        if (type.id() >= slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(type.id() + 1, 2 * slots.length));
         }
-        componentMap.put(type, component);
+        slots[type.id()] = component;
+        components.add(component);
     }
 
     public final <T extends C> void removeComp(Class<T> type) {
-        if (hasComp(type)) {
-            var comp = componentMap.remove(type);
+        final int id = ComponentType.of(requireNonNull(type)).id();
+        final Object comp = slot(id);
+        if (comp != null) {
+            slots[id] = null;
+            components.removeIf(c -> c == comp);
             if (comp instanceof Disposable disposable) {
                 disposable.dispose();
             }
@@ -79,12 +105,24 @@ public class ComponentRegistry<C> implements Disposable {
      * @param <T> component type
      */
     public final <T extends C> T reqComp(Class<T> type) {
-        requireNonNull(type);
-        if (!componentMap.containsKey(type)) {
-            throw new IllegalArgumentException("No component found for class %s".formatted(type.getSimpleName()));
+        return reqComp(ComponentType.of(requireNonNull(type)));
+    }
+
+    /**
+     * Returns the entity component of the given type. Throws an exception if there is none. This is the fastest
+     * access, use it on hot paths with a constant component type.
+     *
+     * @param type the component type
+     * @return the entity component registered for the given type
+     * @param <T> component type
+     */
+    @SuppressWarnings("unchecked")
+    public final <T extends C> T reqComp(ComponentType<T> type) {
+        final Object component = slot(type.id());
+        if (component == null) {
+            throw new IllegalArgumentException("No component found for class %s".formatted(type.javaClass().getSimpleName()));
         }
-        final C component = componentMap.get(type);
-        return type.cast(component);
+        return (T) component; // setComp() ensures that the slot contains a component of this type
     }
 
     /**
@@ -95,8 +133,7 @@ public class ComponentRegistry<C> implements Disposable {
      * @param <T> component type
      */
     public final <T extends C> boolean hasComp(Class<T> type) {
-        requireNonNull(type);
-        return componentMap.containsKey(type);
+        return slot(ComponentType.of(requireNonNull(type)).id()) != null;
     }
 
     /**
@@ -108,7 +145,10 @@ public class ComponentRegistry<C> implements Disposable {
      */
     public final <T extends C> Optional<T> optComp(Class<T> type) {
         requireNonNull(type);
-        final C component = componentMap.get(type);
-        return Optional.ofNullable(component).map(type::cast);
+        return Optional.ofNullable(slot(ComponentType.of(type).id())).map(type::cast);
+    }
+
+    private Object slot(int id) {
+        return id < slots.length ? slots[id] : null;
     }
 }
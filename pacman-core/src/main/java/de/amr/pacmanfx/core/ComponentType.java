@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A component type with a small integer ID, used by {@link ComponentRegistry} as the index of the component slot.
+ * <p>
+ * There is exactly one instance per component class, IDs are assigned in order of first use. Frequently accessed
+ * component classes provide their type as a constant (e.g. {@code PositionComp.TYPE}) such that access to the
+ * component is a simple array load without any lookup.
+ *
+ * @param <T> the component class
+ */
+public final class ComponentType<T> {
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private static final ClassValue<ComponentType<?>> TYPES = new ClassValue<>() {
+        @Override
+        protected ComponentType<?> computeValue(Class<?> javaClass) {
+            return new ComponentType<>(javaClass, NEXT_ID.getAndIncrement());
+        }
+    };
+
+    /**
+     * @param javaClass component class
+     * @return the (unique) component type of the given class
+     * @param <T> the component class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ComponentType<T> of(Class<T> javaClass) {
+        return (ComponentType<T>) TYPES.get(requireNonNull(javaClass));
+    }
+
+    private final Class<T> javaClass;
+    private final int id;
+
+    private ComponentType(Class<T> javaClass, int id) {
+        this.javaClass = javaClass;
+        this.id = id;
+    }
+
+    public Class<T> javaClass() {
+        return javaClass;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "ComponentType{" + javaClass.getSimpleName() + ", id=" + id + "}";
+    }
+}
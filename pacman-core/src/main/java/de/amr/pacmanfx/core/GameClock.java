@@ -17,7 +17,8 @@ import java.util.function.Consumer;
  *   <li>a <em>permanent action</em>, which always runs, regardless of pause state</li>
  *   <li>a <em>pausable action</em>, which runs only when the clock is not paused</li>
  * </ul>
- * Implementations may use different timing backends (e.g., Timeline in JavaFX),
+ * Implementations may use different timing backends (e.g., Timeline in JavaFX, or a tight loop without any
+ * pacing in {@link HeadlessGameClock}),
  * but all expose the same control surface for starting, stopping, pausing, and stepping
  * the simulation.
  * <p>
@@ -21,6 +21,17 @@ public class GameConstants {
      */
     public static final File CUSTOM_MAP_DIR = new File(USER_HOME_DIR, "maps");
 
+    /**
+     * Directory where derived data like pre-built 3D meshes is cached (default: <code>&lt;home_dir&gt;/cache</code>).
+     * Its content can be deleted at any time.
+     */
+    public static final File CACHE_DIR = new File(USER_HOME_DIR, "cache");
+
+    /**
+     * Directory where recorded game replays are saved (default: <code>&lt;home_dir&gt;/replays</code>).
+     */
+    public static final File REPLAY_DIR = new File(USER_HOME_DIR, "replays");
+
     // Simulation speed
 
     public static int SIMULATION_FPS = 60;
@@ -6,11 +6,21 @@ package de.amr.pacmanfx.core;
 
 import de.amr.pacmanfx.core.event.base.GameEventManager;
 import de.amr.pacmanfx.core.gamestate.GameState;
+import de.amr.pacmanfx.core.replay.ReplayRecorder;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Context passed to game scenes and game flow state machines for the currently running game variant.
+ * <p>
+ * The context owns the random generator used by the game logic (ghost roaming, bonus routes, demo level selection
+ * etc.). It is seeded explicitly such that a game can be re-simulated bit-exactly from its seed and the recorded
+ * input, see {@link de.amr.pacmanfx.core.replay}.
  */
 public class GameContext {
 
@@ -22,14 +32,61 @@ public class GameContext {
 
     private GameSession session;
 
+    private long randomSeed;
+    private RandomGenerator random;
+
+    private ReplayRecorder replayRecorder;
+
     public GameContext(
         CoinMechanism coinMechanism,
         GameVariantConfig variant,
         GameEventManager eventManager)
+    {
+        this(coinMechanism, variant, eventManager, ThreadLocalRandom.current().nextLong());
+    }
+
+    public GameContext(
+        CoinMechanism coinMechanism,
+        GameVariantConfig variant,
+        GameEventManager eventManager,
+        long randomSeed)
     {
         this.coinMechanism = requireNonNull(coinMechanism);
         this.variant = requireNonNull(variant);
         this.eventManager = requireNonNull(eventManager);
+        reseedRandom(randomSeed);
+    }
+
+    /**
+     * @return the random generator for the game logic. Not thread-safe, use only from the simulation thread.
+     */
+    public RandomGenerator random() {
+        return random;
+    }
+
+    /**
+     * @return the seed used for the last (re-)initialization of the random generator
+     */
+    public long randomSeed() {
+        return randomSeed;
+    }
+
+    /**
+     * Re-initializes the random generator of the game logic with the given seed.
+     *
+     * @param seed the seed
+     */
+    public void reseedRandom(long seed) {
+        randomSeed = seed;
+        random = new SplittableRandom(seed);
+    }
+
+    public Optional<ReplayRecorder> optReplayRecorder() {
+        return Optional.ofNullable(replayRecorder);
+    }
+
+    public void setReplayRecorder(ReplayRecorder replayRecorder) {
+        this.replayRecorder = replayRecorder;
     }
 
     public void setSession(GameSession session) {
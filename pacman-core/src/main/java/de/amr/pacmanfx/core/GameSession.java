@@ -55,6 +55,8 @@ public class GameSession {
 
     private boolean cutScenesEnabled;
 
+    private boolean pathDistanceNavigation;
+
     public GameSession(String variantName, GameCheats cheats) {
         requireNonNull(variantName);
         requireNonNull(cheats);
@@ -134,6 +136,22 @@ public class GameSession {
         cutScenesEnabled = enabled;
     }
 
+    /**
+     * @return {@code true} if ghosts and the Pac-Man autopilot navigate by the path distances through the maze instead
+     *         of straight-line distances, see {@link de.amr.pacmanfx.core.model.world.map.PathDistances}
+     */
+    public boolean isPathDistanceNavigation() {
+        return pathDistanceNavigation;
+    }
+
+    /**
+     * @param pathDistanceNavigation if ghosts and the Pac-Man autopilot use path distances, takes effect when the
+     *                               level is prepared for playing
+     */
+    public void setPathDistanceNavigation(boolean pathDistanceNavigation) {
+        this.pathDistanceNavigation = pathDistanceNavigation;
+    }
+
     public Score score() {
         return score;
     }
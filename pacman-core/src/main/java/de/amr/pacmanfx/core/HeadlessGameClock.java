@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import org.tinylog.Logger;
+
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of {@link GameClock} that does not need a running JavaFX toolkit.
+ * <p>
+ * Ticks are executed synchronously on the thread calling {@link #start()} in a tight loop, as fast as possible.
+ * The target frame rate is only stored for information, it does not pace the ticks. The loop ends when
+ * {@link #stop()} is called, typically from inside the update action when the simulation has reached its goal.
+ * <p>
+ * This clock is meant for unattended simulations (batch runs of autopilot games, benchmarks, regression tests).
+ * The JavaFX property objects exposed by the {@link GameClock} interface are plain {@code javafx.base} classes and
+ * work without the JavaFX Application Thread.
+ */
+public class HeadlessGameClock implements GameClock {
+
+    private final IntegerProperty targetFrameRate = new SimpleIntegerProperty(GameConstants.SIMULATION_FPS);
+
+    private final BooleanProperty updatesDisabled = new SimpleBooleanProperty(false);
+
+    private final BooleanProperty timeMeasured = new SimpleBooleanProperty(false);
+
+    private volatile boolean running;
+
+    private Runnable updateAction = () -> {};
+
+    private Runnable permanentAction = () -> {};
+
+    private Consumer<Throwable> errorHandler = x -> Logger.error(x, "Headless game clock encountered error");
+
+    private long updateActionCount;
+    private long tickCount;
+
+    private double fps;
+    private long countTicksStartTime;
+    private long ticksInFrame;
+
+    public HeadlessGameClock() {}
+
+    @Override
+    public void setErrorHandler(Consumer<Throwable> errorHandler) {
+        this.errorHandler = requireNonNull(errorHandler);
+    }
+
+    @Override
+    public void setUpdateAction(Runnable action) {
+        this.updateAction = requireNonNull(action);
+    }
+
+    @Override
+    public void setPermanentAction(Runnable action) {
+        this.permanentAction = requireNonNull(action);
+    }
+
+    @Override
+    public IntegerProperty targetFrameRateProperty() {
+        return targetFrameRate;
+    }
+
+    @Override
+    public int targetFrameRate() {
+        return targetFrameRate.get();
+    }
+
+    @Override
+    public void setTargetFrameRate(int fps) {
+        targetFrameRate.set(fps);
+    }
+
+    @Override
+    public BooleanProperty updatesDisabledProperty() {
+        return updatesDisabled;
+    }
+
+    @Override
+    public void setUpdatesDisabled(boolean b) {
+        updatesDisabled.set(b);
+    }
+
+    @Override
+    public boolean getUpdatesDisabled() {
+        return updatesDisabled.get();
+    }
+
+    @Override
+    public BooleanProperty timeMeasuredProperty() {
+        return timeMeasured;
+    }
+
+    /**
+     * Runs ticks on the calling thread until {@link #stop()} is called or a tick fails. Does not return before.
+     */
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        setUpdatesDisabled(false);
+        running = true;
+        ticksInFrame = 0;
+        countTicksStartTime = System.nanoTime();
+        Logger.info("Headless game clock started");
+        while (running) {
+            if (!makeOneStep(!getUpdatesDisabled())) {
+                running = false;
+            }
+        }
+        Logger.info("Headless game clock stopped after {} ticks", tickCount);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public double fps() {
+        return fps;
+    }
+
+    @Override
+    public long currentTick() {
+        return tickCount;
+    }
+
+    @Override
+    public long pausableUpdatesCount() {
+        return updateActionCount;
+    }
+
+    @Override
+    public boolean makeSteps(int numSteps, boolean pausableActionIncluded) {
+        Validations.requireNonNegative(numSteps);
+        for (int i = 0; i < numSteps; ++i) {
+            if (!makeOneStep(pausableActionIncluded)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean makeOneStep(boolean pausableActionIncluded) {
+        try {
+            if (pausableActionIncluded) {
+                execute(updateAction, "Pausable action took {} milliseconds");
+                updateActionCount++;
+            }
+            execute(permanentAction, "Permanent action took {} milliseconds");
+            computeFPS();
+        } catch (Throwable x) {
+            errorHandler.accept(x);
+            return false;
+        }
+        return true;
+    }
+
+    private void computeFPS() {
+        ++tickCount;
+        ++ticksInFrame;
+        // Avoid calling System.nanoTime() on every tick, at several 10K ticks/sec it is measurable
+        if ((ticksInFrame & 0x3FF) == 0) {
+            final long now = System.nanoTime();
+            final long elapsed = now - countTicksStartTime;
+            if (elapsed > 1e9) {
+                fps = ticksInFrame * 1e9 / elapsed;
+                ticksInFrame = 0;
+                countTicksStartTime = now;
+            }
+        }
+    }
+
+    private void execute(Runnable action, String logMessage) {
+        if (timeMeasured.get()) {
+            final long start = System.nanoTime();
+            action.run();
+            final long duration = System.nanoTime() - start;
+            Logger.info(logMessage, duration / 1e6);
+        } else {
+            action.run();
+        }
+    }
+}
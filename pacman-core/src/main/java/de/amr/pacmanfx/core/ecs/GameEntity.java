@@ -26,18 +26,18 @@ public class GameEntity extends ComponentRegistry<EntityComponent> implements Di
 
     public GameEntity() {
         name = getClass().getSimpleName() + "#" + Integer.toHexString(hashCode()); // default name
-        setComp(PositionComp.class, new PositionComp());
-        setComp(VisibilityComp.class, new VisibilityComp(false));
+        setComp(PositionComp.TYPE, new PositionComp());
+        setComp(VisibilityComp.TYPE, new VisibilityComp(false));
     }
 
     // Typed access
 
     public final PositionComp pos() {
-        return reqComp(PositionComp.class);
+        return reqComp(PositionComp.TYPE);
     }
 
     public final VisibilityComp visibility() {
-        return reqComp(VisibilityComp.class);
+        return reqComp(VisibilityComp.TYPE);
     }
 
     public final Optional<MovementComp> optMovement() {
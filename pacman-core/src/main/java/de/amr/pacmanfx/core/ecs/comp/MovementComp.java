@@ -5,10 +5,13 @@
 package de.amr.pacmanfx.core.ecs.comp;
 
 import de.amr.basics.math.Vector2f;
+import de.amr.pacmanfx.core.ComponentType;
 import de.amr.pacmanfx.core.ecs.EntityComponent;
 
 public class MovementComp implements EntityComponent {
 
+    public static final ComponentType<MovementComp> TYPE = ComponentType.of(MovementComp.class);
+
     private float vx;
     private float vy;
 
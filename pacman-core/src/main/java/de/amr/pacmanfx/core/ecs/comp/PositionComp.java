@@ -4,8 +4,10 @@
 
 package de.amr.pacmanfx.core.ecs.comp;
 
+import de.amr.basics.math.PackedTile;
 import de.amr.basics.math.Vector2f;
 import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.ComponentType;
 import de.amr.pacmanfx.core.ecs.EntityComponent;
 import de.amr.pacmanfx.core.ecs.systems.PositionSystem;
 
@@ -13,6 +15,8 @@ import static java.util.Objects.requireNonNull;
 
 public final class PositionComp implements EntityComponent {
 
+    public static final ComponentType<PositionComp> TYPE = ComponentType.of(PositionComp.class);
+
     private float x;
     private float y;
 
@@ -64,8 +68,28 @@ public final class PositionComp implements EntityComponent {
     }
 
     public Vector2i tile() {
-        //TODO efficiency
-        return PositionSystem.computeTileAt(bodyCenter());
+        return new Vector2i(tileX(), tileY());
+    }
+
+    /**
+     * @return x coordinate of the tile containing the body center (no allocation)
+     */
+    public int tileX() {
+        return PositionSystem.computeTileCoordinate(x + PositionSystem.HALF_TILE_SIZE);
+    }
+
+    /**
+     * @return y coordinate of the tile containing the body center (no allocation)
+     */
+    public int tileY() {
+        return PositionSystem.computeTileCoordinate(y + PositionSystem.HALF_TILE_SIZE);
+    }
+
+    /**
+     * @return tile containing the body center, packed into an int (see {@link PackedTile})
+     */
+    public int packedTile() {
+        return PackedTile.pack(tileX(), tileY());
     }
 
     public Vector2i offset() {
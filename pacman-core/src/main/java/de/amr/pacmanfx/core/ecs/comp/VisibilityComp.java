@@ -4,10 +4,13 @@
 
 package de.amr.pacmanfx.core.ecs.comp;
 
+import de.amr.pacmanfx.core.ComponentType;
 import de.amr.pacmanfx.core.ecs.EntityComponent;
 
 public class VisibilityComp implements EntityComponent {
 
+    public static final ComponentType<VisibilityComp> TYPE = ComponentType.of(VisibilityComp.class);
+
     private final boolean defaultVisibility;
 
     private boolean visible;
@@ -6,6 +6,7 @@ package de.amr.pacmanfx.core.ecs.comp;
 
 import de.amr.basics.math.Direction;
 import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.ComponentType;
 import de.amr.pacmanfx.core.ecs.EntityComponent;
 
 import java.util.List;
@@ -15,6 +16,8 @@ import static de.amr.basics.math.Direction.RIGHT;
 
 public class WorldNavigationComp implements EntityComponent {
 
+    public static final ComponentType<WorldNavigationComp> TYPE = ComponentType.of(WorldNavigationComp.class);
+
     public static final Direction DEFAULT_MOVE_DIR = RIGHT;
     public static final Direction DEFAULT_WISH_DIR = RIGHT;
     public static final boolean DEFAULT_CAN_TELEPORT = true;
@@ -31,6 +34,7 @@ public class WorldNavigationComp implements EntityComponent {
     private boolean turnBackRequested;
     private boolean canTeleport = DEFAULT_CAN_TELEPORT;
     private boolean inTeleportingSpace;
+    private boolean pathDistanceNavigation; // setting, not changed by reset()
 
     //TODO this is just a primitive way to provide cornering speed differences
     public float corneringSpeedDelta;
@@ -132,6 +136,18 @@ public class WorldNavigationComp implements EntityComponent {
         return inTeleportingSpace;
     }
 
+    /**
+     * @param pathDistanceNavigation if {@code true}, navigation towards the target tile selects the direction with the
+     *                               shortest path through the maze instead of the smallest straight-line distance
+     */
+    public void setPathDistanceNavigation(boolean pathDistanceNavigation) {
+        this.pathDistanceNavigation = pathDistanceNavigation;
+    }
+
+    public boolean isPathDistanceNavigation() {
+        return pathDistanceNavigation;
+    }
+
     public boolean isTurnBackRequested() {
         return turnBackRequested;
     }
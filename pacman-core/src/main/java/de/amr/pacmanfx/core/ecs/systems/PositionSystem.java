@@ -15,6 +15,14 @@ public class PositionSystem {
     public static final int TILE_SIZE = 8;
     public static final int HALF_TILE_SIZE = 4;
 
+    /**
+     * @param coordinate x or y coordinate of a point in the plane
+     * @return the corresponding tile coordinate
+     */
+    public static int computeTileCoordinate(float coordinate) {
+        return (int) (coordinate >= 0 ? coordinate / TILE_SIZE : (coordinate - TILE_SIZE) / TILE_SIZE);
+    }
+
     /**
      * @param p a point in the plane
      * @return the "tile" containing the given point
@@ -22,9 +30,7 @@ public class PositionSystem {
     public static Vector2i computeTileAt(Vector2f p) {
         requireNonNull(p);
 
-        final float tx = p.x() >= 0 ? p.x() / TILE_SIZE : (p.x() - TILE_SIZE) / TILE_SIZE;
-        final float ty = p.y() >= 0 ? p.y() / TILE_SIZE : (p.y() - TILE_SIZE) / TILE_SIZE;
-        return new Vector2i((int) tx, (int) ty);
+        return new Vector2i(computeTileCoordinate(p.x()), computeTileCoordinate(p.y()));
     }
 
     /**
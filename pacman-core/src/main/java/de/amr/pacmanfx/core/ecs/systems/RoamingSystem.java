@@ -10,6 +10,7 @@ import de.amr.basics.math.Vector2i;
 import de.amr.pacmanfx.core.ecs.GameEntity;
 import de.amr.pacmanfx.core.ecs.comp.WorldNavigationComp;
 import de.amr.pacmanfx.core.level.GameLevel;
+import de.amr.pacmanfx.core.model.world.map.NavigationIndex;
 import org.tinylog.Logger;
 
 import static de.amr.basics.math.Direction.*;
@@ -54,13 +55,14 @@ public class RoamingSystem {
     private <E extends GameEntity> Direction computeRoamingDirection(
         GameLevel level, E gameEntity, WorldMovementPolicy<E> policy, Vector2i currentTile) {
 
-        final WorldNavigationComp navigation = gameEntity.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp navigation = gameEntity.reqComp(WorldNavigationComp.TYPE);
 
+        final NavigationIndex navigationIndex = level.worldMap().terrainLayer().navigationIndex();
         final Direction oppositeDir = navigation.moveDir().opposite();
-        Direction selectedDir = choosePseudoRandomDirection();
+        Direction selectedDir = choosePseudoRandomDirection(level);
         int tries = 0;
         while (selectedDir == oppositeDir
-            || !policy.canAccessTile(level, gameEntity, currentTile.plus(selectedDir.vector())))
+            || !policy.canAccessTile(level, gameEntity, navigationIndex.neighborTile(currentTile, selectedDir)))
         {
             selectedDir = selectedDir.nextClockwise();
             if (++tries > 4) {
@@ -70,8 +72,8 @@ public class RoamingSystem {
         return selectedDir;
     }
 
-    private Direction choosePseudoRandomDirection() {
-        final int rnd = RandomNumberSupport.randomInt(0, 1000);
+    private Direction choosePseudoRandomDirection(GameLevel level) {
+        final int rnd = RandomNumberSupport.randomInt(level.random(), 0, 1000);
         if (rnd < 163)             return UP;
         if (rnd < 163 + 252)       return RIGHT;
         if (rnd < 163 + 252 + 285) return DOWN;
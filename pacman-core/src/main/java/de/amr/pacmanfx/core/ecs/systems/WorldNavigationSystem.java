@@ -5,13 +5,17 @@
 package de.amr.pacmanfx.core.ecs.systems;
 
 import de.amr.basics.math.Direction;
+import de.amr.basics.math.PackedTile;
 import de.amr.basics.math.Vector2f;
 import de.amr.basics.math.Vector2i;
 import de.amr.pacmanfx.core.ecs.GameEntity;
 import de.amr.pacmanfx.core.ecs.comp.MovementComp;
 import de.amr.pacmanfx.core.ecs.comp.PositionComp;
 import de.amr.pacmanfx.core.ecs.comp.WorldNavigationComp;
+import de.amr.pacmanfx.core.entities.HPortal;
 import de.amr.pacmanfx.core.level.GameLevel;
+import de.amr.pacmanfx.core.model.world.map.NavigationIndex;
+import de.amr.pacmanfx.core.model.world.map.PathDistances;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.core.model.world.map.WorldMap;
 import org.tinylog.Logger;
@@ -29,9 +33,11 @@ public class WorldNavigationSystem {
     public static Vector2i tilesAhead(GameEntity actor, int numTiles) {
         requireNonNull(actor);
 
-        final WorldNavigationComp worldNavigation = actor.reqComp(WorldNavigationComp.class);
-        final Vector2i translateVector = worldNavigation.moveDir().vector().scaled(numTiles);
-        return actor.pos().tile().plus(translateVector);
+        final WorldNavigationComp worldNavigation = actor.reqComp(WorldNavigationComp.TYPE);
+        final Vector2i dirVector = worldNavigation.moveDir().vector();
+        return new Vector2i(
+            actor.pos().tileX() + numTiles * dirVector.x(),
+            actor.pos().tileY() + numTiles * dirVector.y());
     }
 
     /**
@@ -44,7 +50,7 @@ public class WorldNavigationSystem {
     public static Vector2i tilesAheadWithOverflowBug(GameEntity actor, int numTiles) {
         requireNonNull(actor);
 
-        final WorldNavigationComp worldNavigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp worldNavigation = actor.reqComp(WorldNavigationComp.TYPE);
         return worldNavigation.moveDir() == UP
             ? tilesAhead(actor, numTiles).minus(numTiles, 0)
             : tilesAhead(actor, numTiles);
@@ -61,8 +67,8 @@ public class WorldNavigationSystem {
         requireNonNull(actor);
         requireNonNull(dir);
 
-        final MovementComp movement = actor.reqComp(MovementComp.class);
-        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+        final MovementComp movement = actor.reqComp(MovementComp.TYPE);
+        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
         navigation.setMoveDir(dir);
 
         float speed = movement.speed();
@@ -78,7 +84,7 @@ public class WorldNavigationSystem {
         requireNonNull(actor);
         requireNonNull(dir);
 
-        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
         navigation.setWishDir(dir);
     }
 
@@ -89,7 +95,7 @@ public class WorldNavigationSystem {
     public void requestTurnBack(GameEntity actor) {
         requireNonNull(actor);
 
-        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
         navigation.setTurnBackRequested(true);
     }
 
@@ -106,16 +112,14 @@ public class WorldNavigationSystem {
         requireNonNull(actor);
 
         final PositionComp position = actor.pos();
-        final WorldNavigationComp worldNavigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp worldNavigation = actor.reqComp(WorldNavigationComp.TYPE);
 
-        final Vector2i currentTile = actor.pos().tile();
+        final int currentTile = position.packedTile();
 
         position.setX(tx * WorldMap.TS + ox);
         position.setY(ty * WorldMap.TS + oy);
 
-        final Vector2i newTile = actor.pos().tile();
-
-        worldNavigation.setNewTileEntered(!newTile.equals(currentTile));
+        worldNavigation.setNewTileEntered(position.packedTile() != currentTile);
     }
 
     /**
@@ -148,8 +152,8 @@ public class WorldNavigationSystem {
     public void setMoveDirSpeed(GameEntity actor, float speed) {
         requireNonNull(actor);
 
-        final MovementComp motor = actor.reqComp(MovementComp.class);
-        final Direction moveDir = actor.reqComp(WorldNavigationComp.class).moveDir();
+        final MovementComp motor = actor.reqComp(MovementComp.TYPE);
+        final Direction moveDir = actor.reqComp(WorldNavigationComp.TYPE).moveDir();
         motor.setVelocity(moveDir.vector().scaled(speed));
     }
 
@@ -158,25 +162,36 @@ public class WorldNavigationSystem {
         requireNonNull(level);
         requireNonNull(movementPolicy);
 
-        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
 
         if (!navigation.isNewTileEntered() && navigation.info().moved || navigation.targetTile() == null) {
             return; // we don't need no navigation, dim dit didit didit...
         }
 
-        final Vector2i currentTile = actor.pos().tile();
-        if (level.worldMap().terrainLayer().isTileInPortalSpace(currentTile)) {
+        final NavigationIndex navigationIndex = level.worldMap().terrainLayer().navigationIndex();
+        final int tileX = actor.pos().tileX(), tileY = actor.pos().tileY();
+        if (navigationIndex.isTileInPortalSpace(tileX, tileY)) {
             return;
         }
+        final Vector2i targetTile = navigation.targetTile();
+        // Path distances are only used if the target is reachable, e.g. scatter tiles are typically inside walls
+        final PathDistances pathDistances = navigation.isPathDistanceNavigation()
+            && navigationIndex.isInside(tileX, tileY) && navigationIndex.isInside(targetTile.x(), targetTile.y())
+            ? level.worldMap().terrainLayer().pathDistances() : null;
+        final boolean usingPathDistance = pathDistances != null
+            && pathDistances.distance(tileX, tileY, targetTile.x(), targetTile.y()) != PathDistances.UNREACHABLE;
+        final Direction reverseDir = navigation.moveDir().opposite();
         Direction candidateDir = null;
-        double minDistToTarget = Double.MAX_VALUE;
+        int minDistToTarget = Integer.MAX_VALUE; // path distance or squared distance (same order as euclidean distance)
         for (Direction dir : WorldNavigationComp.NAVIGATION_ORDER) {
-            if (dir == navigation.moveDir().opposite()) {
+            if (dir == reverseDir) {
                 continue; // reversing the move direction is not allowed  (except to get out of dead-ends, see below)
             }
-            final Vector2i neighborTile = currentTile.plus(dir.vector());
+            final Vector2i neighborTile = navigationIndex.neighborTile(tileX, tileY, dir);
             if (movementPolicy.canAccessTile(level, actor, neighborTile)) {
-                double dist = neighborTile.euclideanDist(navigation.targetTile());
+                final int dist = usingPathDistance
+                    ? pathDistanceOrMax(pathDistances, neighborTile, targetTile)
+                    : NavigationIndex.squaredDistance(neighborTile.x(), neighborTile.y(), targetTile.x(), targetTile.y());
                 if (dist < minDistToTarget) {
                     minDistToTarget = dist;
                     candidateDir = dir;
@@ -187,6 +202,11 @@ public class WorldNavigationSystem {
         setWishDir(actor, candidateDir != null ? candidateDir : navigation.moveDir().opposite());
     }
 
+    private static int pathDistanceOrMax(PathDistances pathDistances, Vector2i from, Vector2i to) {
+        final int dist = pathDistances.distance(from, to);
+        return dist != PathDistances.UNREACHABLE ? dist : Integer.MAX_VALUE - 1; // e.g. tile in portal space
+    }
+
     public <E extends GameEntity> void tryMovingTowardsTargetTile(
         MovementSystem motor,
         E actor,
@@ -199,7 +219,7 @@ public class WorldNavigationSystem {
         requireNonNull(targetTile);
         requireNonNull(movementPolicy);
 
-        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
         navigation.setTargetTile(targetTile);
         navigateTowardsTarget(actor, level, movementPolicy);
 
@@ -221,7 +241,7 @@ public class WorldNavigationSystem {
         requireNonNull(actor);
         requireNonNull(level);
 
-        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
 
         navigation.info().clear();
 
@@ -242,23 +262,25 @@ public class WorldNavigationSystem {
             setWishDir(actor, navigation.moveDir().opposite());
             navigation.setTurnBackRequested(false);
         }
-        tryMovingTowards(motor, actor, level, movementPolicy, actor.pos().tile(), navigation.wishDir());
+        tryMovingTowards(motor, actor, level, movementPolicy, actor.pos().packedTile(), navigation.wishDir());
         if (navigation.info().moved) {
             setMoveDir(actor, navigation.wishDir());
         } else {
-            tryMovingTowards(motor, actor, level, movementPolicy, actor.pos().tile(), navigation.moveDir());
+            tryMovingTowards(motor, actor, level, movementPolicy, actor.pos().packedTile(), navigation.moveDir());
         }
     }
 
     private boolean tryTeleporting(GameEntity actor, TerrainLayer terrain) {
-        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
 
         if (navigation.moveDir().isHorizontal()) {
-            return terrain.horizontalPortals().stream()
-                .filter(portal -> portal.tileY() == actor.pos().tile().y())
-                .findFirst()
-                .map(portal -> portal.tryTeleporting(this, actor))
-                .orElse(false);
+            final int tileY = actor.pos().tileY();
+            for (HPortal portal : terrain.horizontalPortals()) {
+                if (portal.tileY() == tileY) {
+                    return portal.tryTeleporting(this, actor);
+                }
+            }
+            return false;
         }
         return false; // no vertical teleporting yet
     }
@@ -268,22 +290,29 @@ public class WorldNavigationSystem {
         E actor,
         GameLevel level,
         WorldMovementPolicy<E> movementPolicy,
-        Vector2i tileBeforeMoving,
+        int tileBeforeMoving,
         Direction dir)
     {
-        final MovementComp movement = actor.reqComp(MovementComp.class);
-        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+        final MovementComp movement = actor.reqComp(MovementComp.TYPE);
+        final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
+
+        final NavigationIndex navigationIndex = level.worldMap().terrainLayer().navigationIndex();
+        final PositionComp position = actor.pos();
+        final Vector2i dirVector = dir.vector();
 
-        final Vector2f newVelocity = dir.vector().scaled(movement.speed());
-        final Vector2f touchPosition = actor.pos().bodyCenter().plus(dir.vector().scaled((float) WorldMap.HTS)).plus(newVelocity);
-        final Vector2i touchedTile = PositionSystem.computeTileAt(touchPosition);
-        final boolean turn = dir.vector().isOrthogonalTo(navigation.moveDir().vector());
+        final Vector2f newVelocity = dirVector.scaled(movement.speed());
+        // body center + half tile towards direction + velocity
+        final float touchX = position.x() + PositionSystem.HALF_TILE_SIZE + WorldMap.HTS * dirVector.x() + newVelocity.x();
+        final float touchY = position.y() + PositionSystem.HALF_TILE_SIZE + WorldMap.HTS * dirVector.y() + newVelocity.y();
+        final Vector2i touchedTile = navigationIndex.tileAt(
+            PositionSystem.computeTileCoordinate(touchX), PositionSystem.computeTileCoordinate(touchY));
+        final boolean turn = dirVector.isOrthogonalTo(navigation.moveDir().vector());
 
         if (!movementPolicy.canAccessTile(level, actor, touchedTile)) {
             if (!turn) {
-                placeAtTile(actor, actor.pos().tile()); // adjust over tile (would move forward against wall)
+                placeAtTile(actor, position.tileX(), position.tileY()); // adjust over tile (would move forward against wall)
             }
-            Logger.debug("Cannot move %s into tile %s".formatted(dir, touchedTile));
+            Logger.debug("Cannot move {} into tile {}", dir, touchedTile);
             return;
         }
 
@@ -292,9 +321,9 @@ public class WorldNavigationSystem {
             final float offset = dir.isHorizontal() ? tileOffset.y() : tileOffset.x();
             final boolean atTurnPosition = Math.abs(offset) <= 1;
             if (atTurnPosition) {
-                placeAtTile(actor, actor.pos().tile()); // adjust over tile (starts moving around corner)
+                placeAtTile(actor, position.tileX(), position.tileY()); // adjust over tile (starts moving around corner)
             } else {
-                Logger.debug("Wants to take corner towards %s but not at turn position".formatted(dir));
+                Logger.debug("Wants to take corner towards {} but not at turn position", dir);
                 return;
             }
         }
@@ -311,22 +340,23 @@ public class WorldNavigationSystem {
             motor.move(actor);
         }
 
-        final Vector2i tileAfterMoving = actor.pos().tile();
-        navigation.setNewTileEntered(!tileBeforeMoving.equals(tileAfterMoving));
+        final int tileAfterMoving = position.packedTile();
+        navigation.setNewTileEntered(tileBeforeMoving != tileAfterMoving);
 
         navigation.info().moved = true;
 
-        final TerrainLayer terrainLayer = level.worldMap().terrainLayer();
+        final int beforeX = PackedTile.x(tileBeforeMoving), beforeY = PackedTile.y(tileBeforeMoving);
+        final int afterX = PackedTile.x(tileAfterMoving), afterY = PackedTile.y(tileAfterMoving);
 
-        navigation.info().tunnelEntered = terrainLayer.isTunnel(tileAfterMoving)
-            && !terrainLayer.isTunnel(tileBeforeMoving)
-            && !terrainLayer.isTileInPortalSpace(tileBeforeMoving);
+        navigation.info().tunnelEntered = navigationIndex.isTunnel(afterX, afterY)
+            && !navigationIndex.isTunnel(beforeX, beforeY)
+            && !navigationIndex.isTileInPortalSpace(beforeX, beforeY);
 
-        navigation.info().tunnelLeft = !terrainLayer.isTunnel(tileAfterMoving)
-            && terrainLayer.isTunnel(tileBeforeMoving)
-            && !terrainLayer.isTileInPortalSpace(tileAfterMoving);
+        navigation.info().tunnelLeft = !navigationIndex.isTunnel(afterX, afterY)
+            && navigationIndex.isTunnel(beforeX, beforeY)
+            && !navigationIndex.isTileInPortalSpace(afterX, afterY);
 
-        Logger.debug("%5s (%.2f pixels)".formatted(dir, newVelocity.length()));
+        Logger.debug("{} ({0.00} pixels)", dir, newVelocity.length());
         if (navigation.info().tunnelEntered) {
             Logger.trace("{} entered tunnel", actor.name());
         }
@@ -13,12 +13,12 @@ public class Bag extends GameEntity {
 
     public Bag() {
         setName("Birkin");
-        setComp(MovementComp.class, new MovementComp());
+        setComp(MovementComp.TYPE, new MovementComp());
         setComp(SpriteAnimationComp.class, new SpriteAnimationComp());
     }
 
     public MovementComp movement() {
-        return reqComp(MovementComp.class);
+        return reqComp(MovementComp.TYPE);
     }
 
     public SpriteAnimationComp spriteAnim() {
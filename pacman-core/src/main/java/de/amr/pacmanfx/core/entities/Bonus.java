@@ -40,11 +40,11 @@ public final class Bonus extends GameEntity {
         setComp(BonusStateComp.class, new BonusStateComp());
 
         if (moving) {
-            setComp(MovementComp.class, new MovementComp());
+            setComp(MovementComp.TYPE, new MovementComp());
 
             final WorldNavigationComp worldNavigation = new WorldNavigationComp();
             worldNavigation.setCanTeleport(false);
-            setComp(WorldNavigationComp.class, worldNavigation);
+            setComp(WorldNavigationComp.TYPE, worldNavigation);
 
             setComp(BonusMoveAndJumpComp.class, new BonusMoveAndJumpComp());
         }
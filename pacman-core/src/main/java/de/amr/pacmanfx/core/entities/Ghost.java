@@ -26,8 +26,8 @@ public final class Ghost extends GameEntity {
         this.personality = requireNonNull(personality);
         setName(name);
 
-        setComp(MovementComp.class, new MovementComp());
-        setComp(WorldNavigationComp.class, new WorldNavigationComp());
+        setComp(MovementComp.TYPE, new MovementComp());
+        setComp(WorldNavigationComp.TYPE, new WorldNavigationComp());
         setComp(GhostWorldInfoComp.class, new GhostWorldInfoComp());
         setComp(GhostStateComp.class, new GhostStateComp());
         setComp(GhostAnimationSelectionComp.class, new GhostAnimationSelectionComp());
@@ -44,11 +44,11 @@ public final class Ghost extends GameEntity {
     // Typed component accessors
 
     public MovementComp movement() {
-        return reqComp(MovementComp.class);
+        return reqComp(MovementComp.TYPE);
     }
 
     public WorldNavigationComp worldNavigation() {
-        return reqComp(WorldNavigationComp.class);
+        return reqComp(WorldNavigationComp.TYPE);
     }
 
     public GhostWorldInfoComp worldInfo() {
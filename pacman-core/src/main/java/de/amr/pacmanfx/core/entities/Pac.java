@@ -24,8 +24,8 @@ public final class Pac extends GameEntity {
     public Pac(String name) {
         this.name = requireNonNull(name);
 
-        setComp(MovementComp.class, new MovementComp());
-        setComp(WorldNavigationComp.class, new WorldNavigationComp());
+        setComp(MovementComp.TYPE, new MovementComp());
+        setComp(WorldNavigationComp.TYPE, new WorldNavigationComp());
         setComp(SteeringComp.class, new SteeringComp<Pac>());
         setComp(PacDigestionComp.class, new PacDigestionComp());
         setComp(PacPowerComp.class, new PacPowerComp());
@@ -36,11 +36,11 @@ public final class Pac extends GameEntity {
     }
 
     public MovementComp movement() {
-        return reqComp(MovementComp.class);
+        return reqComp(MovementComp.TYPE);
     }
 
     public WorldNavigationComp worldNavigation() {
-        return reqComp(WorldNavigationComp.class);
+        return reqComp(WorldNavigationComp.TYPE);
     }
 
     @SuppressWarnings("unchecked")
@@ -81,7 +81,7 @@ public class BonusMoveAndJumpSystem {
     private void jump(Bonus bonus) {
         requireNonNull(bonus);
 
-        final WorldNavigationComp worldNavigation = bonus.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp worldNavigation = bonus.reqComp(WorldNavigationComp.TYPE);
         final BonusMoveAndJumpComp moveAndJump = bonus.reqComp(BonusMoveAndJumpComp.class);
 
         final Pulse pulse = moveAndJump.jumpPulse();
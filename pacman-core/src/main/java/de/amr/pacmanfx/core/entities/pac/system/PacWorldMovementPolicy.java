@@ -18,7 +18,7 @@ public class PacWorldMovementPolicy implements WorldMovementPolicy<Pac> {
 
     @Override
     public boolean canTurnBack(Pac pac) {
-        final WorldNavigationComp worldNavigation = pac.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp worldNavigation = pac.reqComp(WorldNavigationComp.TYPE);
         return worldNavigation.isNewTileEntered();
     }
 
@@ -14,12 +14,12 @@ public class Stork extends GameEntity {
 
     public Stork() {
         setName("Beatrix von");
-        setComp(MovementComp.class, new MovementComp());
+        setComp(MovementComp.TYPE, new MovementComp());
         setComp(SpriteAnimationComp.class, new SpriteAnimationComp());
     }
 
     public MovementComp movement() {
-        return reqComp(MovementComp.class);
+        return reqComp(MovementComp.TYPE);
     }
 
     public SpriteAnimationComp spriteAnim() {
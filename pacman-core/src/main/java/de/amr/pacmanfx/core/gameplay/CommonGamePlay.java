@@ -38,6 +38,7 @@ import de.amr.pacmanfx.core.level.GameLevelMessageType;
 import de.amr.pacmanfx.core.model.rules.GameRules;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.core.steering.RuleGuidedPacSteering;
 import org.tinylog.Logger;
 
 import java.io.File;
@@ -71,6 +72,8 @@ public abstract class CommonGamePlay implements GamePlay {
             level.entities().house(),
             systems);
 
+        applyPathDistanceNavigation(level, game.session().isPathDistanceNavigation());
+
         // Blinking energizers are visible when state is ON
         level.heartbeat().setStartState(Pulse.State.ON);
         level.heartbeat().reset();
@@ -342,6 +345,13 @@ public abstract class CommonGamePlay implements GamePlay {
         });
     }
 
+    private void applyPathDistanceNavigation(GameLevel level, boolean enabled) {
+        level.entities().ghosts().forEach(ghost -> ghost.reqComp(WorldNavigationComp.TYPE).setPathDistanceNavigation(enabled));
+        if (level.entities().pac().autoSteering().steering() instanceof RuleGuidedPacSteering pacSteering) {
+            pacSteering.setUsingPathDistances(enabled);
+        }
+    }
+
     protected void initScores(GameSession session) {
         session.score().reset();
         final File highScoreFile = session.highScore().reqComp(ScorePersistencyComp.class).file();
@@ -13,6 +13,8 @@ import de.amr.pacmanfx.core.entities.Pac;
 import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.level.GameLevelMessageType;
 
+import java.util.Map;
+
 public interface GamePlay {
 
     void startSession(GameContext game);
@@ -58,4 +60,34 @@ public interface GamePlay {
     // Scoring
 
     void scorePoints(GameContext game, int points, int levelNumber);
+
+    // Replays
+
+    /**
+     * @param game the game context
+     * @return the variant-specific session options influencing the gameplay (e.g. difficulty), stored in replays
+     */
+    default Map<String, String> sessionOptions(GameContext game) {
+        return Map.of();
+    }
+
+    /**
+     * Restores the session options stored in a replay, see {@link #sessionOptions(GameContext)}.
+     *
+     * @param game the game context, the session has already been started
+     * @param options the session options
+     * @throws IllegalArgumentException if an option is missing or invalid
+     */
+    default void applySessionOptions(GameContext game, Map<String, String> options) {}
+
+    /**
+     * Executes a variant-specific action recorded in a replay, e.g. switching a booster on.
+     *
+     * @param game the game context
+     * @param action the recorded action
+     * @throws IllegalArgumentException if the action is unknown
+     */
+    default void executeReplayAction(GameContext game, String action) {
+        throw new IllegalArgumentException("Unknown replay action '%s'".formatted(action));
+    }
 }
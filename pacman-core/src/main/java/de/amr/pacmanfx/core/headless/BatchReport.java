@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.headless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Summary of a batch of headless games.
+ *
+ * @param outcomes      the outcome of each game in batch order
+ * @param totalTicks    number of ticks simulated over all games
+ * @param elapsedNanos  wall-clock time of the batch in nanoseconds
+ */
+public record BatchReport(List<GameOutcome> outcomes, long totalTicks, long elapsedNanos) {
+
+    public BatchReport {
+        outcomes = List.copyOf(outcomes);
+    }
+
+    public double ticksPerSecond() {
+        return elapsedNanos > 0 ? totalTicks * 1e9 / elapsedNanos : 0;
+    }
+
+    public double averageScore() {
+        return outcomes.stream().mapToInt(GameOutcome::score).average().orElse(0);
+    }
+
+    public int maxLevelNumber() {
+        return outcomes.stream().mapToInt(GameOutcome::levelNumber).max().orElse(0);
+    }
+
+    /**
+     * @param binWidth score range covered by one bin
+     * @return histogram of the final scores
+     */
+    public Histogram scoreHistogram(int binWidth) {
+        return Histogram.of("Score", outcomes.stream().mapToInt(GameOutcome::score), binWidth);
+    }
+
+    /**
+     * @return histogram of the level numbers where the games ended
+     */
+    public Histogram levelHistogram() {
+        return Histogram.of("Level", outcomes.stream().mapToInt(GameOutcome::levelNumber), 1);
+    }
+
+    /**
+     * @return histogram of the number of lives lost per game
+     */
+    public Histogram livesLostHistogram() {
+        return Histogram.of("Lives lost", outcomes.stream().mapToInt(GameOutcome::livesLost), 1);
+    }
+
+    public List<String> asText() {
+        final var lines = new ArrayList<String>();
+        outcomes.forEach(outcome -> lines.add(outcome.toString()));
+        lines.add("%d games, %d ticks in %.2f sec = %.0f ticks/sec, average score %.1f, max level %d".formatted(
+            outcomes.size(), totalTicks, elapsedNanos / 1e9, ticksPerSecond(), averageScore(), maxLevelNumber()));
+        return lines;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.headless;
+
+/**
+ * Result of a single game simulated by the {@link HeadlessGameRunner}.
+ *
+ * @param gameIndex         index of the game inside the batch (starting with 0)
+ * @param score             final score
+ * @param levelNumber       number of the level where the game ended
+ * @param levelsCompleted   number of completed levels
+ * @param livesLost         number of times Pac-Man died
+ * @param ticks             number of simulated ticks
+ * @param tickLimitReached  {@code true} if the game was aborted because the tick limit was reached
+ */
+public record GameOutcome(
+    int gameIndex,
+    int score,
+    int levelNumber,
+    int levelsCompleted,
+    int livesLost,
+    long ticks,
+    boolean tickLimitReached)
+{
+    @Override
+    public String toString() {
+        return "Game #%d: score=%d, level=%d, levels completed=%d, lives lost=%d, ticks=%d%s".formatted(
+            gameIndex, score, levelNumber, levelsCompleted, livesLost, ticks, tickLimitReached ? " (tick limit)" : "");
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.headless;
+
+import de.amr.basics.fsm.State;
+import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.GameSession;
+import de.amr.pacmanfx.core.HeadlessGameClock;
+import de.amr.pacmanfx.core.event.base.DefaultGameEventListener;
+import de.amr.pacmanfx.core.event.pac.PacDeadEvent;
+import de.amr.pacmanfx.core.gamestate.CommonGameStateID;
+import de.amr.pacmanfx.core.gamestate.GameFlowController;
+import de.amr.pacmanfx.core.level.GameLevel;
+import de.amr.pacmanfx.core.model.GameCheats;
+import de.amr.pacmanfx.core.replay.ReplayRecorder;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs complete autopilot games of a game variant without any UI, as fast as possible.
+ * <p>
+ * Each tick does exactly what the UI simulation does (new frame state, update of the game flow state machine), but
+ * ticks are driven by a {@link HeadlessGameClock} in a tight loop instead of a JavaFX timeline. The states which
+ * normally wait for the UI (level complete flashing, Pac-Man dying animation, intermissions) are ended by this runner
+ * when the UI would have ended them.
+ * <p>
+ * The game flow must contain the {@link CommonGameStateID common game states} used by the Arcade game variants.
+ */
+public class HeadlessGameRunner {
+
+    /** One hour of game time at 60Hz. Protects against games that never end (e.g. immune Pac-Man). */
+    public static final long DEFAULT_MAX_TICKS_PER_GAME = 60L * 60 * 60;
+
+    private class UIStandIn implements DefaultGameEventListener {
+
+        @Override
+        public void onPacDead(PacDeadEvent e) {
+            // End of dying animation
+            ++livesLost;
+            game.state().triggerTimeout();
+        }
+    }
+
+    private final String variantName;
+    private final GameContext game;
+    private final HeadlessGameClock clock = new HeadlessGameClock();
+
+    private long maxTicksPerGame = DEFAULT_MAX_TICKS_PER_GAME;
+    private int maxLevelNumber = Integer.MAX_VALUE;
+    private boolean pathDistanceNavigation;
+
+    private long gameStartTick;
+    private int levelsCompleted;
+    private int livesLost;
+    private boolean gameOver;
+    private boolean tickLimitReached;
+    private Throwable failure;
+
+    /**
+     * @param variantName name of the game variant, used e.g. for the high score file of the session
+     * @param game game context. Its event manager and game flow get listeners attached by this runner.
+     */
+    public HeadlessGameRunner(String variantName, GameContext game) {
+        this.variantName = requireNonNull(variantName);
+        this.game = requireNonNull(game);
+
+        game.eventManager().addGameEventSubscriber(new UIStandIn());
+        game.variant().gameFlow().addStateChangeListener(this::onGameStateChange);
+
+        clock.setUpdateAction(this::simulate);
+        clock.setErrorHandler(x -> {
+            failure = x;
+            clock.stop();
+        });
+    }
+
+    public HeadlessGameClock clock() {
+        return clock;
+    }
+
+    public void setMaxTicksPerGame(long maxTicksPerGame) {
+        if (maxTicksPerGame <= 0) {
+            throw new IllegalArgumentException("Max ticks per game must be positive but is %d".formatted(maxTicksPerGame));
+        }
+        this.maxTicksPerGame = maxTicksPerGame;
+    }
+
+    /**
+     * @param maxLevelNumber games are ended when a level with a higher number would be started
+     */
+    public void setMaxLevelNumber(int maxLevelNumber) {
+        if (maxLevelNumber < 1) {
+            throw new IllegalArgumentException("Max level number must be positive but is %d".formatted(maxLevelNumber));
+        }
+        this.maxLevelNumber = maxLevelNumber;
+    }
+
+    /**
+     * @param pathDistanceNavigation if ghosts and the autopilot navigate by path distances,
+     *                               see {@link GameSession#setPathDistanceNavigation(boolean)}
+     */
+    public void setPathDistanceNavigation(boolean pathDistanceNavigation) {
+        this.pathDistanceNavigation = pathDistanceNavigation;
+    }
+
+    /**
+     * Runs the given number of games one after another on the calling thread.
+     *
+     * @param numGames number of games
+     * @return report with the outcome of each game and the tick rate
+     */
+    public BatchReport runGames(int numGames) {
+        if (numGames < 0) {
+            throw new IllegalArgumentException("Number of games must not be negative but is %d".formatted(numGames));
+        }
+        final List<GameOutcome> outcomes = new ArrayList<>(numGames);
+        final long ticksBefore = clock.currentTick();
+        final long startTime = System.nanoTime();
+        for (int i = 0; i < numGames; ++i) {
+            outcomes.add(runGame(i));
+        }
+        return new BatchReport(outcomes, clock.currentTick() - ticksBefore, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Runs a single autopilot game until it is over or a limit is reached.
+     *
+     * @param gameIndex index of the game, only used for the outcome
+     * @return the game outcome
+     */
+    public GameOutcome runGame(int gameIndex) {
+        startGame();
+        clock.start(); // returns when game is over
+        if (failure != null) {
+            throw new IllegalStateException("Headless game %d failed".formatted(gameIndex), failure);
+        }
+        final GameSession session = game.session();
+        final int levelNumber = session.optLevel().map(GameLevel::number).orElse(0);
+        return new GameOutcome(
+            gameIndex,
+            session.score().data().points(),
+            levelNumber,
+            levelsCompleted,
+            livesLost,
+            clock.currentTick() - gameStartTick,
+            tickLimitReached);
+    }
+
+    private void startGame() {
+        final GameFlowController gameFlow = game.variant().gameFlow();
+
+        gameStartTick = clock.currentTick();
+        levelsCompleted = 0;
+        livesLost = 0;
+        gameOver = false;
+        tickLimitReached = false;
+        failure = null;
+
+        game.setSession(new GameSession(variantName, new GameCheats()));
+        game.variant().gamePlay().startSession(game);
+
+        final GameSession session = game.session();
+        session.setCutScenesEnabled(false);
+        session.setPathDistanceNavigation(pathDistanceNavigation);
+        session.cheats().pacUsingAutopilotProperty().set(true);
+
+        game.coinMechanism().insertCoin();
+        gameFlow.enterGameState(game, CommonGameStateID.GAME_STARTING);
+    }
+
+    private void simulate() {
+        final ReplayRecorder recorder = game.optReplayRecorder().orElse(null);
+        game.session().newFrameState(clock.currentTick());
+        if (recorder != null) recorder.beforeTick(game);
+        game.variant().gameFlow().update(game);
+        if (recorder != null) recorder.afterTick(game);
+        if (clock.currentTick() - gameStartTick >= maxTicksPerGame) {
+            Logger.warn("Headless game aborted after {} ticks", maxTicksPerGame);
+            tickLimitReached = true;
+        }
+        if (gameOver || tickLimitReached) {
+            clock.stop();
+        }
+    }
+
+    private void onGameStateChange(State<GameContext> oldState, State<GameContext> newState) {
+        if (CommonGameStateID.GAME_LEVEL_COMPLETE.hasSameNameAs(newState)) {
+            // Skip level flashing animation
+            ++levelsCompleted;
+            final int levelNumber = game.session().level().number();
+            if (levelNumber >= maxLevelNumber || levelNumber >= game.variant().rules().lastLevelNumber()) {
+                gameOver = true;
+            }
+            newState.triggerTimeout();
+        }
+        else if (CommonGameStateID.GAME_LEVEL_INTERMISSION.hasSameNameAs(newState)) {
+            newState.triggerTimeout();
+        }
+        else if (CommonGameStateID.GAME_OVER.hasSameNameAs(newState)) {
+            gameOver = true;
+        }
+    }
+}
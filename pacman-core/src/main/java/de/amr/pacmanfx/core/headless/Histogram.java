@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.headless;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Frequency distribution of integer values, e.g. the scores of a batch of headless games.
+ *
+ * @param title     title used in the text representation
+ * @param binWidth  width of each bin, bin {@code k} counts the values in {@code [k*binWidth, (k+1)*binWidth)}
+ * @param counts    number of values per bin, keyed by the lower bound of the bin
+ */
+public record Histogram(String title, int binWidth, SortedMap<Integer, Integer> counts) {
+
+    private static final int MAX_BAR_LENGTH = 50;
+
+    /**
+     * @param title     histogram title
+     * @param values    the values to count
+     * @param binWidth  bin width (positive)
+     * @return histogram of the given values
+     */
+    public static Histogram of(String title, IntStream values, int binWidth) {
+        if (binWidth <= 0) {
+            throw new IllegalArgumentException("Bin width must be positive but is %d".formatted(binWidth));
+        }
+        final var counts = new TreeMap<Integer, Integer>();
+        values.forEach(value -> counts.merge(Math.floorDiv(value, binWidth) * binWidth, 1, Integer::sum));
+        return new Histogram(title, binWidth, Collections.unmodifiableSortedMap(counts));
+    }
+
+    public List<String> asText() {
+        final var lines = new ArrayList<String>();
+        lines.add(title + ":");
+        final int maxCount = counts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        counts.forEach((lowerBound, count) -> {
+            final String label = binWidth == 1
+                ? String.valueOf(lowerBound)
+                : "%d-%d".formatted(lowerBound, lowerBound + binWidth - 1);
+            final int barLength = Math.max(1, count * MAX_BAR_LENGTH / maxCount);
+            lines.add("%15s | %s %d".formatted(label, "#".repeat(barLength), count));
+        });
+        return lines;
+    }
+}
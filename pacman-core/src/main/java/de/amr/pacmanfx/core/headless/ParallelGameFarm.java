@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.headless;
+
+import de.amr.pacmanfx.core.GameContext;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs many autopilot games concurrently, each one in its own isolated game context.
+ * <p>
+ * For each game, the context factory is called on the worker thread running the game. The created context must not
+ * share mutable state with any other context: it needs its own game systems, game play, game flow (with its own state
+ * instances), rules, world map manager and event manager. Random numbers are thread-safe (each worker thread uses
+ * its own generator), so games do not contend on a shared generator.
+ * <p>
+ * Games are distributed over a fork-join pool, by default using all available processors.
+ */
+public class ParallelGameFarm {
+
+    private final String variantName;
+    private final Supplier<GameContext> contextFactory;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long maxTicksPerGame = HeadlessGameRunner.DEFAULT_MAX_TICKS_PER_GAME;
+    private int maxLevelNumber = Integer.MAX_VALUE;
+    private boolean pathDistanceNavigation;
+
+    /**
+     * @param variantName    name of the game variant
+     * @param contextFactory creates a new, isolated game context for each game
+     */
+    public ParallelGameFarm(String variantName, Supplier<GameContext> contextFactory) {
+        this.variantName = requireNonNull(variantName);
+        this.contextFactory = requireNonNull(contextFactory);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism maximum number of games running at the same time
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive but is %d".formatted(parallelism));
+        }
+        this.parallelism = parallelism;
+    }
+
+    public void setMaxTicksPerGame(long maxTicksPerGame) {
+        if (maxTicksPerGame <= 0) {
+            throw new IllegalArgumentException("Max ticks per game must be positive but is %d".formatted(maxTicksPerGame));
+        }
+        this.maxTicksPerGame = maxTicksPerGame;
+    }
+
+    public void setMaxLevelNumber(int maxLevelNumber) {
+        if (maxLevelNumber < 1) {
+            throw new IllegalArgumentException("Max level number must be positive but is %d".formatted(maxLevelNumber));
+        }
+        this.maxLevelNumber = maxLevelNumber;
+    }
+
+    /**
+     * @param pathDistanceNavigation if ghosts and the autopilot navigate by path distances,
+     *                               see {@link HeadlessGameRunner#setPathDistanceNavigation(boolean)}
+     */
+    public void setPathDistanceNavigation(boolean pathDistanceNavigation) {
+        this.pathDistanceNavigation = pathDistanceNavigation;
+    }
+
+    /**
+     * Runs the given number of games and waits until all are finished.
+     *
+     * @param numGames number of games
+     * @return report with the outcome of each game (in game index order) and the overall tick rate
+     */
+    public BatchReport runGames(int numGames) {
+        if (numGames < 0) {
+            throw new IllegalArgumentException("Number of games must not be negative but is %d".formatted(numGames));
+        }
+        final List<Callable<GameOutcome>> tasks = new ArrayList<>(numGames);
+        for (int i = 0; i < numGames; ++i) {
+            final int gameIndex = i;
+            tasks.add(() -> runIsolatedGame(gameIndex));
+        }
+        Logger.info("Running {} {} games using {} threads", numGames, variantName, parallelism);
+        final long startTime = System.nanoTime();
+        final List<GameOutcome> outcomes = new ArrayList<>(numGames);
+        try (var pool = new ForkJoinPool(parallelism)) {
+            for (Future<GameOutcome> future : pool.invokeAll(tasks)) {
+                outcomes.add(future.get());
+            }
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Game farm has been interrupted", x);
+        } catch (ExecutionException x) {
+            throw new IllegalStateException("Game farm failed", x.getCause());
+        }
+        final long elapsed = System.nanoTime() - startTime;
+        final long totalTicks = outcomes.stream().mapToLong(GameOutcome::ticks).sum();
+        return new BatchReport(outcomes, totalTicks, elapsed);
+    }
+
+    private GameOutcome runIsolatedGame(int gameIndex) {
+        final var runner = new HeadlessGameRunner(variantName, contextFactory.get());
+        runner.setMaxTicksPerGame(maxTicksPerGame);
+        runner.setMaxLevelNumber(maxLevelNumber);
+        runner.setPathDistanceNavigation(pathDistanceNavigation);
+        return runner.runGame(gameIndex);
+    }
+}
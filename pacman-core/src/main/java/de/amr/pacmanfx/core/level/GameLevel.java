@@ -12,6 +12,7 @@ import de.amr.pacmanfx.core.model.world.map.WorldMap;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 import static de.amr.pacmanfx.core.Validations.requireValidLevelNumber;
 import static java.util.Objects.requireNonNull;
@@ -35,11 +36,22 @@ public class GameLevel {
 
     private final FoodState foodState;
 
-    public GameLevel(int number, WorldMap worldMap, GameLevelEntitySet entities, HuntingTimerStrategy huntingTimerStrategy) {
+    private final RandomGenerator random;
+
+    /**
+     * @param number level number (starting with 1)
+     * @param worldMap the world map of this level
+     * @param entities the entities of this level
+     * @param huntingTimerStrategy the timer strategy for the hunting phases
+     * @param random the random generator of the game logic, see {@link de.amr.pacmanfx.core.GameContext#random()}
+     */
+    public GameLevel(int number, WorldMap worldMap, GameLevelEntitySet entities, HuntingTimerStrategy huntingTimerStrategy,
+                     RandomGenerator random) {
         this.number = requireValidLevelNumber(number);
         this.worldMap = requireNonNull(worldMap);
         this.entities = requireNonNull(entities);
         this.huntingTimerStrategy = requireNonNull(huntingTimerStrategy);
+        this.random = requireNonNull(random);
 
         foodState = new FoodState(worldMap.foodLayer());
 
@@ -53,6 +65,13 @@ public class GameLevel {
         return foodState;
     }
 
+    /**
+     * @return the random generator used by the game logic in this level
+     */
+    public RandomGenerator random() {
+        return random;
+    }
+
     /**
      * @return level number (starting with 1)
      */
@@ -5,14 +5,31 @@
 package de.amr.pacmanfx.core.model;
 
 import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.entities.Ghost;
 import de.amr.pacmanfx.core.entities.Pac;
+import de.amr.pacmanfx.core.entities.ghost.comp.GhostState;
+import de.amr.pacmanfx.core.entities.livescounter.system.LivesCounterSystem;
+import de.amr.pacmanfx.core.event.pac.PacEatsFoodEvent;
+import de.amr.pacmanfx.core.gamestate.CommonGameStateID;
 import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.GameSession;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
 public class GameCheats {
 
+    /**
+     * Cheats changing the game state. Executed cheats are recorded in replays under their name.
+     */
+    public enum Cheat {
+        ADD_LIVES, EAT_ALL_PELLETS, KILL_GHOSTS, ENTER_NEXT_LEVEL,
+        AUTOPILOT_ON, AUTOPILOT_OFF, IMMUNITY_ON, IMMUNITY_OFF
+    }
+
     private final BooleanProperty cheatUsed = new SimpleBooleanProperty(false);
 
     private final BooleanProperty pacImmune = new SimpleBooleanProperty(false);
@@ -51,6 +68,52 @@ public class GameCheats {
         pacUsingAutopilotProperty().set(false);
     }
 
+    /**
+     * Executes the given cheat in the current game level. Cheats changing the game state are recorded if a replay
+     * recorder is attached, changes of the autopilot and immunity properties are recorded by the recorder itself.
+     *
+     * @param game the game context
+     * @param cheat the cheat
+     */
+    public void execute(GameContext game, Cheat cheat) {
+        requireNonNull(game);
+        requireNonNull(cheat);
+        final GameSession session = game.session();
+        switch (cheat) {
+            case ADD_LIVES -> LivesCounterSystem.addLives(session.livesCounter(), 3);
+            case EAT_ALL_PELLETS -> {
+                final GameLevel level = session.level();
+                level.food().eatPellets();
+                game.eventManager().publishGameEvent(
+                    new PacEatsFoodEvent(level.entities().pac(), false, true, session.thisFrame().tick()));
+            }
+            case KILL_GHOSTS -> {
+                final GameLevel level = session.level();
+                final List<Ghost> killableGhosts = level.entities().ghosts().stream()
+                    .filter(ghost -> GhostState.FRIGHTENED == ghost.state().enumValue()
+                        || GhostState.HUNTING_PAC == ghost.state().enumValue())
+                    .toList();
+                if (!killableGhosts.isEmpty()) {
+                    level.clearGhostKillChain(); // start again with lowest number for killing ghost
+                    killableGhosts.forEach(ghost -> game.variant().gamePlay().onEatGhost(game, level, ghost));
+                    game.variant().gameFlow().enterGameState(game, CommonGameStateID.GAME_LEVEL_EATING_GHOST);
+                }
+            }
+            case ENTER_NEXT_LEVEL -> game.variant().gameFlow().enterGameState(game, CommonGameStateID.GAME_LEVEL_COMPLETE);
+            case AUTOPILOT_ON  -> pacUsingAutopilot.set(true);
+            case AUTOPILOT_OFF -> pacUsingAutopilot.set(false);
+            case IMMUNITY_ON   -> pacImmune.set(true);
+            case IMMUNITY_OFF  -> pacImmune.set(false);
+        }
+        switch (cheat) {
+            case ADD_LIVES, EAT_ALL_PELLETS, KILL_GHOSTS, ENTER_NEXT_LEVEL -> {
+                notifyCheatUsed();
+                game.optReplayRecorder().ifPresent(recorder -> recorder.recordAction(cheat.name()));
+            }
+            default -> {}
+        }
+    }
+
     public void update(GameContext game) {
         final GameSession session = game.session();
         final GameLevel level = session.level();
@@ -9,6 +9,7 @@ import de.amr.pacmanfx.core.level.GameLevel;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.random.RandomGenerator;
 
 public interface GameRules {
 
@@ -39,7 +40,12 @@ public interface GameRules {
         return 0;
     }
 
-    List<Integer> bonusSymbols(int levelNumber);
+    /**
+     * @param levelNumber level number
+     * @param rng random generator of the game logic, used by variants where bonus symbols are chosen randomly
+     * @return the codes of the bonus symbols of the level
+     */
+    List<Integer> bonusSymbols(int levelNumber, RandomGenerator rng);
 
     float eatenBonusDisplaySeconds();
 
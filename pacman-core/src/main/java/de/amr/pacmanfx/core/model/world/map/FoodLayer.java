@@ -5,6 +5,7 @@ package de.amr.pacmanfx.core.model.world.map;
 
 import de.amr.basics.math.Vector2i;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -14,24 +15,38 @@ import static de.amr.pacmanfx.core.model.world.map.FoodTile.ENERGIZER;
 public final class FoodLayer extends WorldMapLayer {
 
     private final Set<Vector2i> energizerTiles;
+    // energizer lookup by tile index (row-by-row), avoids hashing of tile objects
+    private final BitSet energizerBits;
 
     public FoodLayer(int numRows, int numCols) {
         super(numRows, numCols);
         energizerTiles = tilesContaining(ENERGIZER.$).collect(Collectors.toSet());
+        energizerBits = new BitSet(numRows * numCols);
+        forEachTileIndexContaining(ENERGIZER.$, energizerBits::set);
     }
 
     public FoodLayer(FoodLayer layer) {
         super(layer);
         energizerTiles = tilesContaining(ENERGIZER.$).collect(Collectors.toSet());
+        energizerBits = new BitSet(numRows() * numCols());
+        forEachTileIndexContaining(ENERGIZER.$, energizerBits::set);
     }
 
     public Set<Vector2i> energizerTiles() { return Collections.unmodifiableSet(energizerTiles); }
 
     public boolean isEnergizerTile(Vector2i tile) {
-        return !outOfBounds(tile) && energizerTiles.contains(tile);
+        return isEnergizerTile(tile.x(), tile.y());
+    }
+
+    public boolean isEnergizerTile(int x, int y) {
+        return !outOfBounds(y, x) && energizerBits.get(indexInRowWiseOrder(x, y));
     }
 
     public boolean isFoodTile(Vector2i tile) {
-        return !outOfBounds(tile) && content(tile) != FoodTile.EMPTY.$;
+        return isFoodTile(tile.x(), tile.y());
+    }
+
+    public boolean isFoodTile(int x, int y) {
+        return !outOfBounds(y, x) && content(y, x) != FoodTile.EMPTY.$;
     }
 }
\ No newline at end of file
@@ -1,64 +1,322 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
 package de.amr.pacmanfx.core.model.world.map;
 
 import de.amr.basics.math.Vector2i;
 import org.tinylog.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
 
+import static de.amr.pacmanfx.core.model.world.map.FoodTile.ENERGIZER;
 import static de.amr.pacmanfx.core.model.world.map.FoodTile.PELLET;
-import static java.util.function.Predicate.not;
+import static java.util.Objects.requireNonNull;
 
+/**
+ * The food state of a game level.
+ * <p>
+ * The food tiles of the food layer are read once at creation. After that, the state is kept in bit-sets indexed by
+ * tile index (row-by-row) and in running counters which are updated incrementally each time food is eaten. The counts
+ * of remaining pellets and energizers are available in constant time. Additionally, the remaining food is counted per
+ * square region of {@link #REGION_SIZE} tiles, used to skip empty regions when searching the nearest food.
+ * <p>
+ * A {@link Snapshot} of the state can be taken and restored later, e.g. for replays.
+ * <p>
+ * Renderers iterate the food tiles directly over the bit-sets and use the {@link #changeCount() change count} to
+ * detect if the food state has changed since the last frame.
+ */
 public class FoodState {
 
+    /** Width and height (in tiles) of the regions for which the remaining food is counted. */
+    public static final int REGION_SIZE = 8;
+
+    /**
+     * Immutable copy of the eaten state of the food.
+     */
+    public record Snapshot(BitSet remainingFood, int remainingPelletCount, int remainingEnergizerCount, int[] remainingFoodByRegion) {
+        public Snapshot {
+            remainingFood = (BitSet) remainingFood.clone();
+            remainingFoodByRegion = remainingFoodByRegion.clone();
+        }
+
+        @Override
+        public BitSet remainingFood() {
+            return (BitSet) remainingFood.clone();
+        }
+
+        @Override
+        public int[] remainingFoodByRegion() {
+            return remainingFoodByRegion.clone();
+        }
+    }
+
     private final FoodLayer foodLayer;
-    // instead of Set<Vector2i> we use a bit-set indexed by top-down-left-to-right tile index
-    private final BitSet eatenFoodBits;
-    private final int totalFoodCount;
-    private int remainingFoodCount;
+    private final int numCols;
+    private final int numRegionCols;
+
+    // instead of Set<Vector2i> we use bit-sets indexed by top-down-left-to-right tile index
+    private final BitSet foodBits;
+    private final BitSet energizerBits;
+    private final BitSet remainingFoodBits;
+
+    private final int totalPelletCount;
+    private final int totalEnergizerCount;
+    private int remainingPelletCount;
+    private int remainingEnergizerCount;
+    private final int[] remainingFoodByRegion;
+    private long changeCount;
 
     public FoodState(FoodLayer foodLayer) {
-        this.foodLayer = foodLayer;
-        eatenFoodBits = new BitSet(foodLayer.numCols() * foodLayer.numRows());
-        totalFoodCount = (int) foodLayer.tilesContaining(PELLET.$).count() + foodLayer.energizerTiles().size();
-        remainingFoodCount = totalFoodCount;
+        this.foodLayer = requireNonNull(foodLayer);
+        numCols = foodLayer.numCols();
+        numRegionCols = (numCols + REGION_SIZE - 1) / REGION_SIZE;
+        final int numRegionRows = (foodLayer.numRows() + REGION_SIZE - 1) / REGION_SIZE;
+        remainingFoodByRegion = new int[numRegionCols * numRegionRows];
+
+        final int numTiles = numCols * foodLayer.numRows();
+        foodBits = new BitSet(numTiles);
+        energizerBits = new BitSet(numTiles);
+        foodLayer.forEachTileIndexContaining(PELLET.$, foodBits::set);
+        foodLayer.forEachTileIndexContaining(ENERGIZER.$, energizerBits::set);
+        foodBits.or(energizerBits);
+        remainingFoodBits = (BitSet) foodBits.clone();
+
+        totalEnergizerCount = energizerBits.cardinality();
+        totalPelletCount = foodBits.cardinality() - totalEnergizerCount;
+        remainingPelletCount = totalPelletCount;
+        remainingEnergizerCount = totalEnergizerCount;
+        for (int index = foodBits.nextSetBit(0); index >= 0; index = foodBits.nextSetBit(index + 1)) {
+            ++remainingFoodByRegion[regionOf(index)];
+        }
     }
 
     public int totalFoodCount() {
-        return totalFoodCount;
+        return totalPelletCount + totalEnergizerCount;
     }
 
     public int remainingFoodCount() {
-        return remainingFoodCount;
+        return remainingPelletCount + remainingEnergizerCount;
     }
 
     public int eatenFoodCount() {
-        return totalFoodCount - remainingFoodCount;
+        return totalFoodCount() - remainingFoodCount();
+    }
+
+    public int totalPelletCount() {
+        return totalPelletCount;
+    }
+
+    public int remainingPelletCount() {
+        return remainingPelletCount;
+    }
+
+    public int totalEnergizerCount() {
+        return totalEnergizerCount;
+    }
+
+    public int remainingEnergizerCount() {
+        return remainingEnergizerCount;
+    }
+
+    /**
+     * @return {@code true} if all food (pellets and energizers) has been eaten
+     */
+    public boolean allFoodEaten() {
+        return remainingPelletCount == 0 && remainingEnergizerCount == 0;
+    }
+
+    /**
+     * @return number of changes of the eaten state since creation, can be used to detect modifications
+     */
+    public long changeCount() {
+        return changeCount;
+    }
+
+    /**
+     * @param x tile x coordinate
+     * @param y tile y coordinate
+     * @return number of remaining food tiles in the region containing the given tile, 0 for tiles outside the map
+     */
+    public int remainingFoodCountInRegionOf(int x, int y) {
+        return foodLayer.outOfBounds(y, x) ? 0 : remainingFoodByRegion[regionOf(foodLayer.indexInRowWiseOrder(x, y))];
     }
 
     public void markFoodEatenAt(Vector2i tile) {
         if (hasFoodAtTile(tile)) {
-            eatenFoodBits.set(foodLayer.indexInRowWiseOrder(tile));
-            --remainingFoodCount;
+            eatFoodAtIndex(foodLayer.indexInRowWiseOrder(tile));
         } else {
             Logger.warn("Attempt to eat foot at tile {} that has none", tile);
         }
     }
 
     public void eatAll() {
-        foodLayer.tiles().filter(this::hasFoodAtTile).forEach(this::markFoodEatenAt);
+        remainingFoodBits.clear();
+        remainingPelletCount = 0;
+        remainingEnergizerCount = 0;
+        Arrays.fill(remainingFoodByRegion, 0);
+        ++changeCount;
     }
 
     public void eatPellets() {
-        foodLayer.tiles().filter(this::hasFoodAtTile).filter(not(foodLayer::isEnergizerTile)).forEach(this::markFoodEatenAt);
+        for (int index = remainingFoodBits.nextSetBit(0); index >= 0; index = remainingFoodBits.nextSetBit(index + 1)) {
+            if (!energizerBits.get(index)) {
+                eatFoodAtIndex(index);
+            }
+        }
     }
 
     public boolean hasFoodAtTile(Vector2i tile) {
-        return foodLayer.isFoodTile(tile) && !hasEatenFoodAtTile(tile);
+        return hasFoodAtTile(tile.x(), tile.y());
+    }
+
+    public boolean hasFoodAtTile(int x, int y) {
+        return !foodLayer.outOfBounds(y, x) && remainingFoodBits.get(foodLayer.indexInRowWiseOrder(x, y));
     }
 
     public boolean hasEatenFoodAtTile(Vector2i tile) {
-        return !foodLayer.outOfBounds(tile) && eatenFoodBits.get(foodLayer.indexInRowWiseOrder(tile));
+        return hasEatenFoodAtTile(tile.x(), tile.y());
+    }
+
+    public boolean hasEatenFoodAtTile(int x, int y) {
+        if (foodLayer.outOfBounds(y, x)) return false;
+        final int index = foodLayer.indexInRowWiseOrder(x, y);
+        return foodBits.get(index) && !remainingFoodBits.get(index);
+    }
+
+    /**
+     * Performs the action for the (row-wise) index of each food tile of the given kind.
+     *
+     * @param energizers if energizer tiles (else pellet tiles) are visited
+     * @param action action performed for each tile index
+     */
+    public void forEachFoodTileIndex(boolean energizers, IntConsumer action) {
+        forEachIndex(foodBits, energizers, action);
+    }
+
+    /**
+     * Performs the action for the (row-wise) index of each food tile of the given kind where the food has not been eaten.
+     *
+     * @param energizers if energizer tiles (else pellet tiles) are visited
+     * @param action action performed for each tile index
+     */
+    public void forEachRemainingFoodTileIndex(boolean energizers, IntConsumer action) {
+        forEachIndex(remainingFoodBits, energizers, action);
+    }
+
+    /**
+     * Performs the action for the (row-wise) index of each food tile of the given kind where the food has been eaten.
+     *
+     * @param energizers if energizer tiles (else pellet tiles) are visited
+     * @param action action performed for each tile index
+     */
+    public void forEachEatenFoodTileIndex(boolean energizers, IntConsumer action) {
+        requireNonNull(action);
+        for (int index = foodBits.nextSetBit(0); index >= 0; index = foodBits.nextSetBit(index + 1)) {
+            if (energizerBits.get(index) == energizers && !remainingFoodBits.get(index)) {
+                action.accept(index);
+            }
+        }
+    }
+
+    /**
+     * Finds the remaining food tiles with minimal Manhattan distance from the given tile. Regions without remaining
+     * food or farther away than the best distance found so far are skipped.
+     *
+     * @param x tile x coordinate
+     * @param y tile y coordinate
+     * @param skipEnergizers if energizer tiles are ignored
+     * @return list of the nearest food tiles ordered by column, then row. Empty if there is no (matching) food left.
+     */
+    public List<Vector2i> nearestFoodTiles(int x, int y, boolean skipEnergizers) {
+        final List<Vector2i> nearestTiles = new ArrayList<>();
+        int minDist = Integer.MAX_VALUE;
+        for (int region = 0; region < remainingFoodByRegion.length; ++region) {
+            if (remainingFoodByRegion[region] == 0 || regionDistance(region, x, y) > minDist) continue;
+            final int left = (region % numRegionCols) * REGION_SIZE, right = Math.min(left + REGION_SIZE, numCols);
+            final int top = (region / numRegionCols) * REGION_SIZE, bottom = Math.min(top + REGION_SIZE, foodLayer.numRows());
+            for (int row = top; row < bottom; ++row) {
+                final int rowStart = row * numCols;
+                for (int index = remainingFoodBits.nextSetBit(rowStart + left);
+                     index >= 0 && index < rowStart + right;
+                     index = remainingFoodBits.nextSetBit(index + 1)) {
+                    if (skipEnergizers && energizerBits.get(index)) continue;
+                    final int dist = Math.abs(index - rowStart - x) + Math.abs(row - y);
+                    if (dist < minDist) {
+                        minDist = dist;
+                        nearestTiles.clear();
+                        nearestTiles.add(foodLayer.tileAtIndex(index));
+                    }
+                    else if (dist == minDist) {
+                        nearestTiles.add(foodLayer.tileAtIndex(index));
+                    }
+                }
+            }
+        }
+        nearestTiles.sort(Comparator.comparingInt(Vector2i::x).thenComparingInt(Vector2i::y));
+        return nearestTiles;
     }
 
+    /**
+     * @return snapshot of the current state
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(remainingFoodBits, remainingPelletCount, remainingEnergizerCount, remainingFoodByRegion);
+    }
+
+    /**
+     * Restores the state from the given snapshot which must have been taken from a food state of the same food layer.
+     *
+     * @param snapshot snapshot
+     */
+    public void restore(Snapshot snapshot) {
+        requireNonNull(snapshot);
+        if (snapshot.remainingFoodByRegion.length != remainingFoodByRegion.length) {
+            throw new IllegalArgumentException("Snapshot does not match food state: region count is %d but must be %d"
+                .formatted(snapshot.remainingFoodByRegion.length, remainingFoodByRegion.length));
+        }
+        remainingFoodBits.clear();
+        remainingFoodBits.or(snapshot.remainingFood);
+        remainingPelletCount = snapshot.remainingPelletCount;
+        remainingEnergizerCount = snapshot.remainingEnergizerCount;
+        System.arraycopy(snapshot.remainingFoodByRegion, 0, remainingFoodByRegion, 0, remainingFoodByRegion.length);
+        ++changeCount;
+    }
+
+    private void eatFoodAtIndex(int index) {
+        remainingFoodBits.clear(index);
+        if (energizerBits.get(index)) {
+            --remainingEnergizerCount;
+        } else {
+            --remainingPelletCount;
+        }
+        --remainingFoodByRegion[regionOf(index)];
+        ++changeCount;
+    }
+
+    private void forEachIndex(BitSet bits, boolean energizers, IntConsumer action) {
+        requireNonNull(action);
+        for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1)) {
+            if (energizerBits.get(index) == energizers) {
+                action.accept(index);
+            }
+        }
+    }
 
+    private int regionOf(int index) {
+        final int col = index % numCols, row = index / numCols;
+        return (row / REGION_SIZE) * numRegionCols + col / REGION_SIZE;
+    }
+
+    private int regionDistance(int region, int x, int y) {
+        final int left = (region % numRegionCols) * REGION_SIZE, right = left + REGION_SIZE - 1;
+        final int top = (region / numRegionCols) * REGION_SIZE, bottom = top + REGION_SIZE - 1;
+        final int dx = x < left ? left - x : Math.max(x - right, 0);
+        final int dy = y < top ? top - y : Math.max(y - bottom, 0);
+        return dx + dy;
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.core.model.world.map;
+
+import de.amr.basics.math.Direction;
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.entities.HPortal;
+
+import java.util.List;
+
+import static de.amr.pacmanfx.core.model.world.map.WorldMap.tile;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable navigation data of a terrain layer, computed once and queried on the per-tick hot paths of actor
+ * navigation without any computation or allocation.
+ * <p>
+ * Tiles inside the map are addressed by their row-wise index ({@code row * numCols + col}). For each tile, the index
+ * stores terrain flags (blocked, tunnel, intersection), a bitmask of the directions (by {@link Direction#ordinal()})
+ * leading to a tile that is not blocked, and canonical tile and neighbor tile instances. Tiles in the portal space
+ * (outside the left and right map border) are detected by a lookup of the portal depth per row.
+ * <p>
+ * Accessibility here is only about terrain. Actor-specific conditions (house, doors, one-way tiles) remain the
+ * responsibility of the movement policies.
+ */
+public final class NavigationIndex {
+
+    private static final byte FLAG_BLOCKED      = 0x01;
+    private static final byte FLAG_TUNNEL       = 0x02;
+    private static final byte FLAG_INTERSECTION = 0x04;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * @return squared euclidean distance of the given tile coordinates (avoids computing square roots when comparing)
+     */
+    public static int squaredDistance(int x1, int y1, int x2, int y2) {
+        final int dx = x1 - x2, dy = y1 - y2;
+        return dx * dx + dy * dy;
+    }
+
+    private final int numCols;
+    private final int numRows;
+    private final byte[] flags;
+    private final byte[] openDirMask;
+    private final byte[] portalDepthByRow;
+    private final Vector2i[] tiles;
+    private final Vector2i[] neighborTiles;
+
+    /**
+     * @param terrain terrain layer
+     * @param portals horizontal portals of the terrain
+     */
+    public NavigationIndex(TerrainLayer terrain, List<HPortal> portals) {
+        requireNonNull(terrain);
+        requireNonNull(portals);
+
+        numCols = terrain.numCols();
+        numRows = terrain.numRows();
+        final int numTiles = numCols * numRows;
+
+        portalDepthByRow = new byte[numRows];
+        for (HPortal portal : portals) {
+            if (0 <= portal.tileY() && portal.tileY() < numRows) {
+                portalDepthByRow[portal.tileY()] = (byte) portal.depth();
+            }
+        }
+
+        tiles = new Vector2i[numTiles];
+        flags = new byte[numTiles];
+        for (int row = 0; row < numRows; ++row) {
+            for (int col = 0; col < numCols; ++col) {
+                final int index = row * numCols + col;
+                final byte content = terrain.contentUnchecked(index);
+                tiles[index] = tile(col, row);
+                if (TerrainTile.isBlocked(content)) flags[index] |= FLAG_BLOCKED;
+                if (content == TerrainTile.TUNNEL.$) flags[index] |= FLAG_TUNNEL;
+            }
+        }
+
+        openDirMask = new byte[numTiles];
+        neighborTiles = new Vector2i[4 * numTiles];
+        for (int index = 0; index < numTiles; ++index) {
+            final Vector2i tile = tiles[index];
+            int numOpenInside = 0;
+            for (Direction dir : DIRECTIONS) {
+                final int nx = tile.x() + dir.vector().x(), ny = tile.y() + dir.vector().y();
+                final boolean inside = isInside(nx, ny);
+                neighborTiles[4 * index + dir.ordinal()] = inside ? tiles[ny * numCols + nx] : tile(nx, ny);
+                final boolean open = inside ? (flags[ny * numCols + nx] & FLAG_BLOCKED) == 0 : isTileInPortalSpace(nx, ny);
+                if (open) {
+                    openDirMask[index] |= (byte) (1 << dir.ordinal());
+                    if (inside) ++numOpenInside;
+                }
+            }
+            // Same definition as in TerrainLayer.isRealIntersectionTile(): neighbors outside the map count as blocked
+            if ((flags[index] & FLAG_BLOCKED) == 0 && numOpenInside >= 3) {
+                flags[index] |= FLAG_INTERSECTION;
+            }
+        }
+    }
+
+    public int numCols() {
+        return numCols;
+    }
+
+    public int numRows() {
+        return numRows;
+    }
+
+    public boolean isInside(int x, int y) {
+        return 0 <= x && x < numCols && 0 <= y && y < numRows;
+    }
+
+    /**
+     * @return row-wise index of the tile or -1 if the tile is outside the map
+     */
+    public int indexOf(int x, int y) {
+        return isInside(x, y) ? y * numCols + x : -1;
+    }
+
+    /**
+     * @param tile some tile
+     * @return the canonical tile instance if the tile is inside the map, else the given tile
+     */
+    public Vector2i canonical(Vector2i tile) {
+        final int index = indexOf(tile.x(), tile.y());
+        return index != -1 ? tiles[index] : tile;
+    }
+
+    /**
+     * @param x tile x coordinate
+     * @param y tile y coordinate
+     * @return the canonical tile instance if the tile is inside the map, else a new tile instance
+     */
+    public Vector2i tileAt(int x, int y) {
+        final int index = indexOf(x, y);
+        return index != -1 ? tiles[index] : tile(x, y);
+    }
+
+    /**
+     * @param tile tile inside or outside the map
+     * @param dir direction
+     * @return neighbor tile towards the given direction, a shared instance if the tile is inside the map
+     */
+    public Vector2i neighborTile(Vector2i tile, Direction dir) {
+        final int index = indexOf(tile.x(), tile.y());
+        return index != -1 ? neighborTiles[4 * index + dir.ordinal()] : tile.plus(dir.vector());
+    }
+
+    /**
+     * @param x tile x coordinate
+     * @param y tile y coordinate
+     * @param dir direction
+     * @return neighbor tile towards the given direction, a shared instance if the tile is inside the map
+     */
+    public Vector2i neighborTile(int x, int y, Direction dir) {
+        final int index = indexOf(x, y);
+        return index != -1 ? neighborTiles[4 * index + dir.ordinal()] : tile(x + dir.vector().x(), y + dir.vector().y());
+    }
+
+    public boolean isTileInPortalSpace(int x, int y) {
+        if (y < 0 || y >= numRows) return false;
+        final int depth = portalDepthByRow[y];
+        return depth > 0 && (-depth <= x && x < 0 || numCols <= x && x < numCols + depth);
+    }
+
+    /**
+     * @return {@code true} if the tile is inside the map and its terrain is blocked
+     */
+    public boolean isBlocked(int x, int y) {
+        return isInside(x, y) && (flags[y * numCols + x] & FLAG_BLOCKED) != 0;
+    }
+
+    public boolean isTunnel(int x, int y) {
+        return isInside(x, y) && (flags[y * numCols + x] & FLAG_TUNNEL) != 0;
+    }
+
+    /**
+     * @return {@code true} if the tile is inside the map, not blocked and has at least 3 not blocked neighbors inside
+     * the map
+     */
+    public boolean isTerrainIntersection(int x, int y) {
+        return isInside(x, y) && (flags[y * numCols + x] & FLAG_INTERSECTION) != 0;
+    }
+
+    /**
+     * @return {@code true} if the neighbor tile towards the given direction is neither blocked terrain nor outside
+     * the map except in portal space
+     */
+    public boolean isOpenTowards(int x, int y, Direction dir) {
+        return isInside(x, y) && (openDirMask[y * numCols + x] & (1 << dir.ordinal())) != 0;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.core.model.world.map;
+
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.model.world.obstacle.Obstacle;
+import de.amr.pacmanfx.core.model.world.obstacle.ObstacleBuilder;
+import org.tinylog.Logger;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Content-addressed cache of the obstacle sets computed by {@link ObstacleBuilder}. The key is the terrain content
+ * (size and tile codes) together with the house position which determines the removed house placeholder, so maps,
+ * map copies and editor previews with the same terrain share one computed obstacle set.
+ * <p>
+ * Obstacles are treated as immutable after creation and shared between terrain layers, like the copy constructor of
+ * {@link TerrainLayer} already does. The cache keeps the most recently used entries only. For persistent obstacle sets,
+ * save the map in binary format, see {@link WorldMapBinaryFormat}.
+ */
+public final class ObstacleSetCache {
+
+    public static final int MAX_ENTRIES = 64;
+
+    record Entry(Set<Obstacle> obstacles, List<Vector2i> tilesWithErrors) {}
+
+    private static final class TerrainKey {
+        private final int numRows;
+        private final int numCols;
+        private final byte[] content;
+        private final Vector2i houseMinTile;
+        private final int hash;
+
+        TerrainKey(TerrainLayer terrain) {
+            numRows = terrain.numRows();
+            numCols = terrain.numCols();
+            content = terrain.contentNoCopy().clone();
+            houseMinTile = terrain.getTileProperty(WorldMapPropertyName.POS_HOUSE_MIN_TILE);
+            hash = 31 * Objects.hash(numRows, numCols, houseMinTile) + Arrays.hashCode(content);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TerrainKey other
+                && hash == other.hash
+                && numRows == other.numRows
+                && numCols == other.numCols
+                && Objects.equals(houseMinTile, other.houseMinTile)
+                && Arrays.equals(content, other.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final Map<TerrainKey, Entry> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TerrainKey, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static long hits;
+    private static long misses;
+
+    private ObstacleSetCache() {}
+
+    /**
+     * Returns the cached obstacle set for the content of the given terrain or computes and caches it.
+     *
+     * @param terrain terrain layer
+     * @param builder computes the obstacle set (without house placeholder) and the tiles with errors
+     * @return cache entry
+     */
+    static Entry obstacles(TerrainLayer terrain, Function<TerrainLayer, Entry> builder) {
+        final var key = new TerrainKey(terrain);
+        synchronized (CACHE) {
+            final Entry entry = CACHE.get(key);
+            if (entry != null) {
+                ++hits;
+                return entry;
+            }
+            ++misses;
+        }
+        final Entry entry = builder.apply(terrain);
+        synchronized (CACHE) {
+            CACHE.put(key, entry);
+        }
+        Logger.debug("Obstacle set computed for terrain {}x{}, cache size={}", key.numRows, key.numCols, size());
+        return entry;
+    }
+
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+            Logger.info("Obstacle set cache cleared ({} hits, {} misses)", hits, misses);
+            hits = misses = 0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.core.model.world.map;
+
+import de.amr.basics.graph.Edge;
+import de.amr.basics.graph.GridGraph;
+import de.amr.basics.graph.GridGraphDistances;
+import de.amr.basics.graph.GridGraphImpl;
+import de.amr.basics.math.Direction;
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.entities.HPortal;
+import org.tinylog.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * True path distances (number of tile steps) between the accessible tiles of a terrain.
+ * <p>
+ * The terrain is converted into a grid graph where neighbor tiles are connected if both are not blocked, and each
+ * horizontal portal connects its left and right border entry tiles (travelling through a portal counts as a single
+ * step). Distances are computed lazily per target tile by breadth-first search, see {@link GridGraphDistances}.
+ * <p>
+ * Nothing is computed until the first distance query, i.e. until some steering actually uses path distances. Each
+ * query computes at most the distance field of its target tile on the calling thread. Callers wanting constant time
+ * queries from the start can compute the complete table on an executor of their choice with
+ * {@link #precomputeAsync(Executor)}, unless it would be larger than {@link #MAX_PRECOMPUTED_TABLE_BYTES}. For
+ * terrains with more than {@link GridGraphDistances#MAX_VERTICES} tiles, no distances are available at all and every
+ * query returns {@link #UNREACHABLE}, so callers fall back to straight-line distances.
+ * <p>
+ * Like the navigation index, this is only about terrain. Actor-specific restrictions (house, one-way tiles) are not
+ * considered.
+ */
+public final class PathDistances {
+
+    public static final int UNREACHABLE = GridGraphDistances.UNREACHABLE;
+
+    /** Maximum size of the precomputed all-pairs table, larger terrains only use the per-target search. */
+    public static final long MAX_PRECOMPUTED_TABLE_BYTES = 16L * 1024 * 1024;
+
+    private final GridGraphDistances distances; // null if the terrain is too large
+
+    /**
+     * @param terrain terrain layer
+     * @param portals horizontal portals of the terrain
+     */
+    public PathDistances(TerrainLayer terrain, List<HPortal> portals) {
+        requireNonNull(terrain);
+        requireNonNull(portals);
+        if ((long) terrain.numRows() * terrain.numCols() > GridGraphDistances.MAX_VERTICES) {
+            Logger.warn("Terrain of size {}x{} is too large for path distances", terrain.numCols(), terrain.numRows());
+            distances = null;
+            return;
+        }
+        final NavigationIndex navigationIndex = terrain.navigationIndex();
+        final GridGraph graph = new GridGraphImpl(terrain.numRows(), terrain.numCols());
+        for (int row = 0; row < graph.numRows(); ++row) {
+            for (int col = 0; col < graph.numCols(); ++col) {
+                if (navigationIndex.isBlocked(col, row)) continue;
+                final int vertex = graph.vertex(row, col);
+                if (col + 1 < graph.numCols() && !navigationIndex.isBlocked(col + 1, row)) {
+                    graph.connect(vertex, Direction.RIGHT);
+                }
+                if (row + 1 < graph.numRows() && !navigationIndex.isBlocked(col, row + 1)) {
+                    graph.connect(vertex, Direction.DOWN);
+                }
+            }
+        }
+        final List<Edge> shortcuts = new ArrayList<>(portals.size());
+        for (HPortal portal : portals) {
+            final Vector2i left = portal.leftBorderEntryTile(), right = portal.rightBorderEntryTile();
+            if (navigationIndex.isInside(left.x(), left.y()) && navigationIndex.isInside(right.x(), right.y())) {
+                shortcuts.add(new Edge(graph, graph.vertex(left.y(), left.x()), graph.vertex(right.y(), right.x())));
+            }
+        }
+        distances = new GridGraphDistances(graph, shortcuts);
+    }
+
+    /**
+     * @return {@code false} if the terrain is too large for path distances
+     */
+    public boolean isAvailable() {
+        return distances != null;
+    }
+
+    /**
+     * @return length of the shortest path between the given tiles or {@link #UNREACHABLE} if there is no path, any
+     * of the tiles is outside the map or path distances are not available
+     */
+    public int distance(int fromX, int fromY, int toX, int toY) {
+        if (distances == null) {
+            return UNREACHABLE;
+        }
+        final GridGraph graph = distances.graph();
+        if (!isInside(graph, fromX, fromY) || !isInside(graph, toX, toY)) {
+            return UNREACHABLE;
+        }
+        return distances.distance(graph.vertex(fromY, fromX), graph.vertex(toY, toX));
+    }
+
+    public int distance(Vector2i from, Vector2i to) {
+        return distance(from.x(), from.y(), to.x(), to.y());
+    }
+
+    /**
+     * @return {@code true} if the all-pairs table fits into {@link #MAX_PRECOMPUTED_TABLE_BYTES}
+     */
+    public boolean isPrecomputable() {
+        if (distances == null) {
+            return false;
+        }
+        final long numVertices = distances.graph().numVertices();
+        return numVertices * numVertices * Short.BYTES <= MAX_PRECOMPUTED_TABLE_BYTES;
+    }
+
+    /**
+     * Computes the distances between all tile pairs on the given executor, queries afterwards are simple array
+     * accesses. If the table is not {@link #isPrecomputable() precomputable}, nothing is computed and queries keep
+     * using the per-target search.
+     *
+     * @param executor executor, should not be the UI thread
+     * @return future completed when all distances are available
+     */
+    public CompletableFuture<Void> precomputeAsync(Executor executor) {
+        requireNonNull(executor);
+        if (!isPrecomputable()) {
+            Logger.info("Path distance table too large, distances are computed per target tile");
+            return CompletableFuture.completedFuture(null);
+        }
+        final long startTime = System.nanoTime();
+        return distances.computeAllAsync(executor).whenComplete((_, x) -> {
+            if (x != null) {
+                Logger.error(x, "Computing path distances failed");
+            } else {
+                Logger.info("Path distances computed in {0.00} milliseconds", (System.nanoTime() - startTime) / 1e6);
+            }
+        });
+    }
+
+    private static boolean isInside(GridGraph graph, int x, int y) {
+        return 0 <= x && x < graph.numCols() && 0 <= y && y < graph.numRows();
+    }
+}
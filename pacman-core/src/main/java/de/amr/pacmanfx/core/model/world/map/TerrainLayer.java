@@ -18,7 +18,6 @@ import java.util.stream.Stream;
 
 import static de.amr.basics.math.Vector2f.vec2_float;
 import static de.amr.pacmanfx.core.model.world.map.TerrainTile.TUNNEL;
-import static de.amr.pacmanfx.core.model.world.map.TerrainTile.isBlocked;
 import static de.amr.pacmanfx.core.model.world.map.WorldMap.tile;
 import static de.amr.pacmanfx.core.model.world.map.WorldMapPropertyName.*;
 import static java.util.Objects.requireNonNull;
@@ -34,6 +33,9 @@ public final class TerrainLayer extends WorldMapLayer {
     private Vector2f pacStartPosition;
     private HPortal[] hPortals;
     private Set<Obstacle> obstacleSet; // uninitialized!
+    private List<Vector2i> obstacleErrorTiles = List.of();
+    private NavigationIndex navigationIndex; // created on demand, invalidated by content changes
+    private PathDistances pathDistances; // created on demand, invalidated by content changes
 
     public TerrainLayer(int numRows, int numCols) {
         super(numRows, numCols);
@@ -57,6 +59,37 @@ public final class TerrainLayer extends WorldMapLayer {
         if (layer.obstacleSet != null) {
             this.obstacleSet = Set.copyOf(layer.obstacleSet);
         }
+        obstacleErrorTiles = layer.obstacleErrorTiles;
+    }
+
+    @Override
+    protected void onContentChanged() {
+        navigationIndex = null;
+        pathDistances = null;
+    }
+
+    /**
+     * @return navigation index of this terrain, computed on first access after creation or content change
+     */
+    public NavigationIndex navigationIndex() {
+        if (navigationIndex == null) {
+            final HPortal[] portals = hPortals != null ? hPortals : findHorizontalPortals();
+            navigationIndex = new NavigationIndex(this, Arrays.asList(portals));
+        }
+        return navigationIndex;
+    }
+
+    /**
+     * @return path distances of this terrain, created on first access after creation or content change. The distances
+     * themselves are computed on demand by the querying thread, no background work is started, see
+     * {@link PathDistances}.
+     */
+    public PathDistances pathDistances() {
+        if (pathDistances == null) {
+            final HPortal[] portals = hPortals != null ? hPortals : findHorizontalPortals();
+            pathDistances = new PathDistances(this, Arrays.asList(portals));
+        }
+        return pathDistances;
     }
 
     public Vector2f pacStartPosition() {
@@ -78,15 +111,26 @@ public final class TerrainLayer extends WorldMapLayer {
     public boolean isRealIntersectionTile(Vector2i tile, Predicate<Vector2i> inaccessibleCondition) {
         requireNonNull(tile);
 
-        if (outOfBounds(tile) || isInaccessibleTerrainTile(tile) || inaccessibleCondition.test(tile)) {
+        final NavigationIndex index = navigationIndex();
+        // terrain intersection: inside world, not blocked, at most one neighbor outside world or blocked
+        if (!index.isTerrainIntersection(tile.x(), tile.y()) || inaccessibleCondition.test(tile)) {
             return false;
         }
 
-        long inaccessibleNeighbors = 0;
-        inaccessibleNeighbors += neighborTilesOutsideWorld(tile).count();
-        inaccessibleNeighbors += neighborTilesInsideWorld(tile).filter(this::isInaccessibleTerrainTile).count();
-        inaccessibleNeighbors += neighborTilesInsideWorld(tile).filter(inaccessibleCondition).count();
-        return inaccessibleNeighbors <= 1; // 3 or 4 accessible neighbors
+        int inaccessibleNeighbors = 0;
+        for (Direction dir : Direction.values()) {
+            final Vector2i neighbor = index.neighborTile(tile, dir);
+            if (!index.isInside(neighbor.x(), neighbor.y())) {
+                ++inaccessibleNeighbors;
+                continue;
+            }
+            if (index.isBlocked(neighbor.x(), neighbor.y())) ++inaccessibleNeighbors;
+            if (inaccessibleCondition.test(neighbor)) ++inaccessibleNeighbors;
+            if (inaccessibleNeighbors > 1) {
+                return false;
+            }
+        }
+        return true; // 3 or 4 accessible neighbors
     }
 
 
@@ -105,11 +149,48 @@ public final class TerrainLayer extends WorldMapLayer {
         return portals.toArray(new HPortal[0]);
     }
 
+    /**
+     * Computes the obstacles of this terrain or takes them from the {@link ObstacleSetCache} if a terrain with the same
+     * content has already been analyzed.
+     *
+     * @return list of tiles where the obstacle detection found errors
+     */
     public List<Vector2i> createObstacles() {
-        List<Vector2i> tilesWithErrors = new ArrayList<>();
-        obstacleSet = ObstacleBuilder.buildObstacleSet(this, tilesWithErrors);
+        final ObstacleSetCache.Entry entry = ObstacleSetCache.obstacles(this, TerrainLayer::buildObstacles);
+        obstacleSet = new HashSet<>(entry.obstacles());
+        obstacleErrorTiles = entry.tilesWithErrors();
+        return new ArrayList<>(obstacleErrorTiles);
+    }
+
+    /**
+     * Updates the obstacles after the given tiles have been changed. Only obstacles near the changed tiles are traced
+     * again, see {@link ObstacleBuilder#updateObstacleSet}. Obstacles not affected by the change keep their identity.
+     *
+     * @param changedTiles tiles changed since the obstacles have been created or updated
+     * @return list of tiles where the obstacle detection found errors
+     */
+    public List<Vector2i> updateObstacles(Collection<Vector2i> changedTiles) {
+        requireNonNull(changedTiles);
+        if (obstacleSet == null) {
+            return createObstacles();
+        }
+        final List<Vector2i> tilesWithErrors = new ArrayList<>(obstacleErrorTiles);
+        final Set<Obstacle> obstacles = ObstacleBuilder.updateObstacleSet(this, obstacleSet, changedTiles, tilesWithErrors);
+        removeHousePlaceholder(this, obstacles);
+        obstacleSet = obstacles;
+        obstacleErrorTiles = List.copyOf(tilesWithErrors);
+        return tilesWithErrors;
+    }
+
+    private static ObstacleSetCache.Entry buildObstacles(TerrainLayer terrain) {
+        final List<Vector2i> tilesWithErrors = new ArrayList<>();
+        final Set<Obstacle> obstacleSet = ObstacleBuilder.buildObstacleSet(terrain, tilesWithErrors);
+        removeHousePlaceholder(terrain, obstacleSet);
+        return new ObstacleSetCache.Entry(Set.copyOf(obstacleSet), List.copyOf(tilesWithErrors));
+    }
 
-        Vector2i houseMinTile = getTileProperty(WorldMapPropertyName.POS_HOUSE_MIN_TILE);
+    private static void removeHousePlaceholder(TerrainLayer terrain, Set<Obstacle> obstacleSet) {
+        Vector2i houseMinTile = terrain.getTileProperty(WorldMapPropertyName.POS_HOUSE_MIN_TILE);
         if (houseMinTile == null) {
             Logger.info("Could not remove house placeholder from obstacle list, house min tile not set");
         } else {
@@ -121,7 +202,16 @@ public final class TerrainLayer extends WorldMapLayer {
                     obstacleSet.remove(houseObstacle);
                 });
         }
-        return tilesWithErrors;
+    }
+
+    /**
+     * Sets precomputed obstacles, e.g. read from a binary map file, instead of computing them from the terrain.
+     *
+     * @param obstacles the obstacles of this terrain
+     */
+    void setObstacles(Set<Obstacle> obstacles) {
+        obstacleSet = new HashSet<>(obstacles);
+        obstacleErrorTiles = List.of();
     }
 
     public Set<Obstacle> obstacles() {
@@ -149,15 +239,27 @@ public final class TerrainLayer extends WorldMapLayer {
 
     public boolean isTileInPortalSpace(Vector2i tile) {
         requireNonNull(tile);
-        return horizontalPortals().stream().anyMatch(portal -> portal.contains(tile));
+        return navigationIndex().isTileInPortalSpace(tile.x(), tile.y());
+    }
+
+    public boolean isTileInPortalSpace(int x, int y) {
+        return navigationIndex().isTileInPortalSpace(x, y);
     }
 
     public boolean isInaccessibleTerrainTile(Vector2i tile) {
-        return !outOfBounds(tile) && isBlocked(content(tile));
+        return navigationIndex().isBlocked(tile.x(), tile.y());
+    }
+
+    public boolean isInaccessibleTerrainTile(int x, int y) {
+        return navigationIndex().isBlocked(x, y);
     }
 
     public boolean isTunnel(Vector2i tile) {
-        return !outOfBounds(tile) && content(tile) == TUNNEL.$;
+        return navigationIndex().isTunnel(tile.x(), tile.y());
+    }
+
+    public boolean isTunnel(int x, int y) {
+        return navigationIndex().isTunnel(x, y);
     }
 
     /**
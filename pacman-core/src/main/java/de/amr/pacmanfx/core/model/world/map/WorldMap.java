@@ -11,7 +11,9 @@ import java.io.*;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -68,6 +70,54 @@ public class WorldMap {
 
     public static final Charset MAP_FILE_CHARSET = StandardCharsets.UTF_8;
 
+    /** Extension of world map text files */
+    public static final String TEXT_FILE_EXTENSION = ".world";
+
+    /** Extension of binary world map files, see {@link WorldMapBinaryFormat} */
+    public static final String BINARY_FILE_EXTENSION = ".wmb";
+
+    /**
+     * @param fileName file name or path
+     * @return if the name denotes a world map file (text or binary format)
+     */
+    public static boolean isWorldMapFileName(String fileName) {
+        requireNonNull(fileName);
+        return fileName.endsWith(TEXT_FILE_EXTENSION) || fileName.endsWith(BINARY_FILE_EXTENSION);
+    }
+
+    /**
+     * A map converted by {@link WorldMapConverter} exists as text file and as binary file with the same base name. Of
+     * such a pair, the binary file is used unless the text file has been modified after the conversion.
+     *
+     * @param file a world map file in text or binary format (need not exist)
+     * @return the file to load for the base name of the given file, empty if neither file exists
+     */
+    public static Optional<File> preferredWorldMapFile(File file) {
+        requireNonNull(file);
+        final String name = file.getName();
+        final int extensionStart = name.lastIndexOf('.');
+        final String baseName = extensionStart != -1 ? name.substring(0, extensionStart) : name;
+        final File textFile = new File(file.getParentFile(), baseName + TEXT_FILE_EXTENSION);
+        final File binaryFile = new File(file.getParentFile(), baseName + BINARY_FILE_EXTENSION);
+        if (binaryFile.exists() && (!textFile.exists() || binaryFile.lastModified() >= textFile.lastModified())) {
+            return Optional.of(binaryFile);
+        }
+        return textFile.exists() ? Optional.of(textFile) : Optional.empty();
+    }
+
+    /**
+     * @param files world map files, e.g. the content of the custom map directory
+     * @return the files to load, each map occurs only once, see {@link #preferredWorldMapFile(File)}
+     */
+    public static List<File> preferredWorldMapFiles(File[] files) {
+        requireNonNull(files);
+        return Arrays.stream(files)
+            .map(WorldMap::preferredWorldMapFile)
+            .flatMap(Optional::stream)
+            .distinct()
+            .toList();
+    }
+
     /** Tiles are store inside map files like {@code (12,29)} */
     public static final Pattern TILE_PATTERN = Pattern.compile("\\((\\d+),(\\d+)\\)");
 
@@ -96,7 +146,9 @@ public class WorldMap {
     public static Optional<WorldMap> fromURL(URL url) {
         requireNonNull(url);
         try {
-            final Optional<WorldMap> optWorldMap = fromStream(url.openStream());
+            final Optional<WorldMap> optWorldMap = url.getPath().endsWith(BINARY_FILE_EXTENSION)
+                ? fromBinaryStream(url.openStream())
+                : fromStream(url.openStream());
             optWorldMap.ifPresent(worldMap -> worldMap.url = url.toExternalForm());
             return optWorldMap;
 
@@ -108,6 +160,16 @@ public class WorldMap {
 
     public static Optional<WorldMap> fromFile(File file) {
         requireNonNull(file);
+        if (file.getName().endsWith(BINARY_FILE_EXTENSION)) {
+            try {
+                final WorldMap worldMap = WorldMapBinaryFormat.readFile(file.toPath());
+                worldMap.url = file.toURI().toURL().toExternalForm();
+                return Optional.of(worldMap);
+            } catch (IOException x) {
+                Logger.error(x, "Could not read binary world map file: " + file.getAbsolutePath());
+                return Optional.empty();
+            }
+        }
         try {
             // Use fromURL such that URL is stored inside map! This is needed to load map via link in UI!
             return fromURL(file.toURI().toURL());
@@ -129,6 +191,16 @@ public class WorldMap {
         }
     }
 
+    private static Optional<WorldMap> fromBinaryStream(InputStream is) {
+        requireNonNull(is);
+        try (is) {
+            return Optional.of(WorldMapBinaryFormat.read(is));
+        } catch (IOException x) {
+            Logger.error(x, "Could not read binary world map");
+            return Optional.empty();
+        }
+    }
+
     /**
      * Saves this map to given file (UTF-8 character encoding).
      *
@@ -142,6 +214,16 @@ public class WorldMap {
         }
     }
 
+    /**
+     * Saves this map including its obstacles to given file in binary format.
+     *
+     * @param file file to save to
+     */
+    public void saveToBinaryFile(File file) throws IOException {
+        requireNonNull(file);
+        WorldMapBinaryFormat.writeFile(this, file.toPath());
+    }
+
     int numCols;
     int numRows;
     String url;
@@ -181,24 +263,18 @@ public class WorldMap {
         final WorldMap newMap = new WorldMap(numCols, numRows + 1);
         newMap.terrainLayer.replacePropertyMap(terrainLayer.propertyMap());
         newMap.foodLayer.replacePropertyMap(foodLayer.propertyMap());
-        for (int row = 0; row < newMap.numRows; ++row) {
-            for (int col = 0; col < newMap.numCols; ++col) {
-                byte terrainValue = TerrainTile.EMPTY.$;
-                byte foodValue = FoodTile.EMPTY.$;
-                if (row < rowIndex) {
-                    terrainValue = terrainLayer.content(row, col);
-                    foodValue = foodLayer.content(row, col);
-                } else if (row > rowIndex) {
-                    terrainValue = terrainLayer.content(row - 1, col);
-                    foodValue = foodLayer.content(row - 1, col);
-                } else {
-                    if ((col == 0 || col == numCols - 1)
-                        && terrainLayer.content(row, col) == TerrainTile.WALL_V.$) {
-                        terrainValue = TerrainTile.WALL_V.$; // keep vertical border wall
-                    }
+        // rows above the inserted row
+        newMap.terrainLayer.copyRows(terrainLayer, 0, 0, rowIndex);
+        newMap.foodLayer.copyRows(foodLayer, 0, 0, rowIndex);
+        // rows below the inserted row, shifted down by one
+        newMap.terrainLayer.copyRows(terrainLayer, rowIndex, rowIndex + 1, numRows - rowIndex);
+        newMap.foodLayer.copyRows(foodLayer, rowIndex, rowIndex + 1, numRows - rowIndex);
+        // inserted row is empty, keep vertical border walls
+        if (rowIndex < numRows) {
+            for (int col : new int[] {0, numCols - 1}) {
+                if (terrainLayer.content(rowIndex, col) == TerrainTile.WALL_V.$) {
+                    newMap.terrainLayer.setContent(rowIndex, col, TerrainTile.WALL_V.$);
                 }
-                newMap.terrainLayer.setContent(row, col, terrainValue);
-                newMap.foodLayer.setContent(row, col, foodValue);
             }
         }
         newMap.configMap = new HashMap<>(configMap);
@@ -213,17 +289,11 @@ public class WorldMap {
         final WorldMap newMap = new WorldMap(numCols, numRows - 1);
         newMap.terrainLayer.replacePropertyMap(terrainLayer.propertyMap());
         newMap.foodLayer.replacePropertyMap(foodLayer.propertyMap());
-        for (int row = 0; row < newMap.numRows; ++row) {
-            for (int col = 0; col < newMap.numCols; ++col) {
-                if (row < rowIndexToDelete) {
-                    newMap.terrainLayer.setContent(row, col, terrainLayer.content(row, col));
-                    newMap.foodLayer.setContent(row, col, foodLayer.content(row, col));
-                } else {
-                    newMap.terrainLayer.setContent(row, col, terrainLayer.content(row + 1, col));
-                    newMap.foodLayer.setContent(row, col, foodLayer.content(row + 1, col));
-                }
-            }
-        }
+        newMap.terrainLayer.copyRows(terrainLayer, 0, 0, rowIndexToDelete);
+        newMap.foodLayer.copyRows(foodLayer, 0, 0, rowIndexToDelete);
+        final int rowsBelow = numRows - 1 - rowIndexToDelete;
+        newMap.terrainLayer.copyRows(terrainLayer, rowIndexToDelete + 1, rowIndexToDelete, rowsBelow);
+        newMap.foodLayer.copyRows(foodLayer, rowIndexToDelete + 1, rowIndexToDelete, rowsBelow);
         newMap.configMap = new HashMap<>(configMap);
         return newMap;
     }
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.core.model.world.map;
+
+import de.amr.basics.math.Vector2i;
+import de.amr.pacmanfx.core.model.world.obstacle.Obstacle;
+import de.amr.pacmanfx.core.model.world.obstacle.ObstacleSegment;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compact binary representation of a world map, stored alongside the {@code .world} text format.
+ * <p>
+ * Loading a binary map needs no text parsing and, if the file contains the obstacle section, no obstacle computation.
+ * Files are read via a memory-mapped buffer. Layout (big-endian):
+ * <pre>
+ * int    magic "PMWM"
+ * short  format version
+ * byte   flags (bit 0: obstacle section present)
+ * short  number of rows
+ * short  number of columns
+ * layer  terrain layer
+ * layer  food layer
+ * [obstacles]
+ *
+ * layer:
+ *   int     number of properties, followed by (key, value) string pairs (int length + UTF-8 bytes)
+ *   byte    bits per tile (2, 4 or 8)
+ *   byte[]  tile codes, row by row, packed with the most significant bits first
+ *
+ * obstacles:
+ *   int     number of obstacles, each:
+ *           int start x, int start y, byte border obstacle flag, int number of segments, each segment:
+ *           short vector x, short vector y, byte counter-clockwise flag, byte encoding
+ * </pre>
+ * Navigation data is not stored: it is computed lazily by the terrain layer on first access.
+ */
+public final class WorldMapBinaryFormat {
+
+    public static final int MAGIC = 0x504D574D; // "PMWM"
+    public static final short FORMAT_VERSION = 1;
+
+    private static final int FLAG_OBSTACLES = 0b0001;
+
+    // minimum number of bytes of a stored obstacle (without segments) and of a stored obstacle segment
+    private static final int MIN_OBSTACLE_BYTES = 3 * Integer.BYTES + 1;
+    private static final int SEGMENT_BYTES = 2 * Short.BYTES + 2;
+
+    private WorldMapBinaryFormat() {}
+
+    /**
+     * Reads a world map from a binary map file using a memory-mapped buffer.
+     *
+     * @param path path of binary map file
+     * @return the world map
+     * @throws IOException if the file cannot be read or is no valid binary map file
+     */
+    public static WorldMap readFile(Path path) throws IOException {
+        requireNonNull(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        }
+    }
+
+    /**
+     * Reads a world map from a binary map stream, e.g. a class path resource.
+     *
+     * @param in input stream, not closed by this method
+     * @return the world map
+     * @throws IOException if the stream cannot be read or does not contain a valid binary map
+     */
+    public static WorldMap read(InputStream in) throws IOException {
+        requireNonNull(in);
+        return read(ByteBuffer.wrap(in.readAllBytes()));
+    }
+
+    /**
+     * Reads a world map from the remaining bytes of the given buffer.
+     *
+     * @param buffer buffer positioned at the start of the binary map data
+     * @return the world map
+     * @throws IOException if the buffer does not contain a valid binary map
+     */
+    public static WorldMap read(ByteBuffer buffer) throws IOException {
+        requireNonNull(buffer);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary world map");
+            }
+            final short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported binary world map format version %d".formatted(version));
+            }
+            final int flags = buffer.get();
+            final int numRows = buffer.getShort(), numCols = buffer.getShort();
+            if (numRows <= 0 || numCols <= 0) {
+                throw new IOException("Invalid map size %d x %d".formatted(numRows, numCols));
+            }
+            // each of the two layers stores at least 2 bits per tile, checked before allocating the layers
+            if (2 * packedSize(numRows * numCols, 2) > buffer.remaining()) {
+                throw new IOException("Binary world map data is truncated, map size %d x %d".formatted(numRows, numCols));
+            }
+
+            final var terrain = new TerrainLayer(numRows, numCols);
+            readLayer(buffer, terrain, TerrainTile::isValidCode);
+            final var food = new FoodLayer(numRows, numCols);
+            readLayer(buffer, food, FoodTile::isValidCode);
+
+            if ((flags & FLAG_OBSTACLES) != 0) {
+                terrain.setObstacles(readObstacles(buffer));
+            } else {
+                terrain.createObstacles();
+            }
+
+            // Same as text parser: copy constructors compute derived data (portals, start positions etc.)
+            final WorldMap worldMap = new WorldMap();
+            worldMap.terrainLayer = new TerrainLayer(terrain);
+            worldMap.foodLayer = new FoodLayer(food);
+            worldMap.numRows = numRows;
+            worldMap.numCols = numCols;
+            return worldMap;
+        }
+        catch (BufferUnderflowException x) {
+            throw new IOException("Binary world map data is truncated", x);
+        }
+    }
+
+    /**
+     * Writes the given world map in binary format.
+     *
+     * @param worldMap          the world map
+     * @param includeObstacles  if the obstacles of the terrain are stored such that loading need not compute them
+     * @param out               output stream, not closed by this method
+     * @throws IOException if writing fails
+     */
+    public static void write(WorldMap worldMap, boolean includeObstacles, OutputStream out) throws IOException {
+        requireNonNull(worldMap);
+        requireNonNull(out);
+        if (worldMap.numRows() > Short.MAX_VALUE || worldMap.numCols() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Map size %d x %d too large for binary format"
+                .formatted(worldMap.numRows(), worldMap.numCols()));
+        }
+        final var data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(FORMAT_VERSION);
+        data.writeByte(includeObstacles ? FLAG_OBSTACLES : 0);
+        data.writeShort(worldMap.numRows());
+        data.writeShort(worldMap.numCols());
+        writeLayer(data, worldMap.terrainLayer());
+        writeLayer(data, worldMap.foodLayer());
+        if (includeObstacles) {
+            writeObstacles(data, worldMap.terrainLayer().obstacles());
+        }
+        data.flush();
+    }
+
+    /**
+     * Writes the given world map including its obstacles to a binary map file.
+     *
+     * @param worldMap the world map
+     * @param path     path of binary map file
+     * @throws IOException if writing fails
+     */
+    public static void writeFile(WorldMap worldMap, Path path) throws IOException {
+        requireNonNull(path);
+        try (var out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(worldMap, true, out);
+        }
+    }
+
+    // Layers
+
+    private static void readLayer(ByteBuffer buffer, WorldMapLayer layer, Predicate<Byte> codeValidator) throws IOException {
+        final int numProperties = checkedCount(buffer, 2 * Integer.BYTES);
+        for (int i = 0; i < numProperties; ++i) {
+            final String key = readString(buffer), value = readString(buffer);
+            layer.propertyMap().put(key, value);
+        }
+        final int bitsPerTile = buffer.get();
+        if (bitsPerTile != 2 && bitsPerTile != 4 && bitsPerTile != 8) {
+            throw new IOException("Invalid number of bits per tile: %d".formatted(bitsPerTile));
+        }
+        final byte[] codes = new byte[layer.numRows() * layer.numCols()];
+        if (packedSize(codes.length, bitsPerTile) > buffer.remaining()) {
+            throw new IOException("Binary world map data is truncated");
+        }
+        if (bitsPerTile == 8) {
+            buffer.get(codes);
+        } else {
+            final int tilesPerByte = 8 / bitsPerTile, mask = (1 << bitsPerTile) - 1;
+            int packed = 0;
+            for (int i = 0; i < codes.length; ++i) {
+                final int slot = i % tilesPerByte;
+                if (slot == 0) {
+                    packed = buffer.get() & 0xFF;
+                }
+                codes[i] = (byte) ((packed >>> (8 - (slot + 1) * bitsPerTile)) & mask);
+            }
+        }
+        for (int i = 0; i < codes.length; ++i) {
+            if (!codeValidator.test(codes[i])) {
+                throw new IOException("Invalid tile code %d at row %d, col %d"
+                    .formatted(codes[i], i / layer.numCols(), i % layer.numCols()));
+            }
+        }
+        layer.setAllContent(codes);
+    }
+
+    private static void writeLayer(DataOutputStream data, WorldMapLayer layer) throws IOException {
+        final Map<String, String> properties = layer.propertyMap();
+        data.writeInt(properties.size());
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            writeString(data, entry.getKey());
+            writeString(data, entry.getValue());
+        }
+        final byte[] codes = layer.contentNoCopy();
+        final int bitsPerTile = bitsPerTile(codes);
+        data.writeByte(bitsPerTile);
+        if (bitsPerTile == 8) {
+            data.write(codes);
+        } else {
+            final int tilesPerByte = 8 / bitsPerTile;
+            int packed = 0;
+            for (int i = 0; i < codes.length; ++i) {
+                final int slot = i % tilesPerByte;
+                packed |= codes[i] << (8 - (slot + 1) * bitsPerTile);
+                if (slot == tilesPerByte - 1 || i == codes.length - 1) {
+                    data.writeByte(packed);
+                    packed = 0;
+                }
+            }
+        }
+    }
+
+    private static long packedSize(int numTiles, int bitsPerTile) {
+        return ((long) numTiles * bitsPerTile + 7) / 8;
+    }
+
+    private static int bitsPerTile(byte[] codes) {
+        int max = 0;
+        for (byte code : codes) {
+            max = Math.max(max, code & 0xFF);
+        }
+        if (max < 4) return 2;
+        if (max < 16) return 4;
+        return 8;
+    }
+
+    // Obstacles
+
+    private static Set<Obstacle> readObstacles(ByteBuffer buffer) throws IOException {
+        final int numObstacles = checkedCount(buffer, MIN_OBSTACLE_BYTES);
+        final var obstacles = new HashSet<Obstacle>(2 * numObstacles);
+        for (int i = 0; i < numObstacles; ++i) {
+            final var obstacle = new Obstacle(new Vector2i(buffer.getInt(), buffer.getInt()));
+            obstacle.setBorderObstacle(buffer.get() != 0);
+            final int numSegments = checkedCount(buffer, SEGMENT_BYTES);
+            for (int s = 0; s < numSegments; ++s) {
+                final var vector = new Vector2i(buffer.getShort(), buffer.getShort());
+                final boolean ccw = buffer.get() != 0;
+                obstacle.addSegment(vector, ccw, buffer.get());
+            }
+            obstacles.add(obstacle);
+        }
+        return obstacles;
+    }
+
+    private static void writeObstacles(DataOutputStream data, Set<Obstacle> obstacles) throws IOException {
+        data.writeInt(obstacles.size());
+        for (Obstacle obstacle : obstacles) {
+            data.writeInt(obstacle.startPoint().x());
+            data.writeInt(obstacle.startPoint().y());
+            data.writeBoolean(obstacle.borderObstacle());
+            data.writeInt(obstacle.numSegments());
+            for (ObstacleSegment segment : obstacle.segments()) {
+                data.writeShort(segment.vector().x());
+                data.writeShort(segment.vector().y());
+                data.writeBoolean(segment.ccw());
+                data.writeByte(segment.encoding());
+            }
+        }
+    }
+
+    // Strings
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        final byte[] bytes = new byte[checkedCount(buffer, 1)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream data, String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    // Counts
+
+    // Reads a count and checks that the remaining data can hold that many elements of the given (minimum) size
+    private static int checkedCount(ByteBuffer buffer, int elementSize) throws IOException {
+        final int count = buffer.getInt();
+        if (count < 0 || (long) count * elementSize > buffer.remaining()) {
+            throw new IOException("Invalid element count: %d".formatted(count));
+        }
+        return count;
+    }
+}
@@ -6,6 +6,7 @@ package de.amr.pacmanfx.core.model.world.map;
 
 import de.amr.basics.math.Vector2i;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface WorldMapChecker {
@@ -16,4 +17,12 @@ public interface WorldMapChecker {
         var tilesWithErrors = worldMap.terrainLayer().createObstacles();
         return new WorldMapCheckResult(tilesWithErrors);
     }
+
+    /**
+     * Checks the map after the given terrain tiles have been changed, only obstacles near these tiles are recomputed.
+     */
+    static WorldMapCheckResult check(WorldMap worldMap, Collection<Vector2i> changedTerrainTiles) {
+        var tilesWithErrors = worldMap.terrainLayer().updateObstacles(changedTerrainTiles);
+        return new WorldMapCheckResult(tilesWithErrors);
+    }
 }
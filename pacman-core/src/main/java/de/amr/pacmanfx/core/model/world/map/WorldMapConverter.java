@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.core.model.world.map;
+
+import org.tinylog.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Converts world map text files ({@code .world}) into binary map files ({@code .wmb}) stored next to them. Loaders of
+ * map directories use only one file of such a pair, see {@link WorldMap#preferredWorldMapFile(java.io.File)}.
+ * <p>
+ * Arguments: one or more map files or directories. For a directory, all map text files directly inside are converted.
+ */
+public class WorldMapConverter {
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            Logger.error("Usage: WorldMapConverter <map file or directory>...");
+            return;
+        }
+        int count = 0;
+        for (String arg : args) {
+            final File file = new File(arg);
+            if (file.isDirectory()) {
+                final File[] textFiles = file.listFiles((_, name) -> name.endsWith(WorldMap.TEXT_FILE_EXTENSION));
+                if (textFiles == null) {
+                    Logger.error("Could not access directory '{}'", file);
+                    continue;
+                }
+                for (File textFile : textFiles) {
+                    if (convert(textFile)) ++count;
+                }
+            } else if (convert(file)) {
+                ++count;
+            }
+        }
+        Logger.info("{} world map(s) converted", count);
+    }
+
+    /**
+     * Converts the given map text file into a binary map file with the same name and extension {@code .wmb}.
+     *
+     * @param textFile map text file
+     * @return if the conversion succeeded
+     */
+    public static boolean convert(File textFile) {
+        final String name = textFile.getName();
+        if (!name.endsWith(WorldMap.TEXT_FILE_EXTENSION)) {
+            Logger.warn("Ignored file '{}': no world map text file", textFile);
+            return false;
+        }
+        final Optional<WorldMap> worldMap = WorldMap.fromFile(textFile);
+        if (worldMap.isEmpty()) {
+            return false;
+        }
+        final String binaryName = name.substring(0, name.length() - WorldMap.TEXT_FILE_EXTENSION.length())
+            + WorldMap.BINARY_FILE_EXTENSION;
+        final File binaryFile = new File(textFile.getParentFile(), binaryName);
+        try {
+            worldMap.get().saveToBinaryFile(binaryFile);
+            Logger.info("Converted '{}' ({} bytes) to '{}' ({} bytes)",
+                textFile, textFile.length(), binaryFile, binaryFile.length());
+            return true;
+        } catch (IOException x) {
+            Logger.error(x, "Could not write binary map file '{}'", binaryFile);
+            return false;
+        }
+    }
+}
@@ -3,42 +3,119 @@
  */
 package de.amr.pacmanfx.core.model.world.map;
 
+import de.amr.basics.math.PackedTile;
 import de.amr.basics.math.Vector2i;
 
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.function.IntConsumer;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static de.amr.pacmanfx.core.model.world.map.WorldMap.tile;
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A layer of a world map, a grid of tile codes.
+ * <p>
+ * The tile codes are stored in a single contiguous array in row-by-row order, tile {@code (col, row)} has index
+ * {@code row * numCols + col}. Besides the checked accessors, there are unchecked accessors by tile index for hot
+ * paths where the index has already been validated, and bulk operations working on whole rows.
+ * <p>
+ * Changes of single tiles are published to the registered {@link TileChangeListener}s, bulk operations are published
+ * as a change of the complete content.
+ */
 public sealed class WorldMapLayer permits FoodLayer, TerrainLayer {
 
+    /**
+     * Receives the content changes of a layer.
+     */
+    public interface TileChangeListener {
+
+        /**
+         * Called after the content of a single tile has been changed to a different value.
+         *
+         * @param layer the changed layer
+         * @param row tile row
+         * @param col tile column
+         * @param oldCode tile code before the change
+         * @param newCode tile code after the change
+         */
+        void tileChanged(WorldMapLayer layer, int row, int col, byte oldCode, byte newCode);
+
+        /**
+         * Called after a bulk operation has changed an unspecified number of tiles.
+         *
+         * @param layer the changed layer
+         */
+        default void contentChanged(WorldMapLayer layer) {}
+    }
+
     private int emptyRowsOverMaze = 3;
     private int emptyRowsBelowMaze = 2;
 
     private final Map<String, String> propertyMap = new HashMap<>();
-    private final byte[][] tileContent;
+    private final int numRows;
+    private final int numCols;
+    private final byte[] tileContent;
+
+    // Listeners are not copied by the copy constructor, the list is only created when needed
+    private List<TileChangeListener> tileChangeListeners;
 
     public WorldMapLayer(int numRows, int numCols) {
-        tileContent = new byte[numRows][numCols];
+        this.numRows = numRows;
+        this.numCols = numCols;
+        tileContent = new byte[numRows * numCols];
     }
 
     public WorldMapLayer(WorldMapLayer other) {
         emptyRowsOverMaze = other.emptyRowsOverMaze;
         emptyRowsBelowMaze = other.emptyRowsBelowMaze;
         propertyMap.putAll(other.propertyMap);
-        tileContent = new byte[other.numRows()][];
-        for (int row = 0; row < other.numRows(); ++row) {
-            tileContent[row] = Arrays.copyOf(other.tileContent[row], other.numCols());
+        numRows = other.numRows;
+        numCols = other.numCols;
+        tileContent = other.tileContent.clone();
+    }
+
+    /**
+     * Called after the content of this layer has been changed. Subclasses can invalidate derived data.
+     */
+    protected void onContentChanged() {}
+
+    public void addTileChangeListener(TileChangeListener listener) {
+        requireNonNull(listener);
+        if (tileChangeListeners == null) {
+            tileChangeListeners = new ArrayList<>(2);
+        }
+        if (!tileChangeListeners.contains(listener)) {
+            tileChangeListeners.add(listener);
+        }
+    }
+
+    public void removeTileChangeListener(TileChangeListener listener) {
+        if (tileChangeListeners != null) {
+            tileChangeListeners.remove(listener);
+        }
+    }
+
+    private void fireTileChanged(int row, int col, byte oldCode, byte newCode) {
+        if (tileChangeListeners != null) {
+            for (TileChangeListener listener : List.copyOf(tileChangeListeners)) {
+                listener.tileChanged(this, row, col, oldCode, newCode);
+            }
+        }
+    }
+
+    private void fireContentChanged() {
+        if (tileChangeListeners != null) {
+            for (TileChangeListener listener : List.copyOf(tileChangeListeners)) {
+                listener.contentChanged(this);
+            }
         }
     }
 
-    public int numRows() { return tileContent.length; }
+    public int numRows() { return numRows; }
 
-    public int numCols() { return tileContent[0].length; }
+    public int numCols() { return numCols; }
 
     public void setEmptyRowsOverMaze(int numRows) {
         emptyRowsOverMaze = numRows;
@@ -60,8 +137,16 @@ public sealed class WorldMapLayer permits FoodLayer, TerrainLayer {
         return outOfBounds(tile.y(), tile.x());
     }
 
+    /**
+     * @param packedTile tile packed into an int (see {@link PackedTile})
+     * @return if the tile is outside the map
+     */
+    public boolean packedTileOutOfBounds(int packedTile) {
+        return outOfBounds(PackedTile.y(packedTile), PackedTile.x(packedTile));
+    }
+
     public boolean outOfBounds(int row, int col) {
-        return row < 0 || row >= numRows() || col < 0 || col >= numCols();
+        return row < 0 || row >= numRows || col < 0 || col >= numCols;
     }
 
     public void assertInsideWorld(Vector2i tile) {
@@ -77,19 +162,96 @@ public sealed class WorldMapLayer permits FoodLayer, TerrainLayer {
         }
     }
 
+    private void assertRowRange(int firstRow, int rowCount) {
+        if (firstRow < 0 || rowCount < 0 || firstRow + rowCount > numRows) {
+            throw new IllegalArgumentException("Row range (first=%d, count=%d) is outside world with %d rows"
+                .formatted(firstRow, rowCount, numRows));
+        }
+    }
+
     /**
      * @param tile tile inside map bounds
      * @return index in row-by-row order
      */
     public int indexInRowWiseOrder(Vector2i tile) {
-        return numCols() * tile.y() + tile.x();
+        return numCols * tile.y() + tile.x();
+    }
+
+    /**
+     * @param x tile x coordinate (column) inside map bounds
+     * @param y tile y coordinate (row) inside map bounds
+     * @return index in row-by-row order
+     */
+    public int indexInRowWiseOrder(int x, int y) {
+        return numCols * y + x;
+    }
+
+    /**
+     * @param index tile index in row-by-row order
+     * @return tile content at this index
+     */
+    public byte contentAtIndex(int index) {
+        return tileContent[Objects.checkIndex(index, tileContent.length)];
+    }
+
+    /**
+     * Fast access without bounds check for hot paths where the index is known to be valid.
+     *
+     * @param index tile index in row-by-row order, must be inside map bounds
+     * @return tile content at this index
+     */
+    public byte contentUnchecked(int index) {
+        return tileContent[index];
+    }
+
+    /**
+     * @return stream of the indices (in row-by-row order) of all tiles, no tile objects are created
+     */
+    public IntStream tileIndices() {
+        return IntStream.range(0, tileContent.length);
+    }
+
+    /**
+     * @param content value to search for
+     * @return stream of the indices (in row-by-row order) of all tiles with given content
+     */
+    public IntStream tileIndicesContaining(byte content) {
+        return tileIndices().filter(index -> tileContent[index] == content);
+    }
+
+    /**
+     * Calls the given action for the index of each tile with the given content, in row-by-row order. Does not
+     * allocate any objects.
+     *
+     * @param content value to search for
+     * @param action action called with the tile index
+     */
+    public void forEachTileIndexContaining(byte content, IntConsumer action) {
+        requireNonNull(action);
+        for (int index = 0; index < tileContent.length; ++index) {
+            if (tileContent[index] == content) {
+                action.accept(index);
+            }
+        }
+    }
+
+    /**
+     * @param content value to search for
+     * @return number of tiles with given content
+     */
+    public int countTilesContaining(byte content) {
+        int count = 0;
+        for (byte value : tileContent) {
+            if (value == content) ++count;
+        }
+        return count;
     }
 
     /**
      * @return stream of all tiles of this map (row-by-row)
      */
     public Stream<Vector2i> tiles() {
-        return IntStream.range(0, numCols() * numRows()).mapToObj(this::tileAtIndex);
+        return tileIndices().mapToObj(this::tileAtIndex);
     }
 
     /**
@@ -97,7 +259,7 @@ public sealed class WorldMapLayer permits FoodLayer, TerrainLayer {
      * @return tile with given index
      */
     public Vector2i tileAtIndex(int index) {
-        return tile(index % numCols(), index / numCols());
+        return tile(index % numCols, index / numCols);
     }
 
     /**
@@ -106,12 +268,12 @@ public sealed class WorldMapLayer permits FoodLayer, TerrainLayer {
      */
     public Vector2i mirrorPosition(Vector2i tile) {
         assertInsideWorld(tile);
-        return tile(numCols() - 1 - tile.x(), tile.y());
+        return tile(numCols - 1 - tile.x(), tile.y());
     }
 
     public byte content(int row, int col) {
         assertInsideWorld(row, col);
-        return tileContent[row][col];
+        return tileContent[row * numCols + col];
     }
 
     public byte content(Vector2i tile) {
@@ -120,7 +282,13 @@ public sealed class WorldMapLayer permits FoodLayer, TerrainLayer {
 
     public void setContent(int row, int col, byte code) {
         assertInsideWorld(row, col);
-        tileContent[row][col] = code;
+        final int index = row * numCols + col;
+        final byte oldCode = tileContent[index];
+        tileContent[index] = code;
+        if (oldCode != code) {
+            onContentChanged();
+            fireTileChanged(row, col, oldCode, code);
+        }
     }
 
     public void setContent(Vector2i tile, byte code) {
@@ -128,9 +296,68 @@ public sealed class WorldMapLayer permits FoodLayer, TerrainLayer {
     }
 
     public void setAll(byte code) {
-        for (byte[] row : tileContent) {
-            Arrays.fill(row, code);
+        Arrays.fill(tileContent, code);
+        onContentChanged();
+        fireContentChanged();
+    }
+
+    // Bulk operations
+
+    /**
+     * Sets all tiles of the given rows to the given code.
+     *
+     * @param firstRow first row
+     * @param rowCount number of rows
+     * @param code tile code
+     */
+    public void fillRows(int firstRow, int rowCount, byte code) {
+        assertRowRange(firstRow, rowCount);
+        Arrays.fill(tileContent, firstRow * numCols, (firstRow + rowCount) * numCols, code);
+        onContentChanged();
+        fireContentChanged();
+    }
+
+    /**
+     * Copies a range of rows from the given layer into this layer. Both layers must have the same number of columns.
+     * The source may be this layer, overlapping ranges are handled correctly (used for shifting rows).
+     *
+     * @param source source layer
+     * @param sourceFirstRow first row in source layer
+     * @param targetFirstRow first row in this layer
+     * @param rowCount number of rows to copy
+     */
+    public void copyRows(WorldMapLayer source, int sourceFirstRow, int targetFirstRow, int rowCount) {
+        requireNonNull(source);
+        if (source.numCols != numCols) {
+            throw new IllegalArgumentException("Cannot copy rows from layer with %d columns into layer with %d columns"
+                .formatted(source.numCols, numCols));
+        }
+        source.assertRowRange(sourceFirstRow, rowCount);
+        assertRowRange(targetFirstRow, rowCount);
+        System.arraycopy(source.tileContent, sourceFirstRow * numCols, tileContent, targetFirstRow * numCols, rowCount * numCols);
+        onContentChanged();
+        fireContentChanged();
+    }
+
+    /**
+     * Replaces the complete content of this layer. Used by the binary map format.
+     *
+     * @param codes tile codes in row-by-row order, the array is copied
+     */
+    void setAllContent(byte[] codes) {
+        if (codes.length != tileContent.length) {
+            throw new IllegalArgumentException("Expected %d tile codes but got %d".formatted(tileContent.length, codes.length));
         }
+        System.arraycopy(codes, 0, tileContent, 0, codes.length);
+        onContentChanged();
+        fireContentChanged();
+    }
+
+    /**
+     * @return the tile content array itself (no copy), used by the binary map format
+     */
+    byte[] contentNoCopy() {
+        return tileContent;
     }
 
     public Map<String, String> propertyMap() {
@@ -151,6 +378,6 @@ public sealed class WorldMapLayer permits FoodLayer, TerrainLayer {
      * @return stream of all tiles of this map with given content (row-by-row)
      */
     public Stream<Vector2i> tilesContaining(byte content) {
-        return tiles().filter(tile -> content(tile) == content);
+        return tileIndicesContaining(content).mapToObj(this::tileAtIndex);
     }
-}
\ No newline at end of file
+}
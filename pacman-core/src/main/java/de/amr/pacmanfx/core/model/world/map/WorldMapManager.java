@@ -14,7 +14,8 @@ public interface WorldMapManager {
 
     /**
      * @param levelNumber level number (starting with 1)
-     * @param args additional arguments
+     * @param args additional arguments, map managers choosing maps randomly use a {@link java.util.random.RandomGenerator}
+     *             argument (the generator of the game logic) if present
      * @return New copy of the world map prototype for specified level.
      */
     WorldMap supplyWorldMap(int levelNumber, Object... args);
@@ -13,6 +13,7 @@ import java.util.*;
 
 import static de.amr.pacmanfx.core.model.world.map.TerrainTile.*;
 import static de.amr.pacmanfx.core.model.world.map.WorldMap.HTS;
+import static de.amr.pacmanfx.core.model.world.map.WorldMap.TS;
 import static de.amr.pacmanfx.core.model.world.map.WorldMap.tile;
 import static java.lang.Math.signum;
 
@@ -23,6 +24,7 @@ public class Obstacle {
     private final Vector2i startPoint;
     private final List<ObstacleSegment> segments = new ArrayList<>();
     private List<RectShort> innerAreaRectangles;
+    private List<Vector2i> tiles;
 
     private boolean borderObstacle;
 
@@ -42,6 +44,37 @@ public class Obstacle {
         Objects.requireNonNull(vector);
         segments.add(new ObstacleSegment(endPoint(), vector, counterClockwise, content));
         innerAreaRectangles = null; // force recomputation when queried
+        tiles = null;
+    }
+
+    /**
+     * @return the tiles traversed by the contour of this obstacle, one tile per tile-sized part of a straight segment
+     * and one tile per corner segment
+     */
+    public List<Vector2i> tiles() {
+        if (tiles == null) {
+            final var tileList = new ArrayList<Vector2i>();
+            for (ObstacleSegment segment : segments) {
+                final Vector2i v = segment.vector();
+                if (v.x() == 0 || v.y() == 0) {
+                    // straight segment, possibly merged from several tiles: take center of each tile-sized part
+                    final int length = Math.abs(v.x() + v.y());
+                    final int dx = Integer.signum(v.x()), dy = Integer.signum(v.y());
+                    for (int offset = HTS; offset < length; offset += TS) {
+                        addTileContaining(tileList, segment.startPoint().x() + dx * offset, segment.startPoint().y() + dy * offset);
+                    }
+                } else {
+                    // corner segment: center of diagonal lies inside the corner tile
+                    addTileContaining(tileList, segment.startPoint().x() + v.x() / 2, segment.startPoint().y() + v.y() / 2);
+                }
+            }
+            tiles = Collections.unmodifiableList(tileList);
+        }
+        return tiles;
+    }
+
+    private static void addTileContaining(List<Vector2i> tileList, int x, int y) {
+        tileList.add(tile(Math.floorDiv(x, TS), Math.floorDiv(y, TS)));
     }
 
     public List<RectShort> innerAreaRectangles() {
@@ -28,6 +28,23 @@ public class ObstacleBuilder {
         return new ObstacleBuilder(terrainLayer).buildObstacleSet(tilesWithErrors);
     }
 
+    /**
+     * Updates an obstacle set after some terrain tiles have been changed. Only the obstacles passing through or next to
+     * a changed tile are traced again, all other obstacles are kept (same instances).
+     *
+     * @param terrainLayer    the terrain layer after the change
+     * @param obstacles       the obstacle set computed before the change
+     * @param changedTiles    the changed tiles
+     * @param tilesWithErrors on call, the tiles with errors found before the change, on return, the tiles with errors
+     *                        for the changed terrain
+     * @return the updated obstacle set
+     */
+    public static Set<Obstacle> updateObstacleSet(
+        TerrainLayer terrainLayer, Set<Obstacle> obstacles, Collection<Vector2i> changedTiles, List<Vector2i> tilesWithErrors)
+    {
+        return new ObstacleBuilder(terrainLayer).updateObstacleSet(obstacles, changedTiles, tilesWithErrors);
+    }
+
     static class Cursor {
         private Vector2i prevTile, currentTile;
         
@@ -96,12 +113,81 @@ public class ObstacleBuilder {
         tilesWithErrors.clear();
         exploredTiles.clear();
 
-        Set<Obstacle> obstacles = new HashSet<>();
+        return optimize(traceUnexploredObstacles(findFirstNonEmptyTile(), tilesWithErrors));
+    }
+
+    private Set<Obstacle> updateObstacleSet(Set<Obstacle> oldObstacles, Collection<Vector2i> changedTiles, List<Vector2i> tilesWithErrors) {
+        final Vector2i firstNonEmptyTile = findFirstNonEmptyTile();
+        final int firstNonEmptyIndex = firstNonEmptyTile != null
+            ? terrainLayer.indexInRowWiseOrder(firstNonEmptyTile) : Integer.MAX_VALUE;
+
+        // Changed tiles and their neighbors
+        final BitSet changedArea = new BitSet();
+        for (Vector2i changedTile : changedTiles) {
+            if (terrainLayer.outOfBounds(changedTile)) {
+                continue;
+            }
+            // The first non-empty tile decides about the border obstacle, so changes at or before it need a full rebuild
+            if (terrainLayer.indexInRowWiseOrder(changedTile) <= firstNonEmptyIndex) {
+                Logger.debug("Terrain changed at or before first non-empty tile, rebuild all obstacles");
+                return buildObstacleSet(tilesWithErrors);
+            }
+            markTileAndNeighbors(changedArea, changedTile);
+        }
+
+        exploredTiles.clear();
+        final Set<Obstacle> obstacles = new HashSet<>();
+        final BitSet affectedArea = new BitSet();
+        for (Obstacle obstacle : oldObstacles) {
+            final boolean affected = obstacle.tiles().stream()
+                .anyMatch(tile -> !terrainLayer.outOfBounds(tile) && changedArea.get(terrainLayer.indexInRowWiseOrder(tile)));
+            if (affected) {
+                obstacle.tiles().stream()
+                    .filter(tile -> !terrainLayer.outOfBounds(tile))
+                    .forEach(tile -> markTileAndNeighbors(affectedArea, tile));
+            } else {
+                obstacles.add(obstacle);
+                obstacle.tiles().stream().filter(tile -> !terrainLayer.outOfBounds(tile)).forEach(this::setExplored);
+            }
+        }
+        affectedArea.or(changedArea);
+
+        // Errors found when tracing unaffected obstacles remain valid, errors near affected obstacles are recomputed
+        final List<Vector2i> keptErrors = tilesWithErrors.stream()
+            .filter(tile -> !terrainLayer.outOfBounds(tile))
+            .filter(tile -> !affectedArea.get(terrainLayer.indexInRowWiseOrder(tile)))
+            .toList();
+        tilesWithErrors.clear();
+        tilesWithErrors.addAll(keptErrors);
+        keptErrors.forEach(this::setExplored);
 
-        final Vector2i firstNonEmptyTile = terrainLayer.tiles()
+        final int numKept = obstacles.size();
+        obstacles.addAll(optimize(traceUnexploredObstacles(firstNonEmptyTile, tilesWithErrors)));
+        Logger.debug("Obstacles updated: {} kept, {} removed, {} traced",
+            numKept, oldObstacles.size() - numKept, obstacles.size() - numKept);
+        return obstacles;
+    }
+
+    private void markTileAndNeighbors(BitSet area, Vector2i tile) {
+        for (int dy = -1; dy <= 1; ++dy) {
+            for (int dx = -1; dx <= 1; ++dx) {
+                final Vector2i neighbor = tile.plus(dx, dy);
+                if (!terrainLayer.outOfBounds(neighbor)) {
+                    area.set(terrainLayer.indexInRowWiseOrder(neighbor));
+                }
+            }
+        }
+    }
+
+    private Vector2i findFirstNonEmptyTile() {
+        return terrainLayer.tiles()
             .filter(tile -> terrainLayer.content(tile) != EMPTY.$)
             .findFirst()
             .orElse(null);
+    }
+
+    private Set<Obstacle> traceUnexploredObstacles(Vector2i firstNonEmptyTile, List<Vector2i> tilesWithErrors) {
+        final Set<Obstacle> obstacles = new HashSet<>();
 
         // Note: order of detection matters! Otherwise, when searching for closed
         // obstacles first, each failed attempt must set its visited tile set to unvisited!
@@ -128,7 +214,7 @@ public class ObstacleBuilder {
             })
             .forEach(obstacles::add);
 
-        return optimize(obstacles);
+        return obstacles;
     }
 
     private Obstacle buildObstacle(Vector2i cornerNW, List<Vector2i> tilesWithErrors) {
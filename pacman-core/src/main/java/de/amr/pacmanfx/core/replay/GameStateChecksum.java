@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.replay;
+
+import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.GameSession;
+import de.amr.pacmanfx.core.entities.Ghost;
+import de.amr.pacmanfx.core.entities.Pac;
+import de.amr.pacmanfx.core.level.GameLevel;
+
+/**
+ * Computes a 64-bit checksum (FNV-1a over 64-bit values) of the game state relevant for gameplay: game state, score,
+ * lives, cheats, variant session options (e.g. the Tengen booster), food, actor positions and directions, ghost states.
+ * Two simulations with equal checksums at the same tick are considered identical.
+ */
+public final class GameStateChecksum {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private GameStateChecksum() {}
+
+    public static long compute(GameContext game) {
+        long h = FNV_OFFSET_BASIS;
+        h = mix(h, game.state().name().hashCode());
+        h = mix(h, game.state().timer().tickCount());
+
+        final GameSession session = game.session();
+        h = mix(h, session.score().data().points());
+        h = mix(h, session.livesCounter().data().numLives());
+        h = mix(h, session.cheats().isPacUsingAutopilot() ? 1 : 0);
+        h = mix(h, session.cheats().isPacImmune() ? 1 : 0);
+        // String and Map hash codes are specified, so this value is the same in every JVM
+        h = mix(h, game.variant().gamePlay().sessionOptions(game).hashCode());
+
+        final GameLevel level = session.optLevel().orElse(null);
+        if (level == null) {
+            return h;
+        }
+        h = mix(h, level.number());
+        h = mix(h, level.food().remainingFoodCount());
+
+        final Pac pac = level.entities().pac();
+        h = mix(h, Float.floatToIntBits(pac.pos().x()));
+        h = mix(h, Float.floatToIntBits(pac.pos().y()));
+        h = mix(h, pac.worldNavigation().moveDir().ordinal());
+        h = mix(h, pac.worldNavigation().wishDir().ordinal());
+
+        for (Ghost ghost : level.entities().ghosts()) {
+            h = mix(h, Float.floatToIntBits(ghost.pos().x()));
+            h = mix(h, Float.floatToIntBits(ghost.pos().y()));
+            h = mix(h, ghost.worldNavigation().moveDir().ordinal());
+            h = mix(h, ghost.state().enumValue().ordinal());
+        }
+
+        if (level.entities().optBonus().isPresent()) {
+            final var bonus = level.entities().optBonus().get();
+            h = mix(h, bonus.bonusState().ordinal());
+            h = mix(h, Float.floatToIntBits(bonus.pos().x()));
+            h = mix(h, Float.floatToIntBits(bonus.pos().y()));
+        }
+        return h;
+    }
+
+    private static long mix(long h, long value) {
+        for (int i = 0; i < 8; ++i) {
+            h ^= (value >>> (8 * i)) & 0xFF;
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.replay;
+
+import de.amr.basics.math.Direction;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Recorded game: the seed of the game logic random generator, the session options of the game variant, the input of
+ * each tick, the actions executed between ticks (cheats, variant-specific actions like the Tengen booster) and a
+ * checksum of the game state after every {@code checksumInterval} ticks.
+ * <p>
+ * The input of a tick is a single byte: bits 0-2 contain the steering direction ({@code 0} = none,
+ * {@code 1 + Direction.ordinal()} else), bit 3 is set if the timer of the current game state had expired (e.g. the UI
+ * ended an animation). In the binary format, the input bytes are run-length encoded because most ticks have the same
+ * input.
+ *
+ * @param variantName       name of the game variant
+ * @param seed              seed of the game logic random generator
+ * @param autopilot         if Pac-Man was steered by the autopilot
+ * @param pacImmune         if Pac-Man was immune against ghosts
+ * @param cutScenesEnabled  if cut scenes were enabled
+ * @param pathDistanceNavigation if ghosts and the autopilot navigated by path distances
+ * @param sessionOptions    variant-specific session options, see {@link de.amr.pacmanfx.core.gameplay.GamePlay#sessionOptions}
+ * @param startTick         clock tick of the first recorded tick
+ * @param checksumInterval  number of ticks between two checksums
+ * @param inputs            input byte of each tick
+ * @param actions           actions in tick order
+ * @param checksums         entity state checksums, entry {@code i} is taken after tick {@code (i+1) * checksumInterval}
+ */
+public record Replay(
+    String variantName,
+    long seed,
+    boolean autopilot,
+    boolean pacImmune,
+    boolean cutScenesEnabled,
+    boolean pathDistanceNavigation,
+    Map<String, String> sessionOptions,
+    long startTick,
+    int checksumInterval,
+    byte[] inputs,
+    List<Action> actions,
+    long[] checksums)
+{
+    /**
+     * Action executed before the given tick, e.g. a cheat.
+     *
+     * @param tick index of the tick in the replay
+     * @param name action name, see {@link de.amr.pacmanfx.core.model.GameCheats.Cheat}
+     *             and {@link de.amr.pacmanfx.core.gameplay.GamePlay#executeReplayAction}
+     */
+    public record Action(int tick, String name) {
+        public Action {
+            requireNonNull(name);
+        }
+    }
+
+    public static final int MAGIC = 0x504D5250; // "PMRP"
+    public static final short FORMAT_VERSION = 3;
+
+    public static final int STEERING_MASK = 0b0111;
+    public static final int STATE_TIMEOUT_BIT = 0b1000;
+
+    public Replay {
+        requireNonNull(variantName);
+        sessionOptions = Map.copyOf(sessionOptions);
+        requireNonNull(inputs);
+        actions = List.copyOf(actions);
+        requireNonNull(checksums);
+        if (checksumInterval <= 0) {
+            throw new IllegalArgumentException("Checksum interval must be positive but is %d".formatted(checksumInterval));
+        }
+        int lastTick = 0;
+        for (Action action : actions) {
+            if (action.tick() < lastTick || action.tick() >= inputs.length) {
+                throw new IllegalArgumentException("Action '%s' at tick %d is out of order or range".formatted(
+                    action.name(), action.tick()));
+            }
+            lastTick = action.tick();
+        }
+    }
+
+    public static byte encodeInput(Direction steering, boolean stateTimeout) {
+        final int steeringBits = steering != null ? 1 + steering.ordinal() : 0;
+        return (byte) (steeringBits | (stateTimeout ? STATE_TIMEOUT_BIT : 0));
+    }
+
+    /**
+     * @param input input byte
+     * @return steering direction or {@code null} if there was no steering in this tick
+     */
+    public static Direction steering(byte input) {
+        final int steeringBits = input & STEERING_MASK;
+        return steeringBits != 0 ? Direction.values()[steeringBits - 1] : null;
+    }
+
+    public static boolean stateTimeout(byte input) {
+        return (input & STATE_TIMEOUT_BIT) != 0;
+    }
+
+    public int tickCount() {
+        return inputs.length;
+    }
+
+    public static Replay load(Path path) throws IOException {
+        try (var in = new BufferedInputStream(Files.newInputStream(path))) {
+            return read(in);
+        }
+    }
+
+    public void save(Path path) throws IOException {
+        try (var out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            write(out);
+        }
+    }
+
+    public static Replay read(InputStream inputStream) throws IOException {
+        final var in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a replay file");
+        }
+        final short version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported replay format version %d".formatted(version));
+        }
+        final String variantName = in.readUTF();
+        final long seed = in.readLong();
+        final boolean autopilot = in.readBoolean();
+        final boolean pacImmune = in.readBoolean();
+        final boolean cutScenesEnabled = in.readBoolean();
+        final boolean pathDistanceNavigation = in.readBoolean();
+        final int numOptions = in.readInt();
+        final Map<String, String> sessionOptions = new LinkedHashMap<>();
+        for (int k = 0; k < numOptions; ++k) {
+            sessionOptions.put(in.readUTF(), in.readUTF());
+        }
+        final long startTick = in.readLong();
+        final int checksumInterval = in.readInt();
+
+        final byte[] inputs = new byte[in.readInt()];
+        int i = 0;
+        while (i < inputs.length) {
+            final int runLength = readVarInt(in);
+            final byte input = in.readByte();
+            if (runLength <= 0 || i + runLength > inputs.length) {
+                throw new IOException("Corrupt input run at tick %d".formatted(i));
+            }
+            Arrays.fill(inputs, i, i + runLength, input);
+            i += runLength;
+        }
+
+        final int numActions = in.readInt();
+        final List<Action> actions = new ArrayList<>();
+        int lastTick = 0;
+        for (int k = 0; k < numActions; ++k) {
+            final int tick = lastTick + readVarInt(in);
+            if (tick < lastTick || tick >= inputs.length) {
+                throw new IOException("Corrupt action at tick %d".formatted(tick));
+            }
+            actions.add(new Action(tick, in.readUTF()));
+            lastTick = tick;
+        }
+
+        final long[] checksums = new long[in.readInt()];
+        for (int k = 0; k < checksums.length; ++k) {
+            checksums[k] = in.readLong();
+        }
+        return new Replay(variantName, seed, autopilot, pacImmune, cutScenesEnabled, pathDistanceNavigation, sessionOptions,
+            startTick, checksumInterval, inputs, actions, checksums);
+    }
+
+    public void write(OutputStream outputStream) throws IOException {
+        final var out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeUTF(variantName);
+        out.writeLong(seed);
+        out.writeBoolean(autopilot);
+        out.writeBoolean(pacImmune);
+        out.writeBoolean(cutScenesEnabled);
+        out.writeBoolean(pathDistanceNavigation);
+        out.writeInt(sessionOptions.size());
+        for (var option : sessionOptions.entrySet()) {
+            out.writeUTF(option.getKey());
+            out.writeUTF(option.getValue());
+        }
+        out.writeLong(startTick);
+        out.writeInt(checksumInterval);
+
+        out.writeInt(inputs.length);
+        int i = 0;
+        while (i < inputs.length) {
+            int end = i + 1;
+            while (end < inputs.length && inputs[end] == inputs[i]) {
+                ++end;
+            }
+            writeVarInt(out, end - i);
+            out.writeByte(inputs[i]);
+            i = end;
+        }
+
+        out.writeInt(actions.size());
+        int lastTick = 0;
+        for (Action action : actions) {
+            writeVarInt(out, action.tick() - lastTick); // tick delta
+            out.writeUTF(action.name());
+            lastTick = action.tick();
+        }
+
+        out.writeInt(checksums.length);
+        for (long checksum : checksums) {
+            out.writeLong(checksum);
+        }
+        out.flush();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.replay;
+
+import de.amr.basics.math.Direction;
+import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.GameSession;
+import de.amr.pacmanfx.core.gamestate.CommonGameStateID;
+import de.amr.pacmanfx.core.gamestate.GameState;
+import de.amr.pacmanfx.core.model.GameCheats;
+import org.tinylog.Logger;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Re-simulates a recorded game without UI and verifies after every {@code checksumInterval} ticks that the game state
+ * is identical to the recorded one.
+ * <p>
+ * The game is started like the {@link de.amr.pacmanfx.core.headless.HeadlessGameRunner} starts a game (new session,
+ * coin inserted, {@link CommonGameStateID#GAME_STARTING} entered) and the recorded session options are restored. Then
+ * each tick executes the actions recorded before the tick, applies the recorded input and updates the game flow. State
+ * timeouts which were triggered by the UI in the recorded game are triggered by this player at the same tick.
+ */
+public class ReplayPlayer {
+
+    private final GameContext game;
+    private final Replay replay;
+
+    private int tick;
+    private int actionIndex;
+    private int checksumsVerified;
+
+    /**
+     * @param game a game context of the recorded game variant, must not have a recorder attached
+     * @param replay the replay
+     */
+    public ReplayPlayer(GameContext game, Replay replay) {
+        this.game = requireNonNull(game);
+        this.replay = requireNonNull(replay);
+    }
+
+    /**
+     * @return number of ticks played so far
+     */
+    public int tick() {
+        return tick;
+    }
+
+    public int checksumsVerified() {
+        return checksumsVerified;
+    }
+
+    public boolean isFinished() {
+        return tick == replay.tickCount();
+    }
+
+    public void start() {
+        tick = 0;
+        actionIndex = 0;
+        checksumsVerified = 0;
+        game.setSession(new GameSession(replay.variantName(), new GameCheats()));
+        game.variant().gamePlay().startSession(game);
+        game.variant().gamePlay().applySessionOptions(game, replay.sessionOptions());
+
+        final GameSession session = game.session();
+        session.setCutScenesEnabled(replay.cutScenesEnabled());
+        session.setPathDistanceNavigation(replay.pathDistanceNavigation());
+        session.cheats().pacUsingAutopilotProperty().set(replay.autopilot());
+        session.cheats().pacImmuneProperty().set(replay.pacImmune());
+
+        game.reseedRandom(replay.seed());
+        game.coinMechanism().insertCoin();
+        game.variant().gameFlow().enterGameState(game, CommonGameStateID.GAME_STARTING);
+    }
+
+    /**
+     * Plays the next tick of the replay.
+     *
+     * @throws IllegalStateException if the game state differs from the recorded state
+     */
+    public void step() {
+        if (isFinished()) {
+            throw new IllegalStateException("Replay is already finished");
+        }
+        // Actions were executed between two ticks in the recorded game, i.e. before the new frame state was created
+        final List<Replay.Action> actions = replay.actions();
+        while (actionIndex < actions.size() && actions.get(actionIndex).tick() == tick) {
+            executeAction(actions.get(actionIndex++).name());
+        }
+        final byte input = replay.inputs()[tick];
+        game.session().newFrameState(replay.startTick() + tick);
+
+        final Direction steering = Replay.steering(input);
+        if (steering != null) {
+            game.session().optLevel().ifPresent(level ->
+                game.variant().systems().worldNavigator().setWishDir(level.entities().pac(), steering));
+        }
+        final GameState state = game.state();
+        if (Replay.stateTimeout(input) && !state.timer().hasExpired()) {
+            state.triggerTimeout();
+        }
+        game.variant().gameFlow().update(game);
+        ++tick;
+
+        if (tick % replay.checksumInterval() == 0) {
+            final int index = tick / replay.checksumInterval() - 1;
+            if (index < replay.checksums().length) {
+                final long checksum = GameStateChecksum.compute(game);
+                if (checksum != replay.checksums()[index]) {
+                    throw new IllegalStateException("Replay diverged between tick %d and %d (state %s)".formatted(
+                        tick - replay.checksumInterval(), tick, game.state().name()));
+                }
+                ++checksumsVerified;
+            }
+        }
+    }
+
+    private void executeAction(String name) {
+        final Optional<GameCheats.Cheat> cheat = Arrays.stream(GameCheats.Cheat.values())
+            .filter(c -> c.name().equals(name))
+            .findFirst();
+        if (cheat.isPresent()) {
+            game.session().cheats().execute(game, cheat.get());
+        } else {
+            game.variant().gamePlay().executeReplayAction(game, name);
+        }
+    }
+
+    /**
+     * Plays the complete replay.
+     *
+     * @return number of verified checksums
+     * @throws IllegalStateException if the game state differs from the recorded state
+     */
+    public int play() {
+        start();
+        while (!isFinished()) {
+            step();
+        }
+        Logger.info("Replay of {} ticks played, {} checksums verified", tick, checksumsVerified);
+        return checksumsVerified;
+    }
+}
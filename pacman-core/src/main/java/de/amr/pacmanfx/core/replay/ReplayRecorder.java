@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.replay;
+
+import de.amr.basics.math.Direction;
+import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.GameSession;
+import de.amr.pacmanfx.core.model.GameCheats;
+import javafx.beans.value.ChangeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records the input of a game tick by tick, together with a checksum of the game state after every
+ * {@code checksumInterval} ticks.
+ * <p>
+ * The simulation loop calls {@link #beforeTick(GameContext)} after the new frame state has been created and before
+ * the game flow is updated, and {@link #afterTick(GameContext)} after the update. Steering input arriving between two
+ * ticks (e.g. from the keyboard) is passed via {@link #recordSteering(Direction)} and stored with the next tick.
+ * Actions changing the game state between ticks (cheats, variant-specific actions) are passed via
+ * {@link #recordAction(String)} and also stored with the next tick. Switching the autopilot or immunity on or off is
+ * recorded by observing the cheat properties of the session, no matter if it was done by an action or a menu.
+ * <p>
+ * Recording starts when the game starting state calls {@link #start(GameContext)}, see
+ * {@link GameContext#optReplayRecorder()}. If another game is started, the recording starts from scratch.
+ * <p>
+ * The UI simulation loop and the UI actions feed the recorder attached to the game context. The application attaches
+ * one only if replay recording has been switched on, see {@link ReplaySaver}.
+ */
+public class ReplayRecorder {
+
+    public static final int DEFAULT_CHECKSUM_INTERVAL = 60;
+
+    private final String variantName;
+    private final long seed;
+    private final int checksumInterval;
+
+    private boolean started;
+    private boolean autopilot;
+    private boolean pacImmune;
+    private boolean cutScenesEnabled;
+    private boolean pathDistanceNavigation;
+    private Map<String, String> sessionOptions;
+    private long startTick;
+    private GameCheats observedCheats;
+
+    private byte[] inputs = new byte[60 * 60];
+    private int tickCount;
+    private long[] checksums = new long[64];
+    private int checksumCount;
+    private Direction pendingSteering;
+    private final List<Replay.Action> actions = new ArrayList<>();
+    private final List<String> pendingActions = new ArrayList<>();
+
+    private final ChangeListener<Boolean> autopilotListener = (_, _, on) ->
+        recordAction((on ? GameCheats.Cheat.AUTOPILOT_ON : GameCheats.Cheat.AUTOPILOT_OFF).name());
+
+    private final ChangeListener<Boolean> immunityListener = (_, _, on) ->
+        recordAction((on ? GameCheats.Cheat.IMMUNITY_ON : GameCheats.Cheat.IMMUNITY_OFF).name());
+
+    /**
+     * @param variantName       name of the game variant
+     * @param seed              seed of the game logic random generator, see {@link #start(GameContext)}
+     * @param checksumInterval  number of ticks between two checksums
+     */
+    public ReplayRecorder(String variantName, long seed, int checksumInterval) {
+        this.variantName = requireNonNull(variantName);
+        this.seed = seed;
+        if (checksumInterval <= 0) {
+            throw new IllegalArgumentException("Checksum interval must be positive but is %d".formatted(checksumInterval));
+        }
+        this.checksumInterval = checksumInterval;
+    }
+
+    /**
+     * Re-seeds the random generator of the game logic with the seed of this recording and starts recording. Called by
+     * the game starting state when it is entered, ticks before are not recorded.
+     *
+     * @param game the game context
+     */
+    public void start(GameContext game) {
+        final GameSession session = game.session();
+        game.reseedRandom(seed);
+        autopilot = session.cheats().isPacUsingAutopilot();
+        pacImmune = session.cheats().isPacImmune();
+        cutScenesEnabled = session.cutScenesEnabled();
+        pathDistanceNavigation = session.isPathDistanceNavigation();
+        sessionOptions = game.variant().gamePlay().sessionOptions(game);
+        startTick = -1;
+        tickCount = 0;
+        checksumCount = 0;
+        pendingSteering = null;
+        actions.clear();
+        pendingActions.clear();
+        observeCheats(session.cheats());
+        started = true;
+    }
+
+    private void observeCheats(GameCheats cheats) {
+        if (observedCheats != null) {
+            observedCheats.pacUsingAutopilotProperty().removeListener(autopilotListener);
+            observedCheats.pacImmuneProperty().removeListener(immunityListener);
+        }
+        observedCheats = cheats;
+        cheats.pacUsingAutopilotProperty().addListener(autopilotListener);
+        cheats.pacImmuneProperty().addListener(immunityListener);
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+
+    public void recordSteering(Direction dir) {
+        pendingSteering = requireNonNull(dir);
+    }
+
+    /**
+     * Records an action changing the game state, it is replayed before the next tick.
+     *
+     * @param name action name, see {@link Replay.Action}
+     */
+    public void recordAction(String name) {
+        requireNonNull(name);
+        if (started) {
+            pendingActions.add(name);
+        }
+    }
+
+    public void beforeTick(GameContext game) {
+        if (!started) {
+            return;
+        }
+        if (startTick == -1) {
+            startTick = game.session().thisFrame().tick();
+        }
+        if (tickCount == inputs.length) {
+            inputs = Arrays.copyOf(inputs, 2 * inputs.length);
+        }
+        for (String name : pendingActions) {
+            actions.add(new Replay.Action(tickCount, name));
+        }
+        pendingActions.clear();
+        inputs[tickCount++] = Replay.encodeInput(pendingSteering, game.state().timer().hasExpired());
+        pendingSteering = null;
+    }
+
+    public void afterTick(GameContext game) {
+        if (started && tickCount > 0 && tickCount % checksumInterval == 0) {
+            if (checksumCount == checksums.length) {
+                checksums = Arrays.copyOf(checksums, 2 * checksums.length);
+            }
+            checksums[checksumCount++] = GameStateChecksum.compute(game);
+        }
+    }
+
+    public int tickCount() {
+        return tickCount;
+    }
+
+    /**
+     * @return replay containing the ticks recorded so far
+     */
+    public Replay toReplay() {
+        if (!started) {
+            throw new IllegalStateException("Recording has not been started");
+        }
+        return new Replay(variantName, seed, autopilot, pacImmune, cutScenesEnabled, pathDistanceNavigation, sessionOptions,
+            Math.max(startTick, 0), checksumInterval, Arrays.copyOf(inputs, tickCount), actions,
+            Arrays.copyOf(checksums, checksumCount));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.core.replay;
+
+import de.amr.basics.fsm.State;
+import de.amr.basics.fsm.StateChangeListener;
+import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.gamestate.CommonGameStateID;
+import org.tinylog.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records every game of a game context and saves the replay into a directory when the game is over.
+ * <p>
+ * Must be registered as state change listener of the game flow. After each saved game, a new recorder with a fresh
+ * seed is attached, so consecutive games do not repeat the same random sequence. Replays are stored as
+ * {@code <variant>_<date>_<time>.replay} and can be verified with {@link ReplayPlayer}.
+ */
+public class ReplaySaver implements StateChangeListener<GameContext> {
+
+    public static final String FILE_EXTENSION = ".replay";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final GameContext game;
+    private final String variantName;
+    private final Path dir;
+
+    /**
+     * @param game        the game context, a recorder is attached by {@link #attachNewRecorder()}
+     * @param variantName name of the game variant
+     * @param dir         directory where replays are saved, created if needed
+     */
+    public ReplaySaver(GameContext game, String variantName, Path dir) {
+        this.game = requireNonNull(game);
+        this.variantName = requireNonNull(variantName);
+        this.dir = requireNonNull(dir);
+    }
+
+    public Path dir() {
+        return dir;
+    }
+
+    /**
+     * Attaches a new recorder with a random seed to the game context. Recording starts with the next game.
+     */
+    public void attachNewRecorder() {
+        final long seed = ThreadLocalRandom.current().nextLong();
+        game.setReplayRecorder(new ReplayRecorder(variantName, seed, ReplayRecorder.DEFAULT_CHECKSUM_INTERVAL));
+    }
+
+    @Override
+    public void onStateChange(State<GameContext> oldState, State<GameContext> newState) {
+        if (CommonGameStateID.GAME_OVER.hasSameNameAs(newState)) {
+            game.optReplayRecorder().filter(ReplayRecorder::isStarted).ifPresent(recorder -> {
+                try {
+                    final Path file = save(recorder.toReplay());
+                    Logger.info("Replay of {} ticks saved to {}", recorder.tickCount(), file);
+                } catch (IOException x) {
+                    Logger.error(x, "Could not save replay");
+                }
+                attachNewRecorder();
+            });
+        }
+    }
+
+    /**
+     * Saves the given replay into the replay directory.
+     *
+     * @param replay the replay
+     * @return path of the replay file
+     * @throws IOException if the file cannot be written
+     */
+    public Path save(Replay replay) throws IOException {
+        requireNonNull(replay);
+        Files.createDirectories(dir);
+        final String timestamp = LocalDateTime.now().format(FILE_TIMESTAMP_FORMAT);
+        Path file = dir.resolve(variantName + "_" + timestamp + FILE_EXTENSION);
+        for (int i = 2; Files.exists(file); ++i) {
+            file = dir.resolve(variantName + "_" + timestamp + "_" + i + FILE_EXTENSION);
+        }
+        replay.save(file);
+        return file;
+    }
+}
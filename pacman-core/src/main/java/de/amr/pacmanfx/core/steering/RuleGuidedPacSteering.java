@@ -17,8 +17,8 @@ import de.amr.pacmanfx.core.entities.bonus.comp.BonusState;
 import de.amr.pacmanfx.core.entities.ghost.comp.GhostState;
 import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.PathDistances;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
-import de.amr.pacmanfx.core.model.world.map.WorldMap;
 import org.tinylog.Logger;
 
 import java.util.ArrayList;
@@ -75,15 +75,24 @@ public class RuleGuidedPacSteering implements Steering<Pac> {
 
     private final WorldNavigationSystem navigator;
     private final WorldMovementPolicy<Pac> worldMovementPolicy;
+    private boolean usingPathDistances;
 
     public RuleGuidedPacSteering(WorldNavigationSystem navigator, WorldMovementPolicy<Pac> worldMovementPolicy) {
         this.navigator = requireNonNull(navigator);
         this.worldMovementPolicy = requireNonNull(worldMovementPolicy);
     }
 
+    /**
+     * @param usingPathDistances if {@code true}, the nearest food tile farthest from the ghosts is selected using the
+     *                           path distances of the maze instead of the Manhattan distance of Pac-Man to the ghosts
+     */
+    public void setUsingPathDistances(boolean usingPathDistances) {
+        this.usingPathDistances = usingPathDistances;
+    }
+
     @Override
     public void steer(Pac pac, GameLevel level) {
-        final WorldNavigationComp worldNavigation = pac.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp worldNavigation = pac.reqComp(WorldNavigationComp.TYPE);
 
         if (worldNavigation.info().moved && !worldNavigation.isNewTileEntered()) {
             return;
@@ -261,40 +270,14 @@ public class RuleGuidedPacSteering implements Steering<Pac> {
     }
 
     private List<Vector2i> findNearestFoodTiles(GameLevel level) {
-        final WorldMap worldMap = level.worldMap();
-        final FoodLayer foodLayer = worldMap.foodLayer();
         final Pac pac = level.entities().pac();
         final Vector2i pacTile = pac.pos().tile();
         final long powerTicksRemaining = pac.power().ticksRemaining();
         final boolean enoughTimeLeft = powerTicksRemaining > 2L * GameConstants.SIMULATION_FPS;
-        final List<Vector2i> foodTiles = new ArrayList<>();
+        final boolean skipEnergizers = enoughTimeLeft && level.food().remainingFoodCount() > 1;
 
         long time = System.nanoTime();
-
-        float minDist = Float.MAX_VALUE;
-        for (int x = 0; x < worldMap.numCols(); ++x) {
-            for (int y = 0; y < worldMap.numRows(); ++y) {
-                final Vector2i tile = new Vector2i(x, y);
-                if (!foodLayer.isFoodTile(tile) || level.food().hasEatenFoodAtTile(tile)) {
-                    continue;
-                }
-                if (foodLayer.isEnergizerTile(tile)
-                    && enoughTimeLeft
-                    && level.food().remainingFoodCount() > 1) {
-                    continue;
-                }
-                float dist = pacTile.manhattanDist(tile);
-                if (dist < minDist) {
-                    minDist = dist;
-                    foodTiles.clear();
-                    foodTiles.add(tile);
-                }
-                else if (dist == minDist) {
-                    foodTiles.add(tile);
-                }
-            }
-        }
-
+        final List<Vector2i> foodTiles = level.food().nearestFoodTiles(pacTile.x(), pacTile.y(), skipEnergizers);
         time = System.nanoTime() - time;
         Logger.trace("Nearest food tiles from Pac-Man location {}: (time {} millis)", pacTile, time / 1_000_000f);
 
@@ -305,7 +288,8 @@ public class RuleGuidedPacSteering implements Steering<Pac> {
         Vector2i farthestTile = null;
         float maxDist = -1;
         for (Vector2i tile : tiles) {
-            float dist = minDistanceFromGhosts(level, pac);
+            float dist = usingPathDistances && level.worldMap().terrainLayer().pathDistances().isAvailable()
+                ? minPathDistanceFromGhosts(level, tile) : minDistanceFromGhosts(level, pac);
             if (dist > maxDist) {
                 maxDist = dist;
                 farthestTile = tile;
@@ -322,4 +306,16 @@ public class RuleGuidedPacSteering implements Steering<Pac> {
             .min()
             .orElse(Float.MAX_VALUE);
     }
-}
\ No newline at end of file
+
+    private float minPathDistanceFromGhosts(GameLevel level, Vector2i tile) {
+        final PathDistances pathDistances = level.worldMap().terrainLayer().pathDistances();
+        int minDist = Integer.MAX_VALUE;
+        for (Ghost ghost : level.entities().ghosts()) {
+            final int dist = pathDistances.distance(ghost.pos().tileX(), ghost.pos().tileY(), tile.x(), tile.y());
+            if (dist != PathDistances.UNREACHABLE && dist < minDist) {
+                minDist = dist;
+            }
+        }
+        return minDist;
+    }
+}
@@ -50,5 +50,7 @@ module de.amr.pacmanfx.core {
     exports de.amr.pacmanfx.core.entities.score.comp;
     exports de.amr.pacmanfx.core.entities.score.system;
     exports de.amr.pacmanfx.core.gameplay.hunt;
+    exports de.amr.pacmanfx.core.headless;
+    exports de.amr.pacmanfx.core.replay;
     exports de.amr.pacmanfx.core.spriteanim;
 }
\ No newline at end of file
@@ -5,16 +5,24 @@
 package de.amr.pacmanfx.uilib;
 
 import de.amr.basics.util.Ufx;
+import de.amr.meshbuilder.BinaryMeshFormat;
+import de.amr.meshbuilder.BinaryMeshFormat.MeshData;
 import de.amr.meshbuilder.MeshBuilder;
 import de.amr.objparser.ObjFileParser;
 import de.amr.objparser.ObjModel;
+import de.amr.pacmanfx.core.GameConstants;
 import javafx.scene.shape.Mesh;
+import javafx.scene.shape.TriangleMesh;
 import javafx.scene.transform.Rotate;
 import org.tinylog.Logger;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -29,6 +37,11 @@ import static java.util.Objects.requireNonNull;
  * not used. Instead, we use colored materials created according to the color scheme needed for the games.
  * <p>
  * For the pellets, another model is used, and the maze is procedurally generated from the map data.
+ * <p>
+ * Parsing the OBJ file and building the meshes is only done on the first run: the meshes are then stored in the
+ * {@link GameConstants#CACHE_DIR cache directory} in a binary format (see {@link BinaryMeshFormat}), keyed by the hash
+ * of the OBJ file, and loaded from there on subsequent runs. The file header also stores the mesh builder version, so
+ * the meshes are built again after the builder has been changed.
  */
 public class PacMan3DModel {
 
@@ -44,6 +57,8 @@ public class PacMan3DModel {
 
     private static final String PAC_MAN_WORLD_OBJ_FILE = "/de/amr/pacmanfx/uilib/entities3D/pacmanworld/pacman.obj";
 
+    private static final String MESH_CACHE_FILE_NAME_PATTERN = "pacman-%016x.mesh";
+
     // Strange IDs but it is what it is and it isn't what it isn't.
 
     private static final String ID_GHOST_DRESS    = "GhostCyanHead.GhostCyanHead_light_blue_ghost";
@@ -75,16 +90,59 @@ public class PacMan3DModel {
             throw new ExceptionInInitializerError("Unable to create 3D model from .obj file " + PAC_MAN_WORLD_OBJ_FILE);
         }
         try {
-            final ObjModel objModel = new ObjFileParser(url, StandardCharsets.UTF_8).parse();
-            final MeshBuilder meshBuilder = new MeshBuilder(objModel);
-            meshes = meshBuilder.buildMeshViewsByGroup(MESH_IDs::contains)
-                .entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getMesh()));
+            final byte[] source;
+            try (InputStream in = url.openStream()) {
+                source = in.readAllBytes();
+            }
+            final long sourceHash = BinaryMeshFormat.hash(source);
+            final Path cacheFile = GameConstants.CACHE_DIR.toPath().resolve(MESH_CACHE_FILE_NAME_PATTERN.formatted(sourceHash));
+            List<MeshData> meshDataList = loadCachedMeshes(cacheFile, sourceHash);
+            if (meshDataList == null) {
+                meshDataList = buildMeshes(url);
+                storeCachedMeshes(cacheFile, sourceHash, meshDataList);
+            }
+            meshes = meshDataList.stream().collect(Collectors.toMap(MeshData::id, MeshData::mesh));
         } catch (IOException x) {
             Logger.error(x, "3D model loading failed.");
         }
     }
 
+    // Returns null if the cache file does not exist, is outdated or incomplete
+    private List<MeshData> loadCachedMeshes(Path cacheFile, long sourceHash) {
+        if (!Files.exists(cacheFile)) {
+            return null;
+        }
+        try {
+            final List<MeshData> meshDataList = BinaryMeshFormat.read(cacheFile, sourceHash).orElse(null);
+            if (meshDataList != null && meshDataList.stream().map(MeshData::id).collect(Collectors.toSet()).containsAll(MESH_IDs)) {
+                Logger.info("3D meshes loaded from cache file {}", cacheFile);
+                return meshDataList;
+            }
+            Logger.info("Cache file {} is outdated", cacheFile);
+        } catch (IOException x) {
+            Logger.warn(x, "Could not read cache file {}", cacheFile);
+        }
+        return null;
+    }
+
+    private void storeCachedMeshes(Path cacheFile, long sourceHash, List<MeshData> meshDataList) {
+        try {
+            BinaryMeshFormat.write(cacheFile, sourceHash, meshDataList);
+            Logger.info("3D meshes stored in cache file {}", cacheFile);
+        } catch (IOException x) {
+            Logger.warn(x, "Could not write cache file {}", cacheFile);
+        }
+    }
+
+    private List<MeshData> buildMeshes(URL url) throws IOException {
+        final ObjModel objModel = new ObjFileParser(url, StandardCharsets.UTF_8).parse();
+        final MeshBuilder meshBuilder = new MeshBuilder(objModel);
+        meshBuilder.setParallel(true);
+        return meshBuilder.buildMeshViewsByGroup(MESH_IDs::contains).values().stream()
+            .map(meshView -> new MeshData(meshView.getId(), meshBuilder.materialName(meshView), (TriangleMesh) meshView.getMesh()))
+            .toList();
+    }
+
     public Mesh ghostDressMesh() {
         return meshes.get(ID_GHOST_DRESS);
     }
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.uilib.entities3D.world;
+
+import de.amr.pacmanfx.core.model.world.map.FoodState;
+import de.amr.pacmanfx.core.model.world.map.WorldMap;
+import de.amr.pacmanfx.uilib.DisposableGraphicsObject;
+import javafx.scene.Group;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The pellets of a maze, batched into one mesh per square region of {@link #REGION_SIZE} tiles instead of using one
+ * shape node per pellet.
+ * <p>
+ * Each region mesh contains the points of all its pellets. When a pellet gets hidden or shown again, only the face
+ * array of its region mesh is rewritten to contain the faces of the visible pellets. Energizers are not part of the
+ * batch because they have their own animations.
+ */
+public class PelletBatch3D implements DisposableGraphicsObject {
+
+    /** Width and height (in tiles) of the regions whose pellets are merged into a single mesh. */
+    public static final int REGION_SIZE = 8;
+
+    // Low-poly ellipsoid, pellets are small
+    private static final int SEGMENTS = 8;
+    private static final int RINGS = 6;
+    private static final float SCALE_X = 1.25f;
+
+    private static final int POINTS_PER_PELLET = SEGMENTS * (RINGS - 1) + 2;
+    private static final int[] PELLET_FACES = createPelletFaces(); // point indices relative to the first pellet point
+    private static final int FACE_INTS_PER_PELLET = PELLET_FACES.length;
+
+    private static int[] createPelletFaces() {
+        final int north = 0, south = POINTS_PER_PELLET - 1;
+        final int numTriangles = 2 * SEGMENTS * (RINGS - 1);
+        final int[] faces = new int[6 * numTriangles];
+        int i = 0;
+        for (int s = 0; s < SEGMENTS; ++s) {
+            final int next = (s + 1) % SEGMENTS;
+            // north cap
+            i = addTriangle(faces, i, north, 1 + next, 1 + s);
+            // bands between rings
+            for (int r = 0; r < RINGS - 2; ++r) {
+                final int a = 1 + r * SEGMENTS + s, b = 1 + r * SEGMENTS + next;
+                final int c = a + SEGMENTS, d = b + SEGMENTS;
+                i = addTriangle(faces, i, a, b, c);
+                i = addTriangle(faces, i, b, d, c);
+            }
+            // south cap
+            final int lastRing = 1 + (RINGS - 2) * SEGMENTS;
+            i = addTriangle(faces, i, lastRing + s, lastRing + next, south);
+        }
+        return faces;
+    }
+
+    // Points are given in the order such that the face normal (p1 - p0) x (p2 - p0) points outwards
+    private static int addTriangle(int[] faces, int i, int p0, int p1, int p2) {
+        // all faces use texture coordinate 0
+        faces[i] = p0; faces[i + 1] = 0;
+        faces[i + 2] = p1; faces[i + 3] = 0;
+        faces[i + 4] = p2; faces[i + 5] = 0;
+        return i + 6;
+    }
+
+    private static void addPelletPoints(float[] points, int offset, float cx, float cy, float cz, float radius) {
+        int i = offset;
+        points[i++] = cx; points[i++] = cy; points[i++] = cz - radius; // north pole
+        for (int r = 1; r < RINGS; ++r) {
+            final double phi = Math.PI * r / RINGS;
+            final float z = (float) (-radius * Math.cos(phi));
+            final double ringRadius = radius * Math.sin(phi);
+            for (int s = 0; s < SEGMENTS; ++s) {
+                final double theta = 2 * Math.PI * s / SEGMENTS;
+                points[i++] = cx + (float) (SCALE_X * ringRadius * Math.cos(theta));
+                points[i++] = cy + (float) (ringRadius * Math.sin(theta));
+                points[i++] = cz + z;
+            }
+        }
+        points[i++] = cx; points[i++] = cy; points[i] = cz + radius; // south pole
+    }
+
+    private static class Region {
+        private int[] tileIndices = new int[0]; // pellet tile indices in order of their points in the mesh
+        private final BitSet visible = new BitSet();
+        private MeshView meshView;
+    }
+
+    private final Group root = new Group();
+    private final int numCols;
+    private final int numRegionCols;
+    private final Region[] regions;
+    private final int[] slotByTileIndex; // index of pellet inside its region, -1 if tile has no pellet
+    private int[] faceBuffer = new int[0];
+
+    /**
+     * Creates the batched pellets for all pellet tiles of the given food state. Only the pellets not eaten yet are visible.
+     *
+     * @param food the food state of the level
+     * @param numCols number of tile columns of the world map
+     * @param numRows number of tile rows of the world map
+     * @param radius pellet radius
+     * @param z z-coordinate of the pellet centers
+     * @param material pellet material
+     */
+    public PelletBatch3D(FoodState food, int numCols, int numRows, float radius, float z, PhongMaterial material) {
+        requireNonNull(food);
+        requireNonNull(material);
+        this.numCols = numCols;
+        numRegionCols = (numCols + REGION_SIZE - 1) / REGION_SIZE;
+        final int numRegionRows = (numRows + REGION_SIZE - 1) / REGION_SIZE;
+        regions = new Region[numRegionCols * numRegionRows];
+        slotByTileIndex = new int[numCols * numRows];
+        Arrays.fill(slotByTileIndex, -1);
+
+        final int[] pelletCountByRegion = new int[regions.length];
+        food.forEachFoodTileIndex(false, index -> ++pelletCountByRegion[regionOf(index)]);
+        for (int r = 0; r < regions.length; ++r) {
+            regions[r] = new Region();
+            regions[r].tileIndices = new int[pelletCountByRegion[r]];
+        }
+        final int[] fillCount = new int[regions.length];
+        food.forEachFoodTileIndex(false, index -> {
+            final int r = regionOf(index);
+            slotByTileIndex[index] = fillCount[r];
+            regions[r].tileIndices[fillCount[r]++] = index;
+        });
+
+        for (Region region : regions) {
+            if (region.tileIndices.length == 0) continue;
+            final float[] points = new float[3 * POINTS_PER_PELLET * region.tileIndices.length];
+            for (int slot = 0; slot < region.tileIndices.length; ++slot) {
+                final int index = region.tileIndices[slot];
+                final float cx = (index % numCols) * WorldMap.TS + WorldMap.HTS;
+                final float cy = (index / numCols) * WorldMap.TS + WorldMap.HTS;
+                addPelletPoints(points, 3 * POINTS_PER_PELLET * slot, cx, cy, z, radius);
+            }
+            final var mesh = new TriangleMesh();
+            mesh.getPoints().setAll(points);
+            mesh.getTexCoords().setAll(0, 0);
+            region.meshView = new MeshView(mesh);
+            region.meshView.setMaterial(material);
+            root.getChildren().add(region.meshView);
+        }
+        showRemainingPellets(food);
+    }
+
+    @Override
+    public void dispose() {
+        cleanupGroup(root, true);
+    }
+
+    public Group root() {
+        return root;
+    }
+
+    /**
+     * @param tileIndex tile index (row-wise order)
+     * @return if there is a pellet (visible or not) at the tile with this index
+     */
+    public boolean hasPelletAt(int tileIndex) {
+        return 0 <= tileIndex && tileIndex < slotByTileIndex.length && slotByTileIndex[tileIndex] != -1;
+    }
+
+    /**
+     * Hides the pellet at the given tile. Only the face array of the region mesh containing this pellet is rewritten.
+     *
+     * @param tileIndex tile index (row-wise order)
+     */
+    public void hidePellet(int tileIndex) {
+        if (hasPelletAt(tileIndex)) {
+            final Region region = regions[regionOf(tileIndex)];
+            if (region.visible.get(slotByTileIndex[tileIndex])) {
+                region.visible.clear(slotByTileIndex[tileIndex]);
+                updateFaces(region);
+            }
+        }
+    }
+
+    public void hideAllPellets() {
+        for (Region region : regions) {
+            if (!region.visible.isEmpty()) {
+                region.visible.clear();
+                updateFaces(region);
+            }
+        }
+    }
+
+    /**
+     * Makes exactly the pellets visible whose food has not been eaten yet.
+     *
+     * @param food food state
+     */
+    public void showRemainingPellets(FoodState food) {
+        requireNonNull(food);
+        final BitSet[] newVisible = new BitSet[regions.length];
+        for (int r = 0; r < regions.length; ++r) {
+            newVisible[r] = new BitSet(regions[r].tileIndices.length);
+        }
+        food.forEachRemainingFoodTileIndex(false, index -> {
+            if (hasPelletAt(index)) {
+                newVisible[regionOf(index)].set(slotByTileIndex[index]);
+            }
+        });
+        for (int r = 0; r < regions.length; ++r) {
+            final Region region = regions[r];
+            if (region.meshView != null && !region.visible.equals(newVisible[r])) {
+                region.visible.clear();
+                region.visible.or(newVisible[r]);
+                updateFaces(region);
+            }
+        }
+    }
+
+    private void updateFaces(Region region) {
+        final int size = region.visible.cardinality() * FACE_INTS_PER_PELLET;
+        if (faceBuffer.length < size) {
+            faceBuffer = new int[size];
+        }
+        int i = 0;
+        for (int slot = region.visible.nextSetBit(0); slot >= 0; slot = region.visible.nextSetBit(slot + 1)) {
+            final int firstPoint = slot * POINTS_PER_PELLET;
+            for (int k = 0; k < FACE_INTS_PER_PELLET; k += 2) {
+                faceBuffer[i++] = firstPoint + PELLET_FACES[k];
+                faceBuffer[i++] = 0;
+            }
+        }
+        final TriangleMesh mesh = (TriangleMesh) region.meshView.getMesh();
+        mesh.getFaces().setAll(faceBuffer, 0, size);
+        region.meshView.setVisible(size > 0);
+    }
+
+    private int regionOf(int tileIndex) {
+        final int col = tileIndex % numCols, row = tileIndex / numCols;
+        return (row / REGION_SIZE) * numRegionCols + col / REGION_SIZE;
+    }
+}
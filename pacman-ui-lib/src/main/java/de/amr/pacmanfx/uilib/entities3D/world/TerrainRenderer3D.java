@@ -29,6 +29,8 @@ import java.util.List;
  *     });
  * </pre>
  * </p>
+ * If a {@link WallMeshBuilder} is set, the walls of rendered obstacles are added to its meshes instead of creating
+ * wall nodes. In that mode, no scene graph nodes are created and rendering can run outside the JavaFX application thread.
  */
 public class TerrainRenderer3D {
 
@@ -38,6 +40,7 @@ public class TerrainRenderer3D {
     }
 
     private Callback<Wall3D, Wall3D> onWallCreated = TerrainRenderer3D::keepUnchanged;
+    private WallMeshBuilder wallMeshBuilder;
 
     public TerrainRenderer3D() {}
 
@@ -49,6 +52,14 @@ public class TerrainRenderer3D {
         onWallCreated = callback != null ? callback : TerrainRenderer3D::keepUnchanged;
     }
 
+    /**
+     * @param wallMeshBuilder mesh builder receiving the walls of rendered obstacles or {@code null} if wall nodes
+     *                        should be created
+     */
+    public void setWallMeshBuilder(WallMeshBuilder wallMeshBuilder) {
+        this.wallMeshBuilder = wallMeshBuilder;
+    }
+
     public Wall3D createBoxWall(Vector2f center, double sizeX, double sizeY) {
         final Wall3D wall3D = Wall3D.createBoxWall(center, sizeX, sizeY);
         return onWallCreated.call(wall3D);
@@ -61,9 +72,9 @@ public class TerrainRenderer3D {
 
     public void createWallBetween(Vector2f p1, Vector2f p2, double wallThickness) {
         if (p1.x() == p2.x()) { // vertical wall
-            createBoxWall(p1.midpoint(p2), wallThickness, p1.manhattanDist(p2));
+            addBoxWall(p1.midpoint(p2), wallThickness, p1.manhattanDist(p2));
         } else if (p1.y() == p2.y()) { // horizontal wall
-            createBoxWall(p1.midpoint(p2), p1.manhattanDist(p2), wallThickness);
+            addBoxWall(p1.midpoint(p2), p1.manhattanDist(p2), wallThickness);
         } else {
             Logger.error("Cannot add horizontal/vertical wall between {} and {}", p1, p2);
         }
@@ -97,7 +108,7 @@ public class TerrainRenderer3D {
             if ("dcgbfceb".equals(obstacle.encoding())) { // O-shape with hole
                 final List<Vector2f> corners = obstacle.cornerCenterPoints();
                 for (Vector2f corner : corners) {
-                    createCylinderWall(corner, WorldMap.HTS);
+                    addCylinderWall(corner, WorldMap.HTS);
                 }
                 createWallBetween(corners.get(0), corners.get(1), WorldMap.TS);
                 createWallBetween(corners.get(1), corners.get(2), WorldMap.TS);
@@ -108,9 +119,9 @@ public class TerrainRenderer3D {
                 // Create a cylindric wall at each corner, use the rectangular partition of the inner area to
                 // fill the inner area with boxes.
                 for (Vector2f corner : obstacle.cornerCenterPoints()) {
-                    createCylinderWall(corner, cornerRadius);
+                    addCylinderWall(corner, cornerRadius);
                 }
-                obstacle.innerAreaRectangles().forEach(r -> createBoxWall(r.center(), r.width(), r.height()));
+                obstacle.innerAreaRectangles().forEach(r -> addBoxWall(r.center(), r.width(), r.height()));
             }
         } else {
             renderSegmentPath(obstacle, wallThickness);
@@ -158,8 +169,24 @@ public class TerrainRenderer3D {
     }
 
     private void createCornerWalls(Vector2f center, Vector2f endPointH, Vector2f endPointV, double wallThickness) {
-        createBoxWall(center.midpoint(endPointH), center.manhattanDist(endPointH), wallThickness);
-        createCylinderWall(center, 0.5 * wallThickness);
-        createBoxWall(center.midpoint(endPointV), wallThickness, center.manhattanDist(endPointV));
+        addBoxWall(center.midpoint(endPointH), center.manhattanDist(endPointH), wallThickness);
+        addCylinderWall(center, 0.5 * wallThickness);
+        addBoxWall(center.midpoint(endPointV), wallThickness, center.manhattanDist(endPointV));
+    }
+
+    private void addBoxWall(Vector2f center, double sizeX, double sizeY) {
+        if (wallMeshBuilder != null) {
+            wallMeshBuilder.addBoxWall(center, sizeX, sizeY);
+        } else {
+            createBoxWall(center, sizeX, sizeY);
+        }
+    }
+
+    private void addCylinderWall(Vector2f center, double radius) {
+        if (wallMeshBuilder != null) {
+            wallMeshBuilder.addCylinderWall(center, radius);
+        } else {
+            createCylinderWall(center, radius);
+        }
     }
 }
\ No newline at end of file
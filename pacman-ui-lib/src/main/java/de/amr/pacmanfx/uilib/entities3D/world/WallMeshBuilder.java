@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+package de.amr.pacmanfx.uilib.entities3D.world;
+
+import de.amr.basics.math.Vector2f;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.shape.VertexFormat;
+
+import java.util.Arrays;
+
+/**
+ * Collects the box and cylinder walls of a maze into two triangle meshes, one for the wall bases and one for the wall
+ * tops, instead of creating two {@link javafx.scene.shape.Shape3D} nodes per wall.
+ * <p>
+ * The base mesh is created with height 1 (z from -1 to 0) such that the wall height can be changed later by scaling
+ * the mesh view along the z-axis. The top mesh has height {@link Wall3D#DEFAULT_TOP_HEIGHT} (z from -height to 0) and
+ * gets translated to the top of the base. Inside each box and cylinder, points are shared between adjacent faces, the
+ * faces use explicit normals.
+ * <p>
+ * This class does not touch the scene graph and can be used outside the JavaFX application thread.
+ */
+public class WallMeshBuilder {
+
+    public static final float BASE_MESH_HEIGHT = 1;
+
+    private static final int CYLINDER_DIVISIONS = 32;
+
+    // Box faces: outward normal, then the 4 corners as (xi, yi, zi) triples where 0 = min and 1 = max coordinate.
+    // The corners are ordered such that (b - a) x (c - a) points outwards (front face for JavaFX culling).
+    private static final int[][] BOX_FACES = {
+        { 0, 0,-1,   0,0,0, 0,1,0, 1,1,0, 1,0,0 },
+        { 0, 0, 1,   0,0,1, 1,0,1, 1,1,1, 0,1,1 },
+        { 1, 0, 0,   1,0,0, 1,1,0, 1,1,1, 1,0,1 },
+        {-1, 0, 0,   0,0,0, 0,0,1, 0,1,1, 0,1,0 },
+        { 0, 1, 0,   0,1,0, 0,1,1, 1,1,1, 1,1,0 },
+        { 0,-1, 0,   0,0,0, 1,0,0, 1,0,1, 0,0,1 },
+    };
+
+    private static final float[] CYLINDER_COS = new float[CYLINDER_DIVISIONS];
+    private static final float[] CYLINDER_SIN = new float[CYLINDER_DIVISIONS];
+
+    static {
+        for (int k = 0; k < CYLINDER_DIVISIONS; ++k) {
+            final double angle = 2 * Math.PI * k / CYLINDER_DIVISIONS;
+            CYLINDER_COS[k] = (float) Math.cos(angle);
+            CYLINDER_SIN[k] = (float) Math.sin(angle);
+        }
+    }
+
+    /**
+     * Growable point/normal/face arrays of a single mesh.
+     */
+    private static class MeshData {
+        private final float height;
+        private float[] points = new float[3 * 256];
+        private int pointCount;
+        private float[] normals = new float[3 * 64];
+        private int normalCount;
+        private int[] faces = new int[6 * 256];
+        private int faceIntCount;
+
+        MeshData(float height) {
+            this.height = height;
+        }
+
+        int addPoint(float x, float y, float z) {
+            if (3 * pointCount + 3 > points.length) points = Arrays.copyOf(points, 2 * points.length);
+            points[3 * pointCount] = x;
+            points[3 * pointCount + 1] = y;
+            points[3 * pointCount + 2] = z;
+            return pointCount++;
+        }
+
+        int addNormal(float x, float y, float z) {
+            if (3 * normalCount + 3 > normals.length) normals = Arrays.copyOf(normals, 2 * normals.length);
+            normals[3 * normalCount] = x;
+            normals[3 * normalCount + 1] = y;
+            normals[3 * normalCount + 2] = z;
+            return normalCount++;
+        }
+
+        // face entries are (point, normal, texCoord) triples for POINT_NORMAL_TEXCOORD format
+        void addTriangle(int p0, int n0, int p1, int n1, int p2, int n2) {
+            if (faceIntCount + 9 > faces.length) faces = Arrays.copyOf(faces, 2 * faces.length);
+            faces[faceIntCount++] = p0; faces[faceIntCount++] = n0; faces[faceIntCount++] = 0;
+            faces[faceIntCount++] = p1; faces[faceIntCount++] = n1; faces[faceIntCount++] = 0;
+            faces[faceIntCount++] = p2; faces[faceIntCount++] = n2; faces[faceIntCount++] = 0;
+        }
+
+        void addBox(float cx, float cy, float sizeX, float sizeY) {
+            final float[] xs = { cx - 0.5f * sizeX, cx + 0.5f * sizeX };
+            final float[] ys = { cy - 0.5f * sizeY, cy + 0.5f * sizeY };
+            final float[] zs = { -height, 0 };
+            final int first = pointCount;
+            for (int zi = 0; zi < 2; ++zi) {
+                for (int yi = 0; yi < 2; ++yi) {
+                    for (int xi = 0; xi < 2; ++xi) {
+                        addPoint(xs[xi], ys[yi], zs[zi]);
+                    }
+                }
+            }
+            for (int[] face : BOX_FACES) {
+                final int n = addNormal(face[0], face[1], face[2]);
+                final int a = first + corner(face, 0), b = first + corner(face, 1);
+                final int c = first + corner(face, 2), d = first + corner(face, 3);
+                addTriangle(a, n, b, n, c, n);
+                addTriangle(a, n, c, n, d, n);
+            }
+        }
+
+        private static int corner(int[] face, int i) {
+            final int xi = face[3 + 3 * i], yi = face[4 + 3 * i], zi = face[5 + 3 * i];
+            return xi + 2 * yi + 4 * zi;
+        }
+
+        void addCylinder(float cx, float cy, float radius) {
+            final int n = CYLINDER_DIVISIONS;
+            final int firstPoint = pointCount, firstNormal = normalCount;
+            for (int zi = 0; zi < 2; ++zi) {
+                final float z = zi == 0 ? -height : 0;
+                for (int k = 0; k < n; ++k) {
+                    addPoint(cx + radius * CYLINDER_COS[k], cy + radius * CYLINDER_SIN[k], z);
+                }
+            }
+            final int minZCenter = addPoint(cx, cy, -height), maxZCenter = addPoint(cx, cy, 0);
+            for (int k = 0; k < n; ++k) {
+                addNormal(CYLINDER_COS[k], CYLINDER_SIN[k], 0);
+            }
+            final int minZNormal = addNormal(0, 0, -1), maxZNormal = addNormal(0, 0, 1);
+            for (int k = 0; k < n; ++k) {
+                final int next = (k + 1) % n;
+                final int a = firstPoint + k, b = firstPoint + next, c = firstPoint + n + next, d = firstPoint + n + k;
+                final int na = firstNormal + k, nb = firstNormal + next;
+                // side quad, smooth normals
+                addTriangle(a, na, b, nb, c, nb);
+                addTriangle(a, na, c, nb, d, na);
+                // caps
+                addTriangle(minZCenter, minZNormal, b, minZNormal, a, minZNormal);
+                addTriangle(maxZCenter, maxZNormal, d, maxZNormal, c, maxZNormal);
+            }
+        }
+
+        TriangleMesh toTriangleMesh() {
+            final var mesh = new TriangleMesh(VertexFormat.POINT_NORMAL_TEXCOORD);
+            mesh.getPoints().setAll(points, 0, 3 * pointCount);
+            mesh.getNormals().setAll(normals, 0, 3 * normalCount);
+            mesh.getTexCoords().setAll(0, 0);
+            mesh.getFaces().setAll(faces, 0, faceIntCount);
+            return mesh;
+        }
+    }
+
+    private final MeshData base = new MeshData(BASE_MESH_HEIGHT);
+    private final MeshData top = new MeshData((float) Wall3D.DEFAULT_TOP_HEIGHT);
+    private int wallCount;
+
+    public void addBoxWall(Vector2f center, double sizeX, double sizeY) {
+        base.addBox(center.x(), center.y(), (float) sizeX, (float) sizeY);
+        top.addBox(center.x(), center.y(), (float) sizeX, (float) sizeY);
+        ++wallCount;
+    }
+
+    public void addCylinderWall(Vector2f center, double radius) {
+        base.addCylinder(center.x(), center.y(), (float) radius);
+        top.addCylinder(center.x(), center.y(), (float) radius);
+        ++wallCount;
+    }
+
+    /**
+     * @return number of walls added so far
+     */
+    public int wallCount() {
+        return wallCount;
+    }
+
+    /**
+     * @return mesh containing the bases of all walls, with height 1
+     */
+    public TriangleMesh buildBaseMesh() {
+        return base.toTriangleMesh();
+    }
+
+    /**
+     * @return mesh containing the tops of all walls
+     */
+    public TriangleMesh buildTopMesh() {
+        return top.toTriangleMesh();
+    }
+}
@@ -127,8 +127,19 @@ public class BaseRenderer implements Renderer {
      */
     public void fillSquareAtTileCenter(Vector2i tile, double sideLength) {
         requireNonNull(tile);
-        final double centerX = tile.x() * WorldMap.TS + WorldMap.HTS;
-        final double centerY = tile.y() * WorldMap.TS + WorldMap.HTS;
+        fillSquareAtTileCenter(tile.x(), tile.y(), sideLength);
+    }
+
+    /**
+     * Fills a square at the center of the given tile with the current fill color.
+     *
+     * @param tileX tile x coordinate
+     * @param tileY tile y coordinate
+     * @param sideLength side length of the square
+     */
+    public void fillSquareAtTileCenter(int tileX, int tileY, double sideLength) {
+        final double centerX = tileX * WorldMap.TS + WorldMap.HTS;
+        final double centerY = tileY * WorldMap.TS + WorldMap.HTS;
         final double halfSideLength = 0.5f * sideLength;
         ctx.fillRect(centerX - halfSideLength, centerY - halfSideLength, sideLength, sideLength);
     }
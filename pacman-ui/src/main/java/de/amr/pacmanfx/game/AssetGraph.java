@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.game;
+
+import org.tinylog.Logger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Loads assets in the background, respecting the dependencies between them.
+ * <p>
+ * Each asset is loaded on the loader executor as soon as all assets it depends on are available. An optional installer
+ * then runs on the application thread executor, e.g. to add the loaded asset to the scene graph. An asset is available
+ * when its installer has run. If loading an asset fails, the assets depending on it are not loaded.
+ */
+public class AssetGraph {
+
+    private record Asset<T>(String id, Supplier<T> loader, Consumer<? super T> installer, List<String> dependencies) {}
+
+    private final Executor loaderExecutor;
+    private final Executor applicationThreadExecutor;
+    private final Map<String, Asset<?>> assets = new LinkedHashMap<>();
+    private final Map<String, CompletableFuture<Void>> availability = new HashMap<>();
+
+    /**
+     * @param loaderExecutor executor running the asset loaders
+     * @param applicationThreadExecutor executor running the asset installers, e.g. {@code Platform::runLater}
+     */
+    public AssetGraph(Executor loaderExecutor, Executor applicationThreadExecutor) {
+        this.loaderExecutor = requireNonNull(loaderExecutor);
+        this.applicationThreadExecutor = requireNonNull(applicationThreadExecutor);
+    }
+
+    /**
+     * Adds an asset that is loaded and installed in two steps.
+     *
+     * @param id asset ID
+     * @param loader loads the asset, runs on the loader executor
+     * @param installer installs the loaded asset, runs on the application thread
+     * @param dependencies IDs of the assets that must be available before this asset is loaded
+     * @return this graph
+     */
+    public <T> AssetGraph add(String id, Supplier<T> loader, Consumer<? super T> installer, String... dependencies) {
+        requireNonNull(id);
+        requireNonNull(loader);
+        requireNonNull(installer);
+        return addAsset(new Asset<>(id, loader, installer, List.of(dependencies)));
+    }
+
+    /**
+     * Adds an asset that is completely loaded on the loader executor.
+     *
+     * @param id asset ID
+     * @param loader loads the asset, runs on the loader executor
+     * @param dependencies IDs of the assets that must be available before this asset is loaded
+     * @return this graph
+     */
+    public AssetGraph add(String id, Runnable loader, String... dependencies) {
+        requireNonNull(id);
+        requireNonNull(loader);
+        return addAsset(new Asset<>(id, () -> { loader.run(); return null; }, null, List.of(dependencies)));
+    }
+
+    public boolean contains(String id) {
+        return assets.containsKey(id);
+    }
+
+    /**
+     * Starts loading all assets.
+     *
+     * @return future completing when all assets are available
+     * @throws IllegalStateException if the dependencies are cyclic or the graph has already been started
+     * @throws IllegalArgumentException if an asset depends on an unknown asset
+     */
+    public CompletableFuture<Void> start() {
+        if (!availability.isEmpty()) {
+            throw new IllegalStateException("Asset graph has already been started");
+        }
+        // Check the complete graph before any loading starts
+        for (Asset<?> asset : dependencyOrder()) {
+            final CompletableFuture<?>[] dependencyFutures = asset.dependencies().stream()
+                .map(availability::get)
+                .toArray(CompletableFuture[]::new);
+            availability.put(asset.id(), schedule(asset, CompletableFuture.allOf(dependencyFutures)));
+        }
+        return CompletableFuture.allOf(availability.values().toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * @param id asset ID
+     * @return future completing when the asset is available
+     */
+    public CompletableFuture<Void> availability(String id) {
+        requireNonNull(id);
+        final CompletableFuture<Void> future = availability.get(id);
+        if (future == null) {
+            throw new IllegalStateException("Asset '%s' is unknown or the graph has not been started".formatted(id));
+        }
+        return future;
+    }
+
+    private AssetGraph addAsset(Asset<?> asset) {
+        if (!availability.isEmpty()) {
+            throw new IllegalStateException("Asset graph has already been started");
+        }
+        if (assets.containsKey(asset.id())) {
+            throw new IllegalArgumentException("Asset '%s' has already been added".formatted(asset.id()));
+        }
+        assets.put(asset.id(), asset);
+        return this;
+    }
+
+    private <T> CompletableFuture<Void> schedule(Asset<T> asset, CompletableFuture<Void> dependenciesAvailable) {
+        final CompletableFuture<T> loaded = dependenciesAvailable.thenApplyAsync(_ -> load(asset), loaderExecutor);
+        final CompletableFuture<Void> available = asset.installer() != null
+            ? loaded.thenAcceptAsync(asset.installer(), applicationThreadExecutor)
+            : loaded.thenAccept(_ -> {});
+        available.whenComplete((_, x) -> {
+            if (dependenciesAvailable.isCompletedExceptionally()) {
+                // the failed dependency has already logged its error
+                Logger.warn("Asset '{}' is not available because a dependency is not available", asset.id());
+            } else if (x != null) {
+                Logger.error(x, "Asset '{}' is not available", asset.id());
+            } else {
+                StartupTimeline.mark("Asset '%s' available".formatted(asset.id()));
+            }
+        });
+        return available;
+    }
+
+    private static <T> T load(Asset<T> asset) {
+        final long start = System.nanoTime();
+        final T value = asset.loader().get();
+        Logger.info("Asset '{}' loaded in {} milliseconds", asset.id(), (System.nanoTime() - start) / 1_000_000);
+        return value;
+    }
+
+    // Depth-first topological sort, dependencies come before their dependents
+    private List<Asset<?>> dependencyOrder() {
+        final List<Asset<?>> order = new ArrayList<>(assets.size());
+        final Set<String> visited = new HashSet<>();
+        final Set<String> visiting = new HashSet<>();
+        for (String id : assets.keySet()) {
+            visit(id, visited, visiting, order);
+        }
+        return order;
+    }
+
+    private void visit(String id, Set<String> visited, Set<String> visiting, List<Asset<?>> order) {
+        if (visited.contains(id)) {
+            return;
+        }
+        if (!visiting.add(id)) {
+            throw new IllegalStateException("Cyclic asset dependency involving '%s'".formatted(id));
+        }
+        final Asset<?> asset = assets.get(id);
+        for (String dependency : asset.dependencies()) {
+            if (!assets.containsKey(dependency)) {
+                throw new IllegalArgumentException("Asset '%s' depends on unknown asset '%s'".formatted(id, dependency));
+            }
+            visit(dependency, visited, visiting, order);
+        }
+        visiting.remove(id);
+        visited.add(id);
+        order.add(asset);
+    }
+}
@@ -7,6 +7,7 @@ package de.amr.pacmanfx.game;
 import org.tinylog.Logger;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -49,6 +50,13 @@ public class CartridgeRepository {
         );
     }
 
+    /**
+     * @return the names of the inserted cartridges in alphabetical order
+     */
+    public List<String> cartridgeNames() {
+        return cartridges.stream().map(cartridge -> cartridge.id().name()).sorted().toList();
+    }
+
     public boolean containsCartridgeWithName(String name) {
         requireNonNull(name);
         return findCartridgeByName(name).isPresent();
@@ -41,6 +41,34 @@ public class DefaultGameVariantManager implements GameVariantManager {
         variantsByName.put(variantName, gameVariant);
     }
 
+    /**
+     * Creates a game variant without registering it. Creating a variant includes loading its world maps and can be
+     * done on a background thread.
+     *
+     * @param variantName game variant name
+     * @param includeInteractiveTests if the interactive test states are added to the game flow
+     * @return the new game variant
+     */
+    GameVariant loadGameVariant(String variantName, boolean includeInteractiveTests) {
+        requireNonNull(variantName);
+        return createGameVariant(variantName, includeInteractiveTests);
+    }
+
+    /**
+     * Registers a game variant created by {@link #loadGameVariant}. If the variant has been registered in the
+     * meantime, the registered variant is kept.
+     *
+     * @param variantName game variant name
+     * @param gameVariant the game variant
+     */
+    void registerLoadedGameVariant(String variantName, GameVariant gameVariant) {
+        requireNonNull(variantName);
+        requireNonNull(gameVariant);
+        if (variantsByName.putIfAbsent(variantName, gameVariant) != null) {
+            Logger.info("Game variant {} has been registered in the meantime", variantName);
+        }
+    }
+
     @Override
     public StringProperty selectedVariantNameProperty() {
         return selectedVariantName;
@@ -6,8 +6,8 @@ package de.amr.pacmanfx.game;
 import de.amr.basics.json.JsonLoader;
 import de.amr.basics.math.Vector2i;
 import de.amr.basics.util.Ufx;
+import de.amr.pacmanfx.core.GameConstants;
 import de.amr.pacmanfx.ui.GameUI;
-import de.amr.pacmanfx.ui.action.core.GameAppContext;
 import de.amr.pacmanfx.ui.settings.ui.GameUISettings;
 import de.amr.pacmanfx.ui.views.GameViewID;
 import de.amr.pacmanfx.ui.views.dashboard.CommonDashboardFactory;
@@ -19,6 +19,7 @@ import javafx.stage.Screen;
 import javafx.stage.Stage;
 import org.tinylog.Logger;
 
+import java.io.File;
 import java.net.URL;
 import java.util.*;
 import java.util.function.Supplier;
@@ -30,18 +31,26 @@ import static java.util.Objects.requireNonNull;
  */
 public class GameBuilder {
 
+    /**
+     * @param factory creates the start page
+     * @param gameVariantNames names of the game variants the start page needs when it is added
+     */
+    record StartPageSpec(Supplier<? extends StartPage> factory, List<String> gameVariantNames) {}
+
     private final Set<Cartridge> cartridgeSet = new HashSet<>();
 
     private GameUISettings uiSettings;
 
     private DashboardFactory dashboardFactory;
 
-    private final List<Supplier<? extends StartPage>> startPageFactories = new ArrayList<>();
+    private final List<StartPageSpec> startPageSpecs = new ArrayList<>();
 
     private Stage stage;
     private int width;
     private int height;
 
+    private File replayDir;
+
     public GameBuilder() {
         dashboardFactory = CommonDashboardFactory.instance();
         uiSettings = JsonLoader.load(
@@ -80,11 +89,39 @@ public class GameBuilder {
         return this;
     }
 
-    public GameBuilder startPage(Supplier<? extends StartPage> startPageFactory) {
+    /**
+     * Adds a start page. The first start page is created before the game window is shown, the other start pages are
+     * created in the background and added in the order given here.
+     *
+     * @param startPageFactory creates the start page
+     * @param gameVariantNames names of the game variants the start page needs, a start page created in the background
+     *                         is only added after these variants have been loaded
+     * @return this builder
+     */
+    public GameBuilder startPage(Supplier<? extends StartPage> startPageFactory, String... gameVariantNames) {
         if (startPageFactory == null) {
             error("Start page factory is null");
         }
-        startPageFactories.add(startPageFactory);
+        startPageSpecs.add(new StartPageSpec(startPageFactory, List.of(gameVariantNames)));
+        return this;
+    }
+
+    /**
+     * Switches on recording of replays, see {@link PacManGamesMasterApp#setReplayDir(File)}.
+     *
+     * @param parameterValue value of the launch parameter {@code record_replays}: {@code true} saves replays into
+     *                       {@link GameConstants#REPLAY_DIR}, any other value except {@code false} is taken as the
+     *                       replay directory, {@code null} or {@code false} keeps recording switched off
+     * @return this builder
+     */
+    public GameBuilder recordReplays(String parameterValue) {
+        if (parameterValue == null || parameterValue.isBlank() || parameterValue.equalsIgnoreCase("false")) {
+            replayDir = null;
+        } else if (parameterValue.equalsIgnoreCase("true")) {
+            replayDir = GameConstants.REPLAY_DIR;
+        } else {
+            replayDir = new File(parameterValue);
+        }
         return this;
     }
 
@@ -94,13 +131,23 @@ public class GameBuilder {
         return this;
     }
 
+    /**
+     * Builds the game. Only the first start page is created immediately, the other start pages are created in the
+     * background after the game window has been shown.
+     *
+     * @param gameBox the game box
+     * @return the game or empty if building failed
+     */
     public Optional<PacManGamesMasterApp> build(GameBox gameBox) {
         try {
             validateConfigurationData();
             gameBox.cartridgeRepository().insertCartridges(cartridgeSet.toArray(Cartridge[]::new));
+            StartupTimeline.mark("Cartridges inserted");
 
             final var game = new PacManGamesMasterApp(gameBox);
+            game.setReplayDir(replayDir);
             game.setUI(new GameUI(stage, width, height, uiSettings, dashboardFactory));
+            StartupTimeline.mark("UI created");
 
             // Can only be done after UI has been assigned to game!
             addStartPages(game);
@@ -113,16 +160,16 @@ public class GameBuilder {
         }
     }
 
-    private void addStartPages(GameAppContext appContext) {
-        final StartPagesView startPagesView = appContext.ui().views().assertView(GameViewID.START_PAGES, StartPagesView.class);
-        for (var factory : startPageFactories) {
-            final StartPage page = factory.get();
-            if (page != null) {
-                startPagesView.addStartPage(appContext, page);
-            } else {
-                error("Start page could not be created using factory: " + factory);
-            }
+    private void addStartPages(PacManGamesMasterApp game) {
+        final StartPagesView startPagesView = game.ui().views().assertView(GameViewID.START_PAGES, StartPagesView.class);
+        final Supplier<? extends StartPage> firstPageFactory = startPageSpecs.getFirst().factory();
+        final StartPage firstPage = firstPageFactory.get();
+        if (firstPage == null) {
+            error("Start page could not be created using factory: " + firstPageFactory);
         }
+        startPagesView.addStartPage(game, firstPage);
+        StartupTimeline.mark("First start page created");
+        game.deferStartPages(startPageSpecs.subList(1, startPageSpecs.size()));
     }
 
     private void validateConfigurationData() {
@@ -141,7 +188,7 @@ public class GameBuilder {
         if (uiSettings == null) {
             error("No UI settings have been specified");
         }
-        if (startPageFactories.isEmpty()) {
+        if (startPageSpecs.isEmpty()) {
             error("No start page specified, don't know how to start your game");
         }
     }
@@ -7,6 +7,7 @@ package de.amr.pacmanfx.game;
 import de.amr.pacmanfx.core.GameClock;
 import de.amr.pacmanfx.core.GameConstants;
 import de.amr.pacmanfx.core.GameContext;
+import de.amr.pacmanfx.core.replay.ReplayRecorder;
 import de.amr.pacmanfx.ui.action.core.GameAppContext;
 import javafx.application.Platform;
 import javafx.util.Duration;
@@ -40,8 +41,11 @@ public final class GameSimulation {
 
     private void simulate() {
         final GameContext game = app.game();
+        final ReplayRecorder recorder = game.optReplayRecorder().orElse(null);
         game.session().newFrameState(clock.currentTick());
+        if (recorder != null) recorder.beforeTick(game);
         game.variant().gameFlow().update(game);
+        if (recorder != null) recorder.afterTick(game);
         app.ui().gameScenes().optCurrentGameScene().ifPresent(gameScene -> gameScene.onTick(game));
     }
 
@@ -15,15 +15,25 @@ import de.amr.pacmanfx.core.event.base.DefaultGameEventManager;
 import de.amr.pacmanfx.core.event.base.GameEventManager;
 import de.amr.pacmanfx.core.event.gameplay.GameStateChangeEvent;
 import de.amr.pacmanfx.core.model.GameCheats;
+import de.amr.pacmanfx.core.replay.ReplaySaver;
 import de.amr.pacmanfx.ui.GameUI;
 import de.amr.pacmanfx.ui.action.CommonGameActions;
 import de.amr.pacmanfx.ui.action.core.GameAction;
 import de.amr.pacmanfx.ui.action.core.GameAppContext;
 import de.amr.pacmanfx.ui.input.Input;
+import de.amr.pacmanfx.ui.views.startpages.StartPage;
 import de.amr.pacmanfx.uilib.PacMan3DModel;
 import javafx.application.Platform;
 import org.tinylog.Logger;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -47,8 +57,22 @@ public final class PacManGamesMasterApp implements GameAppContext {
         }
     }
 
+    private static final String ASSET_3D_MODEL = "3D model";
+    private static final String ASSET_VARIANT_PREFIX = "Game variant ";
+    private static final String ASSET_START_PAGE_PREFIX = "Start page ";
+
+    private static final ExecutorService ASSET_LOADER = Executors.newFixedThreadPool(
+        Math.clamp(Runtime.getRuntime().availableProcessors() - 1, 1, 3),
+        Thread.ofPlatform().daemon().name("asset-loader-", 0).factory());
+
     private final GameBox gameBox;
 
+    private final List<GameBuilder.StartPageSpec> deferredStartPages = new ArrayList<>();
+
+    // Deferred start pages by position: null = not done yet, empty = could not be created
+    private final List<Optional<StartPage>> deferredStartPageSlots = new ArrayList<>();
+    private int nextDeferredStartPage;
+
     private final CommonGameActions actions;
 
     private final GameSimulation simulation;
@@ -59,6 +83,10 @@ public final class PacManGamesMasterApp implements GameAppContext {
 
     private StateChangeEventMapper stateChangeEventMapper;
 
+    private File replayDir; // null = replays are not recorded
+
+    private ReplaySaver replaySaver;
+
     private DefaultGameVariantManager gameVariantManager;
 
     public PacManGamesMasterApp(GameBox gameBox) {
@@ -74,16 +102,37 @@ public final class PacManGamesMasterApp implements GameAppContext {
         ui.setApp(this);
     }
 
+    /**
+     * @param startPages start pages that are created in the background after the game window has been shown, the
+     *                   pages are added in the given order
+     */
+    void deferStartPages(List<GameBuilder.StartPageSpec> startPages) {
+        deferredStartPages.addAll(startPages);
+    }
+
+    /**
+     * Switches recording of replays on or off. When on, each played game is recorded and its replay is saved into the
+     * given directory when the game is over. Takes effect when the next game variant is entered.
+     *
+     * @param replayDir directory where replays are saved or {@code null} to switch recording off
+     */
+    public void setReplayDir(File replayDir) {
+        this.replayDir = replayDir;
+    }
+
     public void showGameVariant(GameVariantID variantID) {
         requireNonNull(variantID);
         gameVariantManager.selectVariant(variantID.name());
+        StartupTimeline.mark("Game variant %s selected".formatted(variantID.name()));
 
         //TODO rethink this
         ui.views().selectStartPagesView();
         ui.views().startPagesView().rootPane().setSelectedIndex(0);
         ui.views().gamePlayView().dashboard().setAppContext(this);
 
+        StartupTimeline.markFirstFrame(ui.window().mainScene());
         ui.window().show(this);
+        StartupTimeline.mark("Window shown");
 
         Platform.runLater(this::startBackgroundServices);
     }
@@ -204,9 +253,70 @@ public final class PacManGamesMasterApp implements GameAppContext {
         Logger.info("Custom map directory is getting watched!");
         ui.window().mainScene().flashMessageManager().startAnimationTimer();
         ui.spriteAnimTimer().start();
+        loadAssetsInBackground();
+    }
+
+    /*
+     * Loads the 3D model, the game variants not selected yet and the deferred start pages. Each start page is created
+     * after the game variants it needs have been registered. The pages are added in their configured order, a page
+     * that could not be created does not block the pages after it.
+     */
+    private void loadAssetsInBackground() {
+        final var assetGraph = new AssetGraph(ASSET_LOADER, Platform::runLater);
+
+        assetGraph.add(ASSET_3D_MODEL, PacMan3DModel::instance); // loads 3D assets as side effect of accessing the singleton
+
+        final boolean includeInteractiveTests = ui.viewModel().testStatesIncludedProperty.get();
+        for (String variantName : gameBox.cartridgeRepository().cartridgeNames()) {
+            if (!gameVariantManager.isVariantRegistered(variantName)) {
+                assetGraph.add(ASSET_VARIANT_PREFIX + variantName,
+                    () -> gameVariantManager.loadGameVariant(variantName, includeInteractiveTests),
+                    variant -> gameVariantManager.registerLoadedGameVariant(variantName, variant));
+            }
+        }
 
-        //noinspection ResultOfMethodCallIgnored
-        PacMan3DModel.instance(); // loads 3D assets as side effect of accessing the singleton
+        final List<String> pageAssetIDs = new ArrayList<>();
+        deferredStartPageSlots.addAll(Collections.nCopies(deferredStartPages.size(), null));
+        for (int i = 0; i < deferredStartPages.size(); ++i) {
+            final int position = i;
+            final GameBuilder.StartPageSpec spec = deferredStartPages.get(i);
+            final String assetID = ASSET_START_PAGE_PREFIX + (i + 2);
+            final String[] dependencies = spec.gameVariantNames().stream()
+                .map(variantName -> ASSET_VARIANT_PREFIX + variantName)
+                .filter(assetGraph::contains) // variant may have been registered already
+                .toArray(String[]::new);
+            assetGraph.add(assetID, spec.factory(), page -> onDeferredStartPageDone(position, page, spec), dependencies);
+            pageAssetIDs.add(assetID);
+        }
+        deferredStartPages.clear();
+
+        StartupTimeline.mark("Background asset loading started");
+        assetGraph.start().whenComplete((_, x) -> {
+            if (x == null) {
+                StartupTimeline.mark("All assets available");
+                StartupTimeline.logTimeline();
+            }
+        });
+        for (int i = 0; i < pageAssetIDs.size(); ++i) {
+            final int position = i;
+            assetGraph.availability(pageAssetIDs.get(i)).exceptionally(_ -> {
+                Platform.runLater(() -> onDeferredStartPageDone(position, null, null));
+                return null;
+            });
+        }
+    }
+
+    // Called on the application thread when a deferred start page has been created or could not be created
+    private void onDeferredStartPageDone(int position, StartPage startPage, GameBuilder.StartPageSpec spec) {
+        if (startPage == null && spec != null) {
+            Logger.error("Start page could not be created using factory: {}", spec.factory());
+        }
+        deferredStartPageSlots.set(position, Optional.ofNullable(startPage));
+        while (nextDeferredStartPage < deferredStartPageSlots.size()
+            && deferredStartPageSlots.get(nextDeferredStartPage) != null) {
+            deferredStartPageSlots.get(nextDeferredStartPage++)
+                .ifPresent(page -> ui.views().startPagesView().addStartPage(this, page));
+        }
     }
 
     private void enterGameVariant(GameVariant gameVariant) {
@@ -234,12 +344,23 @@ public final class PacManGamesMasterApp implements GameAppContext {
         game.eventManager().addGameEventSubscriber(ui);
 
         gameVariant.config().gameFlow().addStateChangeListener(stateChangeEventMapper);
+
+        if (replayDir != null) {
+            replaySaver = new ReplaySaver(game, gameVariantManager.currentVariantName(), replayDir.toPath());
+            replaySaver.attachNewRecorder();
+            gameVariant.config().gameFlow().addStateChangeListener(replaySaver);
+            Logger.info("Replays are recorded and saved to {}", replayDir);
+        }
     }
 
     private void exitGameVariant(GameVariant gameVariant) {
         requireNonNull(gameVariant);
 
         gameVariant.config().gameFlow().removeStateChangeListener(stateChangeEventMapper);
+        if (replaySaver != null) {
+            gameVariant.config().gameFlow().removeStateChangeListener(replaySaver);
+            replaySaver = null;
+        }
         gameVariant.uiConfig().unloadSounds(ui.sounds());
         gameVariant.uiConfig().dispose();
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2021-2026 Armin Reichert (MIT License)
+ */
+
+package de.amr.pacmanfx.game;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import org.tinylog.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Records the startup milestones of the application with the time passed since the start of the JVM process. When the
+ * first frame has been rendered, the complete timeline is logged, e.g. to measure the time-to-first-frame.
+ * <p>
+ * Milestones can be marked from any thread.
+ */
+public final class StartupTimeline {
+
+    private record Milestone(String description, long millis) {}
+
+    private static final Instant START_TIME = ProcessHandle.current().info().startInstant().orElseGet(Instant::now);
+
+    private static final List<Milestone> MILESTONES = new ArrayList<>();
+
+    private StartupTimeline() {}
+
+    public static void mark(String description) {
+        requireNonNull(description);
+        final long millis = Duration.between(START_TIME, Instant.now()).toMillis();
+        synchronized (MILESTONES) {
+            MILESTONES.add(new Milestone(description, millis));
+        }
+        Logger.debug("Startup timeline: {} at {} ms", description, millis);
+    }
+
+    /**
+     * Marks the first frame rendered for the given scene and logs the timeline.
+     *
+     * @param scene the scene of the main window
+     */
+    public static void markFirstFrame(Scene scene) {
+        requireNonNull(scene);
+        final var firstFrameListener = new Runnable() {
+            private boolean done;
+
+            @Override
+            public void run() {
+                if (!done) {
+                    done = true;
+                    mark("First frame rendered");
+                    logTimeline();
+                    // Don't modify the listener list while it is iterated
+                    Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                }
+            }
+        };
+        scene.addPostLayoutPulseListener(firstFrameListener);
+    }
+
+    public static void logTimeline() {
+        final var sb = new StringBuilder("Startup timeline (milliseconds since process start):");
+        synchronized (MILESTONES) {
+            for (Milestone milestone : MILESTONES) {
+                sb.append("%n%8d  %s".formatted(milestone.millis(), milestone.description()));
+            }
+        }
+        Logger.info(sb.toString());
+    }
+}
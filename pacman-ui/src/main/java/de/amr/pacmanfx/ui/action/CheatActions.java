@@ -4,15 +4,11 @@
 
 package de.amr.pacmanfx.ui.action;
 
-import de.amr.pacmanfx.core.GameContext;
-import de.amr.pacmanfx.core.entities.Ghost;
-import de.amr.pacmanfx.core.entities.ghost.comp.GhostState;
-import de.amr.pacmanfx.core.entities.livescounter.system.LivesCounterSystem;
-import de.amr.pacmanfx.core.event.pac.PacEatsFoodEvent;
 import de.amr.pacmanfx.core.gamestate.CommonGameStateID;
 import de.amr.pacmanfx.core.gamestate.GameState;
 import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.model.GameCheats;
+import de.amr.pacmanfx.core.model.GameCheats.Cheat;
 import de.amr.pacmanfx.core.GameSession;
 import de.amr.pacmanfx.ui.GameUI;
 import de.amr.pacmanfx.ui.GlobalAssets;
@@ -22,7 +18,6 @@ import de.amr.pacmanfx.ui.action.core.GameAppContext;
 import javafx.scene.input.KeyCode;
 import javafx.scene.media.Media;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -49,8 +44,7 @@ public final class CheatActions {
             @Override
             public void execute(GameAppContext app) {
                 final GameSession session = app.game().session();
-                LivesCounterSystem.addLives(session.livesCounter(), 3);
-                session.cheats().notifyCheatUsed();
+                session.cheats().execute(app.game(), Cheat.ADD_LIVES);
                 final String msg = app.ui().translations().translate(
                     "flash.cheat_add_lives", session.livesCounter().data().numLives());
                 app.ui().shortMessage(msg);
@@ -65,12 +59,7 @@ public final class CheatActions {
         actionEatAllPellets = new GameAction("cheat_eat_all_pellets") {
             @Override
             public void execute(GameAppContext app) {
-                final GameSession session = app.game().session();
-                final GameLevel level = session.level();
-                level.food().eatPellets();
-                session.cheats().notifyCheatUsed();
-                app.game().eventManager().publishGameEvent(
-                    new PacEatsFoodEvent(level.entities().pac(), false, true, app.clock().currentTick()));
+                app.game().session().cheats().execute(app.game(), Cheat.EAT_ALL_PELLETS);
             }
 
             @Override
@@ -83,22 +72,7 @@ public final class CheatActions {
         actionKillGhosts = new GameAction("cheat_kill_ghosts") {
             @Override
             public void execute(GameAppContext app) {
-                final GameContext game = app.game();
-                final GameSession session = game.session();
-                final GameLevel level = session.level();
-                
-                session.cheats().notifyCheatUsed();
-
-                final List<Ghost> killableGhosts = level.entities().ghosts().stream()
-                    .filter(ghost -> GhostState.FRIGHTENED == ghost.state().enumValue()
-                        || GhostState.HUNTING_PAC == ghost.state().enumValue())
-                    .toList();
-
-                if (!killableGhosts.isEmpty()) {
-                    level.clearGhostKillChain(); // start again with lowest number for killing ghost
-                    killableGhosts.forEach(ghost -> game.variant().gamePlay().onEatGhost(game, level, ghost));
-                    game.variant().gameFlow().enterGameState(game, CommonGameStateID.GAME_LEVEL_EATING_GHOST);
-                }
+                app.game().session().cheats().execute(app.game(), Cheat.KILL_GHOSTS);
             }
 
             @Override
@@ -111,8 +85,7 @@ public final class CheatActions {
         actionEnterNextLevel = new GameAction("cheat_enter_next_level") {
             @Override
             public void execute(GameAppContext app) {
-                app.game().session().cheats().notifyCheatUsed();
-                app.game().variant().gameFlow().enterGameState(app.game(), CommonGameStateID.GAME_LEVEL_COMPLETE);
+                app.game().session().cheats().execute(app.game(), Cheat.ENTER_NEXT_LEVEL);
             }
 
             @Override
@@ -259,7 +232,7 @@ public final class CheatActions {
         final GameCheats cheats = app.game().session().cheats();
         final GameUI ui = app.ui();
 
-        cheats.pacUsingAutopilotProperty().set(auto);
+        cheats.execute(app.game(), auto ? Cheat.AUTOPILOT_ON : Cheat.AUTOPILOT_OFF);
 
         final String message = ui.translations().translate(auto ? "flash.autopilot_on" : "flash.autopilot_off");
         final Media voice = auto ? GlobalAssets.VoiceID.AUTOPILOT_ON.media() : GlobalAssets.VoiceID.AUTOPILOT_OFF.media();
@@ -272,7 +245,7 @@ public final class CheatActions {
         final GameCheats cheats = app.game().session().cheats();
         final GameUI ui = app.ui();
 
-        cheats.pacImmuneProperty().set(immune);
+        cheats.execute(app.game(), immune ? Cheat.IMMUNITY_ON : Cheat.IMMUNITY_OFF);
 
         final String message = ui.translations().translate(immune ? "flash.player_immunity_on" : "flash.player_immunity_off");
         final Media voice = immune ? GlobalAssets.VoiceID.IMMUNITY_ON.media() : GlobalAssets.VoiceID.IMMUNITY_OFF.media();
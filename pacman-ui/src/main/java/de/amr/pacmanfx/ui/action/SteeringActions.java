@@ -39,7 +39,10 @@ public class SteeringActions {
         public void execute(GameAppContext app) {
             final GameContext game = app.game();
             final WorldNavigationSystem navigator = game.variant().systems().worldNavigator();
-            game.session().optLevel().ifPresent(level -> navigator.setWishDir(level.entities().pac(), dir));
+            game.session().optLevel().ifPresent(level -> {
+                navigator.setWishDir(level.entities().pac(), dir);
+                game.optReplayRecorder().ifPresent(recorder -> recorder.recordSteering(dir));
+            });
         }
 
         @Override
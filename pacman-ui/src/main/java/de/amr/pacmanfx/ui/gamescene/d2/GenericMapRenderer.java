@@ -3,47 +3,84 @@
  */
 package de.amr.pacmanfx.ui.gamescene.d2;
 
+import de.amr.basics.util.Ufx;
 import de.amr.pacmanfx.core.entities.House;
 import de.amr.pacmanfx.core.level.GameLevel;
 import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.FoodState;
 import de.amr.pacmanfx.core.model.world.map.WorldMap;
 import de.amr.pacmanfx.core.model.world.map.WorldMapColorSchemeImpl;
 import de.amr.pacmanfx.core.model.world.map.WorldMapConfigKey;
 import de.amr.pacmanfx.uilib.rendering.*;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
+import org.tinylog.Logger;
 
-import static java.util.function.Predicate.not;
+import java.util.BitSet;
 
 /**
  * Vector-based renderer for maze terrain, food, and ghost house.
  * Used by XXL and other dynamic-map variants via delegation.
+ * <p>
+ * The map is rendered in layers: terrain, house and pellets are static and get rendered only once per level, map
+ * coloring and scaling into an offscreen canvas whose snapshot image is then drawn each frame. When food gets eaten,
+ * only the pixels of the eaten pellet tiles are cleared in that image. The blinking energizers are drawn each frame.
  */
 public class GenericMapRenderer extends BaseRenderer {
 
     public enum RenderInfoKey {TERRAIN_MAP_COLORING}
 
+    /** Size of the (unscaled) square that is cleared when a pellet has been eaten. */
+    private static final int EATEN_PELLET_SQUARE_SIZE = 4;
+
+    // Everything that has an effect on the pixels of the static map layer. Food state is null if no food is drawn.
+    private record LayerKey(
+        WorldMap worldMap, FoodState food, TerrainMapColoring mapColoring, Color pelletColor, Color backgroundColor, double scaling) {}
+
+    private static class LayerImage {
+        private LayerKey key;
+        private WritableImage image;
+        private final BitSet paintedPellets = new BitSet();
+        private long foodChangeCount;
+    }
+
+    private final Canvas layerCanvas = new Canvas();
+    private final LayerImage normalLayer = new LayerImage();
+    private final LayerImage blinkingOnLayer = new LayerImage();
+    private final LayerImage blinkingOffLayer = new LayerImage();
+
+    // These renderers draw into the offscreen layer canvas
     private final TerrainMapVectorRenderer terrainRenderer;
     private final FoodMapRenderer foodRenderer;
     private final ArcadeHouseRenderer houseRenderer;
 
+    // Draws the energizers into the scene canvas
+    private final FoodMapRenderer energizerRenderer;
+
     private TerrainMapColoring blinkingOnMapColoring;
     private TerrainMapColoring blinkingOffMapColoring;
 
     public GenericMapRenderer(Canvas canvas) {
         super(canvas);
 
-        terrainRenderer = new TerrainMapVectorRenderer(canvas);
+        terrainRenderer = new TerrainMapVectorRenderer(layerCanvas);
         terrainRenderer.backgroundColorProperty().bind(backgroundColorProperty());
         terrainRenderer.scalingProperty().bind(scalingProperty());
 
-        foodRenderer = new FoodMapRenderer(canvas);
+        foodRenderer = new FoodMapRenderer(layerCanvas);
         foodRenderer.backgroundColorProperty().bind(backgroundColorProperty());
         foodRenderer.scalingProperty().bind(scalingProperty());
 
-        houseRenderer = new ArcadeHouseRenderer(canvas);
+        houseRenderer = new ArcadeHouseRenderer(layerCanvas);
         houseRenderer.scalingProperty().bind(scalingProperty());
 
+        energizerRenderer = new FoodMapRenderer(canvas);
+        energizerRenderer.backgroundColorProperty().bind(backgroundColorProperty());
+        energizerRenderer.scalingProperty().bind(scalingProperty());
+
         backgroundColorProperty().addListener((_, _, newColor) -> updateColors(newColor));
         updateColors(backgroundColor());
     }
@@ -61,37 +98,97 @@ public class GenericMapRenderer extends BaseRenderer {
     public void drawMap(GameLevel level, RenderInfo info) {
         final WorldMap worldMap = level.worldMap();
         if (info.getBoolean(CommonRenderInfoKey.MAP_BRIGHT)) {
-            terrainRenderer.setMapColoring(info.getBoolean(CommonRenderInfoKey.ENERGIZER_VISIBLE) ? blinkingOnMapColoring : blinkingOffMapColoring);
-            terrainRenderer.draw(worldMap);
+            final boolean blinkingOn = info.getBoolean(CommonRenderInfoKey.ENERGIZER_VISIBLE);
+            final TerrainMapColoring mapColoring = blinkingOn ? blinkingOnMapColoring : blinkingOffMapColoring;
+            final LayerImage layer = blinkingOn ? blinkingOnLayer : blinkingOffLayer;
+            final var key = new LayerKey(worldMap, null, mapColoring, null, backgroundColor(), scaling());
+            if (!key.equals(layer.key)) {
+                renderLayer(layer, key, level);
+            }
+            ctx.drawImage(layer.image, 0, 0);
         }
         else {
             final TerrainMapColoring mapColoring = info.get(RenderInfoKey.TERRAIN_MAP_COLORING, TerrainMapColoring.class);
-            terrainRenderer.setMapColoring(mapColoring);
-            terrainRenderer.draw(worldMap);
+            // Color scheme is set by the map selector
+            final WorldMapColorSchemeImpl foodColorScheme = worldMap.getConfigValue(WorldMapConfigKey.COLOR_SCHEME);
+            final Color pelletColor = Color.valueOf(foodColorScheme.pellet());
+            final FoodState food = level.food();
 
+            final var key = new LayerKey(worldMap, food, mapColoring, pelletColor, backgroundColor(), scaling());
+            if (!key.equals(normalLayer.key) || food.remainingPelletCount() > normalLayer.paintedPellets.cardinality()) {
+                // food count can only increase if the food state has been restored from a snapshot
+                renderLayer(normalLayer, key, level);
+            }
+            else if (food.changeCount() != normalLayer.foodChangeCount) {
+                clearEatenPellets(normalLayer, worldMap.foodLayer(), food);
+            }
+            ctx.drawImage(normalLayer.image, 0, 0);
+
+            if (info.getBoolean(CommonRenderInfoKey.ENERGIZER_VISIBLE)) {
+                final FoodLayer foodLayer = worldMap.foodLayer();
+                energizerRenderer.setEnergizerColor(pelletColor);
+                food.forEachRemainingFoodTileIndex(true, index -> energizerRenderer.drawEnergizer(foodLayer.tileAtIndex(index)));
+            }
+        }
+    }
+
+    private void renderLayer(LayerImage layer, LayerKey key, GameLevel level) {
+        final WorldMap worldMap = key.worldMap();
+        final double width = Math.ceil(scaling() * worldMap.numCols() * WorldMap.TS);
+        final double height = Math.ceil(scaling() * worldMap.numRows() * WorldMap.TS);
+        layerCanvas.setWidth(width);
+        layerCanvas.setHeight(height);
+        terrainRenderer.fillCanvas(key.backgroundColor());
+
+        terrainRenderer.setMapColoring(key.mapColoring());
+        terrainRenderer.draw(worldMap);
+
+        layer.paintedPellets.clear();
+        if (key.food() != null) {
             final House house = level.entities().house();
             if (house != null) {
-                houseRenderer.setMapColoring(mapColoring);
+                houseRenderer.setMapColoring(key.mapColoring());
                 houseRenderer.drawHouse(house.floorplan().minTile(), house.sizeInTiles(),
-                    terrainRenderer.borderWallFullWidth(),terrainRenderer.borderWallInnerWidth());
+                    terrainRenderer.borderWallFullWidth(), terrainRenderer.borderWallInnerWidth());
             }
-
-            // Color scheme is set by the map selector
             final FoodLayer foodLayer = worldMap.foodLayer();
-            final WorldMapColorSchemeImpl foodColorScheme = worldMap.getConfigValue(WorldMapConfigKey.COLOR_SCHEME);
-            final Color pelletColor = Color.valueOf(foodColorScheme.pellet());
-            foodRenderer.setPelletColor(pelletColor);
-            foodLayer.tiles()
-                .filter(level.food()::hasFoodAtTile)
-                .filter(not(foodLayer::isEnergizerTile))
-                .forEach(foodRenderer::drawPellet);
+            foodRenderer.setPelletColor(key.pelletColor());
+            key.food().forEachRemainingFoodTileIndex(false, index -> {
+                foodRenderer.drawPellet(foodLayer.tileAtIndex(index));
+                layer.paintedPellets.set(index);
+            });
+            layer.foodChangeCount = key.food().changeCount();
+        }
 
-            if (info.getBoolean(CommonRenderInfoKey.ENERGIZER_VISIBLE)) {
-                foodRenderer.setEnergizerColor(pelletColor);
-                foodLayer.energizerTiles().stream()
-                    .filter(level.food()::hasFoodAtTile)
-                    .forEach(foodRenderer::drawEnergizer);
+        final var params = new SnapshotParameters();
+        params.setFill(key.backgroundColor());
+        final boolean sameSize = layer.image != null && layer.image.getWidth() == width && layer.image.getHeight() == height;
+        layer.image = layerCanvas.snapshot(params, sameSize ? layer.image : null);
+        layer.key = key;
+        Logger.debug("Map layer image ({}x{}) rendered for map {}", (int) width, (int) height, worldMap.url());
+    }
+
+    // Clears the pixels of the pellets eaten since the last update, the rest of the layer image stays untouched
+    private void clearEatenPellets(LayerImage layer, FoodLayer foodLayer, FoodState food) {
+        final PixelWriter pixelWriter = layer.image.getPixelWriter();
+        final int backgroundArgb = Ufx.argb(layer.key.backgroundColor());
+        final int imageWidth = (int) layer.image.getWidth(), imageHeight = (int) layer.image.getHeight();
+        final double margin = 0.5 * (WorldMap.TS - EATEN_PELLET_SQUARE_SIZE);
+        final BitSet painted = layer.paintedPellets;
+        for (int index = painted.nextSetBit(0); index >= 0; index = painted.nextSetBit(index + 1)) {
+            final int tileX = index % foodLayer.numCols(), tileY = index / foodLayer.numCols();
+            if (food.hasFoodAtTile(tileX, tileY)) continue;
+            final int left = (int) Math.floor(scaled(tileX * WorldMap.TS + margin));
+            final int top = (int) Math.floor(scaled(tileY * WorldMap.TS + margin));
+            final int right = Math.min((int) Math.ceil(scaled(tileX * WorldMap.TS + margin + EATEN_PELLET_SQUARE_SIZE)), imageWidth);
+            final int bottom = Math.min((int) Math.ceil(scaled(tileY * WorldMap.TS + margin + EATEN_PELLET_SQUARE_SIZE)), imageHeight);
+            for (int y = top; y < bottom; ++y) {
+                for (int x = left; x < right; ++x) {
+                    pixelWriter.setArgb(x, y, backgroundArgb);
+                }
             }
+            painted.clear(index);
         }
+        layer.foodChangeCount = food.changeCount();
     }
-}
\ No newline at end of file
+}
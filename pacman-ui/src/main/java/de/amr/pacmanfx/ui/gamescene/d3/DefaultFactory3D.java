@@ -7,6 +7,8 @@ package de.amr.pacmanfx.ui.gamescene.d3;
 import de.amr.pacmanfx.core.entities.Ghost;
 import de.amr.pacmanfx.core.entities.House;
 import de.amr.pacmanfx.core.entities.Pac;
+import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.FoodState;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.core.model.world.map.WorldMapColorSchemeImpl;
 import de.amr.pacmanfx.game.GameVariantUIConfig;
@@ -20,13 +22,12 @@ import de.amr.pacmanfx.uilib.entities3D.ghost_old.GhostStateColors;
 import de.amr.pacmanfx.uilib.entities3D.pac.comp.PacSettings;
 import de.amr.pacmanfx.uilib.entities3D.world.Energizer3D;
 import de.amr.pacmanfx.uilib.entities3D.world.NumberBox3D;
-import de.amr.pacmanfx.uilib.entities3D.world.Pellet3D;
+import de.amr.pacmanfx.uilib.entities3D.world.PelletBatch3D;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.image.Image;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Sphere;
-import javafx.scene.shape.TriangleMesh;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,7 +38,6 @@ import static java.util.Objects.requireNonNull;
 public class DefaultFactory3D implements Factory3D {
 
     protected final Map<GhostStateColors, GhostAppearanceMaterialSet> ghostMaterialsCache = new HashMap<>();
-    protected final Map<Float, TriangleMesh> pelletMeshesCache = new HashMap<>();
     protected final MazeFactory3D mazeFactory3D;
 
     public DefaultFactory3D() {
@@ -47,7 +47,6 @@ public class DefaultFactory3D implements Factory3D {
     @Override
     public void dispose() {
         ghostMaterialsCache.clear();
-        pelletMeshesCache.clear();
     }
 
     @Override
@@ -84,14 +83,11 @@ public class DefaultFactory3D implements Factory3D {
     }
 
     @Override
-    public Pellet3D createPellet3D(Pellet3DSettings settings, PhongMaterial material) {
+    public PelletBatch3D createPellets3D(Pellet3DSettings settings, PhongMaterial material, FoodLayer foodLayer, FoodState food, float z) {
         requireNonNull(settings);
         requireNonNull(material);
-
-        final Sphere oval = new Sphere(settings.radius());
-        oval.setMaterial(material);
-        oval.setScaleX(1.25);
-        return new Pellet3D(oval);
+        requireNonNull(foodLayer);
+        return new PelletBatch3D(food, foodLayer.numCols(), foodLayer.numRows(), settings.radius(), z, material);
     }
 
     @Override
@@ -8,6 +8,8 @@ import de.amr.basics.Disposable;
 import de.amr.pacmanfx.core.entities.Ghost;
 import de.amr.pacmanfx.core.entities.House;
 import de.amr.pacmanfx.core.entities.Pac;
+import de.amr.pacmanfx.core.model.world.map.FoodLayer;
+import de.amr.pacmanfx.core.model.world.map.FoodState;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.core.model.world.map.WorldMapColorSchemeImpl;
 import de.amr.pacmanfx.game.GameVariantUIConfig;
@@ -17,7 +19,7 @@ import de.amr.pacmanfx.ui.settings.world.WorldSettings;
 import de.amr.pacmanfx.uilib.entities3D.ghost.comp.GhostSettings;
 import de.amr.pacmanfx.uilib.entities3D.pac.comp.PacSettings;
 import de.amr.pacmanfx.uilib.entities3D.world.Energizer3D;
-import de.amr.pacmanfx.uilib.entities3D.world.Pellet3D;
+import de.amr.pacmanfx.uilib.entities3D.world.PelletBatch3D;
 import javafx.scene.Node;
 import javafx.scene.paint.PhongMaterial;
 
@@ -62,9 +64,12 @@ public interface Factory3D extends Disposable {
     /**
      * @param config pellet configuration
      * @param material pellet material
-     * @return 3D pellet representation
+     * @param foodLayer food layer of the world map
+     * @param food food state of the level
+     * @param z z-coordinate of the pellet centers
+     * @return 3D representation of all pellets
      */
-    Pellet3D createPellet3D(Pellet3DSettings config, PhongMaterial material);
+    PelletBatch3D createPellets3D(Pellet3DSettings config, PhongMaterial material, FoodLayer foodLayer, FoodState food, float z);
 
     /**
      * @param config energizer configuration
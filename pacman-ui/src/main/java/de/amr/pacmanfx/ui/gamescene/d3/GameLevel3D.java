@@ -38,7 +38,7 @@ import de.amr.pacmanfx.uilib.entities3D.pac.comp.Pac3DViewComp;
 import de.amr.pacmanfx.uilib.entities3D.pac.comp.PacSettings;
 import de.amr.pacmanfx.uilib.entities3D.world.Energizer3D;
 import de.amr.pacmanfx.uilib.entities3D.world.NumberBox3D;
-import de.amr.pacmanfx.uilib.entities3D.world.Pellet3D;
+import de.amr.pacmanfx.uilib.entities3D.world.PelletBatch3D;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.PointLight;
@@ -47,9 +47,8 @@ import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.DrawMode;
 import org.tinylog.Logger;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -67,9 +66,13 @@ public class GameLevel3D extends Group implements DisposableGraphicsObject {
 
     private final PointLight ghostHunterLight = new PointLight();
 
-    private final Map<Vector2i, Energizer3D> energizer3DByTile = new HashMap<>();
+    // 3D energizer lookup by tile index (row-by-row order) instead of hash maps keyed by tile objects
+    private Energizer3D[] energizer3DByTileIndex;
 
-    private final Map<Vector2i, Pellet3D> pellet3DByTile = new HashMap<>();
+    private final List<Energizer3D> energizers3D = new ArrayList<>();
+
+    // All pellets are rendered by a few meshes instead of one shape per pellet
+    private PelletBatch3D pellets3D;
 
     private Maze3D maze3D;
 
@@ -102,6 +105,9 @@ public class GameLevel3D extends Group implements DisposableGraphicsObject {
         if (maze3D != null) {
             maze3D.dispose();
         }
+        if (pellets3D != null) {
+            pellets3D.dispose();
+        }
         cleanupGroup(this, true);
     }
 
@@ -128,25 +134,36 @@ public class GameLevel3D extends Group implements DisposableGraphicsObject {
     }
 
     public Stream<Energizer3D> energizers3D() {
-        return energizer3DByTile.values().stream();
+        return energizers3D.stream();
     }
 
     public Optional<Energizer3D> energizer3DAt(Vector2i tile) {
-        return Optional.ofNullable(energizer3DByTile.get(tile));
+        final FoodLayer foodLayer = level.worldMap().foodLayer();
+        return foodLayer.outOfBounds(tile)
+            ? Optional.empty()
+            : Optional.ofNullable(energizer3DByTileIndex[foodLayer.indexInRowWiseOrder(tile)]);
     }
 
-    public Stream<Pellet3D> pellets3D() {
-        return pellet3DByTile.values().stream();
+    public PelletBatch3D pellets3D() {
+        return pellets3D;
     }
 
-    public Optional<Pellet3D> pellet3DAtTile(Vector2i tile) {
-        return Optional.ofNullable(pellet3DByTile.get(tile));
+    /**
+     * Hides the 3D pellet at the given tile, if any.
+     *
+     * @param tile a tile
+     */
+    public void hidePellet3DAtTile(Vector2i tile) {
+        final FoodLayer foodLayer = level.worldMap().foodLayer();
+        if (!foodLayer.outOfBounds(tile)) {
+            pellets3D.hidePellet(foodLayer.indexInRowWiseOrder(tile));
+        }
     }
 
     public void cleanupFoodAndParticles() {
-        energizer3DByTile.values().forEach(Energizer3D::hide);
+        energizers3D.forEach(Energizer3D::hide);
         // Hide 3D food explicitly (handles cheat-eat-all case)
-        pellet3DByTile.values().forEach(pellet3D -> pellet3D.root().setVisible(false));
+        pellets3D.hideAllPellets();
         maze3D.particlesGroup().getChildren().clear();
     }
 
@@ -213,26 +230,19 @@ public class GameLevel3D extends Group implements DisposableGraphicsObject {
         final PhongMaterial foodMaterial = coloredPhongMaterial(Color.valueOf(colorScheme.pellet()));
 
         final Pellet3DSettings pelletConfig3D = uiConfig.worldSettings().pellet();
-        final double pelletZ = maze3D.floorTop() - pelletConfig3D.floorElevation();
+        final float pelletZ = (float) (maze3D.floorTop() - pelletConfig3D.floorElevation());
 
         final Energizer3DSettings energizerConfig3D = uiConfig.worldSettings().energizer();
         final double energizerZ = maze3D.floorTop() - energizerConfig3D.floorElevation();
 
-        foodLayer.tiles()
-            .filter(level.food()::hasFoodAtTile)
-            .forEach(tile -> {
-                if (foodLayer.isEnergizerTile(tile)) {
-                    energizer3DByTile.put(tile, createEnergizer3D(tile, energizerZ, foodMaterial));
-                } else {
-                    pellet3DByTile.put(tile, createPellet3D(tile, pelletZ, foodMaterial));
-                }
-            });
-    }
-
-    private Pellet3D createPellet3D(Vector2i tile, double z, PhongMaterial foodMaterial) {
-        final Pellet3D pellet3D = uiConfig.factory3D().createPellet3D(uiConfig.worldSettings().pellet(), foodMaterial);
-        pellet3D.setLocation(tile, z);
-        return pellet3D;
+        final int numTiles = foodLayer.numRows() * foodLayer.numCols();
+        energizer3DByTileIndex = new Energizer3D[numTiles];
+        level.food().forEachRemainingFoodTileIndex(true, index -> {
+            final Energizer3D energizer3D = createEnergizer3D(foodLayer.tileAtIndex(index), energizerZ, foodMaterial);
+            energizer3DByTileIndex[index] = energizer3D;
+            energizers3D.add(energizer3D);
+        });
+        pellets3D = uiConfig.factory3D().createPellets3D(pelletConfig3D, foodMaterial, foodLayer, level.food(), pelletZ);
     }
 
     private Energizer3D createEnergizer3D(Vector2i tile, double z, PhongMaterial foodMaterial) {
@@ -338,13 +348,11 @@ public class GameLevel3D extends Group implements DisposableGraphicsObject {
             getChildren().add(ghost3D.root());
         }
 
-        for (Energizer3D energizer3D : energizer3DByTile.values()) {
+        for (Energizer3D energizer3D : energizers3D) {
             getChildren().add(energizer3D.root());
         }
 
-        for (Pellet3D pellet3D : pellet3DByTile.values()) {
-            getChildren().add(pellet3D.root());
-        }
+        getChildren().add(pellets3D.root());
 
         getChildren().add(maze3D.particlesGroup());
         getChildren().add(maze3D.root());
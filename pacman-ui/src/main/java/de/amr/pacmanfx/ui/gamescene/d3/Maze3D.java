@@ -6,6 +6,7 @@ package de.amr.pacmanfx.ui.gamescene.d3;
 import de.amr.pacmanfx.core.model.world.map.TerrainLayer;
 import de.amr.pacmanfx.uilib.DisposableGraphicsObject;
 import de.amr.pacmanfx.uilib.entities3D.world.Wall3D;
+import de.amr.pacmanfx.uilib.entities3D.world.WallMeshBuilder;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -14,7 +15,11 @@ import javafx.scene.Group;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
+import javafx.scene.shape.CullFace;
 import javafx.scene.shape.DrawMode;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.transform.Scale;
 
 import static java.util.Objects.requireNonNull;
 
@@ -47,6 +52,8 @@ public class Maze3D implements DisposableGraphicsObject {
 
     private final Materials materials;
 
+    private boolean disposed;
+
     public Maze3D(TerrainLayer terrain, Materials materials) {
         this.terrain = requireNonNull(terrain);
         this.materials = requireNonNull(materials);
@@ -54,12 +61,21 @@ public class Maze3D implements DisposableGraphicsObject {
 
     @Override
     public void dispose() {
+        disposed = true;
         wallBaseHeight.unbind();
         wallOpacity.unbind();
         cleanupGroup(particlesGroup, true);
         cleanupGroup(root, true);
     }
 
+    /**
+     * @return {@code true} if this maze has been disposed. Results of background work that complete later must not be
+     *         added anymore.
+     */
+    public boolean isDisposed() {
+        return disposed;
+    }
+
     public TerrainLayer terrain() {
         return terrain;
     }
@@ -92,6 +108,36 @@ public class Maze3D implements DisposableGraphicsObject {
         return floor3D;
     }
 
+    /**
+     * Adds the baked obstacle walls. The base mesh (height {@link WallMeshBuilder#BASE_MESH_HEIGHT}) is scaled to the
+     * wall base height and the top mesh is placed on top of the base. Both use the shared wall materials such that
+     * material color animations affect all walls.
+     *
+     * @param baseMesh mesh containing the bases of all walls
+     * @param topMesh mesh containing the tops of all walls
+     */
+    public void setWallMeshes(TriangleMesh baseMesh, TriangleMesh topMesh) {
+        if (disposed) {
+            throw new IllegalStateException("Cannot add wall meshes to disposed maze");
+        }
+        final var base = new MeshView(requireNonNull(baseMesh));
+        base.setMaterial(materials.wallBaseMaterial());
+        final var heightScale = new Scale();
+        heightScale.zProperty().bind(wallBaseHeight.divide(WallMeshBuilder.BASE_MESH_HEIGHT));
+        base.getTransforms().add(heightScale);
+
+        final var top = new MeshView(requireNonNull(topMesh));
+        top.setMaterial(materials.wallTopMaterial());
+        top.translateZProperty().bind(wallBaseHeight.negate());
+
+        for (MeshView meshView : new MeshView[] { base, top }) {
+            meshView.setCullFace(CullFace.BACK);
+            meshView.setMouseTransparent(true);
+            meshView.drawModeProperty().bindBidirectional(drawMode);
+        }
+        root.getChildren().addAll(base, top);
+    }
+
     public ObjectProperty<DrawMode> drawModeProperty() {
         return drawMode;
     }
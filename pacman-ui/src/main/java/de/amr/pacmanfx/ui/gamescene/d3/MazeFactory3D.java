@@ -1,7 +1,6 @@
 package de.amr.pacmanfx.ui.gamescene.d3;
 
 import de.amr.basics.StopWatch;
-import de.amr.basics.math.Vector2f;
 import de.amr.basics.math.Vector2i;
 import de.amr.basics.util.Ufx;
 import de.amr.pacmanfx.core.ecs.systems.PositionSystem;
@@ -16,11 +15,16 @@ import de.amr.pacmanfx.ui.settings.world.Maze3DSettings;
 import de.amr.pacmanfx.ui.settings.world.WorldSettings;
 import de.amr.pacmanfx.uilib.entities3D.house.comp.House3DViewComp;
 import de.amr.pacmanfx.uilib.entities3D.world.TerrainRenderer3D;
+import de.amr.pacmanfx.uilib.entities3D.world.WallMeshBuilder;
+import javafx.application.Platform;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
+import javafx.scene.shape.TriangleMesh;
 import org.tinylog.Logger;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static de.amr.basics.util.Ufx.coloredPhongMaterial;
@@ -74,7 +78,18 @@ public class MazeFactory3D {
     }
 
     private void addObstacles(Maze3D maze3D, House house, TerrainLayer terrain, Maze3DSettings maze3DSettings) {
-        final float wallThickness = maze3DSettings.obstacleWallThickness();
+        // render all obstacles found in map except the house placeholder obstacle
+        final List<Obstacle> obstacles = terrain.obstacles().stream()
+            .filter(obstacle -> house == null || !house.contains(PositionSystem.computeTileAt(obstacle.startPoint().toVector2f())))
+            .toList();
+        if (maze3DSettings.bakedWallMeshes()) {
+            addBakedObstacleWalls(maze3D, terrain, obstacles, maze3DSettings.obstacleWallThickness());
+        } else {
+            addObstacleWallNodes(maze3D, terrain, obstacles, maze3DSettings.obstacleWallThickness());
+        }
+    }
+
+    private void addObstacleWallNodes(Maze3D maze3D, TerrainLayer terrain, List<Obstacle> obstacles, float wallThickness) {
         final TerrainRenderer3D renderer3D = new TerrainRenderer3D();
         final AtomicInteger wallCount = new AtomicInteger(0);
         renderer3D.setOnWallCreated(wall3D -> {
@@ -89,16 +104,39 @@ public class MazeFactory3D {
         });
 
         final var stopWatch = new StopWatch();
-        // render all obstacles found in map except the house placeholder obstacle
-        for (Obstacle obstacle : terrain.obstacles()) {
-            final Vector2f startPoint = obstacle.startPoint().toVector2f();
-            if (house == null || !house.contains(PositionSystem.computeTileAt(startPoint))) {
-                renderer3D.renderObstacle3D(obstacle, isWorldBorder(terrain, obstacle), wallThickness, 4);
-            }
+        for (Obstacle obstacle : obstacles) {
+            renderer3D.renderObstacle3D(obstacle, isWorldBorder(terrain, obstacle), wallThickness, 4);
         }
         final var passedTimeMillis = stopWatch.passedTime().toMillis();
         Logger.info("Building {} composite walls took {} milliseconds", wallCount, passedTimeMillis);
+    }
 
+    // The wall meshes are built in the background, the mesh views are added on the application thread when ready.
+    // If the maze has been disposed in the meantime (e.g. level quit during build), the meshes are discarded.
+    private void addBakedObstacleWalls(Maze3D maze3D, TerrainLayer terrain, List<Obstacle> obstacles, float wallThickness) {
+        final List<Boolean> borderFlags = obstacles.stream().map(obstacle -> isWorldBorder(terrain, obstacle)).toList();
+        CompletableFuture.supplyAsync(() -> {
+            final var stopWatch = new StopWatch();
+            final var meshBuilder = new WallMeshBuilder();
+            final var renderer3D = new TerrainRenderer3D();
+            renderer3D.setWallMeshBuilder(meshBuilder);
+            for (int i = 0; i < obstacles.size(); ++i) {
+                renderer3D.renderObstacle3D(obstacles.get(i), borderFlags.get(i), wallThickness, 4);
+            }
+            final var meshes = new TriangleMesh[] { meshBuilder.buildBaseMesh(), meshBuilder.buildTopMesh() };
+            Logger.info("Baking {} walls into meshes took {} milliseconds", meshBuilder.wallCount(), stopWatch.passedTime().toMillis());
+            return meshes;
+        }).thenAcceptAsync(meshes -> {
+            if (maze3D.isDisposed()) {
+                Logger.info("Maze has been disposed, baked wall meshes are discarded");
+            } else {
+                maze3D.setWallMeshes(meshes[0], meshes[1]);
+            }
+        }, Platform::runLater)
+          .exceptionally(x -> {
+              Logger.error(x, "Could not build wall meshes");
+              return null;
+          });
     }
 
     private boolean isWorldBorder(TerrainLayer terrain, Obstacle obstacle) {
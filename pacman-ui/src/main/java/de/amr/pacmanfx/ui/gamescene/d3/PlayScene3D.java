@@ -290,7 +290,7 @@ public class PlayScene3D extends GameScene
     }
 
     public void initFood3D(GameLevel level, boolean startEnergizerPumping) {
-        level3D.pellets3D().forEach(pellet3D -> pellet3D.root().setVisible(!level.food().hasEatenFoodAtTile(pellet3D.tile())));
+        level3D.pellets3D().showRemainingPellets(level.food());
 
         if (startEnergizerPumping) {
             level3D.animationManager().startEnergizerPumping();
@@ -47,7 +47,6 @@ import de.amr.pacmanfx.uilib.entities3D.messageview.system.MessageView3DAnimatio
 import de.amr.pacmanfx.uilib.entities3D.messageview.system.MessageView3DDisplaySystem;
 import de.amr.pacmanfx.uilib.entities3D.pac.comp.Pac3DViewComp;
 import de.amr.pacmanfx.uilib.entities3D.pac.system.Pac3DAnimationSystem;
-import de.amr.pacmanfx.uilib.entities3D.world.Pellet3D;
 import javafx.animation.Animation;
 import javafx.animation.SequentialTransition;
 import javafx.geometry.Point3D;
@@ -197,7 +196,7 @@ public interface PlayScene3D_GameEventHandler extends DefaultGameEventListener {
         final long tick = app().clock().currentTick();
 
         if (event.allPellets()) {
-            level3D.pellets3D().map(Pellet3D::root).forEach(shape -> level3D.getChildren().remove(shape));
+            level3D.pellets3D().hideAllPellets();
         }
         else {
             final Vector2i tile = event.pac().pos().tile();
@@ -210,7 +209,7 @@ public interface PlayScene3D_GameEventHandler extends DefaultGameEventListener {
                 optSoundEffects().ifPresent(GameSoundEffects::playEnergizerExplosion);
             }
             else {
-                level3D.pellet3DAtTile(tile).ifPresent(pellet3D -> removePelletAfterDelay(level3D, pellet3D));
+                hidePelletAfterDelay(level3D, tile);
                 optSoundEffects().ifPresent(sfx -> sfx.playPacMunchingSound(tick));
             }
         }
@@ -221,8 +220,8 @@ public interface PlayScene3D_GameEventHandler extends DefaultGameEventListener {
             .ifPresent(animation -> animation.triggerExplosion(center));
     }
 
-    private void removePelletAfterDelay(GameLevel3D level3D, Pellet3D pellet3D) {
-        pauseSecThen(PELLET_EATING_DELAY_SEC, () -> level3D.getChildren().remove(pellet3D.root())).play();
+    private void hidePelletAfterDelay(GameLevel3D level3D, Vector2i tile) {
+        pauseSecThen(PELLET_EATING_DELAY_SEC, () -> level3D.hidePellet3DAtTile(tile)).play();
     }
 
     @Override
@@ -12,5 +12,6 @@ public record Maze3DSettings(
     double wallHeight,
     double wallOpacity,
     float obstacleWallThickness,
-    String darkWallFillColor
+    String darkWallFillColor,
+    boolean bakedWallMeshes
 ) {}
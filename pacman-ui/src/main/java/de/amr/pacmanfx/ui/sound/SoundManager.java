@@ -21,6 +21,10 @@ import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * Manages the sounds of a game variant. Audio clips and media players are created lazily when a sound is used the
+ * first time, registering a sound only stores its entry.
+ */
 public class SoundManager implements Disposable {
 
     public sealed interface SoundResource permits AudioClipResource, MediaPlayerResource {}
@@ -46,6 +50,9 @@ public class SoundManager implements Disposable {
 
     private final Map<SoundID, SoundResource> soundMap = new HashMap<>();
 
+    // Registered sounds whose resource has not been created yet
+    private final Map<SoundID, SoundEntry> pendingEntries = new HashMap<>();
+
     private final Voice voice = new Voice();
 
     public SoundManager() {
@@ -64,14 +71,13 @@ public class SoundManager implements Disposable {
         stopAll();
         enabled.unbind();
         soundMap.clear();
+        pendingEntries.clear();
     }
 
     public void add(SoundEntry entry) {
         requireNonNull(entry);
-        if (entry.type() == AudioClipResource.class) {
-            addAudioClip(entry.id(), entry.url());
-        } else if (entry.type() == MediaPlayerResource.class) {
-            addMediaPlayer(entry.id(), entry.url());
+        if (entry.type() == AudioClipResource.class || entry.type() == MediaPlayerResource.class) {
+            register(entry);
         }
     }
 
@@ -84,25 +90,20 @@ public class SoundManager implements Disposable {
         requireNonNull(soundID);
         requireNonNull(url);
 
-        register(soundID, new AudioClipResource(new AudioClip(url.toExternalForm())));
+        register(SoundEntry.audioClip(soundID, url));
     }
 
     public void addMediaPlayer(SoundID soundID, URL url) {
         requireNonNull(soundID);
         requireNonNull(url);
 
-        final var player = new MediaPlayer(new Media(url.toExternalForm()));
-        player.setVolume(1.0);
-        player.muteProperty().bind(Bindings.createBooleanBinding(
-            () -> muteProperty().get() || !enabledProperty().get(),
-            muteProperty(), enabledProperty()
-        ));
-        register(soundID, new MediaPlayerResource(player));
+        register(SoundEntry.mediaPlayer(soundID, url));
     }
 
     public void unregister(SoundID soundID) {
         requireNonNull(soundID);
         soundMap.remove(soundID);
+        pendingEntries.remove(soundID);
     }
 
     public BooleanProperty enabledProperty() {
@@ -128,7 +129,7 @@ public class SoundManager implements Disposable {
     public void playLoop(SoundID soundID) {
         requireNonNull(soundID);
 
-        final SoundResource value = soundMap.get(soundID);
+        final SoundResource value = resource(soundID);
         if (value == null) {
             return; // ignore missing sound
         }
@@ -148,11 +149,11 @@ public class SoundManager implements Disposable {
         if (isMute() || !isEnabled()) {
             return;
         }
-        if (!soundMap.containsKey(soundID)) {
+        final SoundResource value = resource(soundID);
+        if (value == null) {
             Logger.error("Sound '{}' not played (reason: not registered)", soundID);
             return;
         }
-        final SoundResource value = soundMap.get(soundID);
         switch (value) {
             case MediaPlayerResource(MediaPlayer player) -> {
                 player.setCycleCount(repetitions);
@@ -203,7 +204,7 @@ public class SoundManager implements Disposable {
 
     public MediaPlayer mediaPlayer(SoundID soundID) {
         requireNonNull(soundID);
-        return switch (soundMap.get(soundID)) {
+        return switch (resource(soundID)) {
             case MediaPlayerResource(MediaPlayer player) -> player;
             case AudioClipResource(AudioClip _) -> throw new IllegalArgumentException(
                 "Sound entry with id='%s' is not a media player".formatted(soundID));
@@ -212,11 +213,41 @@ public class SoundManager implements Disposable {
 
     // private
 
-    private void register(SoundID soundID, SoundResource defaultValue) {
-        final SoundResource prevValue = soundMap.put(soundID, defaultValue);
-        if (prevValue != null) {
-            Logger.warn("Replaced sound id='{}': {} (was: {})", soundID, defaultValue);
+    private void register(SoundEntry entry) {
+        final SoundResource prevResource = soundMap.remove(entry.id());
+        final SoundEntry prevEntry = pendingEntries.put(entry.id(), entry);
+        if (prevResource != null || prevEntry != null) {
+            Logger.warn("Replaced sound id='{}': {} (was: {})", entry.id(), entry, prevResource != null ? prevResource : prevEntry);
         }
-        Logger.debug("Registered sound id='{}': {}", soundID, defaultValue);
+        Logger.debug("Registered sound id='{}': {}", entry.id(), entry);
+    }
+
+    // Returns the resource of a registered sound, creates it on first access. Returns null if the sound is not registered.
+    private SoundResource resource(SoundID soundID) {
+        final SoundResource resource = soundMap.get(soundID);
+        if (resource != null) {
+            return resource;
+        }
+        final SoundEntry entry = pendingEntries.remove(soundID);
+        if (entry == null) {
+            return null;
+        }
+        final SoundResource createdResource = createResource(entry);
+        soundMap.put(soundID, createdResource);
+        Logger.debug("Created sound id='{}': {}", soundID, createdResource);
+        return createdResource;
+    }
+
+    private SoundResource createResource(SoundEntry entry) {
+        if (entry.type() == AudioClipResource.class) {
+            return new AudioClipResource(new AudioClip(entry.url().toExternalForm()));
+        }
+        final var player = new MediaPlayer(new Media(entry.url().toExternalForm()));
+        player.setVolume(1.0);
+        player.muteProperty().bind(Bindings.createBooleanBinding(
+            () -> muteProperty().get() || !enabledProperty().get(),
+            muteProperty(), enabledProperty()
+        ));
+        return new MediaPlayerResource(player);
     }
 }
\ No newline at end of file
@@ -84,7 +84,7 @@ public class DS_ActorInfo extends GameDashboardSection {
     private String actorLocationText(GameLevel level, GameEntity actor) {
         if (actor == null) return NO_INFO;
 
-        final WorldNavigationComp worldNavigation = actor.reqComp(WorldNavigationComp.class);
+        final WorldNavigationComp worldNavigation = actor.reqComp(WorldNavigationComp.TYPE);
 
         final Vector2i tile = actor.pos().tile();
         final Vector2i tileOffset = actor.pos().offset();
@@ -99,7 +99,7 @@ public class DS_ActorInfo extends GameDashboardSection {
         if (actor == null) return NO_INFO;
 
         return actor.optComp(MovementComp.class).map(movement -> {
-            final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.class);
+            final WorldNavigationComp navigation = actor.reqComp(WorldNavigationComp.TYPE);
             final float speed = movement.speed() * GameConstants.SIMULATION_FPS;
             final boolean blocked = !navigation.info().moved;
             final String turnbackHint = navigation.isTurnBackRequested() ? "REV!" : "";
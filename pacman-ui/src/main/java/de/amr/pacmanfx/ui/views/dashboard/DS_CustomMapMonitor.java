@@ -20,6 +20,7 @@ import java.io.File;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
@@ -153,15 +154,17 @@ public class DS_CustomMapMonitor extends GameDashboardSection {
 
     private void updateWorldMapList(File customMapDir) {
         customMaps.clear();
-        final File[] mapFiles = customMapDir.listFiles((_, name) -> name.endsWith(".world"));
-        if (mapFiles == null) {
+        final File[] files = customMapDir.listFiles((_, name) -> WorldMap.isWorldMapFileName(name));
+        if (files == null) {
             Logger.error("An error occurred accessing custom map directory {}", customMapDir);
             return;
         }
-        if (mapFiles.length == 0) {
+        // converted maps exist as text and as binary file, list only one of them
+        final List<File> mapFiles = WorldMap.preferredWorldMapFiles(files);
+        if (mapFiles.isEmpty()) {
             Logger.info("No custom maps found");
         } else {
-            Logger.info("{} custom map(s) found", mapFiles.length);
+            Logger.info("{} custom map(s) found", mapFiles.size());
         }
         for (File file : mapFiles) {
             WorldMap.fromFile(file).ifPresent(worldMap -> {
@@ -8,6 +8,7 @@ import de.amr.pacmanfx.ui.action.core.ActionBindingsRegistry;
 import de.amr.pacmanfx.ui.action.core.GameAppContext;
 import de.amr.pacmanfx.ui.views.GameView;
 import de.amr.pacmanfx.uilib.controls.Carousel;
+import javafx.beans.binding.Bindings;
 import org.tinylog.Logger;
 
 import java.util.ArrayList;
@@ -47,14 +48,15 @@ public class StartPagesView implements GameView {
             }
         });
 
-        carousel.backButtonTooltipProperty().bind(carousel.selectedIndexProperty()
-            .map(Number::intValue)
-            .map(i -> i == -1 ? null : pages.get(prevIndex(i)).title()
+        // Pages may be added after a page has been selected
+        carousel.backButtonTooltipProperty().bind(Bindings.createStringBinding(
+            () -> carousel.getSelectedIndex() == -1 ? null : pages.get(prevIndex(carousel.getSelectedIndex())).title(),
+            carousel.selectedIndexProperty(), carousel.getItems()
         ));
 
-        carousel.forwardButtonTooltipProperty().bind(carousel.selectedIndexProperty()
-            .map(Number::intValue)
-            .map(i -> i == -1 ? null : pages.get(nextIndex(i)).title()
+        carousel.forwardButtonTooltipProperty().bind(Bindings.createStringBinding(
+            () -> carousel.getSelectedIndex() == -1 ? null : pages.get(nextIndex(carousel.getSelectedIndex())).title(),
+            carousel.selectedIndexProperty(), carousel.getItems()
         ));
     }
 